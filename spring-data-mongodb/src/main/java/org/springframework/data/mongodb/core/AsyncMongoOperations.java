@@ -0,0 +1,274 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.Collection;
+import java.util.List;
+
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.concurrent.ListenableFuture;
+
+import com.mongodb.WriteResult;
+
+/**
+ * Interface that specifies a basic set of MongoDB operations executed asynchronously. Each operation is handed to an
+ * executor and returns a {@link ListenableFuture} immediately, so that the calling thread is not blocked for the
+ * roundtrip to the server. Mapping, query and update mapping as well as lifecycle events are the ones of the
+ * underlying {@link MongoOperations}.
+ * <p>
+ * Failures are reported through the returned {@link ListenableFuture}, translated into
+ * {@link org.springframework.dao.DataAccessException}s just like for the blocking operations.
+ *
+ * @since 1.10
+ * @see MongoOperations
+ */
+public interface AsyncMongoOperations {
+
+	/**
+	 * Returns the underlying blocking {@link MongoOperations} the asynchronous operations are delegated to.
+	 *
+	 * @return never {@literal null}.
+	 */
+	MongoOperations getOperations();
+
+	/**
+	 * Asynchronously map the results of an ad-hoc query on the collection for the entity class to a single instance of
+	 * an object of the specified type.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record.
+	 * @param entityClass the parameterized type of the returned object.
+	 * @return a {@link ListenableFuture} completed with the converted object or {@literal null}.
+	 * @see MongoOperations#findOne(Query, Class)
+	 */
+	<T> ListenableFuture<T> findOne(Query query, Class<T> entityClass);
+
+	/**
+	 * Asynchronously map the results of an ad-hoc query on the specified collection to a single instance of an object of
+	 * the specified type.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record.
+	 * @param entityClass the parameterized type of the returned object.
+	 * @param collectionName name of the collection to retrieve the objects from.
+	 * @return a {@link ListenableFuture} completed with the converted object or {@literal null}.
+	 * @see MongoOperations#findOne(Query, Class, String)
+	 */
+	<T> ListenableFuture<T> findOne(Query query, Class<T> entityClass, String collectionName);
+
+	/**
+	 * Asynchronously map the results of an ad-hoc query on the collection for the entity class to a {@link List} of the
+	 * specified type.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record.
+	 * @param entityClass the parameterized type of the returned list.
+	 * @return a {@link ListenableFuture} completed with the {@link List} of converted objects.
+	 * @see MongoOperations#find(Query, Class)
+	 */
+	<T> ListenableFuture<List<T>> find(Query query, Class<T> entityClass);
+
+	/**
+	 * Asynchronously map the results of an ad-hoc query on the specified collection to a {@link List} of the specified
+	 * type.
+	 *
+	 * @param query the query class that specifies the criteria used to find a record.
+	 * @param entityClass the parameterized type of the returned list.
+	 * @param collectionName name of the collection to retrieve the objects from.
+	 * @return a {@link ListenableFuture} completed with the {@link List} of converted objects.
+	 * @see MongoOperations#find(Query, Class, String)
+	 */
+	<T> ListenableFuture<List<T>> find(Query query, Class<T> entityClass, String collectionName);
+
+	/**
+	 * Asynchronously query for a list of objects of type T from the collection used by the entity class.
+	 *
+	 * @param entityClass the parameterized type of the returned list.
+	 * @return a {@link ListenableFuture} completed with the {@link List} of converted objects.
+	 * @see MongoOperations#findAll(Class)
+	 */
+	<T> ListenableFuture<List<T>> findAll(Class<T> entityClass);
+
+	/**
+	 * Asynchronously return the document from the collection of the entity class with the given id.
+	 *
+	 * @param id the id of the document to return.
+	 * @param entityClass the type the document shall be converted into.
+	 * @return a {@link ListenableFuture} completed with the document with the given id or {@literal null}.
+	 * @see MongoOperations#findById(Object, Class)
+	 */
+	<T> ListenableFuture<T> findById(Object id, Class<T> entityClass);
+
+	/**
+	 * Asynchronously return the document from the given collection with the given id.
+	 *
+	 * @param id the id of the document to return.
+	 * @param entityClass the type the document shall be converted into.
+	 * @param collectionName the collection to query for the document.
+	 * @return a {@link ListenableFuture} completed with the document with the given id or {@literal null}.
+	 * @see MongoOperations#findById(Object, Class, String)
+	 */
+	<T> ListenableFuture<T> findById(Object id, Class<T> entityClass, String collectionName);
+
+	/**
+	 * Asynchronously return the number of documents for the given {@link Query} by querying the collection of the given
+	 * entity class.
+	 *
+	 * @param query
+	 * @param entityClass must not be {@literal null}.
+	 * @return a {@link ListenableFuture} completed with the number of matching documents.
+	 * @see MongoOperations#count(Query, Class)
+	 */
+	ListenableFuture<Long> count(Query query, Class<?> entityClass);
+
+	/**
+	 * Asynchronously return the number of documents for the given {@link Query} querying the given collection.
+	 *
+	 * @param query
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return a {@link ListenableFuture} completed with the number of matching documents.
+	 * @see MongoOperations#count(Query, String)
+	 */
+	ListenableFuture<Long> count(Query query, String collectionName);
+
+	/**
+	 * Asynchronously insert the object into the collection for the entity type of the object to save.
+	 *
+	 * @param objectToSave the object to store in the collection.
+	 * @return a {@link ListenableFuture} completed with the given object once it has been inserted.
+	 * @see MongoOperations#insert(Object)
+	 */
+	<T> ListenableFuture<T> insert(T objectToSave);
+
+	/**
+	 * Asynchronously insert the object into the specified collection.
+	 *
+	 * @param objectToSave the object to store in the collection.
+	 * @param collectionName name of the collection to store the object in.
+	 * @return a {@link ListenableFuture} completed with the given object once it has been inserted.
+	 * @see MongoOperations#insert(Object, String)
+	 */
+	<T> ListenableFuture<T> insert(T objectToSave, String collectionName);
+
+	/**
+	 * Asynchronously insert a mixed {@link Collection} of objects into the collections derived from their types.
+	 *
+	 * @param objectsToSave the list of objects to save.
+	 * @return a {@link ListenableFuture} completed with the given objects once they have been inserted.
+	 * @see MongoOperations#insertAll(Collection)
+	 */
+	<T> ListenableFuture<Collection<T>> insertAll(Collection<T> objectsToSave);
+
+	/**
+	 * Asynchronously save the object to the collection for the entity type of the object to save.
+	 *
+	 * @param objectToSave the object to store in the collection.
+	 * @return a {@link ListenableFuture} completed with the given object once it has been saved.
+	 * @see MongoOperations#save(Object)
+	 */
+	<T> ListenableFuture<T> save(T objectToSave);
+
+	/**
+	 * Asynchronously save the object to the specified collection.
+	 *
+	 * @param objectToSave the object to store in the collection.
+	 * @param collectionName name of the collection to store the object in.
+	 * @return a {@link ListenableFuture} completed with the given object once it has been saved.
+	 * @see MongoOperations#save(Object, String)
+	 */
+	<T> ListenableFuture<T> save(T objectToSave, String collectionName);
+
+	/**
+	 * Asynchronously perform an upsert.
+	 *
+	 * @param query the query document that specifies the criteria used to select a record to be upserted.
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing object.
+	 * @param entityClass class that determines the collection to use.
+	 * @return a {@link ListenableFuture} completed with the {@link WriteResult}.
+	 * @see MongoOperations#upsert(Query, Update, Class)
+	 */
+	ListenableFuture<WriteResult> upsert(Query query, Update update, Class<?> entityClass);
+
+	/**
+	 * Asynchronously update the first object that is found in the collection of the entity class that matches the query
+	 * document with the provided update document.
+	 *
+	 * @param query the query document that specifies the criteria used to select a record to be updated.
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing object.
+	 * @param entityClass class that determines the collection to use.
+	 * @return a {@link ListenableFuture} completed with the {@link WriteResult}.
+	 * @see MongoOperations#updateFirst(Query, Update, Class)
+	 */
+	ListenableFuture<WriteResult> updateFirst(Query query, Update update, Class<?> entityClass);
+
+	/**
+	 * Asynchronously update all objects that are found in the collection of the entity class that matches the query
+	 * document criteria with the provided updated document.
+	 *
+	 * @param query the query document that specifies the criteria used to select a record to be updated.
+	 * @param update the update document that contains the updated object or $ operators to manipulate the existing object.
+	 * @param entityClass class that determines the collection to use.
+	 * @return a {@link ListenableFuture} completed with the {@link WriteResult}.
+	 * @see MongoOperations#updateMulti(Query, Update, Class)
+	 */
+	ListenableFuture<WriteResult> updateMulti(Query query, Update update, Class<?> entityClass);
+
+	/**
+	 * Asynchronously remove the given object from the collection by id.
+	 *
+	 * @param object
+	 * @return a {@link ListenableFuture} completed with the {@link WriteResult}.
+	 * @see MongoOperations#remove(Object)
+	 */
+	ListenableFuture<WriteResult> remove(Object object);
+
+	/**
+	 * Asynchronously remove all documents that match the provided query document criteria from the collection used to
+	 * store the entityClass.
+	 *
+	 * @param query
+	 * @param entityClass
+	 * @return a {@link ListenableFuture} completed with the {@link WriteResult}.
+	 * @see MongoOperations#remove(Query, Class)
+	 */
+	ListenableFuture<WriteResult> remove(Query query, Class<?> entityClass);
+
+	/**
+	 * Asynchronously execute an aggregation operation.
+	 *
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param outputType The parameterized type of the returned list, must not be {@literal null}.
+	 * @return a {@link ListenableFuture} completed with the results of the aggregation operation.
+	 * @see MongoOperations#aggregate(TypedAggregation, Class)
+	 */
+	<O> ListenableFuture<AggregationResults<O>> aggregate(TypedAggregation<?> aggregation, Class<O> outputType);
+
+	/**
+	 * Asynchronously execute an aggregation operation.
+	 *
+	 * @param aggregation The {@link Aggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @param outputType The parameterized type of the returned list, must not be {@literal null}.
+	 * @return a {@link ListenableFuture} completed with the results of the aggregation operation.
+	 * @see MongoOperations#aggregate(Aggregation, String, Class)
+	 */
+	<O> ListenableFuture<AggregationResults<O>> aggregate(Aggregation aggregation, String collectionName,
+			Class<O> outputType);
+}
@@ -0,0 +1,606 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.AsyncListenableTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationResults;
+import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.util.Assert;
+import org.springframework.util.ClassUtils;
+import org.springframework.util.ReflectionUtils;
+import org.springframework.util.concurrent.ListenableFuture;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import com.mongodb.WriteResult;
+
+/**
+ * Primary implementation of {@link AsyncMongoOperations}. Operations are delegated to a blocking {@link MongoOperations}
+ * (usually a {@link MongoTemplate}) on an {@link AsyncListenableTaskExecutor}, so that mapping, query and update
+ * mapping as well as the {@link org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent}s are shared with
+ * the blocking template.
+ * <p>
+ * Unless an executor is given explicitly, a bounded default one is created. It runs at most the configured number of
+ * operations concurrently, on virtual threads if supported by the runtime and on platform threads otherwise, and queues
+ * up to the configured queue capacity of operations waiting for a free thread. Submitting an operation never blocks the
+ * calling thread: once both limits are reached, further operations are rejected and the returned
+ * {@link ListenableFuture} fails immediately with a {@link TaskRejectedException}.
+ *
+ * @since 1.10
+ */
+public class AsyncMongoTemplate implements AsyncMongoOperations, DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(AsyncMongoTemplate.class);
+
+	static final int DEFAULT_CONCURRENCY_LIMIT = 100;
+	static final int DEFAULT_QUEUE_CAPACITY = 10000;
+	private static final String THREAD_NAME_PREFIX = "mongo-async-";
+
+	private final MongoOperations operations;
+	private final AsyncListenableTaskExecutor executor;
+	private final boolean shutdownExecutorOnDestroy;
+
+	/**
+	 * Creates a new {@link AsyncMongoTemplate} for the given {@link MongoOperations} using a default executor limited
+	 * to {@value #DEFAULT_CONCURRENCY_LIMIT} concurrently running and {@value #DEFAULT_QUEUE_CAPACITY} queued operations.
+	 *
+	 * @param operations must not be {@literal null}.
+	 */
+	public AsyncMongoTemplate(MongoOperations operations) {
+		this(operations, DEFAULT_CONCURRENCY_LIMIT);
+	}
+
+	/**
+	 * Creates a new {@link AsyncMongoTemplate} for the given {@link MongoOperations} using a default executor limited
+	 * to the given number of concurrently running and {@value #DEFAULT_QUEUE_CAPACITY} queued operations.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param concurrencyLimit must be greater than zero.
+	 */
+	public AsyncMongoTemplate(MongoOperations operations, int concurrencyLimit) {
+		this(operations, concurrencyLimit, DEFAULT_QUEUE_CAPACITY);
+	}
+
+	/**
+	 * Creates a new {@link AsyncMongoTemplate} for the given {@link MongoOperations} using a default executor limited
+	 * to the given number of concurrently running and queued operations. Operations submitted beyond these limits are
+	 * rejected with a {@link TaskRejectedException} reported through the returned {@link ListenableFuture}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param concurrencyLimit must be greater than zero.
+	 * @param queueCapacity must not be negative.
+	 */
+	public AsyncMongoTemplate(MongoOperations operations, int concurrencyLimit, int queueCapacity) {
+		this(operations, createDefaultExecutor(concurrencyLimit, queueCapacity), true);
+	}
+
+	/**
+	 * Creates a new {@link AsyncMongoTemplate} for the given {@link MongoOperations} and
+	 * {@link AsyncListenableTaskExecutor}. The lifecycle of the given executor is not managed by the template.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param executor must not be {@literal null}.
+	 */
+	public AsyncMongoTemplate(MongoOperations operations, AsyncListenableTaskExecutor executor) {
+		this(operations, executor, false);
+	}
+
+	private AsyncMongoTemplate(MongoOperations operations, AsyncListenableTaskExecutor executor,
+			boolean shutdownExecutorOnDestroy) {
+
+		Assert.notNull(operations, "MongoOperations must not be null!");
+		Assert.notNull(executor, "Executor must not be null!");
+
+		this.operations = operations;
+		this.executor = executor;
+		this.shutdownExecutorOnDestroy = shutdownExecutorOnDestroy;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#getOperations()
+	 */
+	@Override
+	public MongoOperations getOperations() {
+		return operations;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#findOne(org.springframework.data.mongodb.core.query.Query, java.lang.Class)
+	 */
+	@Override
+	public <T> ListenableFuture<T> findOne(final Query query, final Class<T> entityClass) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+				return operations.findOne(query, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#findOne(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> ListenableFuture<T> findOne(final Query query, final Class<T> entityClass, final String collectionName) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+				return operations.findOne(query, entityClass, collectionName);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#find(org.springframework.data.mongodb.core.query.Query, java.lang.Class)
+	 */
+	@Override
+	public <T> ListenableFuture<List<T>> find(final Query query, final Class<T> entityClass) {
+
+		return submit(new Callable<List<T>>() {
+
+			@Override
+			public List<T> call() {
+				return operations.find(query, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#find(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> ListenableFuture<List<T>> find(final Query query, final Class<T> entityClass,
+			final String collectionName) {
+
+		return submit(new Callable<List<T>>() {
+
+			@Override
+			public List<T> call() {
+				return operations.find(query, entityClass, collectionName);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#findAll(java.lang.Class)
+	 */
+	@Override
+	public <T> ListenableFuture<List<T>> findAll(final Class<T> entityClass) {
+
+		return submit(new Callable<List<T>>() {
+
+			@Override
+			public List<T> call() {
+				return operations.findAll(entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#findById(java.lang.Object, java.lang.Class)
+	 */
+	@Override
+	public <T> ListenableFuture<T> findById(final Object id, final Class<T> entityClass) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+				return operations.findById(id, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#findById(java.lang.Object, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> ListenableFuture<T> findById(final Object id, final Class<T> entityClass, final String collectionName) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+				return operations.findById(id, entityClass, collectionName);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#count(org.springframework.data.mongodb.core.query.Query, java.lang.Class)
+	 */
+	@Override
+	public ListenableFuture<Long> count(final Query query, final Class<?> entityClass) {
+
+		return submit(new Callable<Long>() {
+
+			@Override
+			public Long call() {
+				return operations.count(query, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#count(org.springframework.data.mongodb.core.query.Query, java.lang.String)
+	 */
+	@Override
+	public ListenableFuture<Long> count(final Query query, final String collectionName) {
+
+		return submit(new Callable<Long>() {
+
+			@Override
+			public Long call() {
+				return operations.count(query, collectionName);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#insert(java.lang.Object)
+	 */
+	@Override
+	public <T> ListenableFuture<T> insert(final T objectToSave) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+
+				operations.insert(objectToSave);
+				return objectToSave;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#insert(java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public <T> ListenableFuture<T> insert(final T objectToSave, final String collectionName) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+
+				operations.insert(objectToSave, collectionName);
+				return objectToSave;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#insertAll(java.util.Collection)
+	 */
+	@Override
+	public <T> ListenableFuture<Collection<T>> insertAll(final Collection<T> objectsToSave) {
+
+		return submit(new Callable<Collection<T>>() {
+
+			@Override
+			public Collection<T> call() {
+
+				operations.insertAll(objectsToSave);
+				return objectsToSave;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#save(java.lang.Object)
+	 */
+	@Override
+	public <T> ListenableFuture<T> save(final T objectToSave) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+
+				operations.save(objectToSave);
+				return objectToSave;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#save(java.lang.Object, java.lang.String)
+	 */
+	@Override
+	public <T> ListenableFuture<T> save(final T objectToSave, final String collectionName) {
+
+		return submit(new Callable<T>() {
+
+			@Override
+			public T call() {
+
+				operations.save(objectToSave, collectionName);
+				return objectToSave;
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#upsert(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update, java.lang.Class)
+	 */
+	@Override
+	public ListenableFuture<WriteResult> upsert(final Query query, final Update update, final Class<?> entityClass) {
+
+		return submit(new Callable<WriteResult>() {
+
+			@Override
+			public WriteResult call() {
+				return operations.upsert(query, update, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#updateFirst(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update, java.lang.Class)
+	 */
+	@Override
+	public ListenableFuture<WriteResult> updateFirst(final Query query, final Update update,
+			final Class<?> entityClass) {
+
+		return submit(new Callable<WriteResult>() {
+
+			@Override
+			public WriteResult call() {
+				return operations.updateFirst(query, update, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#updateMulti(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update, java.lang.Class)
+	 */
+	@Override
+	public ListenableFuture<WriteResult> updateMulti(final Query query, final Update update,
+			final Class<?> entityClass) {
+
+		return submit(new Callable<WriteResult>() {
+
+			@Override
+			public WriteResult call() {
+				return operations.updateMulti(query, update, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#remove(java.lang.Object)
+	 */
+	@Override
+	public ListenableFuture<WriteResult> remove(final Object object) {
+
+		return submit(new Callable<WriteResult>() {
+
+			@Override
+			public WriteResult call() {
+				return operations.remove(object);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#remove(org.springframework.data.mongodb.core.query.Query, java.lang.Class)
+	 */
+	@Override
+	public ListenableFuture<WriteResult> remove(final Query query, final Class<?> entityClass) {
+
+		return submit(new Callable<WriteResult>() {
+
+			@Override
+			public WriteResult call() {
+				return operations.remove(query, entityClass);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.Class)
+	 */
+	@Override
+	public <O> ListenableFuture<AggregationResults<O>> aggregate(final TypedAggregation<?> aggregation,
+			final Class<O> outputType) {
+
+		return submit(new Callable<AggregationResults<O>>() {
+
+			@Override
+			public AggregationResults<O> call() {
+				return operations.aggregate(aggregation, outputType);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.AsyncMongoOperations#aggregate(org.springframework.data.mongodb.core.aggregation.Aggregation, java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <O> ListenableFuture<AggregationResults<O>> aggregate(final Aggregation aggregation,
+			final String collectionName, final Class<O> outputType) {
+
+		return submit(new Callable<AggregationResults<O>>() {
+
+			@Override
+			public AggregationResults<O> call() {
+				return operations.aggregate(aggregation, collectionName, outputType);
+			}
+		});
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		if (shutdownExecutorOnDestroy && executor instanceof DisposableBean) {
+			try {
+				((DisposableBean) executor).destroy();
+			} catch (Exception o_O) {
+				LOGGER.warn("Failed to shut down executor!", o_O);
+			}
+		}
+	}
+
+	/**
+	 * Submits the given {@link Callable} to the executor. A rejected submission does not propagate to the caller but
+	 * fails the returned {@link ListenableFuture}, so that all errors are reported the same way.
+	 *
+	 * @param callable must not be {@literal null}.
+	 * @return
+	 */
+	private <T> ListenableFuture<T> submit(Callable<T> callable) {
+
+		try {
+			return executor.submitListenable(callable);
+		} catch (TaskRejectedException o_O) {
+
+			SettableListenableFuture<T> future = new SettableListenableFuture<T>();
+			future.setException(o_O);
+			return future;
+		}
+	}
+
+	/**
+	 * Creates the default {@link AsyncListenableTaskExecutor} running at most {@code concurrencyLimit} operations
+	 * concurrently and queueing at most {@code queueCapacity} further ones. Uses virtual threads if supported by the
+	 * runtime and platform threads otherwise. Submissions exceeding both limits are rejected with a
+	 * {@link TaskRejectedException} instead of blocking the submitting thread.
+	 *
+	 * @param concurrencyLimit must be greater than zero.
+	 * @param queueCapacity must not be negative.
+	 * @return
+	 */
+	static AsyncListenableTaskExecutor createDefaultExecutor(int concurrencyLimit, int queueCapacity) {
+
+		Assert.isTrue(concurrencyLimit > 0, "Concurrency limit must be greater than zero!");
+		Assert.isTrue(queueCapacity >= 0, "Queue capacity must not be negative!");
+
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(concurrencyLimit);
+		executor.setMaxPoolSize(concurrencyLimit);
+		executor.setQueueCapacity(queueCapacity);
+		executor.setAllowCoreThreadTimeOut(true);
+		executor.setRejectedExecutionHandler(new ThreadPoolExecutor.AbortPolicy());
+
+		ThreadFactory virtualThreadFactory = VirtualThreads.getThreadFactory(THREAD_NAME_PREFIX);
+
+		if (virtualThreadFactory != null) {
+			executor.setThreadFactory(virtualThreadFactory);
+		} else {
+			executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+			executor.setDaemon(true);
+		}
+
+		executor.initialize();
+
+		return executor;
+	}
+
+	/**
+	 * Reflective access to {@code Thread.ofVirtual()} so that virtual threads are used on runtimes supporting them
+	 * without requiring such a runtime at compile time.
+	 */
+	static class VirtualThreads {
+
+		private static final Method OF_VIRTUAL = ReflectionUtils.findMethod(Thread.class, "ofVirtual");
+		private static final Class<?> BUILDER_TYPE = ClassUtils.isPresent("java.lang.Thread$Builder",
+				VirtualThreads.class.getClassLoader())
+						? ClassUtils.resolveClassName("java.lang.Thread$Builder", VirtualThreads.class.getClassLoader()) : null;
+
+		/**
+		 * Returns whether the current runtime supports virtual threads.
+		 *
+		 * @return
+		 */
+		static boolean isSupported() {
+			return OF_VIRTUAL != null && BUILDER_TYPE != null;
+		}
+
+		/**
+		 * Returns a {@link ThreadFactory} creating virtual threads named with the given prefix or {@literal null} if
+		 * virtual threads are not supported.
+		 *
+		 * @param namePrefix must not be {@literal null}.
+		 * @return
+		 */
+		static ThreadFactory getThreadFactory(String namePrefix) {
+
+			if (!isSupported()) {
+				return null;
+			}
+
+			try {
+
+				Object builder = ReflectionUtils.invokeMethod(OF_VIRTUAL, null);
+				Method name = ReflectionUtils.findMethod(BUILDER_TYPE, "name", String.class, long.class);
+				builder = ReflectionUtils.invokeMethod(name, builder, namePrefix, 0L);
+
+				return (ThreadFactory) ReflectionUtils.invokeMethod(ReflectionUtils.findMethod(BUILDER_TYPE, "factory"),
+						builder);
+
+			} catch (RuntimeException o_O) {
+
+				LOGGER.debug("Could not create virtual thread factory, falling back to platform threads.", o_O);
+				return null;
+			}
+		}
+	}
+}
@@ -0,0 +1,758 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.bson.types.ObjectId;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.core.convert.IdentifierKey;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.Cached;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.scheduling.concurrent.CustomizableThreadFactory;
+import org.springframework.util.Assert;
+import org.springframework.util.concurrent.SettableListenableFuture;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+import com.mongodb.WriteConcern;
+
+/**
+ * {@link MongoTemplate} gathering single-document operations issued concurrently for the same collection into a single
+ * round trip to the server.
+ * <p>
+ * Inserts are written as a single unordered bulk insert (group commit) per resolved
+ * {@link com.mongodb.WriteConcern}. An insert waits until either the configured maximum batch size is reached, in
+ * which case the calling thread writes the batch, or the configured maximum delay has passed, in which case a
+ * background thread writes it. The timer thread only hands expired batches to a separate pool of I/O threads, so that a
+ * slow write to one collection does not delay the batches of others. That pool grows on demand but never exceeds the
+ * number of callers waiting for their batch. Each caller still blocks until its own document has been written and receives its own
+ * identifier or error.
+ * <p>
+ * Batching applies to {@link #insert(Object)} and to {@link #save(Object)} of documents without an identifier.
+ * Conversion and the {@link org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent} and
+ * {@link org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent} are still handled on the calling thread
+ * before and after the document is written.
+ * <p>
+ * Lookups via {@link #findById(Object, Class, String)}, and thus repository {@code findOne(…)} calls, are coalesced
+ * the same way. Concurrent lookups of the same identifier share a single in-flight query and lookups of distinct
+ * identifiers are read via a single {@code $in} query. Numeric identifiers are matched by value, lookups of documents,
+ * arrays or patterns used as identifier are not batched. The raw document is shared, each caller still converts it
+ * into its own entity instance.
+ *
+ * @since 1.10
+ */
+public class BatchingMongoTemplate extends MongoTemplate implements DisposableBean {
+
+	private static final Logger LOGGER = LoggerFactory.getLogger(BatchingMongoTemplate.class);
+
+	static final int DEFAULT_MAX_BATCH_SIZE = 500;
+	static final long DEFAULT_MAX_DELAY_MILLIS = 2;
+
+	private static final String ID_FIELD = "_id";
+	private static final String THREAD_NAME_PREFIX = "mongo-insert-batch-";
+	private static final String FLUSH_THREAD_NAME_PREFIX = "mongo-batch-flush-";
+
+	private final ConcurrentMap<String, InsertBatcher> batchers = new ConcurrentHashMap<String, InsertBatcher>();
+	private final ConcurrentMap<String, ReadBatcher> readBatchers = new ConcurrentHashMap<String, ReadBatcher>();
+	private final ScheduledThreadPoolExecutor scheduler;
+	private final ThreadPoolExecutor flushExecutor;
+	private final PersistenceExceptionTranslator exceptionTranslator;
+	private final QueryMapper queryMapper;
+
+	private final AtomicLong inserts = new AtomicLong();
+	private final AtomicLong batches = new AtomicLong();
+	private final AtomicLong lookups = new AtomicLong();
+	private final AtomicLong lookupQueries = new AtomicLong();
+
+	private volatile int maxBatchSize = DEFAULT_MAX_BATCH_SIZE;
+	private volatile long maxDelayMillis = DEFAULT_MAX_DELAY_MILLIS;
+
+	/**
+	 * Creates a new {@link BatchingMongoTemplate} for the given {@link MongoDbFactory}.
+	 *
+	 * @param mongoDbFactory must not be {@literal null}.
+	 */
+	public BatchingMongoTemplate(MongoDbFactory mongoDbFactory) {
+		this(mongoDbFactory, null);
+	}
+
+	/**
+	 * Creates a new {@link BatchingMongoTemplate} for the given {@link MongoDbFactory} and {@link MongoConverter}.
+	 *
+	 * @param mongoDbFactory must not be {@literal null}.
+	 * @param mongoConverter can be {@literal null}.
+	 */
+	public BatchingMongoTemplate(MongoDbFactory mongoDbFactory, MongoConverter mongoConverter) {
+
+		super(mongoDbFactory, mongoConverter);
+
+		CustomizableThreadFactory threadFactory = new CustomizableThreadFactory(THREAD_NAME_PREFIX);
+		threadFactory.setDaemon(true);
+
+		this.scheduler = new ScheduledThreadPoolExecutor(1, threadFactory);
+		this.scheduler.setRemoveOnCancelPolicy(true);
+
+		CustomizableThreadFactory flushThreadFactory = new CustomizableThreadFactory(FLUSH_THREAD_NAME_PREFIX);
+		flushThreadFactory.setDaemon(true);
+
+		// Every flush serves at least one blocked caller, so the number of threads is bounded by the callers waiting
+		this.flushExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+				new SynchronousQueue<Runnable>(), flushThreadFactory);
+		this.exceptionTranslator = mongoDbFactory.getExceptionTranslator();
+		this.queryMapper = new QueryMapper(getConverter());
+	}
+
+	/**
+	 * Configures the maximum number of documents written or read in a single batch. Defaults to
+	 * {@value #DEFAULT_MAX_BATCH_SIZE}.
+	 *
+	 * @param maxBatchSize must be greater than zero.
+	 */
+	public void setMaxBatchSize(int maxBatchSize) {
+
+		Assert.isTrue(maxBatchSize > 0, "Maximum batch size must be greater than zero!");
+		this.maxBatchSize = maxBatchSize;
+	}
+
+	/**
+	 * Configures the maximum time in milliseconds an insert or lookup waits for further ones to be batched with. Defaults to
+	 * {@value #DEFAULT_MAX_DELAY_MILLIS}.
+	 *
+	 * @param maxDelayMillis must not be negative.
+	 */
+	public void setMaxDelayMillis(long maxDelayMillis) {
+
+		Assert.isTrue(maxDelayMillis >= 0, "Maximum delay must not be negative!");
+		this.maxDelayMillis = maxDelayMillis;
+	}
+
+	/**
+	 * Returns the number of documents inserted via batches.
+	 *
+	 * @return
+	 */
+	public long getInsertCount() {
+		return inserts.get();
+	}
+
+	/**
+	 * Returns the number of batches written.
+	 *
+	 * @return
+	 */
+	public long getBatchCount() {
+		return batches.get();
+	}
+
+	/**
+	 * Returns the number of lookups by identifier issued against the template.
+	 *
+	 * @return
+	 */
+	public long getFindByIdCount() {
+		return lookups.get();
+	}
+
+	/**
+	 * Returns the number of queries actually sent to the server to answer lookups by identifier.
+	 *
+	 * @return
+	 */
+	public long getFindByIdQueryCount() {
+		return lookupQueries.get();
+	}
+
+	/**
+	 * Returns the number of lookups by identifier answered per query sent to the server, i.e. {@literal 1.0} if no
+	 * lookups were coalesced at all.
+	 *
+	 * @return
+	 */
+	public double getFindByIdCoalescingRatio() {
+
+		long queries = lookupQueries.get();
+		return queries == 0 ? 0 : (double) lookups.get() / queries;
+	}
+
+	/**
+	 * Writes all pending inserts and reads all pending lookups.
+	 */
+	public void flush() {
+
+		for (InsertBatcher batcher : batchers.values()) {
+			batcher.flush();
+		}
+
+		for (ReadBatcher batcher : readBatchers.values()) {
+			batcher.flush();
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.beans.factory.DisposableBean#destroy()
+	 */
+	@Override
+	public void destroy() {
+
+		flush();
+		scheduler.shutdownNow();
+		flushExecutor.shutdown();
+	}
+
+	/**
+	 * Schedules the given batch flush to be executed on the flush executor once the maximum delay has passed. The
+	 * scheduler thread itself never performs any I/O.
+	 *
+	 * @param flush must not be {@literal null}.
+	 */
+	private void scheduleFlush(final Runnable flush) {
+
+		scheduler.schedule(new Runnable() {
+
+			@Override
+			public void run() {
+				flushExecutor.execute(flush);
+			}
+		}, maxDelayMillis, TimeUnit.MILLISECONDS);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoTemplate#insertDBObject(java.lang.String, com.mongodb.DBObject, java.lang.Class)
+	 */
+	@Override
+	protected Object insertDBObject(String collectionName, DBObject dbDoc, Class<?> entityClass) {
+		return await(getBatcher(collectionName).add(dbDoc, entityClass));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoTemplate#saveDBObject(java.lang.String, com.mongodb.DBObject, java.lang.Class)
+	 */
+	@Override
+	protected Object saveDBObject(String collectionName, DBObject dbDoc, Class<?> entityClass) {
+
+		// Documents without an identifier are inserted by the save anyway
+		return dbDoc.get(ID_FIELD) == null ? insertDBObject(collectionName, dbDoc, entityClass)
+				: super.saveDBObject(collectionName, dbDoc, entityClass);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoTemplate#findById(java.lang.Object, java.lang.Class, java.lang.String)
+	 */
+	@Override
+	public <T> T findById(Object id, Class<T> entityClass, String collectionName) {
+
+		MongoPersistentEntity<?> entity = getConverter().getMappingContext().getPersistentEntity(entityClass);
+
+		// Cached documents are served by the document cache of the template
+		if (entity != null && getDocumentCache() != null && entity.findAnnotation(Cached.class) != null) {
+			return super.findById(id, entityClass, collectionName);
+		}
+
+		MongoPersistentProperty idProperty = entity == null ? null : entity.getIdProperty();
+		String idKey = idProperty == null ? ID_FIELD : idProperty.getName();
+
+		Object mappedId = queryMapper.getMappedObject(new BasicDBObject(idKey, id), entity).get(ID_FIELD);
+		IdentifierKey key = IdentifierKey.of(mappedId);
+
+		// Documents can only be matched back to their lookup by plain identifier values
+		if (key == null) {
+			return super.findById(id, entityClass, collectionName);
+		}
+
+		DBObject dbObject = await(getReadBatcher(collectionName).add(key, mappedId));
+		return new ReadDbObjectCallback<T>(getConverter(), entityClass, collectionName).doWith(dbObject);
+	}
+
+	private InsertBatcher getBatcher(String collectionName) {
+
+		InsertBatcher batcher = batchers.get(collectionName);
+
+		if (batcher != null) {
+			return batcher;
+		}
+
+		batcher = new InsertBatcher(collectionName);
+		InsertBatcher existing = batchers.putIfAbsent(collectionName, batcher);
+
+		return existing != null ? existing : batcher;
+	}
+
+	private ReadBatcher getReadBatcher(String collectionName) {
+
+		ReadBatcher batcher = readBatchers.get(collectionName);
+
+		if (batcher != null) {
+			return batcher;
+		}
+
+		batcher = new ReadBatcher(collectionName);
+		ReadBatcher existing = readBatchers.putIfAbsent(collectionName, batcher);
+
+		return existing != null ? existing : batcher;
+	}
+
+	/**
+	 * Reads the documents for the given pending lookups via a single {@code $in} query and completes their futures.
+	 *
+	 * @param batcher must not be {@literal null}.
+	 * @param pending must not be {@literal null} or empty.
+	 */
+	private void read(ReadBatcher batcher, final Map<IdentifierKey, PendingLookup> pending) {
+
+		lookupQueries.incrementAndGet();
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Reading batch of {} ids from collection: {}", pending.size(), batcher.collectionName);
+		}
+
+		Map<IdentifierKey, DBObject> result;
+
+		try {
+
+			result = execute(batcher.collectionName, new CollectionCallback<Map<IdentifierKey, DBObject>>() {
+
+				@Override
+				public Map<IdentifierKey, DBObject> doInCollection(DBCollection collection)
+						throws MongoException, DataAccessException {
+
+					List<Object> ids = new ArrayList<Object>(pending.size());
+
+					for (PendingLookup lookup : pending.values()) {
+						ids.add(lookup.id);
+					}
+
+					DBObject query = new BasicDBObject(ID_FIELD, new BasicDBObject("$in", ids));
+					Map<IdentifierKey, DBObject> result = new HashMap<IdentifierKey, DBObject>(pending.size());
+					DBCursor cursor = collection.find(query);
+
+					try {
+						while (cursor.hasNext()) {
+
+							DBObject dbObject = cursor.next();
+							IdentifierKey key = IdentifierKey.of(dbObject.get(ID_FIELD));
+
+							if (key != null) {
+								result.put(key, dbObject);
+							}
+						}
+					} finally {
+						cursor.close();
+					}
+
+					return result;
+				}
+			});
+
+		} catch (RuntimeException o_O) {
+
+			batcher.release(pending);
+
+			for (PendingLookup lookup : pending.values()) {
+				lookup.future.setException(o_O);
+			}
+
+			return;
+		}
+
+		batcher.release(pending);
+
+		for (Map.Entry<IdentifierKey, PendingLookup> entry : pending.entrySet()) {
+			entry.getValue().future.set(result.get(entry.getKey()));
+		}
+	}
+
+	/**
+	 * Writes the given pending inserts as unordered bulk inserts and completes their futures. The write concern is
+	 * resolved for every document along with the type of the entity it was converted from, just like for a single
+	 * insert, and documents resolving to different write concerns are written in separate bulks.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param pending must not be {@literal null} or empty.
+	 */
+	private void write(final String collectionName, final List<PendingInsert> pending) {
+
+		batches.incrementAndGet();
+		inserts.addAndGet(pending.size());
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Inserting batch of {} DBObjects in collection: {}", pending.size(), collectionName);
+		}
+
+		try {
+
+			execute(collectionName, new CollectionCallback<Void>() {
+
+				@Override
+				public Void doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+					Map<WriteConcern, List<PendingInsert>> byWriteConcern = new LinkedHashMap<WriteConcern, List<PendingInsert>>();
+
+					for (PendingInsert insert : pending) {
+
+						if (insert.dbDoc.get(ID_FIELD) == null) {
+							insert.dbDoc.put(ID_FIELD, new ObjectId());
+						}
+
+						MongoAction mongoAction = new MongoAction(getWriteConcern(), MongoActionOperation.INSERT,
+								collectionName, insert.entityClass, insert.dbDoc, null);
+						WriteConcern writeConcernToUse = prepareWriteConcern(mongoAction);
+						List<PendingInsert> inserts = byWriteConcern.get(writeConcernToUse);
+
+						if (inserts == null) {
+							inserts = new ArrayList<PendingInsert>();
+							byWriteConcern.put(writeConcernToUse, inserts);
+						}
+
+						inserts.add(insert);
+					}
+
+					for (Map.Entry<WriteConcern, List<PendingInsert>> entry : byWriteConcern.entrySet()) {
+
+						List<PendingInsert> inserts = entry.getValue();
+						BulkWriteOperation bulk = collection.initializeUnorderedBulkOperation();
+
+						for (PendingInsert insert : inserts) {
+							bulk.insert(insert.dbDoc);
+						}
+
+						try {
+							if (entry.getKey() == null) {
+								bulk.execute();
+							} else {
+								bulk.execute(entry.getKey());
+							}
+						} catch (BulkWriteException o_O) {
+							completeExceptionally(inserts, o_O);
+							continue;
+						}
+
+						for (PendingInsert insert : inserts) {
+							insert.future.set(insert.dbDoc.get(ID_FIELD));
+						}
+					}
+
+					return null;
+				}
+			});
+
+		} catch (RuntimeException o_O) {
+
+			for (PendingInsert insert : pending) {
+				insert.future.setException(o_O);
+			}
+		}
+	}
+
+	/**
+	 * Fails the pending inserts affected by the given {@link BulkWriteException} with their individual error and
+	 * completes all others.
+	 *
+	 * @param pending must not be {@literal null}.
+	 * @param exception must not be {@literal null}.
+	 */
+	private void completeExceptionally(List<PendingInsert> pending, BulkWriteException exception) {
+
+		RuntimeException[] errors = new RuntimeException[pending.size()];
+
+		for (BulkWriteError error : exception.getWriteErrors()) {
+			errors[error.getIndex()] = translate(new MongoException(error.getCode(), error.getMessage()));
+		}
+
+		RuntimeException writeConcernError = exception.getWriteConcernError() == null ? null : translate(exception);
+
+		for (int i = 0; i < pending.size(); i++) {
+
+			PendingInsert insert = pending.get(i);
+			RuntimeException error = errors[i] != null ? errors[i] : writeConcernError;
+
+			if (error != null) {
+				insert.future.setException(error);
+			} else {
+				insert.future.set(insert.dbDoc.get(ID_FIELD));
+			}
+		}
+	}
+
+	private RuntimeException translate(RuntimeException exception) {
+
+		try {
+			DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(exception);
+			return translated == null ? exception : translated;
+		} catch (RuntimeException o_O) {
+			return o_O;
+		}
+	}
+
+	private static <T> T await(Future<T> future) {
+
+		try {
+			return future.get();
+		} catch (InterruptedException o_O) {
+
+			Thread.currentThread().interrupt();
+			throw new UncategorizedMongoDbException("Interrupted while waiting for batched operation!", o_O);
+
+		} catch (ExecutionException o_O) {
+
+			Throwable cause = o_O.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new UncategorizedMongoDbException("Batched operation failed!", cause);
+		}
+	}
+
+	/**
+	 * Gathers the inserts for a single collection.
+	 */
+	private class InsertBatcher implements Runnable {
+
+		private final String collectionName;
+		private List<PendingInsert> pending = new ArrayList<PendingInsert>();
+
+		InsertBatcher(String collectionName) {
+			this.collectionName = collectionName;
+		}
+
+		/**
+		 * Adds the given document to the current batch and writes the batch on the calling thread in case it is full.
+		 *
+		 * @param dbDoc must not be {@literal null}.
+		 * @param entityClass the type of the entity the document was converted from, can be {@literal null}.
+		 * @return the future to be completed with the identifier of the inserted document.
+		 */
+		SettableListenableFuture<Object> add(DBObject dbDoc, Class<?> entityClass) {
+
+			PendingInsert insert = new PendingInsert(dbDoc, entityClass);
+			List<PendingInsert> toWrite = null;
+
+			synchronized (this) {
+
+				pending.add(insert);
+
+				if (pending.size() >= maxBatchSize) {
+					toWrite = drain();
+				} else if (pending.size() == 1) {
+					scheduleFlush(this);
+				}
+			}
+
+			if (toWrite != null) {
+				write(collectionName, toWrite);
+			}
+
+			return insert.future;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			flush();
+		}
+
+		/**
+		 * Writes the current batch if it contains any inserts.
+		 */
+		void flush() {
+
+			List<PendingInsert> toWrite;
+
+			synchronized (this) {
+				toWrite = drain();
+			}
+
+			if (!toWrite.isEmpty()) {
+				write(collectionName, toWrite);
+			}
+		}
+
+		private List<PendingInsert> drain() {
+
+			List<PendingInsert> result = pending;
+			pending = new ArrayList<PendingInsert>();
+
+			return result;
+		}
+	}
+
+	/**
+	 * Gathers the lookups by identifier for a single collection. Lookups stay registered as in flight until their query
+	 * has returned so that concurrent lookups of the same identifier can join them.
+	 */
+	private class ReadBatcher implements Runnable {
+
+		private final String collectionName;
+		private final Map<IdentifierKey, PendingLookup> inFlight = new HashMap<IdentifierKey, PendingLookup>();
+		private Map<IdentifierKey, PendingLookup> pending = new LinkedHashMap<IdentifierKey, PendingLookup>();
+
+		ReadBatcher(String collectionName) {
+			this.collectionName = collectionName;
+		}
+
+		/**
+		 * Registers a lookup of the given identifier, joining an in-flight one for the same identifier if present, and
+		 * reads the current batch on the calling thread in case it is full.
+		 *
+		 * @param key the normalized identifier to match the lookup by, must not be {@literal null}.
+		 * @param id the identifier to query for, must not be {@literal null}.
+		 * @return the future to be completed with the document found or {@literal null} if none exists.
+		 */
+		SettableListenableFuture<DBObject> add(IdentifierKey key, Object id) {
+
+			PendingLookup lookup;
+			Map<IdentifierKey, PendingLookup> toRead = null;
+
+			synchronized (this) {
+
+				lookups.incrementAndGet();
+				lookup = inFlight.get(key);
+
+				if (lookup != null) {
+					return lookup.future;
+				}
+
+				lookup = new PendingLookup(id);
+				inFlight.put(key, lookup);
+				pending.put(key, lookup);
+
+				if (pending.size() >= maxBatchSize) {
+					toRead = drain();
+				} else if (pending.size() == 1) {
+					scheduleFlush(this);
+				}
+			}
+
+			if (toRead != null) {
+				read(this, toRead);
+			}
+
+			return lookup.future;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Runnable#run()
+		 */
+		@Override
+		public void run() {
+			flush();
+		}
+
+		/**
+		 * Reads the current batch if it contains any lookups.
+		 */
+		void flush() {
+
+			Map<IdentifierKey, PendingLookup> toRead;
+
+			synchronized (this) {
+				toRead = drain();
+			}
+
+			if (!toRead.isEmpty()) {
+				read(this, toRead);
+			}
+		}
+
+		/**
+		 * Removes the given lookups from the ones in flight so that subsequent lookups issue a new query.
+		 *
+		 * @param released must not be {@literal null}.
+		 */
+		synchronized void release(Map<IdentifierKey, PendingLookup> released) {
+			inFlight.keySet().removeAll(released.keySet());
+		}
+
+		private Map<IdentifierKey, PendingLookup> drain() {
+
+			Map<IdentifierKey, PendingLookup> result = pending;
+			pending = new LinkedHashMap<IdentifierKey, PendingLookup>();
+
+			return result;
+		}
+	}
+
+	/**
+	 * A document waiting to be inserted along with the future to complete once it has been written.
+	 */
+	private static class PendingInsert {
+
+		private final DBObject dbDoc;
+		private final Class<?> entityClass;
+		private final SettableListenableFuture<Object> future = new SettableListenableFuture<Object>();
+
+		PendingInsert(DBObject dbDoc, Class<?> entityClass) {
+
+			this.dbDoc = dbDoc;
+			this.entityClass = entityClass;
+		}
+	}
+
+	/**
+	 * A lookup of a document by the identifier to query for along with the future to complete once it has been read.
+	 */
+	private static class PendingLookup {
+
+		private final Object id;
+		private final SettableListenableFuture<DBObject> future = new SettableListenableFuture<DBObject>();
+
+		PendingLookup(Object id) {
+			this.id = id;
+		}
+	}
+}
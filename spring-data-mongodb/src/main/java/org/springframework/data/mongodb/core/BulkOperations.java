@@ -15,7 +15,9 @@
  */
 package org.springframework.data.mongodb.core;
 
+import java.util.Iterator;
 import java.util.List;
+import java.util.concurrent.Executor;
 
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -63,6 +65,50 @@ public interface BulkOperations {
 	 */
 	BulkOperations insert(List<? extends Object> documents);
 
+	/**
+	 * Add the inserts of all documents provided by the given {@link Iterator} to the bulk operation. Combine with
+	 * {@link #chunked(int, int)} to avoid holding all converted documents in memory.
+	 * 
+	 * @param documents the documents to insert, must not be {@literal null}.
+	 * @return the current {@link BulkOperations} instance with the inserts added, will never be {@literal null}.
+	 * @since 1.10
+	 */
+	BulkOperations insert(Iterator<? extends Object> documents);
+
+	/**
+	 * Add a save of the given entity to the bulk operation. The entity is converted and the mapping events are published
+	 * just like for {@link MongoOperations#save(Object)}. An entity without an identifier is inserted, all others replace
+	 * the document with the same identifier or insert it in case it does not exist yet. For entities with a
+	 * {@link org.springframework.data.annotation.Version} property, the version is incremented and the document is only
+	 * replaced if it still carries the previous version. As the number of documents matched is only reported per
+	 * {@link com.mongodb.BulkWriteOperation}, {@link BulkMode#UNORDERED} bulk operations collect versioned saves in a
+	 * {@link com.mongodb.BulkWriteOperation} of their own that is executed along with the other requests, while
+	 * {@link BulkMode#ORDERED} ones execute the requests added before a versioned save and after it separately. A version
+	 * mismatch fails the save with an {@link org.springframework.dao.OptimisticLockingFailureException} once it is
+	 * executed, i.e. on {@link #execute()}, once a chunk is executed or, for ordered bulk operations, when adding an
+	 * unversioned request.
+	 * Generated identifiers are populated and the {@code AfterSaveEvent} is published once the save has been executed,
+	 * also for the saves that succeeded in case other requests failed.
+	 * 
+	 * @param entity the entity to save, must not be {@literal null}.
+	 * @return the current {@link BulkOperations} instance with the save added, will never be {@literal null}.
+	 * @since 1.10
+	 */
+	BulkOperations save(Object entity);
+
+	/**
+	 * Add a replacement of the first document matching the given {@link Query} by the given entity to the bulk
+	 * operation. The entity is converted and the mapping events are published just like for
+	 * {@link MongoOperations#save(Object)}. The version of entities with a
+	 * {@link org.springframework.data.annotation.Version} property is incremented but not checked.
+	 * 
+	 * @param query replacement criteria, must not be {@literal null}.
+	 * @param entity the entity to replace the matching document with, must not be {@literal null}.
+	 * @return the current {@link BulkOperations} instance with the replacement added, will never be {@literal null}.
+	 * @since 1.10
+	 */
+	BulkOperations replaceOne(Query query, Object entity);
+
 	/**
 	 * Add a single update to the bulk operation. For the update request, only the first matching document is updated.
 	 * 
@@ -135,6 +181,52 @@ public interface BulkOperations {
 	 */
 	BulkOperations remove(List<Query> removes);
 
+	/**
+	 * Configures the bulk operation to be executed in chunks. The operations added so far are sent to the server as soon
+	 * as the given number of requests or the given number of BSON bytes of inserted documents is reached, so that they
+	 * don't have to be held in memory until {@link #execute()} is called. {@link #execute()} then sends the remaining
+	 * operations and returns the results of all chunks aggregated. Note that a chunk failing to execute raises the error
+	 * from the method adding the operation and the chunks executed before are not rolled back.
+	 * 
+	 * @param maxRequests the maximum number of requests per chunk, {@literal 0} for no limit.
+	 * @param maxBytes the maximum number of BSON bytes of inserted documents per chunk, {@literal 0} for no limit.
+	 * @return the current {@link BulkOperations} instance, will never be {@literal null}.
+	 * @since 1.10
+	 */
+	BulkOperations chunked(int maxRequests, int maxBytes);
+
+	/**
+	 * Configures an {@link BulkMode#UNORDERED} bulk operation to be split into batches of at most the given number of
+	 * requests that are executed concurrently using the given {@link Executor}, so that large bulks are sent over
+	 * several connections. The results of all batches are merged into a single {@link BulkWriteResult}, errors into a
+	 * single {@link org.springframework.data.mongodb.BulkOperationException} with the indexes of the failed requests
+	 * remapped to their position among all operations added, including the ones of chunks executed before when combined
+	 * with {@link #chunked(int, int)}. Batches the {@link Executor} rejects are executed in the calling thread.
+	 * 
+	 * @param executor must not be {@literal null}.
+	 * @param maxBatchRequests the maximum number of requests per batch, must be greater than zero.
+	 * @return the current {@link BulkOperations} instance, will never be {@literal null}.
+	 * @throws IllegalStateException in case the bulk operation is not {@link BulkMode#UNORDERED}.
+	 * @since 1.10
+	 */
+	BulkOperations parallel(Executor executor, int maxBatchRequests);
+
+	/**
+	 * Configures an {@link BulkMode#UNORDERED} bulk operation to merge single document updates selecting a document by
+	 * nothing but its {@code _id} with the updates of the same document added before. {@code $inc} amounts of integral values are summed
+	 * up, the last {@code $set} value of a field is kept and {@code $push} values are accumulated into {@code $each}.
+	 * Updates using other operators, touching the same field with different operators or {@code $push} modifiers other
+	 * than {@code $each} are sent separately in the order they were added. Note that the counters of the
+	 * {@link BulkWriteResult} and the indexes of upserts and errors refer to the coalesced updates. Coalescing moves an
+	 * update ahead of the updates of other documents added in between, which is why it is not available for
+	 * {@link BulkMode#ORDERED} bulk operations.
+	 * 
+	 * @return the current {@link BulkOperations} instance, will never be {@literal null}.
+	 * @throws IllegalStateException in case the bulk operation is not {@link BulkMode#UNORDERED}.
+	 * @since 1.10
+	 */
+	BulkOperations coalesceUpdates();
+
 	/**
 	 * Execute all bulk operations using the default write concern.
 	 * 
@@ -0,0 +1,289 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import org.springframework.data.mongodb.core.query.Update.Modifiers;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * An update of a single document identified by its {@code _id} that subsequent updates of the same document can be
+ * merged into. Merging is limited to {@code $set}, {@code $inc} and {@code $push} on fields not touched by another
+ * operator of the update: {@code $set} values are overwritten, integral {@code $inc} amounts summed up and
+ * {@code $push} values accumulated into {@code $each}. All other updates have to be applied separately.
+ *
+ * @since 1.10
+ */
+class CoalescedUpdate {
+
+	private static final String ID_FIELD = "_id";
+	private static final String SET = "$set";
+	private static final String INC = "$inc";
+	private static final String PUSH = "$push";
+	private static final String EACH = "$each";
+	private static final Collection<String> MERGEABLE_OPERATORS = Arrays.asList(SET, INC, PUSH);
+
+	private final DBObject query;
+	private final boolean upsert;
+	private DBObject update;
+
+	/**
+	 * Creates a new {@link CoalescedUpdate} for the given query and update.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param update must not be {@literal null}.
+	 * @param upsert whether to upsert.
+	 */
+	CoalescedUpdate(DBObject query, DBObject update, boolean upsert) {
+
+		this.query = query;
+		this.update = update;
+		this.upsert = upsert;
+	}
+
+	/**
+	 * Returns the {@code _id} value of the given query in case it selects a single document by nothing but its
+	 * identifier.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return the identifier or {@literal null} if updates using the query cannot be coalesced.
+	 */
+	static Object getId(DBObject query) {
+
+		if (query.keySet().size() != 1 || !query.containsField(ID_FIELD)) {
+			return null;
+		}
+
+		Object id = query.get(ID_FIELD);
+
+		return id instanceof DBObject || id instanceof Pattern ? null : id;
+	}
+
+	DBObject getQuery() {
+		return query;
+	}
+
+	DBObject getUpdate() {
+		return update;
+	}
+
+	boolean isUpsert() {
+		return upsert;
+	}
+
+	/**
+	 * Merges the given update into the current one.
+	 *
+	 * @param other must not be {@literal null}.
+	 * @param upsert whether the given update is an upsert.
+	 * @return {@literal true} if the update has been merged, {@literal false} if it has to be applied separately. The
+	 *         current update is left untouched in the latter case.
+	 */
+	boolean merge(DBObject other, boolean upsert) {
+
+		if (this.upsert != upsert || !isMergeable(update) || !isMergeable(other)) {
+			return false;
+		}
+
+		DBObject merged = copy(update);
+
+		for (String operator : other.keySet()) {
+
+			DBObject fields = (DBObject) other.get(operator);
+
+			for (String field : fields.keySet()) {
+
+				if (conflicts(merged, operator, field)) {
+					return false;
+				}
+
+				if (!merged.containsField(operator)) {
+					merged.put(operator, new BasicDBObject());
+				}
+
+				DBObject target = (DBObject) merged.get(operator);
+				Object value = fields.get(field);
+
+				if (target.containsField(field)) {
+
+					value = combine(operator, target.get(field), value);
+
+					if (value == null) {
+						return false;
+					}
+				}
+
+				target.put(field, value);
+			}
+		}
+
+		this.update = merged;
+		return true;
+	}
+
+	private static boolean isMergeable(DBObject update) {
+
+		for (String operator : update.keySet()) {
+
+			Object fields = update.get(operator);
+
+			if (!MERGEABLE_OPERATORS.contains(operator) || !(fields instanceof DBObject) || fields instanceof List) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Returns whether the given field of the given operator touches a field already updated by a different operator or
+	 * a parent or child of a field updated by the same operator.
+	 */
+	private static boolean conflicts(DBObject update, String operator, String field) {
+
+		for (String existingOperator : update.keySet()) {
+
+			DBObject fields = (DBObject) update.get(existingOperator);
+
+			for (String existingField : fields.keySet()) {
+
+				if (!overlaps(existingField, field)) {
+					continue;
+				}
+
+				if (!existingOperator.equals(operator) || !existingField.equals(field)) {
+					return true;
+				}
+			}
+		}
+
+		return false;
+	}
+
+	private static boolean overlaps(String left, String right) {
+		return left.equals(right) || left.startsWith(right + ".") || right.startsWith(left + ".");
+	}
+
+	/**
+	 * Combines the values the same operator applies to the same field.
+	 *
+	 * @return the combined value or {@literal null} if the values cannot be combined.
+	 */
+	private static Object combine(String operator, Object existing, Object value) {
+
+		if (SET.equals(operator)) {
+			return value;
+		}
+
+		if (INC.equals(operator)) {
+			return add(existing, value);
+		}
+
+		List<Object> existingValues = getPushValues(existing);
+		List<Object> values = getPushValues(value);
+
+		if (existingValues == null || values == null) {
+			return null;
+		}
+
+		BasicDBList each = new BasicDBList();
+		each.addAll(existingValues);
+		each.addAll(values);
+
+		return new BasicDBObject(EACH, each);
+	}
+
+	/**
+	 * Sums up integral amounts only, as floating point increments are not associative.
+	 */
+	private static Object add(Object left, Object right) {
+
+		if (!isIntegral(left) || !isIntegral(right)) {
+			return null;
+		}
+
+		long sum = ((Number) left).longValue() + ((Number) right).longValue();
+
+		if (!(left instanceof Long) && !(right instanceof Long) && sum >= Integer.MIN_VALUE && sum <= Integer.MAX_VALUE) {
+			return (int) sum;
+		}
+
+		return sum;
+	}
+
+	private static boolean isIntegral(Object value) {
+		return value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte;
+	}
+
+	/**
+	 * Returns the values pushed by the given {@code $push} argument.
+	 *
+	 * @return the values or {@literal null} if the argument uses modifiers other than {@code $each} or has been created
+	 *         through {@link org.springframework.data.mongodb.core.query.Update#push(String)}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static List<Object> getPushValues(Object value) {
+
+		if (value instanceof Modifiers) {
+			return null;
+		}
+
+		if (!(value instanceof DBObject) || value instanceof List) {
+			return Arrays.asList(value);
+		}
+
+		DBObject dbObject = (DBObject) value;
+
+		if (!hasModifiers(dbObject)) {
+			return Arrays.asList(value);
+		}
+
+		if (dbObject.keySet().size() != 1 || !(dbObject.get(EACH) instanceof List)) {
+			return null;
+		}
+
+		return (List<Object>) dbObject.get(EACH);
+	}
+
+	private static boolean hasModifiers(DBObject dbObject) {
+
+		for (String key : dbObject.keySet()) {
+			if (key.startsWith("$")) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	private static DBObject copy(DBObject update) {
+
+		DBObject copy = new BasicDBObject();
+
+		for (String operator : update.keySet()) {
+			copy.put(operator, new BasicDBObject(((DBObject) update.get(operator)).toMap()));
+		}
+
+		return copy;
+	}
+}
@@ -0,0 +1,273 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.lang.reflect.Array;
+import java.util.Date;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.bson.BSON;
+import org.bson.BSONObject;
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.BSONTimestamp;
+import org.bson.types.Binary;
+import org.bson.types.Code;
+import org.bson.types.CodeWScope;
+import org.bson.types.MaxKey;
+import org.bson.types.MinKey;
+import org.bson.types.ObjectId;
+import org.bson.types.Symbol;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBObject;
+import com.mongodb.DefaultDBEncoder;
+
+/**
+ * Computes the size of the BSON representation of {@link DBObject}s to split batches by bytes. The size is calculated
+ * from the values of the document without encoding it. Documents containing values of other types than the ones the
+ * BSON encoder maps to plain BSON types, e.g. {@link com.mongodb.DBRef}s, are encoded into a scratch buffer instead.
+ *
+ * @since 1.10
+ */
+abstract class DBObjectSize {
+
+	private static final int UNKNOWN = -1;
+
+	private DBObjectSize() {}
+
+	/**
+	 * Returns the number of bytes the given {@link DBObject} is encoded into.
+	 *
+	 * @param dbObject must not be {@literal null}.
+	 * @return
+	 */
+	static int of(DBObject dbObject) {
+
+		Assert.notNull(dbObject, "DBObject must not be null!");
+
+		int size = documentSize(dbObject);
+
+		if (size != UNKNOWN) {
+			return size;
+		}
+
+		// DefaultDBEncoder instances are stateful, so use a fresh one per document
+		BasicOutputBuffer buffer = new BasicOutputBuffer();
+		return DefaultDBEncoder.FACTORY.create().writeObject(buffer, dbObject);
+	}
+
+	private static int documentSize(BSONObject document) {
+
+		int size = 4 + 1;
+
+		for (String key : document.keySet()) {
+
+			int valueSize = valueSize(document.get(key));
+
+			if (valueSize == UNKNOWN) {
+				return UNKNOWN;
+			}
+
+			size += 1 + cStringSize(key) + valueSize;
+		}
+
+		return size;
+	}
+
+	private static int documentSize(Map<?, ?> map) {
+
+		int size = 4 + 1;
+
+		for (Entry<?, ?> entry : map.entrySet()) {
+
+			int valueSize = valueSize(entry.getValue());
+
+			if (valueSize == UNKNOWN) {
+				return UNKNOWN;
+			}
+
+			size += 1 + cStringSize(String.valueOf(entry.getKey())) + valueSize;
+		}
+
+		return size;
+	}
+
+	private static int arraySize(Iterable<?> values) {
+
+		int size = 4 + 1;
+		int index = 0;
+
+		for (Object value : values) {
+
+			int valueSize = valueSize(value);
+
+			if (valueSize == UNKNOWN) {
+				return UNKNOWN;
+			}
+
+			size += 1 + cStringSize(String.valueOf(index++)) + valueSize;
+		}
+
+		return size;
+	}
+
+	private static int arraySize(Object array) {
+
+		int size = 4 + 1;
+		int length = Array.getLength(array);
+
+		for (int i = 0; i < length; i++) {
+
+			int valueSize = valueSize(Array.get(array, i));
+
+			if (valueSize == UNKNOWN) {
+				return UNKNOWN;
+			}
+
+			size += 1 + cStringSize(String.valueOf(i)) + valueSize;
+		}
+
+		return size;
+	}
+
+	/**
+	 * Returns the size of the given value without the type byte and the field name.
+	 *
+	 * @param value can be {@literal null}.
+	 * @return the size or {@link #UNKNOWN} in case the value is not of a type mapped to a plain BSON type.
+	 */
+	private static int valueSize(Object value) {
+
+		if (value == null || value instanceof MinKey || value instanceof MaxKey) {
+			return 0;
+		}
+
+		if (value instanceof String || value instanceof Character || value instanceof Symbol) {
+			return stringSize(value instanceof Symbol ? ((Symbol) value).getSymbol() : value.toString());
+		}
+
+		if (value instanceof Integer || value instanceof Short || value instanceof Byte
+				|| value instanceof AtomicInteger) {
+			return 4;
+		}
+
+		if (value instanceof Long || value instanceof AtomicLong || value instanceof Double || value instanceof Float) {
+			return 8;
+		}
+
+		if (value instanceof Boolean) {
+			return 1;
+		}
+
+		if (value instanceof Date || value instanceof BSONTimestamp) {
+			return 8;
+		}
+
+		if (value instanceof ObjectId) {
+			return 12;
+		}
+
+		if (value instanceof byte[]) {
+			return 4 + 1 + ((byte[]) value).length;
+		}
+
+		if (value instanceof Binary) {
+
+			Binary binary = (Binary) value;
+			int length = binary.getData().length;
+
+			// the old binary subtype carries the length of the data once more
+			return 4 + 1 + (binary.getType() == BSON.B_BINARY ? 4 : 0) + length;
+		}
+
+		if (value instanceof UUID) {
+			return 4 + 1 + 16;
+		}
+
+		if (value instanceof Pattern) {
+
+			Pattern pattern = (Pattern) value;
+			return cStringSize(pattern.pattern()) + cStringSize(BSON.regexFlags(pattern.flags()));
+		}
+
+		if (value instanceof CodeWScope) {
+
+			CodeWScope code = (CodeWScope) value;
+			int scopeSize = documentSize(code.getScope());
+
+			return scopeSize == UNKNOWN ? UNKNOWN : 4 + stringSize(code.getCode()) + scopeSize;
+		}
+
+		if (value instanceof Code) {
+			return stringSize(((Code) value).getCode());
+		}
+
+		if (value instanceof BSONObject && !(value instanceof Iterable)) {
+			return documentSize((BSONObject) value);
+		}
+
+		if (value instanceof Map) {
+			return documentSize((Map<?, ?>) value);
+		}
+
+		if (value instanceof Iterable) {
+			return arraySize((Iterable<?>) value);
+		}
+
+		if (value.getClass().isArray()) {
+			return arraySize(value);
+		}
+
+		return UNKNOWN;
+	}
+
+	private static int stringSize(String value) {
+		return 4 + utf8Length(value) + 1;
+	}
+
+	private static int cStringSize(String value) {
+		return utf8Length(value) + 1;
+	}
+
+	private static int utf8Length(String value) {
+
+		int length = 0;
+
+		for (int i = 0; i < value.length(); i++) {
+
+			char c = value.charAt(i);
+
+			if (c < 0x80) {
+				length += 1;
+			} else if (c < 0x800) {
+				length += 2;
+			} else if (Character.isHighSurrogate(c) && i + 1 < value.length()
+					&& Character.isLowSurrogate(value.charAt(i + 1))) {
+				length += 4;
+				i++;
+			} else {
+				length += 3;
+			}
+		}
+
+		return length;
+	}
+}
@@ -0,0 +1,318 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.Assert;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+
+/**
+ * Eager fetch plan for {@link org.springframework.data.mongodb.core.mapping.DBRef} properties of a
+ * {@link MongoPersistentEntity}. Renders the aggregation stages joining the referenced documents via {@code $lookup}
+ * and replaces the references in the result documents with the joined documents, so that the
+ * {@link org.springframework.data.mongodb.core.convert.MongoConverter} reads them like embedded documents instead of
+ * resolving the references one by one.
+ * <p>
+ * As {@code $lookup} cannot use a field path pointing to {@code $id}, the identifiers of the references are extracted
+ * into a temporary field via {@code $objectToArray} (MongoDB 3.4.4+) first. Only top level properties referring to
+ * documents within the same database are supported. References pointing to a collection other than the one of the
+ * referenced entity are left to be resolved one by one.
+ *
+ * @since 1.10
+ * @see org.springframework.data.mongodb.core.query.Query#fetch(String...)
+ */
+class DbRefLookupFetchPlan {
+
+	private static final String REFERENCE_IDS_FIELD_PREFIX = "__fetch_ids_";
+	private static final String FETCHED_FIELD_PREFIX = "__fetched_";
+	private static final String ID_FIELD = "_id";
+
+	private final List<FetchedReference> references;
+
+	/**
+	 * Creates a new {@link DbRefLookupFetchPlan} for the given property names of the given {@link MongoPersistentEntity}.
+	 *
+	 * @param propertyNames must not be {@literal null}.
+	 * @param entity must not be {@literal null}.
+	 * @param mappingContext must not be {@literal null}.
+	 * @throws InvalidDataAccessApiUsageException in case a property cannot be fetched via {@code $lookup}.
+	 */
+	DbRefLookupFetchPlan(Collection<String> propertyNames, MongoPersistentEntity<?> entity,
+			MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+
+		Assert.notNull(propertyNames, "Property names must not be null!");
+		Assert.notNull(entity, "MongoPersistentEntity must not be null!");
+		Assert.notNull(mappingContext, "MappingContext must not be null!");
+
+		List<FetchedReference> references = new ArrayList<FetchedReference>(propertyNames.size());
+
+		for (String propertyName : propertyNames) {
+
+			if (propertyName.contains(".")) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("Cannot fetch nested property %s! Only top level references are supported.", propertyName));
+			}
+
+			MongoPersistentProperty property = entity.getPersistentProperty(propertyName);
+
+			if (property == null || !property.isDbReference() || property.isMap()) {
+				throw new InvalidDataAccessApiUsageException(String.format(
+						"Cannot fetch %s on %s! Only single valued or collection properties annotated with @DBRef can be fetched.",
+						propertyName, entity.getName()));
+			}
+
+			if (StringUtils.hasText(property.getDBRef().db())) {
+				throw new InvalidDataAccessApiUsageException(String.format(
+						"Cannot fetch %s on %s as it refers to a different database!", propertyName, entity.getName()));
+			}
+
+			MongoPersistentEntity<?> targetEntity = mappingContext.getPersistentEntity(property);
+
+			if (targetEntity == null) {
+				throw new InvalidDataAccessApiUsageException(
+						String.format("No mapping metadata found for the target of %s!", propertyName));
+			}
+
+			references.add(new FetchedReference(property.getFieldName(), targetEntity.getCollection(),
+					property.isCollectionLike()));
+		}
+
+		this.references = Collections.unmodifiableList(references);
+	}
+
+	/**
+	 * Returns the aggregation stages required to join the referenced documents.
+	 *
+	 * @return never {@literal null}.
+	 */
+	List<DBObject> getLookupStages() {
+
+		List<DBObject> stages = new ArrayList<DBObject>(references.size() * 2);
+
+		for (FetchedReference reference : references) {
+
+			String fieldReference = "$" + reference.fieldName;
+			Object idExpression = reference.collectionLike
+					? new BasicDBObject("$map", new BasicDBObject("input", fieldReference).append("as", "reference")
+							.append("in", extractIdExpression("$$reference")))
+					: extractIdExpression(fieldReference);
+
+			stages.add(new BasicDBObject("$addFields", new BasicDBObject(reference.idsField, idExpression)));
+			stages.add(new BasicDBObject("$lookup", new BasicDBObject("from", reference.collection)
+					.append("localField", reference.idsField).append("foreignField", ID_FIELD).append("as", reference.fetchedField)));
+		}
+
+		return stages;
+	}
+
+	/**
+	 * Returns the given projection with the temporary fields used for fetching added in case the projection is an
+	 * inclusive one.
+	 *
+	 * @param mappedFields can be {@literal null}.
+	 * @return
+	 */
+	DBObject includeFetchedFields(DBObject mappedFields) {
+
+		if (mappedFields == null || mappedFields.keySet().isEmpty() || !isInclusion(mappedFields)) {
+			return mappedFields;
+		}
+
+		DBObject result = new BasicDBObject(mappedFields.toMap());
+
+		for (FetchedReference reference : references) {
+			result.put(reference.fetchedField, 1);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Replaces the references in the given result document with the joined documents and removes the temporary fields.
+	 * References that could not be resolved are replaced by {@literal null}. References pointing to a collection other
+	 * than the one the documents were joined from are kept, so that they are resolved one by one when reading the
+	 * document.
+	 *
+	 * @param document must not be {@literal null}.
+	 * @return the given document.
+	 */
+	DBObject hydrate(DBObject document) {
+
+		for (FetchedReference reference : references) {
+
+			Object fetched = document.removeField(reference.fetchedField);
+			document.removeField(reference.idsField);
+
+			Object value = document.get(reference.fieldName);
+
+			if (value == null) {
+				continue;
+			}
+
+			Map<Object, Object> documentsById = indexById(fetched);
+
+			if (value instanceof Collection) {
+
+				BasicDBList hydrated = new BasicDBList();
+
+				for (Object element : (Collection<?>) value) {
+					hydrated.add(reference.hydrate(element, documentsById));
+				}
+
+				document.put(reference.fieldName, hydrated);
+
+			} else {
+				document.put(reference.fieldName, reference.hydrate(value, documentsById));
+			}
+		}
+
+		return document;
+	}
+
+	private static Map<Object, Object> indexById(Object fetched) {
+
+		if (!(fetched instanceof Collection)) {
+			return Collections.emptyMap();
+		}
+
+		Collection<?> documents = (Collection<?>) fetched;
+		Map<Object, Object> result = new HashMap<Object, Object>(documents.size());
+
+		for (Object document : documents) {
+			if (document instanceof DBObject) {
+				result.put(((DBObject) document).get(ID_FIELD), document);
+			}
+		}
+
+		return result;
+	}
+
+	private static Object getReferencedCollection(Object reference) {
+
+		if (reference instanceof DBRef) {
+			return ((DBRef) reference).getCollectionName();
+		}
+
+		if (reference instanceof DBObject) {
+			return ((DBObject) reference).get("$ref");
+		}
+
+		return null;
+	}
+
+	private static Object getReferencedId(Object reference) {
+
+		if (reference instanceof DBRef) {
+			return ((DBRef) reference).getId();
+		}
+
+		if (reference instanceof DBObject) {
+			return ((DBObject) reference).get("$id");
+		}
+
+		return null;
+	}
+
+	private static boolean isInclusion(DBObject fields) {
+
+		for (String key : fields.keySet()) {
+
+			Object value = fields.get(key);
+
+			if (value instanceof Number && ((Number) value).intValue() == 0) {
+				return false;
+			}
+
+			if (Boolean.FALSE.equals(value)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Renders an expression extracting the {@code $id} value of the {@link DBRef} the given expression evaluates to.
+	 * Relies on the {@code $ref}, {@code $id} ordering of the reference document.
+	 *
+	 * @param reference
+	 * @return
+	 */
+	private static DBObject extractIdExpression(String reference) {
+
+		DBObject idEntry = new BasicDBObject("$arrayElemAt",
+				Arrays.<Object> asList(new BasicDBObject("$objectToArray", reference), 1));
+
+		return new BasicDBObject("$let",
+				new BasicDBObject("vars", new BasicDBObject("idEntry", idEntry)).append("in", "$$idEntry.v"));
+	}
+
+	/**
+	 * A single reference property to be fetched.
+	 */
+	private static class FetchedReference {
+
+		private final String fieldName;
+		private final String collection;
+		private final boolean collectionLike;
+		private final String idsField;
+		private final String fetchedField;
+
+		FetchedReference(String fieldName, String collection, boolean collectionLike) {
+
+			this.fieldName = fieldName;
+			this.collection = collection;
+			this.collectionLike = collectionLike;
+			this.idsField = REFERENCE_IDS_FIELD_PREFIX + fieldName;
+			this.fetchedField = FETCHED_FIELD_PREFIX + fieldName;
+		}
+
+		/**
+		 * Returns the document joined for the given reference or the reference itself in case it points to a collection
+		 * other than the one the documents were joined from.
+		 *
+		 * @param reference can be {@literal null}.
+		 * @param documentsById the joined documents keyed by their identifier, must not be {@literal null}.
+		 * @return
+		 */
+		Object hydrate(Object reference, Map<Object, Object> documentsById) {
+
+			Object referencedCollection = getReferencedCollection(reference);
+
+			if (referencedCollection != null && !collection.equals(referencedCollection)) {
+				return reference;
+			}
+
+			return documentsById.get(getReferencedId(reference));
+		}
+	}
+}
@@ -15,20 +15,53 @@
  */
 package org.springframework.data.mongodb.core;
 
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
-
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.bson.types.ObjectId;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.dao.DataAccessException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.dao.support.PersistenceExceptionTranslator;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
+import org.springframework.data.mongodb.core.convert.DbRefIdentityMap;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.mapping.MongoSimpleTypes;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeConvertEvent;
+import org.springframework.data.mongodb.core.mapping.event.BeforeSaveEvent;
+import org.springframework.data.mongodb.core.mapping.event.MongoMappingEvent;
+import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.data.util.Pair;
 import org.springframework.util.Assert;
 
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteError;
 import com.mongodb.BulkWriteException;
 import com.mongodb.BulkWriteOperation;
 import com.mongodb.BulkWriteRequestBuilder;
 import com.mongodb.BulkWriteResult;
+import com.mongodb.BulkWriteUpsert;
 import com.mongodb.DBCollection;
 import com.mongodb.DBObject;
 import com.mongodb.WriteConcern;
@@ -42,6 +75,8 @@ import com.mongodb.WriteConcern;
  */
 class DefaultBulkOperations implements BulkOperations {
 
+	private static final String ID_FIELD = "_id";
+
 	private final MongoOperations mongoOperations;
 	private final BulkMode bulkMode;
 	private final String collectionName;
@@ -50,8 +85,29 @@ class DefaultBulkOperations implements BulkOperations {
 	private PersistenceExceptionTranslator exceptionTranslator;
 	private WriteConcernResolver writeConcernResolver;
 	private WriteConcern defaultWriteConcern;
+	private DocumentCache documentCache;
+	private int maxChunkRequests;
+	private int maxChunkBytes;
+	private ApplicationEventPublisher eventPublisher;
+	private EntitySnapshots entitySnapshots;
+	private Executor batchExecutor;
+	private int maxBatchRequests;
+	private boolean coalesceUpdates;
 
 	private BulkWriteOperation bulk;
+	private int pendingRequests;
+	private int pendingVersionedSaves;
+	private BulkWriteOperation versionedBulk;
+	private final BitSet versionedRequests = new BitSet();
+	private long pendingBytes;
+	private final List<BulkWriteResult> chunkResults = new ArrayList<BulkWriteResult>();
+	private final List<Integer> chunkOffsets = new ArrayList<Integer>();
+	private int executedRequests;
+	private final List<SaveRequest> pendingSaves = new ArrayList<SaveRequest>();
+	private final List<BulkWriteOperation> batches = new ArrayList<BulkWriteOperation>();
+	private final List<Integer> batchOffsets = new ArrayList<Integer>();
+	private int batchStart;
+	private final Map<Object, CoalescedUpdate> coalescedUpdates = new LinkedHashMap<Object, CoalescedUpdate>();
 
 	/**
 	 * Creates a new {@link DefaultBulkOperations} for the given {@link MongoOperations}, {@link BulkMode}, collection
@@ -108,6 +164,85 @@ class DefaultBulkOperations implements BulkOperations {
 		this.defaultWriteConcern = defaultWriteConcern;
 	}
 
+	/**
+	 * Configures the {@link DocumentCache} to evict the documents of the collection from once the bulk operations have
+	 * been executed. Defaults to {@literal null}.
+	 *
+	 * @param documentCache can be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setDocumentCache(DocumentCache documentCache) {
+		this.documentCache = documentCache;
+	}
+
+	/**
+	 * Configures the {@link ApplicationEventPublisher} to publish the mapping events for entities added via
+	 * {@link #save(Object)} and {@link #replaceOne(Query, Object)}. Defaults to {@literal null}.
+	 *
+	 * @param eventPublisher can be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setEventPublisher(ApplicationEventPublisher eventPublisher) {
+		this.eventPublisher = eventPublisher;
+	}
+
+	/**
+	 * Configures the {@link EntitySnapshots} to register the documents of saved entities with. Defaults to
+	 * {@literal null}.
+	 *
+	 * @param entitySnapshots can be {@literal null}.
+	 * @since 1.10
+	 */
+	void setEntitySnapshots(EntitySnapshots entitySnapshots) {
+		this.entitySnapshots = entitySnapshots;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#chunked(int, int)
+	 */
+	@Override
+	public BulkOperations chunked(int maxRequests, int maxBytes) {
+
+		Assert.isTrue(maxRequests >= 0, "Maximum number of requests per chunk must not be negative!");
+		Assert.isTrue(maxBytes >= 0, "Maximum number of bytes per chunk must not be negative!");
+
+		this.maxChunkRequests = maxRequests;
+		this.maxChunkBytes = maxBytes;
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#parallel(java.util.concurrent.Executor, int)
+	 */
+	@Override
+	public BulkOperations parallel(Executor executor, int maxBatchRequests) {
+
+		Assert.state(bulkMode == BulkMode.UNORDERED, "Only unordered bulk operations can be executed in parallel!");
+		Assert.notNull(executor, "Executor must not be null!");
+		Assert.isTrue(maxBatchRequests > 0, "Maximum number of requests per batch must be greater than zero!");
+
+		this.batchExecutor = executor;
+		this.maxBatchRequests = maxBatchRequests;
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#coalesceUpdates()
+	 */
+	@Override
+	public BulkOperations coalesceUpdates() {
+
+		Assert.state(bulkMode == BulkMode.UNORDERED, "Only updates of unordered bulk operations can be coalesced!");
+
+		this.coalesceUpdates = true;
+		return this;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.BulkOperations#insert(java.lang.Object)
@@ -117,8 +252,12 @@ class DefaultBulkOperations implements BulkOperations {
 
 		Assert.notNull(document, "Document must not be null!");
 
-		bulk.insert((DBObject) mongoOperations.getConverter().convertToMongoType(document));
-		return this;
+		DBObject dbObject = (DBObject) mongoOperations.getConverter().convertToMongoType(document);
+
+		drainCoalescedUpdates();
+		separateVersionedSaves(false);
+		bulk.insert(dbObject);
+		return requestAdded(maxChunkBytes > 0 ? DBObjectSize.of(dbObject) : 0);
 	}
 
 	/*
@@ -137,6 +276,108 @@ class DefaultBulkOperations implements BulkOperations {
 		return this;
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#insert(java.util.Iterator)
+	 */
+	@Override
+	public BulkOperations insert(Iterator<? extends Object> documents) {
+
+		Assert.notNull(documents, "Documents must not be null!");
+
+		while (documents.hasNext()) {
+			insert(documents.next());
+		}
+
+		return this;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#save(java.lang.Object)
+	 */
+	@Override
+	public BulkOperations save(Object entity) {
+
+		Assert.notNull(entity, "Entity must not be null!");
+
+		MongoPersistentEntity<?> persistentEntity = getPersistentEntity(entity);
+		MongoPersistentProperty idProperty = persistentEntity.getIdProperty();
+		MongoPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+
+		if (idProperty != null && persistentEntity.getPropertyAccessor(entity).getProperty(idProperty) == null
+				&& !MongoSimpleTypes.AUTOGENERATED_ID_TYPES.contains(idProperty.getType())) {
+			throw new InvalidDataAccessApiUsageException(
+					String.format("Cannot autogenerate id of type %s for entity of type %s!", idProperty.getType().getName(),
+							entity.getClass().getName()));
+		}
+
+		Object version = versionProperty == null ? null : incrementVersion(persistentEntity, entity);
+		DBObject dbObject = toDbObject(entity);
+		Object id = dbObject.get(ID_FIELD);
+		DBObject versionQuery = null;
+
+		drainCoalescedUpdates();
+
+		if (id == null || (versionProperty != null && version == null)) {
+
+			separateVersionedSaves(false);
+
+			if (id == null) {
+				dbObject.put(ID_FIELD, new ObjectId());
+			}
+
+			bulk.insert(dbObject);
+
+		} else if (version == null) {
+
+			separateVersionedSaves(false);
+			bulk.find(new BasicDBObject(ID_FIELD, id)).upsert().replaceOne(dbObject);
+
+		} else {
+
+			String versionField = versionProperty.getFieldName();
+			Object previousVersion = mongoOperations.getConverter().convertToMongoType(version);
+
+			versionQuery = new BasicDBObject(ID_FIELD, id).append(versionField, dbObject.get(versionField));
+
+			separateVersionedSaves(true);
+			getVersionedBulk().find(new BasicDBObject(ID_FIELD, id).append(versionField, previousVersion))
+					.replaceOne(dbObject);
+			pendingVersionedSaves++;
+		}
+
+		pendingSaves.add(new SaveRequest(pendingRequests, entity, dbObject, versionQuery));
+
+		return requestAdded(maxChunkBytes > 0 ? DBObjectSize.of(dbObject) : 0);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.BulkOperations#replaceOne(org.springframework.data.mongodb.core.query.Query, java.lang.Object)
+	 */
+	@Override
+	public BulkOperations replaceOne(Query query, Object entity) {
+
+		Assert.notNull(query, "Query must not be null!");
+		Assert.notNull(entity, "Entity must not be null!");
+
+		MongoPersistentEntity<?> persistentEntity = getPersistentEntity(entity);
+
+		if (persistentEntity.hasVersionProperty()) {
+			incrementVersion(persistentEntity, entity);
+		}
+
+		DBObject dbObject = toDbObject(entity);
+
+		drainCoalescedUpdates();
+		separateVersionedSaves(false);
+		bulk.find(query.getQueryObject()).replaceOne(dbObject);
+		pendingSaves.add(new SaveRequest(pendingRequests, entity, dbObject, null));
+
+		return requestAdded(maxChunkBytes > 0 ? DBObjectSize.of(dbObject) : 0);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.BulkOperations#updateOne(org.springframework.data.mongodb.core.query.Query, org.springframework.data.mongodb.core.query.Update)
@@ -229,9 +470,11 @@ class DefaultBulkOperations implements BulkOperations {
 
 		Assert.notNull(query, "Query must not be null!");
 
+		drainCoalescedUpdates();
+		separateVersionedSaves(false);
 		bulk.find(query.getQueryObject()).remove();
 
-		return this;
+		return requestAdded(0);
 	}
 
 	/*
@@ -257,22 +500,366 @@ class DefaultBulkOperations implements BulkOperations {
 	@Override
 	public BulkWriteResult execute() {
 
+		try {
+
+			drainCoalescedUpdates();
+
+			if (chunkResults.isEmpty()) {
+				return executeChunk();
+			}
+
+			if (pendingRequests > 0) {
+				flush();
+			}
+
+			return new ChunkedBulkWriteResult(chunkResults, chunkOffsets);
+
+		} finally {
+
+			this.chunkResults.clear();
+			this.chunkOffsets.clear();
+			this.executedRequests = 0;
+		}
+	}
+
+	/**
+	 * Executes the requests added so far in case the next request cannot be executed along with them. Versioned saves are
+	 * executed separately from all other requests, as the number of documents matched by a {@link BulkWriteOperation} is
+	 * the only indicator of a version mismatch. Unordered bulk operations collect them in a {@link BulkWriteOperation} of
+	 * their own that is executed along with the other requests, ordered ones have to execute the requests added so far.
+	 *
+	 * @param versionedSave whether the next request is a versioned save.
+	 */
+	private void separateVersionedSaves(boolean versionedSave) {
+
+		if (bulkMode == BulkMode.UNORDERED) {
+			return;
+		}
+
+		int otherRequests = pendingRequests - pendingVersionedSaves;
+
+		if (versionedSave ? otherRequests > 0 : pendingVersionedSaves > 0) {
+			flush();
+		}
+	}
+
+	/**
+	 * Returns the {@link BulkWriteOperation} to add the next versioned save to and registers its position among the
+	 * requests of the current chunk.
+	 *
+	 * @return
+	 */
+	private BulkWriteOperation getVersionedBulk() {
+
+		if (bulkMode != BulkMode.UNORDERED) {
+			return bulk;
+		}
+
+		if (versionedBulk == null) {
+			versionedBulk = initBulkOperation();
+		}
+
+		versionedRequests.set(pendingRequests);
+
+		return versionedBulk;
+	}
+
+	/**
+	 * Returns the number of requests of the current chunk that have not been added to the {@link BulkWriteOperation} of
+	 * the versioned saves.
+	 *
+	 * @return
+	 */
+	private int getUnversionedRequests() {
+		return versionedBulk == null ? pendingRequests : pendingRequests - pendingVersionedSaves;
+	}
+
+	/**
+	 * Registers a request added to the current {@link BulkWriteOperation} and executes the latter in case the configured
+	 * chunk limits are reached.
+	 *
+	 * @param bytes the estimated size of the request in bytes.
+	 * @return the current {@link BulkOperations}.
+	 */
+	private BulkOperations requestAdded(int bytes) {
+
+		pendingRequests++;
+		pendingBytes += bytes;
+
+		int unversionedRequests = getUnversionedRequests();
+
+		if (batchExecutor != null && unversionedRequests - batchStart >= maxBatchRequests) {
+
+			batches.add(bulk);
+			batchOffsets.add(batchStart);
+
+			this.bulk = initBulkOperation();
+			this.batchStart = unversionedRequests;
+		}
+
+		if ((maxChunkRequests > 0 && pendingRequests >= maxChunkRequests)
+				|| (maxChunkBytes > 0 && pendingBytes >= maxChunkBytes)) {
+			flush();
+		}
+
+		return this;
+	}
+
+	/**
+	 * Executes the requests added so far and keeps the result to be aggregated by {@link #execute()}.
+	 */
+	private void flush() {
+
+		int requests = pendingRequests;
+		BulkWriteResult result;
+
+		try {
+			result = executeChunk();
+		} catch (RuntimeException o_O) {
+
+			this.chunkResults.clear();
+			this.chunkOffsets.clear();
+			this.executedRequests = 0;
+
+			throw o_O;
+		}
+
+		chunkResults.add(result);
+		chunkOffsets.add(executedRequests);
+		executedRequests += requests;
+	}
+
+	/**
+	 * Executes the current {@link BulkWriteOperation} and starts a new one.
+	 *
+	 * @return the {@link BulkWriteResult} of the current {@link BulkWriteOperation}.
+	 */
+	private BulkWriteResult executeChunk() {
+
 		MongoAction action = new MongoAction(defaultWriteConcern, MongoActionOperation.BULK, collectionName, entityType,
 				null, null);
 		WriteConcern writeConcern = writeConcernResolver.resolve(action);
 
 		try {
 
-			return writeConcern == null ? bulk.execute() : bulk.execute(writeConcern);
+			BulkWriteResult result = batches.isEmpty() && versionedBulk == null ? execute(bulk, writeConcern)
+					: executeBatches(writeConcern);
+			List<SaveRequest> conflicts = getVersionConflicts(result);
+
+			afterSaves(getIndexes(conflicts), Integer.MAX_VALUE);
+
+			if (!conflicts.isEmpty()) {
+				throw new OptimisticLockingFailureException(String.format(
+						"Optimistic lock exception on saving %s to collection %s!", getEntities(conflicts), collectionName));
+			}
+
+			return result;
+
+		} catch (BulkOperationException o_O) {
+
+			afterSaves(o_O.getErrors(), getIndexes(getVersionConflicts(o_O.getResult())));
+			throw toOriginalPositions(o_O);
 
 		} catch (BulkWriteException o_O) {
 
+			afterSaves(o_O.getWriteErrors(), getIndexes(getVersionConflicts(o_O.getWriteResult())));
+
 			DataAccessException toThrow = exceptionTranslator.translateExceptionIfPossible(o_O);
+
+			if (toThrow instanceof BulkOperationException) {
+				throw toOriginalPositions((BulkOperationException) toThrow);
+			}
+
 			throw toThrow == null ? o_O : toThrow;
 
 		} finally {
+
 			this.bulk = initBulkOperation();
+			this.pendingRequests = 0;
+			this.pendingVersionedSaves = 0;
+			this.versionedBulk = null;
+			this.versionedRequests.clear();
+			this.pendingBytes = 0;
+			this.pendingSaves.clear();
+			this.batches.clear();
+			this.batchOffsets.clear();
+			this.batchStart = 0;
+
+			if (documentCache != null) {
+				documentCache.evictAll(collectionName);
+			}
+
+			DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+
+			if (identityMap != null) {
+				identityMap.evictAll(collectionName);
+			}
+		}
+	}
+
+	/**
+	 * Shifts the indexes of the errors of the given {@link BulkOperationException} by the number of requests executed
+	 * with previous chunks, so that they refer to the position of the failed requests among all requests added.
+	 *
+	 * @param exception must not be {@literal null}.
+	 * @return
+	 */
+	private BulkOperationException toOriginalPositions(BulkOperationException exception) {
+
+		if (executedRequests == 0) {
+			return exception;
 		}
+
+		List<BulkWriteError> errors = new ArrayList<BulkWriteError>(exception.getErrors().size());
+
+		for (BulkWriteError error : exception.getErrors()) {
+			errors.add(new BulkWriteError(error.getCode(), error.getMessage(), error.getDetails(),
+					error.getIndex() + executedRequests));
+		}
+
+		BulkOperationException result = new BulkOperationException(exception.getMessage(), errors, exception.getResult());
+		result.initCause(exception);
+
+		return result;
+	}
+
+	private static BulkWriteResult execute(BulkWriteOperation operation, WriteConcern writeConcern) {
+		return writeConcern == null ? operation.execute() : operation.execute(writeConcern);
+	}
+
+	/**
+	 * Executes the batches the current chunk has been split into and the {@link BulkWriteOperation} of the versioned
+	 * saves, concurrently if an {@link Executor} is configured, and merges their results. Errors are merged into a single
+	 * {@link BulkOperationException} with the indexes remapped to the position of the failed requests within the chunk.
+	 *
+	 * @param writeConcern can be {@literal null}.
+	 * @return the merged {@link BulkWriteResult}, the result of the versioned saves being the last one merged.
+	 */
+	private ChunkedBulkWriteResult executeBatches(final WriteConcern writeConcern) {
+
+		int unversionedRequests = getUnversionedRequests();
+
+		if (unversionedRequests > batchStart) {
+			batches.add(bulk);
+			batchOffsets.add(batchStart);
+		}
+
+		if (versionedBulk != null) {
+			batches.add(versionedBulk);
+			batchOffsets.add(unversionedRequests);
+		}
+
+		int[] positions = getPositions(unversionedRequests);
+
+		List<FutureTask<BulkWriteResult>> tasks = new ArrayList<FutureTask<BulkWriteResult>>(batches.size());
+
+		for (final BulkWriteOperation batch : batches) {
+
+			FutureTask<BulkWriteResult> task = new FutureTask<BulkWriteResult>(new Callable<BulkWriteResult>() {
+
+				@Override
+				public BulkWriteResult call() throws Exception {
+					return execute(batch, writeConcern);
+				}
+			});
+
+			tasks.add(task);
+
+			if (batchExecutor == null) {
+				task.run();
+				continue;
+			}
+
+			try {
+				batchExecutor.execute(task);
+			} catch (RejectedExecutionException o_O) {
+
+				// run the batch in the calling thread so that all batches complete before the results are merged
+				task.run();
+			}
+		}
+
+		List<BulkWriteResult> results = new ArrayList<BulkWriteResult>(tasks.size());
+		List<BulkWriteError> errors = new ArrayList<BulkWriteError>();
+		RuntimeException failure = null;
+
+		for (int i = 0; i < tasks.size(); i++) {
+
+			int offset = batchOffsets.get(i);
+
+			try {
+				results.add(tasks.get(i).get());
+			} catch (InterruptedException o_O) {
+
+				for (FutureTask<BulkWriteResult> task : tasks) {
+					task.cancel(true);
+				}
+
+				Thread.currentThread().interrupt();
+
+				throw new UncategorizedMongoDbException("Interrupted while waiting for bulk operations to complete!", o_O);
+
+			} catch (ExecutionException o_O) {
+
+				Throwable cause = o_O.getCause();
+
+				if (cause instanceof BulkWriteException) {
+
+					BulkWriteException exception = (BulkWriteException) cause;
+					results.add(exception.getWriteResult());
+
+					for (BulkWriteError error : exception.getWriteErrors()) {
+						errors.add(new BulkWriteError(error.getCode(), error.getMessage(), error.getDetails(),
+								getPosition(positions, error.getIndex() + offset)));
+					}
+
+				} else if (failure == null) {
+					failure = cause instanceof RuntimeException ? (RuntimeException) cause
+							: new UncategorizedMongoDbException("Failed to execute bulk operations!", cause);
+				}
+			}
+		}
+
+		if (failure != null) {
+			throw failure;
+		}
+
+		ChunkedBulkWriteResult result = new ChunkedBulkWriteResult(results, batchOffsets, positions);
+
+		if (!errors.isEmpty()) {
+			throw new BulkOperationException(String.format("Bulk write operation error on collection %s: %s", collectionName,
+					errors), errors, result);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the positions the requests of the current chunk have been added at by the index they are executed at, i.e.
+	 * the unversioned requests first and the versioned saves last.
+	 *
+	 * @param unversionedRequests the number of unversioned requests.
+	 * @return the positions or {@literal null} if the requests are executed in the order they have been added.
+	 */
+	private int[] getPositions(int unversionedRequests) {
+
+		if (versionedRequests.isEmpty()) {
+			return null;
+		}
+
+		int[] positions = new int[pendingRequests];
+		int unversioned = 0;
+		int versioned = unversionedRequests;
+
+		for (int i = 0; i < pendingRequests; i++) {
+			positions[versionedRequests.get(i) ? versioned++ : unversioned++] = i;
+		}
+
+		return positions;
+	}
+
+	private static int getPosition(int[] positions, int index) {
+		return positions == null || index >= positions.length ? index : positions[index];
 	}
 
 	/**
@@ -289,26 +876,266 @@ class DefaultBulkOperations implements BulkOperations {
 		Assert.notNull(query, "Query must not be null!");
 		Assert.notNull(update, "Update must not be null!");
 
-		BulkWriteRequestBuilder builder = bulk.find(query.getQueryObject());
+		DBObject queryObject = query.getQueryObject();
+		DBObject updateObject = update.getUpdateObject();
+		Object id = coalesceUpdates && !multi ? CoalescedUpdate.getId(queryObject) : null;
+
+		if (id == null) {
+
+			drainCoalescedUpdates();
+			return addUpdate(queryObject, updateObject, upsert, multi);
+		}
+
+		CoalescedUpdate pending = coalescedUpdates.get(id);
+
+		if (pending != null) {
+
+			if (pending.merge(updateObject, upsert)) {
+				return this;
+			}
+
+			// keep the order of updates to the same document
+			coalescedUpdates.remove(id);
+			addUpdate(pending.getQuery(), pending.getUpdate(), pending.isUpsert(), false);
+		}
+
+		coalescedUpdates.put(id, new CoalescedUpdate(queryObject, updateObject, upsert));
+
+		if (maxChunkRequests > 0 && coalescedUpdates.size() >= maxChunkRequests) {
+			drainCoalescedUpdates();
+		}
+
+		return this;
+	}
+
+	/**
+	 * Adds the updates held back for coalescing to the current {@link BulkWriteOperation}.
+	 */
+	private void drainCoalescedUpdates() {
+
+		if (coalescedUpdates.isEmpty()) {
+			return;
+		}
+
+		List<CoalescedUpdate> updates = new ArrayList<CoalescedUpdate>(coalescedUpdates.values());
+		coalescedUpdates.clear();
+
+		for (CoalescedUpdate update : updates) {
+			addUpdate(update.getQuery(), update.getUpdate(), update.isUpsert(), false);
+		}
+	}
+
+	private BulkOperations addUpdate(DBObject query, DBObject update, boolean upsert, boolean multi) {
+
+		separateVersionedSaves(false);
+
+		BulkWriteRequestBuilder builder = bulk.find(query);
 
 		if (upsert) {
 
 			if (multi) {
-				builder.upsert().update(update.getUpdateObject());
+				builder.upsert().update(update);
 			} else {
-				builder.upsert().updateOne(update.getUpdateObject());
+				builder.upsert().updateOne(update);
 			}
 
 		} else {
 
 			if (multi) {
-				builder.update(update.getUpdateObject());
+				builder.update(update);
 			} else {
-				builder.updateOne(update.getUpdateObject());
+				builder.updateOne(update);
 			}
 		}
 
-		return this;
+		return requestAdded(0);
+	}
+
+	private MongoPersistentEntity<?> getPersistentEntity(Object entity) {
+
+		MongoPersistentEntity<?> persistentEntity = mongoOperations.getConverter().getMappingContext()
+				.getPersistentEntity(entity.getClass());
+
+		if (persistentEntity == null) {
+			throw new InvalidDataAccessApiUsageException("No PersistentEntity information found for " + entity.getClass());
+		}
+
+		return persistentEntity;
+	}
+
+	/**
+	 * Increments the version of the given entity or initializes it with {@literal 0} in case it is not set yet.
+	 *
+	 * @param persistentEntity must not be {@literal null}.
+	 * @param entity must not be {@literal null}.
+	 * @return the version before the increment, {@literal null} if it has not been set before.
+	 */
+	private Object incrementVersion(MongoPersistentEntity<?> persistentEntity, Object entity) {
+
+		MongoPersistentProperty versionProperty = persistentEntity.getVersionProperty();
+		ConvertingPropertyAccessor accessor = new ConvertingPropertyAccessor(persistentEntity.getPropertyAccessor(entity),
+				mongoOperations.getConverter().getConversionService());
+
+		Object version = accessor.getProperty(versionProperty);
+		Number versionNumber = accessor.getProperty(versionProperty, Number.class);
+
+		accessor.setProperty(versionProperty, version == null ? 0 : versionNumber.longValue() + 1);
+
+		return version;
+	}
+
+	/**
+	 * Converts the given entity into a {@link DBObject} publishing the {@link BeforeConvertEvent} and
+	 * {@link BeforeSaveEvent}.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 */
+	private DBObject toDbObject(Object entity) {
+
+		maybeEmitEvent(new BeforeConvertEvent<Object>(entity, collectionName));
+
+		DBObject dbObject = new BasicDBObject();
+		mongoOperations.getConverter().write(entity, dbObject);
+
+		maybeEmitEvent(new BeforeSaveEvent<Object>(entity, dbObject, collectionName));
+
+		return dbObject;
+	}
+
+	/**
+	 * Populates the identifiers and publishes the {@link AfterSaveEvent}s of the entities that have been saved although
+	 * the given errors occurred. An ordered {@link BulkWriteOperation} stops at the first failed request, an unordered one
+	 * executes all requests.
+	 *
+	 * @param errors must not be {@literal null}.
+	 * @param conflicts the indexes of the versioned saves that failed due to a version mismatch, must not be
+	 *          {@literal null}.
+	 */
+	private void afterSaves(List<BulkWriteError> errors, Set<Integer> conflicts) {
+
+		Set<Integer> failed = new HashSet<Integer>(conflicts);
+		int stoppedAt = Integer.MAX_VALUE;
+
+		for (BulkWriteError error : errors) {
+
+			failed.add(error.getIndex());
+
+			if (bulkMode == BulkMode.ORDERED) {
+				stoppedAt = Math.min(stoppedAt, error.getIndex());
+			}
+		}
+
+		afterSaves(failed, stoppedAt);
+	}
+
+	/**
+	 * Populates the identifiers of the entities saved with the current {@link BulkWriteOperation} and publishes the
+	 * {@link AfterSaveEvent}s.
+	 *
+	 * @param failed the indexes of the requests that failed, must not be {@literal null}.
+	 * @param stoppedAt the index of the request the execution stopped at.
+	 */
+	private void afterSaves(Set<Integer> failed, int stoppedAt) {
+
+		MongoConverter converter = mongoOperations.getConverter();
+
+		for (SaveRequest save : pendingSaves) {
+
+			if (save.index >= stoppedAt || failed.contains(save.index)) {
+				continue;
+			}
+
+			Object id = save.dbObject.get(ID_FIELD);
+			MongoPersistentEntity<?> persistentEntity = getPersistentEntity(save.entity);
+			MongoPersistentProperty idProperty = persistentEntity.getIdProperty();
+
+			if (id != null && idProperty != null) {
+
+				ConvertingPropertyAccessor accessor = new ConvertingPropertyAccessor(
+						persistentEntity.getPropertyAccessor(save.entity), converter.getConversionService());
+
+				if (accessor.getProperty(idProperty) == null) {
+					accessor.setProperty(idProperty, id);
+				}
+
+				if (entitySnapshots != null) {
+					entitySnapshots.put(save.entity, collectionName, save.dbObject);
+				}
+			}
+
+			maybeEmitEvent(new AfterSaveEvent<Object>(save.entity, save.dbObject, collectionName));
+		}
+	}
+
+	/**
+	 * Returns the versioned {@link SaveRequest}s of the current chunk that did not match a document due to a version
+	 * mismatch. In case fewer documents matched than versioned saves were executed, the ones whose document does not
+	 * carry the version written are looked up.
+	 *
+	 * @param result the {@link BulkWriteResult} of the current chunk, can be {@literal null}.
+	 * @return the {@link SaveRequest}s, all versioned ones in case the documents have been modified concurrently so that
+	 *         the conflicting ones cannot be told apart.
+	 */
+	private List<SaveRequest> getVersionConflicts(BulkWriteResult result) {
+
+		if (pendingVersionedSaves == 0 || result == null || !result.isAcknowledged()) {
+			return Collections.emptyList();
+		}
+
+		BulkWriteResult versionedResult = versionedBulk != null && result instanceof ChunkedBulkWriteResult
+				? ((ChunkedBulkWriteResult) result).getLast() : result;
+
+		if (versionedResult == null || versionedResult.getMatchedCount() >= pendingVersionedSaves) {
+			return Collections.emptyList();
+		}
+
+		List<SaveRequest> versioned = new ArrayList<SaveRequest>();
+		List<SaveRequest> conflicts = new ArrayList<SaveRequest>();
+
+		for (SaveRequest save : pendingSaves) {
+
+			if (save.versionQuery == null) {
+				continue;
+			}
+
+			versioned.add(save);
+
+			if (!mongoOperations.exists(new BasicQuery(save.versionQuery), collectionName)) {
+				conflicts.add(save);
+			}
+		}
+
+		return conflicts.isEmpty() ? versioned : conflicts;
+	}
+
+	private static Set<Integer> getIndexes(List<SaveRequest> saves) {
+
+		Set<Integer> indexes = new HashSet<Integer>(saves.size());
+
+		for (SaveRequest save : saves) {
+			indexes.add(save.index);
+		}
+
+		return indexes;
+	}
+
+	private static List<Object> getEntities(List<SaveRequest> saves) {
+
+		List<Object> entities = new ArrayList<Object>(saves.size());
+
+		for (SaveRequest save : saves) {
+			entities.add(save.entity);
+		}
+
+		return entities;
+	}
+
+	private void maybeEmitEvent(MongoMappingEvent<?> event) {
+
+		if (eventPublisher != null) {
+			eventPublisher.publishEvent(event);
+		}
 	}
 
 	private final BulkWriteOperation initBulkOperation() {
@@ -324,4 +1151,178 @@ class DefaultBulkOperations implements BulkOperations {
 
 		throw new IllegalStateException("BulkMode was null!");
 	}
+
+	/**
+	 * An entity added via {@link DefaultBulkOperations#save(Object)} or
+	 * {@link DefaultBulkOperations#replaceOne(Query, Object)} along with its index in the current
+	 * {@link BulkWriteOperation}. Versioned saves carry the query selecting the document with the version written.
+	 */
+	private static class SaveRequest {
+
+		final int index;
+		final Object entity;
+		final DBObject dbObject;
+		final DBObject versionQuery;
+
+		SaveRequest(int index, Object entity, DBObject dbObject, DBObject versionQuery) {
+
+			this.index = index;
+			this.entity = entity;
+			this.dbObject = dbObject;
+			this.versionQuery = versionQuery;
+		}
+	}
+
+	/**
+	 * {@link BulkWriteResult} aggregating the results of the chunks or batches a {@link DefaultBulkOperations} was
+	 * executed in. Indexes of upserts are relative to all operations added.
+	 */
+	private static class ChunkedBulkWriteResult extends BulkWriteResult {
+
+		private final List<BulkWriteResult> results;
+		private final List<Integer> offsets;
+		private final int[] positions;
+
+		ChunkedBulkWriteResult(List<BulkWriteResult> results, List<Integer> offsets) {
+			this(results, offsets, null);
+		}
+
+		/**
+		 * @param results must not be {@literal null}.
+		 * @param offsets must not be {@literal null}.
+		 * @param positions the positions the requests have been added at by the index they were executed at, can be
+		 *          {@literal null} if they were executed in the order they have been added.
+		 */
+		ChunkedBulkWriteResult(List<BulkWriteResult> results, List<Integer> offsets, int[] positions) {
+
+			this.results = new ArrayList<BulkWriteResult>(results);
+			this.offsets = new ArrayList<Integer>(offsets);
+			this.positions = positions;
+		}
+
+		/**
+		 * Returns the last of the merged results.
+		 *
+		 * @return
+		 */
+		BulkWriteResult getLast() {
+			return results.isEmpty() ? null : results.get(results.size() - 1);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#isAcknowledged()
+		 */
+		@Override
+		public boolean isAcknowledged() {
+
+			for (BulkWriteResult result : results) {
+				if (!result.isAcknowledged()) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#getInsertedCount()
+		 */
+		@Override
+		public int getInsertedCount() {
+
+			int count = 0;
+
+			for (BulkWriteResult result : results) {
+				count += result.getInsertedCount();
+			}
+
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#getMatchedCount()
+		 */
+		@Override
+		public int getMatchedCount() {
+
+			int count = 0;
+
+			for (BulkWriteResult result : results) {
+				count += result.getMatchedCount();
+			}
+
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#getRemovedCount()
+		 */
+		@Override
+		public int getRemovedCount() {
+
+			int count = 0;
+
+			for (BulkWriteResult result : results) {
+				count += result.getRemovedCount();
+			}
+
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#isModifiedCountAvailable()
+		 */
+		@Override
+		public boolean isModifiedCountAvailable() {
+
+			for (BulkWriteResult result : results) {
+				if (!result.isModifiedCountAvailable()) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#getModifiedCount()
+		 */
+		@Override
+		public int getModifiedCount() {
+
+			int count = 0;
+
+			for (BulkWriteResult result : results) {
+				count += result.getModifiedCount();
+			}
+
+			return count;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.BulkWriteResult#getUpserts()
+		 */
+		@Override
+		public List<BulkWriteUpsert> getUpserts() {
+
+			List<BulkWriteUpsert> upserts = new ArrayList<BulkWriteUpsert>();
+
+			for (int i = 0; i < results.size(); i++) {
+				for (BulkWriteUpsert upsert : results.get(i).getUpserts()) {
+
+					int index = getPosition(positions, offsets.get(i) + upsert.getIndex());
+					upserts.add(new BulkWriteUpsert(index, upsert.getId()));
+				}
+			}
+
+			return upserts;
+		}
+	}
 }
@@ -0,0 +1,78 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import org.springframework.data.mongodb.core.mapping.Cached;
+
+import com.mongodb.DBObject;
+
+/**
+ * Second-level cache for the raw {@link DBObject}s of domain types annotated with {@link Cached}, keyed by collection
+ * name and the identifier as stored in the document. Caching the documents rather than entities makes sure every
+ * lookup still gets a fresh entity instance. Implementations have to hand out copies of the cached documents so that
+ * callers modifying them do not alter the cache.
+ *
+ * @since 1.10
+ * @see LruDocumentCache
+ */
+public interface DocumentCache {
+
+	/**
+	 * Returns the cached document with the given identifier.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @return the cached {@link DBObject} or {@literal null} if none is cached or it has expired.
+	 */
+	DBObject get(String collectionName, Object id);
+
+	/**
+	 * Returns the current invalidation stamp of the given collection. The stamp has to be taken before reading a
+	 * document from the database and handed to {@link #put(String, Object, DBObject, Cached, long)}, so that a document
+	 * read concurrently to a write is not cached after the write has evicted it.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @return
+	 */
+	long getStamp(String collectionName);
+
+	/**
+	 * Caches the given document using the given {@link Cached} settings unless documents of the collection have been
+	 * evicted since the given stamp was taken via {@link #getStamp(String)}.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 * @param dbObject must not be {@literal null}.
+	 * @param settings must not be {@literal null}.
+	 * @param stamp the invalidation stamp taken before the document was read.
+	 */
+	void put(String collectionName, Object id, DBObject dbObject, Cached settings, long stamp);
+
+	/**
+	 * Removes the document with the given identifier from the cache.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 */
+	void evict(String collectionName, Object id);
+
+	/**
+	 * Removes all documents of the given collection from the cache.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 */
+	void evictAll(String collectionName);
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.lang.ref.Reference;
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.DBObject;
+
+/**
+ * Keeps the {@link DBObject} an entity instance was last read from or written as along with the collection it was
+ * read from or written to, so that a subsequent save to the same collection can be turned into a partial update of the
+ * changed fields only. Entity instances are held weakly and compared by identity. Snapshots are kept in a concurrent
+ * map, so that tracking the documents read does not serialize concurrent readers.
+ *
+ * @since 1.10
+ */
+class EntitySnapshots {
+
+	private static final String ID_FIELD = "_id";
+
+	private final ReferenceQueue<Object> queue = new ReferenceQueue<Object>();
+	private final ConcurrentMap<IdentityReference, Snapshot> snapshots = //
+			new ConcurrentHashMap<IdentityReference, Snapshot>();
+
+	/**
+	 * Registers the given {@link DBObject} as the current state of the given entity in the given collection.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @param collectionName the collection the entity was read from or written to.
+	 * @param dbObject must not be {@literal null}.
+	 */
+	public void put(Object entity, String collectionName, DBObject dbObject) {
+
+		purge();
+		snapshots.put(new IdentityReference(entity, queue), new Snapshot(collectionName, dbObject));
+	}
+
+	/**
+	 * Returns the {@link DBObject} registered as the current state of the given entity in the given collection.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @param collectionName the collection the entity is about to be written to.
+	 * @return the snapshot or {@literal null} if the entity has neither been read nor written before or was last read
+	 *         from or written to a different collection.
+	 */
+	public DBObject get(Object entity, String collectionName) {
+
+		purge();
+		Snapshot snapshot = snapshots.get(new IdentityReference(entity, null));
+
+		return snapshot == null || !ObjectUtils.nullSafeEquals(snapshot.collectionName, collectionName) ? null
+				: snapshot.dbObject;
+	}
+
+	/**
+	 * Creates an {@link Update} setting the fields of the given current {@link DBObject} that differ from the snapshot
+	 * and unsetting the ones no longer present. Embedded documents are compared field by field, all other values as a
+	 * whole. The top-level identifier is never part of the {@link Update}.
+	 *
+	 * @param snapshot must not be {@literal null}.
+	 * @param current must not be {@literal null}.
+	 * @return the {@link Update}, empty in case the documents do not differ.
+	 */
+	public static Update diff(DBObject snapshot, DBObject current) {
+
+		Update update = new Update();
+		diff("", snapshot, current, update);
+
+		return update;
+	}
+
+	private static void diff(String prefix, DBObject snapshot, DBObject current, Update update) {
+
+		for (String key : current.keySet()) {
+
+			if (prefix.isEmpty() && ID_FIELD.equals(key)) {
+				continue;
+			}
+
+			String path = prefix + key;
+			Object value = current.get(key);
+			Object previous = snapshot.get(key);
+
+			if (!snapshot.containsField(key)) {
+				update.set(path, value);
+			} else if (isDocument(value) && isDocument(previous)) {
+				diff(path + ".", (DBObject) previous, (DBObject) value, update);
+			} else if (!ObjectUtils.nullSafeEquals(previous, value)) {
+				update.set(path, value);
+			}
+		}
+
+		for (String key : snapshot.keySet()) {
+
+			if (!current.containsField(key)) {
+				update.unset(prefix + key);
+			}
+		}
+	}
+
+	private static boolean isDocument(Object value) {
+		return value instanceof DBObject && !(value instanceof List);
+	}
+
+	/**
+	 * Removes the snapshots of entities that have been garbage collected. The enqueued references are removed by
+	 * identity, as their referent has been cleared already.
+	 */
+	private void purge() {
+
+		Reference<?> reference;
+
+		while ((reference = queue.poll()) != null) {
+			snapshots.remove(reference);
+		}
+	}
+
+	/**
+	 * A {@link DBObject} along with the collection it was read from or written to.
+	 */
+	private static class Snapshot {
+
+		private final String collectionName;
+		private final DBObject dbObject;
+
+		Snapshot(String collectionName, DBObject dbObject) {
+
+			this.collectionName = collectionName;
+			this.dbObject = dbObject;
+		}
+	}
+
+	/**
+	 * Weak reference to an entity comparing the referenced instances by identity.
+	 */
+	private static class IdentityReference extends WeakReference<Object> {
+
+		private final int hashCode;
+
+		IdentityReference(Object referent, ReferenceQueue<Object> queue) {
+
+			super(referent, queue);
+			this.hashCode = System.identityHashCode(referent);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof IdentityReference)) {
+				return false;
+			}
+
+			Object referent = get();
+			return referent != null && referent == ((IdentityReference) obj).get();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return hashCode;
+		}
+	}
+}
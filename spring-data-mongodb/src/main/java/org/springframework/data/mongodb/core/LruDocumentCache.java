@@ -0,0 +1,255 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.data.mongodb.core.mapping.Cached;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * {@link DocumentCache} keeping a size-bounded region per collection that evicts the least recently used documents
+ * once full. The size and time to live of a region are taken from the {@link Cached} settings of the first document
+ * put into it. Documents are copied when put into and when returned from the cache.
+ * <p>
+ * Invalidation stamps are tracked per collection, so any eviction from a collection prevents documents read before it
+ * from being cached.
+ *
+ * @since 1.10
+ */
+public class LruDocumentCache implements DocumentCache {
+
+	private final ConcurrentMap<String, Region> regions = new ConcurrentHashMap<String, Region>();
+	private final ConcurrentMap<String, AtomicLong> stamps = new ConcurrentHashMap<String, AtomicLong>();
+	private final Clock clock;
+
+	/**
+	 * Creates a new {@link LruDocumentCache} using the system clock.
+	 */
+	public LruDocumentCache() {
+		this(Clock.SYSTEM);
+	}
+
+	/**
+	 * Creates a new {@link LruDocumentCache} using the given {@link Clock} to expire documents.
+	 *
+	 * @param clock must not be {@literal null}.
+	 */
+	LruDocumentCache(Clock clock) {
+
+		Assert.notNull(clock, "Clock must not be null!");
+		this.clock = clock;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.DocumentCache#get(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public DBObject get(String collectionName, Object id) {
+
+		Region region = regions.get(collectionName);
+		DBObject dbObject = region == null ? null : region.get(id, clock.currentTimeMillis());
+
+		return dbObject == null ? null : copy(dbObject);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.DocumentCache#getStamp(java.lang.String)
+	 */
+	@Override
+	public long getStamp(String collectionName) {
+		return getStampCounter(collectionName).get();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.DocumentCache#put(java.lang.String, java.lang.Object, com.mongodb.DBObject, org.springframework.data.mongodb.core.mapping.Cached, long)
+	 */
+	@Override
+	public void put(String collectionName, Object id, DBObject dbObject, Cached settings, long stamp) {
+
+		Assert.notNull(id, "Id must not be null!");
+		Assert.notNull(dbObject, "DBObject must not be null!");
+		Assert.notNull(settings, "Cached settings must not be null!");
+
+		Region region = regions.get(collectionName);
+
+		if (region == null) {
+
+			region = new Region(settings.maxEntries(), TimeUnit.SECONDS.toMillis(settings.ttl()));
+			Region existing = regions.putIfAbsent(collectionName, region);
+			region = existing != null ? existing : region;
+		}
+
+		region.put(id, copy(dbObject), clock.currentTimeMillis(), getStampCounter(collectionName), stamp);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.DocumentCache#evict(java.lang.String, java.lang.Object)
+	 */
+	@Override
+	public void evict(String collectionName, Object id) {
+
+		getStampCounter(collectionName).incrementAndGet();
+
+		Region region = regions.get(collectionName);
+
+		if (region != null) {
+			region.remove(id);
+		}
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.DocumentCache#evictAll(java.lang.String)
+	 */
+	@Override
+	public void evictAll(String collectionName) {
+
+		getStampCounter(collectionName).incrementAndGet();
+
+		Region region = regions.get(collectionName);
+
+		if (region != null) {
+			region.clear();
+		}
+	}
+
+	private AtomicLong getStampCounter(String collectionName) {
+
+		AtomicLong counter = stamps.get(collectionName);
+
+		if (counter != null) {
+			return counter;
+		}
+
+		counter = new AtomicLong();
+		AtomicLong existing = stamps.putIfAbsent(collectionName, counter);
+
+		return existing != null ? existing : counter;
+	}
+
+	private static DBObject copy(DBObject dbObject) {
+
+		BasicDBObject source = dbObject instanceof BasicDBObject ? (BasicDBObject) dbObject
+				: new BasicDBObject(dbObject.toMap());
+
+		return (DBObject) source.copy();
+	}
+
+	/**
+	 * Source of the current time used to expire documents.
+	 */
+	interface Clock {
+
+		Clock SYSTEM = new Clock() {
+
+			@Override
+			public long currentTimeMillis() {
+				return System.currentTimeMillis();
+			}
+		};
+
+		long currentTimeMillis();
+	}
+
+	/**
+	 * The cached documents of a single collection in access order.
+	 */
+	private static class Region {
+
+		private final long ttlMillis;
+		private final Map<Object, Entry> entries;
+
+		Region(final int maxEntries, long ttlMillis) {
+
+			this.ttlMillis = ttlMillis;
+			this.entries = new LinkedHashMap<Object, Entry>(16, 0.75f, true) {
+
+				private static final long serialVersionUID = 1L;
+
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Object, Entry> eldest) {
+					return size() > maxEntries;
+				}
+			};
+		}
+
+		synchronized DBObject get(Object id, long now) {
+
+			Entry entry = entries.get(id);
+
+			if (entry == null) {
+				return null;
+			}
+
+			if (entry.isExpired(now)) {
+				entries.remove(id);
+				return null;
+			}
+
+			return entry.dbObject;
+		}
+
+		/**
+		 * Stores the given document unless the current stamp differs from the given one. Evictions increment the stamp
+		 * before removing entries under the same lock, so a document either is rejected here or removed afterwards.
+		 */
+		synchronized void put(Object id, DBObject dbObject, long now, AtomicLong currentStamp, long stamp) {
+
+			if (currentStamp.get() == stamp) {
+				entries.put(id, new Entry(dbObject, ttlMillis == 0 ? 0 : now + ttlMillis));
+			}
+		}
+
+		synchronized void remove(Object id) {
+			entries.remove(id);
+		}
+
+		synchronized void clear() {
+			entries.clear();
+		}
+	}
+
+	/**
+	 * A cached document along with the point in time it expires, {@literal 0} if it never does.
+	 */
+	private static class Entry {
+
+		private final DBObject dbObject;
+		private final long expiresAt;
+
+		Entry(DBObject dbObject, long expiresAt) {
+			this.dbObject = dbObject;
+			this.expiresAt = expiresAt;
+		}
+
+		boolean isExpired(long now) {
+			return expiresAt != 0 && now > expiresAt;
+		}
+	}
+}
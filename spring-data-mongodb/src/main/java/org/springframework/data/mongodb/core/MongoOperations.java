@@ -16,12 +16,14 @@
 package org.springframework.data.mongodb.core;
 
 import java.util.Collection;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Set;
 
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
@@ -430,6 +432,74 @@ public interface MongoOperations {
 	 */
 	<O> AggregationResults<O> aggregate(Aggregation aggregation, String collectionName, Class<O> outputType);
 
+	/**
+	 * Execute the given {@link TypedAggregation} against the given collection using a Mongo DB {@link Cursor}. The raw
+	 * results are mapped to the given output type lazily while iterating.
+	 * <p>
+	 * The returned {@link CloseableIterator} wraps the Mongo DB {@link Cursor} and needs to be closed. The
+	 * {@code allowDiskUse} and cursor {@code batchSize} {@link AggregationOptions} are applied, {@code explain} is not
+	 * supported.
+	 * 
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param collectionName The name of the input collection to use for the aggregation, must not be {@literal null} or
+	 *          empty.
+	 * @param outputType The parameterized type of the returned elements, must not be {@literal null}.
+	 * @return the {@link CloseableIterator} over the aggregation results.
+	 * @since 1.10
+	 */
+	<O> CloseableIterator<O> aggregateStream(TypedAggregation<?> aggregation, String collectionName,
+			Class<O> outputType);
+
+	/**
+	 * Execute the given {@link TypedAggregation} using a Mongo DB {@link Cursor}. The input collection is derived from
+	 * the input type of the aggregation, the raw results are mapped to the given output type lazily while iterating.
+	 * <p>
+	 * The returned {@link CloseableIterator} wraps the Mongo DB {@link Cursor} and needs to be closed. Aggregation
+	 * options are applied as described for {@link #aggregateStream(TypedAggregation, String, Class)}.
+	 * 
+	 * @param aggregation The {@link TypedAggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param outputType The parameterized type of the returned elements, must not be {@literal null}.
+	 * @return the {@link CloseableIterator} over the aggregation results.
+	 * @since 1.10
+	 */
+	<O> CloseableIterator<O> aggregateStream(TypedAggregation<?> aggregation, Class<O> outputType);
+
+	/**
+	 * Execute the given {@link Aggregation} using a Mongo DB {@link Cursor}. The input collection is derived from the
+	 * given input type, which is also used to map the field references of the aggregation. The raw results are mapped
+	 * to the given output type lazily while iterating.
+	 * <p>
+	 * The returned {@link CloseableIterator} wraps the Mongo DB {@link Cursor} and needs to be closed. Aggregation
+	 * options are applied as described for {@link #aggregateStream(TypedAggregation, String, Class)}.
+	 * 
+	 * @param aggregation The {@link Aggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param inputType the type the input collection is derived from, must not be {@literal null}.
+	 * @param outputType The parameterized type of the returned elements, must not be {@literal null}.
+	 * @return the {@link CloseableIterator} over the aggregation results.
+	 * @since 1.10
+	 */
+	<O> CloseableIterator<O> aggregateStream(Aggregation aggregation, Class<?> inputType, Class<O> outputType);
+
+	/**
+	 * Execute the given {@link Aggregation} against the given collection using a Mongo DB {@link Cursor}. The raw
+	 * results are mapped to the given output type lazily while iterating.
+	 * <p>
+	 * The returned {@link CloseableIterator} wraps the Mongo DB {@link Cursor} and needs to be closed. Aggregation
+	 * options are applied as described for {@link #aggregateStream(TypedAggregation, String, Class)}.
+	 * 
+	 * @param aggregation The {@link Aggregation} specification holding the aggregation operations, must not be
+	 *          {@literal null}.
+	 * @param collectionName the collection where the aggregation operation will read from, must not be {@literal null} or
+	 *          empty.
+	 * @param outputType The parameterized type of the returned elements, must not be {@literal null}.
+	 * @return the {@link CloseableIterator} over the aggregation results.
+	 * @since 1.10
+	 */
+	<O> CloseableIterator<O> aggregateStream(Aggregation aggregation, String collectionName, Class<O> outputType);
+
 	/**
 	 * Execute a map-reduce operation. The map-reduce operation will be formed with an output type of INLINE
 	 * 
@@ -805,6 +875,50 @@ public interface MongoOperations {
 	 */
 	void insertAll(Collection<? extends Object> objectsToSave);
 
+	/**
+	 * Insert the objects provided by the given {@link Iterable} into the collection for the given entity type. The objects
+	 * are converted and written in chunks, so that only the documents of the current chunk are held in memory.
+	 * 
+	 * @param objectsToSave must not be {@literal null}.
+	 * @param entityClass class that determines the collection to use, must not be {@literal null}.
+	 * @return the number of objects inserted.
+	 * @since 1.10
+	 */
+	long insertAll(Iterable<? extends Object> objectsToSave, Class<?> entityClass);
+
+	/**
+	 * Insert the objects provided by the given {@link Iterable} into the specified collection. The objects are converted
+	 * and written in chunks, so that only the documents of the current chunk are held in memory.
+	 * 
+	 * @param objectsToSave must not be {@literal null}.
+	 * @param collectionName name of the collection to store the objects in, must not be {@literal null} or empty.
+	 * @return the number of objects inserted.
+	 * @since 1.10
+	 */
+	long insertAll(Iterable<? extends Object> objectsToSave, String collectionName);
+
+	/**
+	 * Insert the objects provided by the given {@link Iterator} into the collection for the given entity type. The objects
+	 * are converted and written in chunks, so that only the documents of the current chunk are held in memory.
+	 * 
+	 * @param objectsToSave must not be {@literal null}.
+	 * @param entityClass class that determines the collection to use, must not be {@literal null}.
+	 * @return the number of objects inserted.
+	 * @since 1.10
+	 */
+	long insertAll(Iterator<? extends Object> objectsToSave, Class<?> entityClass);
+
+	/**
+	 * Insert the objects provided by the given {@link Iterator} into the specified collection. The objects are converted
+	 * and written in chunks, so that only the documents of the current chunk are held in memory.
+	 * 
+	 * @param objectsToSave must not be {@literal null}.
+	 * @param collectionName name of the collection to store the objects in, must not be {@literal null} or empty.
+	 * @return the number of objects inserted.
+	 * @since 1.10
+	 */
+	long insertAll(Iterator<? extends Object> objectsToSave, String collectionName);
+
 	/**
 	 * Save the object to the collection for the entity type of the object to save. This will perform an insert if the
 	 * object is not already present, that is an 'upsert'.
@@ -20,6 +20,7 @@ import static org.springframework.data.mongodb.core.query.SerializationUtils.*;
 
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
@@ -30,6 +31,14 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Scanner;
 import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 
 import org.bson.types.ObjectId;
 import org.slf4j.Logger;
@@ -60,15 +69,19 @@ import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.ConvertingPropertyAccessor;
 import org.springframework.data.mapping.model.MappingException;
 import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
 import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperationContext;
+import org.springframework.data.mongodb.core.aggregation.AggregationOptions;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.Fields;
 import org.springframework.data.mongodb.core.aggregation.TypeBasedAggregationOperationContext;
 import org.springframework.data.mongodb.core.aggregation.TypedAggregation;
+import org.springframework.data.mongodb.core.convert.DbRefIdentityMap;
 import org.springframework.data.mongodb.core.convert.DbRefResolver;
 import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.EntityDBDecoderFactory;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoConverter;
 import org.springframework.data.mongodb.core.convert.MongoWriter;
@@ -76,6 +89,7 @@ import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.convert.UpdateMapper;
 import org.springframework.data.mongodb.core.index.MongoMappingEventPublisher;
 import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexCreator;
+import org.springframework.data.mongodb.core.mapping.Cached;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
@@ -93,6 +107,7 @@ import org.springframework.data.mongodb.core.mapreduce.GroupByResults;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceResults;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Meta;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
@@ -112,6 +127,7 @@ import com.mongodb.Cursor;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
+import com.mongodb.DBDecoderFactory;
 import com.mongodb.DBObject;
 import com.mongodb.MapReduceCommand;
 import com.mongodb.MapReduceOutput;
@@ -144,7 +160,10 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 
 	private static final Logger LOGGER = LoggerFactory.getLogger(MongoTemplate.class);
 	private static final String ID_FIELD = "_id";
+	private static final String GEO_NEAR_DISTANCE_FIELD = "__distance";
 	private static final WriteResultChecking DEFAULT_WRITE_RESULT_CHECKING = WriteResultChecking.NONE;
+	private static final int DEFAULT_MAX_INSERT_CHUNK_DOCUMENTS = 1000;
+	private static final int INSERT_CONVERSION_SLICE_SIZE = 100;
 	private static final Collection<String> ITERABLE_CLASSES;
 
 	static {
@@ -171,6 +190,13 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 	private ApplicationEventPublisher eventPublisher;
 	private ResourceLoader resourceLoader;
 	private MongoPersistentEntityIndexCreator indexCreator;
+	private boolean useDbRefIdentityMap = false;
+	private DocumentCache documentCache = new LruDocumentCache();
+	private EntitySnapshots entitySnapshots;
+	private ConcurrentMap<Class<?>, EntityDBDecoderFactory> decoderFactories;
+	private int maxInsertChunkDocuments = DEFAULT_MAX_INSERT_CHUNK_DOCUMENTS;
+	private int maxInsertChunkBytes;
+	private Executor insertExecutor;
 
 	/**
 	 * Constructor used for a basic template configuration
@@ -252,6 +278,37 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		this.writeConcern = writeConcern;
 	}
 
+	/**
+	 * Returns the {@link WriteConcern} configured for the template.
+	 *
+	 * @return can be {@literal null}.
+	 * @since 1.10
+	 */
+	protected WriteConcern getWriteConcern() {
+		return writeConcern;
+	}
+
+	/**
+	 * Configures the {@link DocumentCache} used for lookups by identifier of domain types annotated with {@link Cached}.
+	 * Defaults to a {@link LruDocumentCache}, setting {@literal null} disables caching.
+	 *
+	 * @param documentCache can be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setDocumentCache(DocumentCache documentCache) {
+		this.documentCache = documentCache;
+	}
+
+	/**
+	 * Returns the {@link DocumentCache} configured for the template.
+	 *
+	 * @return can be {@literal null}.
+	 * @since 1.10
+	 */
+	protected DocumentCache getDocumentCache() {
+		return documentCache;
+	}
+
 	/**
 	 * Configures the {@link WriteConcernResolver} to be used with the template.
 	 * 
@@ -271,6 +328,108 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		this.readPreference = readPreference;
 	}
 
+	/**
+	 * Configures whether to resolve {@link com.mongodb.DBRef}s through a {@link DbRefIdentityMap} scoped to the find
+	 * operation, so that documents referenced by multiple results are fetched and converted only once and the results
+	 * share the referenced instances. Operations executed within a transaction or a scope opened via
+	 * {@link DbRefIdentityMap#open()} use the identity map bound to it. Defaults to {@literal false}.
+	 * 
+	 * @param useDbRefIdentityMap
+	 * @since 1.10
+	 */
+	public void setUseDbRefIdentityMap(boolean useDbRefIdentityMap) {
+		this.useDbRefIdentityMap = useDbRefIdentityMap;
+	}
+
+	/**
+	 * Configures whether to keep the {@link DBObject} an entity was read from or written as and to turn a subsequent
+	 * {@link #save(Object)} of the very same instance into an update setting and unsetting only the fields that changed
+	 * instead of replacing the whole document. The optimistic locking check is applied for versioned entities as usual.
+	 * Note that the snapshots are held as long as the entities are reachable and that a partial save does not recreate a
+	 * document removed in the meantime. A save of an entity that has not changed at all is skipped without a write,
+	 * while the {@link AfterSaveEvent} is still published for it. Defaults to {@literal false}.
+	 *
+	 * @param useDirtyTracking
+	 * @since 1.10
+	 */
+	public void setUseDirtyTracking(boolean useDirtyTracking) {
+		this.entitySnapshots = useDirtyTracking ? new EntitySnapshots() : null;
+	}
+
+	/**
+	 * Configures whether to install an {@link EntityDBDecoderFactory} on the cursors of finds that read whole documents
+	 * into mapped entities, so that fields not mapped to any property are dropped while decoding instead of being
+	 * materialized as part of the {@link DBObject}. Defaults to {@literal false}.
+	 * <p>
+	 * Note the limitations of the selective decoding:
+	 * <ul>
+	 * <li>Only top-level documents and nested documents of {@code final} types are trimmed. Nested documents of all
+	 * other types, i.e. of most entity types, are decoded as a whole as they might carry a subtype's fields.</li>
+	 * <li>Retaining the fields of subtypes relies on the type key preceding all fields but the identifier, as in the
+	 * documents written by the {@link MongoConverter}. Documents written otherwise lose the fields of subtypes not mapped
+	 * on the entity type queried for.</li>
+	 * <li>The {@link AfterLoadEvent} and the {@link DBObject}s handed to the converter only contain the retained fields,
+	 * so listeners relying on unmapped fields must not be used along with entity decoding.</li>
+	 * </ul>
+	 *
+	 * @param useEntityDecoding
+	 * @since 1.10
+	 */
+	public void setUseEntityDecoding(boolean useEntityDecoding) {
+		this.decoderFactories = useEntityDecoding ? new ConcurrentHashMap<Class<?>, EntityDBDecoderFactory>() : null;
+	}
+
+	/**
+	 * Configures the maximum number of documents converted and written at once by batch inserts. The objects to insert
+	 * are converted and written in chunks, so that only the documents of a single chunk are held in memory. Defaults to
+	 * {@value #DEFAULT_MAX_INSERT_CHUNK_DOCUMENTS}, the maximum write batch size of the server.
+	 *
+	 * @param maxInsertChunkDocuments must be greater than zero.
+	 * @since 1.10
+	 */
+	public void setMaxInsertChunkDocuments(int maxInsertChunkDocuments) {
+
+		Assert.isTrue(maxInsertChunkDocuments > 0, "Maximum number of documents per chunk must be greater than zero!");
+		this.maxInsertChunkDocuments = maxInsertChunkDocuments;
+	}
+
+	/**
+	 * Configures the maximum number of BSON bytes written at once by batch inserts. A chunk is written as soon as adding
+	 * the next document would exceed the limit, a single document exceeding it is written on its own. Not limited by
+	 * default, as the driver already splits inserts exceeding the maximum message size of the server and determining the
+	 * size of each document costs an additional pass over it.
+	 *
+	 * @param maxInsertChunkBytes must be greater than zero.
+	 * @since 1.10
+	 */
+	public void setMaxInsertChunkBytes(int maxInsertChunkBytes) {
+
+		Assert.isTrue(maxInsertChunkBytes > 0, "Maximum number of bytes per chunk must be greater than zero!");
+		this.maxInsertChunkBytes = maxInsertChunkBytes;
+	}
+
+	/**
+	 * Configures the {@link Executor} batch inserts use to convert objects concurrently and {@link #insertAll(Collection)}
+	 * uses to write the objects of different collections concurrently, e.g. a {@link java.util.concurrent.ForkJoinPool}.
+	 * Up to {@link #setMaxInsertChunkDocuments(int)} objects are converted at a time, split into slices of
+	 * {@value #INSERT_CONVERSION_SLICE_SIZE} objects converted by separate tasks. The mapping events of a collection are
+	 * still published in order by the thread writing it, the {@code BeforeConvertEvent}s of those objects before they
+	 * are converted, their {@code BeforeSaveEvent}s afterwards.
+	 * <p>
+	 * Note that the conversion, i.e. custom converters, and, for {@link #insertAll(Collection)} spanning multiple
+	 * collections, the mapping event listeners then run on threads of the {@link Executor}. They don't see state bound
+	 * to the calling thread, like the security context of Spring Security's {@code SecurityContextHolder} or an open
+	 * {@link DbRefIdentityMap}. Tasks the {@link Executor} rejects or has not started yet by the time they are waited
+	 * for are run on the calling thread. Defaults to {@literal null}, converting and writing all objects on the calling
+	 * thread.
+	 *
+	 * @param insertExecutor can be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setInsertExecutor(Executor insertExecutor) {
+		this.insertExecutor = insertExecutor;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.context.ApplicationContextAware#setApplicationContext(org.springframework.context.ApplicationContext)
@@ -279,6 +438,15 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 
 		prepareIndexCreator(applicationContext);
 
+		if (applicationContext instanceof ConfigurableApplicationContext) {
+
+			// clear cached property paths once the mapping context adds new entities
+			((ConfigurableApplicationContext) applicationContext)
+					.addApplicationListener(queryMapper.getPropertyPathCache());
+			((ConfigurableApplicationContext) applicationContext)
+					.addApplicationListener(updateMapper.getPropertyPathCache());
+		}
+
 		eventPublisher = applicationContext;
 		if (mappingContext instanceof ApplicationEventPublisherAware) {
 			((ApplicationEventPublisherAware) mappingContext).setApplicationEventPublisher(eventPublisher);
@@ -534,6 +702,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				return null;
 			}
 		});
+
+		evictCachedDocuments(collectionName, new BasicDBObject());
 	}
 
 	public IndexOperations indexOps(String collectionName) {
@@ -562,10 +732,37 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		operations.setExceptionTranslator(exceptionTranslator);
 		operations.setWriteConcernResolver(writeConcernResolver);
 		operations.setDefaultWriteConcern(writeConcern);
+		operations.setDocumentCache(documentCache);
+		operations.setEventPublisher(eventPublisher);
+		operations.setEntitySnapshots(entitySnapshots);
 
 		return operations;
 	}
 
+	/**
+	 * Creates a {@link NearCachedCollection} keeping all documents of the collection the given entity type is mapped to
+	 * in memory.
+	 *
+	 * @param entityClass must not be {@literal null}.
+	 * @return
+	 * @since 1.10
+	 */
+	public <T> NearCachedCollection<T> nearCache(Class<T> entityClass) {
+		return nearCache(entityClass, determineCollectionName(entityClass));
+	}
+
+	/**
+	 * Creates a {@link NearCachedCollection} keeping all documents of the given collection in memory.
+	 *
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 * @return
+	 * @since 1.10
+	 */
+	public <T> NearCachedCollection<T> nearCache(Class<T> entityClass, String collectionName) {
+		return new NearCachedCollection<T>(this, entityClass, collectionName);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.MongoOperations#scriptOps()
@@ -582,6 +779,12 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 	}
 
 	public <T> T findOne(Query query, Class<T> entityClass, String collectionName) {
+
+		if (isLookupFetch(query)) {
+			List<T> results = doFindWithLookups(collectionName, query, entityClass, 1);
+			return results.isEmpty() ? null : results.get(0);
+		}
+
 		if (query.getSortObject() == null) {
 			return doFindOne(collectionName, query.getQueryObject(), query.getFieldsObject(), entityClass);
 		} else {
@@ -621,6 +824,10 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 			return findAll(entityClass, collectionName);
 		}
 
+		if (isLookupFetch(query)) {
+			return doFindWithLookups(collectionName, query, entityClass, query.getLimit());
+		}
+
 		return doFind(collectionName, query.getQueryObject(), query.getFieldsObject(), entityClass,
 				new QueryCursorPreparer(query, entityClass));
 	}
@@ -633,7 +840,17 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		MongoPersistentEntity<?> persistentEntity = mappingContext.getPersistentEntity(entityClass);
 		MongoPersistentProperty idProperty = persistentEntity == null ? null : persistentEntity.getIdProperty();
 		String idKey = idProperty == null ? ID_FIELD : idProperty.getName();
-		return doFindOne(collectionName, new BasicDBObject(idKey, id), null, entityClass);
+		Cached cached = persistentEntity == null || documentCache == null ? null
+				: persistentEntity.findAnnotation(Cached.class);
+
+		if (cached == null) {
+			return doFindOne(collectionName, new BasicDBObject(idKey, id), null, entityClass);
+		}
+
+		DBObject mappedQuery = queryMapper.getMappedObject(new BasicDBObject(idKey, id), persistentEntity);
+
+		return executeFindOneInternal(new CachingFindByIdCallback(collectionName, mappedQuery, cached),
+				new ReadDbObjectCallback<T>(mongoConverter, entityClass, collectionName), collectionName);
 	}
 
 	public <T> GeoResults<T> geoNear(NearQuery near, Class<T> entityClass) {
@@ -652,6 +869,11 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		}
 
 		String collection = StringUtils.hasText(collectionName) ? collectionName : determineCollectionName(entityClass);
+
+		if (near.getSkip() != null && near.getSkip() > 0) {
+			return doGeoNearAggregation(near, entityClass, collection);
+		}
+
 		DBObject nearDbObject = near.toDBObject();
 
 		BasicDBObject command = new BasicDBObject("geoNear", collection);
@@ -675,30 +897,95 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				new ReadDbObjectCallback<T>(mongoConverter, entityClass, collectionName), near.getMetric());
 		List<GeoResult<T>> result = new ArrayList<GeoResult<T>>(results.size());
 
-		int index = 0;
-		int elementsToSkip = near.getSkip() != null ? near.getSkip() : 0;
-
 		for (Object element : results) {
+			result.add(callback.doWith((DBObject) element));
+		}
 
-			/*
-			 * As MongoDB currently (2.4.4) doesn't support the skipping of elements in near queries
-			 * we skip the elements ourselves to avoid at least the document 2 object mapping overhead.
-			 * 
-			 * @see https://jira.mongodb.org/browse/SERVER-3925
-			 */
-			if (index >= elementsToSkip) {
-				result.add(callback.doWith((DBObject) element));
+		GeoCommandStatistics stats = GeoCommandStatistics.from(commandResult);
+		return new GeoResults<T>(result, new Distance(stats.getAverageDistance(), near.getMetric()));
+	}
+
+	/**
+	 * Executes the given {@link NearQuery} skipping elements as {@code $geoNear} aggregation, so that the skipped
+	 * elements are neither transferred nor converted as the {@code geoNear} command does not support skipping elements
+	 * (see SERVER-3925). The results are converted while iterating the aggregation cursor.
+	 * 
+	 * @param near must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName must not be {@literal null}.
+	 * @return
+	 */
+	private <T> GeoResults<T> doGeoNearAggregation(NearQuery near, final Class<T> entityClass,
+			final String collectionName) {
+
+		final int skip = near.getSkip();
+		Integer num = near.getNum();
+
+		DBObject geoNear = near.toDBObject();
+		geoNear.put("distanceField", GEO_NEAR_DISTANCE_FIELD);
+
+		if (geoNear.containsField("query")) {
+			DBObject query = (DBObject) geoNear.get("query");
+			geoNear.put("query", queryMapper.getMappedObject(query, getPersistentEntity(entityClass)));
+		}
+
+		final List<DBObject> pipeline = new ArrayList<DBObject>(3);
+		pipeline.add(new BasicDBObject("$geoNear", geoNear));
+		pipeline.add(new BasicDBObject("$skip", skip));
+
+		final Integer limit = num == null ? null : Math.max(num - skip, 0);
+
+		if (limit != null) {
+
+			if (limit == 0) {
+				return new GeoResults<T>(Collections.<GeoResult<T>> emptyList(), near.getMetric());
 			}
-			index++;
+
+			pipeline.add(new BasicDBObject("$limit", limit));
 		}
 
-		if (elementsToSkip > 0) {
-			// as we skipped some elements we have to calculate the averageDistance ourselves:
-			return new GeoResults<T>(result, near.getMetric());
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Executing $geoNear aggregation: {} for class: {} in collection: {}",
+					serializeToJsonSafely(pipeline), entityClass, collectionName);
 		}
 
-		GeoCommandStatistics stats = GeoCommandStatistics.from(commandResult);
-		return new GeoResults<T>(result, new Distance(stats.getAverageDistance(), near.getMetric()));
+		final Metric metric = near.getMetric();
+
+		List<GeoResult<T>> result = execute(collectionName, new CollectionCallback<List<GeoResult<T>>>() {
+
+			@Override
+			public List<GeoResult<T>> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+				com.mongodb.AggregationOptions.Builder builder = com.mongodb.AggregationOptions.builder()
+						.outputMode(com.mongodb.AggregationOptions.OutputMode.CURSOR);
+
+				if (limit != null) {
+					builder.batchSize(limit);
+				}
+
+				Cursor cursor = readPreference != null ? collection.aggregate(pipeline, builder.build(), readPreference)
+						: collection.aggregate(pipeline, builder.build());
+
+				DbObjectCallback<T> readCallback = new ReadDbObjectCallback<T>(mongoConverter, entityClass, collectionName);
+				List<GeoResult<T>> result = new ArrayList<GeoResult<T>>(limit == null ? 10 : limit);
+
+				try {
+					while (cursor.hasNext()) {
+
+						DBObject element = cursor.next();
+						double distance = ((Number) element.removeField(GEO_NEAR_DISTANCE_FIELD)).doubleValue();
+
+						result.add(new GeoResult<T>(readCallback.doWith(element), new Distance(distance, metric)));
+					}
+				} finally {
+					cursor.close();
+				}
+
+				return result;
+			}
+		});
+
+		return new GeoResults<T>(result, metric);
 	}
 
 	public <T> T findAndModify(Query query, Update update, Class<T> entityClass) {
@@ -838,6 +1125,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		Object id = insertDBObject(collectionName, dbDoc, objectToSave.getClass());
 
 		populateIdIfNecessary(objectToSave, id);
+		updateSnapshot(objectToSave, collectionName, dbDoc);
 		maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc, collectionName));
 	}
 
@@ -884,6 +1172,28 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		doInsertAll(objectsToSave, this.mongoConverter);
 	}
 
+	public long insertAll(Iterable<? extends Object> objectsToSave, Class<?> entityClass) {
+
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		return insertAll(objectsToSave.iterator(), entityClass);
+	}
+
+	public long insertAll(Iterable<? extends Object> objectsToSave, String collectionName) {
+
+		Assert.notNull(objectsToSave, "Objects to save must not be null!");
+		return insertAll(objectsToSave.iterator(), collectionName);
+	}
+
+	public long insertAll(Iterator<? extends Object> objectsToSave, Class<?> entityClass) {
+		return doInsertBatch(determineCollectionName(entityClass), objectsToSave, this.mongoConverter);
+	}
+
+	public long insertAll(Iterator<? extends Object> objectsToSave, String collectionName) {
+
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		return doInsertBatch(collectionName, objectsToSave, this.mongoConverter);
+	}
+
 	protected <T> void doInsertAll(Collection<? extends T> listToSave, MongoWriter<T> writer) {
 
 		Map<String, List<T>> elementsByCollection = new HashMap<String, List<T>>();
@@ -911,36 +1221,256 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 			collectionElements.add(element);
 		}
 
-		for (Map.Entry<String, List<T>> entry : elementsByCollection.entrySet()) {
-			doInsertBatch(entry.getKey(), entry.getValue(), this.mongoConverter);
+		if (insertExecutor == null || elementsByCollection.size() < 2) {
+
+			for (Map.Entry<String, List<T>> entry : elementsByCollection.entrySet()) {
+				doInsertBatch(entry.getKey(), entry.getValue(), this.mongoConverter);
+			}
+
+			return;
 		}
+
+		List<Callable<Void>> tasks = new ArrayList<Callable<Void>>(elementsByCollection.size());
+
+		for (final Map.Entry<String, List<T>> entry : elementsByCollection.entrySet()) {
+
+			tasks.add(new Callable<Void>() {
+
+				@Override
+				public Void call() throws Exception {
+
+					doInsertBatch(entry.getKey(), entry.getValue().iterator(), mongoConverter);
+					return null;
+				}
+			});
+		}
+
+		executeInsertTasks(tasks);
+	}
+
+	/**
+	 * Executes the given tasks via the configured insert {@link Executor} and waits for all of them to complete. Tasks
+	 * the {@link Executor} rejects or has not started yet by the time they are waited for are run on the calling thread,
+	 * so that tasks waiting for tasks of their own cannot exhaust a bounded pool. Rethrows the first failure, if any,
+	 * once all tasks have completed.
+	 *
+	 * @param callables must not be {@literal null}.
+	 */
+	private void executeInsertTasks(List<Callable<Void>> callables) {
+
+		List<FutureTask<Void>> tasks = new ArrayList<FutureTask<Void>>(callables.size());
+
+		for (Callable<Void> callable : callables) {
+			tasks.add(new FutureTask<Void>(callable));
+		}
+
+		if (insertExecutor != null && tasks.size() > 1) {
+
+			for (FutureTask<Void> task : tasks) {
+				try {
+					insertExecutor.execute(task);
+				} catch (RejectedExecutionException o_O) {
+					// run on the calling thread below
+				}
+			}
+		}
+
+		Throwable failure = null;
+
+		for (FutureTask<Void> task : tasks) {
+
+			// does nothing in case the task has already been started
+			task.run();
+
+			try {
+				task.get();
+			} catch (InterruptedException o_O) {
+
+				for (FutureTask<Void> toCancel : tasks) {
+					toCancel.cancel(true);
+				}
+
+				Thread.currentThread().interrupt();
+
+				throw new UncategorizedMongoDbException("Interrupted while waiting for inserts to complete!", o_O);
+
+			} catch (ExecutionException o_O) {
+				failure = failure == null ? o_O.getCause() : failure;
+			}
+		}
+
+		if (failure == null) {
+			return;
+		}
+
+		if (failure instanceof RuntimeException) {
+			throw (RuntimeException) failure;
+		}
+
+		if (failure instanceof Error) {
+			throw (Error) failure;
+		}
+
+		throw new UncategorizedMongoDbException("Failed to insert objects!", failure);
 	}
 
 	protected <T> void doInsertBatch(String collectionName, Collection<? extends T> batchToSave, MongoWriter<T> writer) {
+		doInsertBatch(collectionName, batchToSave.iterator(), writer);
+	}
+
+	/**
+	 * Converts and inserts the objects provided by the given {@link Iterator} in chunks bounded by
+	 * {@link #setMaxInsertChunkDocuments(int)} and {@link #setMaxInsertChunkBytes(int)}, so that only the documents of
+	 * the current chunk are held in memory.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param objectsToSave must not be {@literal null}.
+	 * @param writer must not be {@literal null}.
+	 * @return the number of objects inserted.
+	 * @since 1.10
+	 */
+	protected <T> long doInsertBatch(String collectionName, Iterator<? extends T> objectsToSave, MongoWriter<T> writer) {
 
+		Assert.notNull(objectsToSave);
 		Assert.notNull(writer);
 
+		// Objects are converted one at a time unless they can be converted concurrently
+		int maxConverted = insertExecutor == null ? 1 : maxInsertChunkDocuments;
+
+		List<T> toConvert = new ArrayList<T>();
+		List<T> chunk = new ArrayList<T>();
 		List<DBObject> dbObjectList = new ArrayList<DBObject>();
-		for (T o : batchToSave) {
+		long chunkBytes = 0;
+		long inserted = 0;
 
-			initializeVersionProperty(o);
-			BasicDBObject dbDoc = new BasicDBObject();
+		while (objectsToSave.hasNext()) {
 
+			T o = objectsToSave.next();
+
+			initializeVersionProperty(o);
 			maybeEmitEvent(new BeforeConvertEvent<T>(o, collectionName));
-			writer.write(o, dbDoc);
+			toConvert.add(o);
+
+			if (toConvert.size() < maxConverted && objectsToSave.hasNext()) {
+				continue;
+			}
+
+			List<BasicDBObject> converted = convertForInsert(toConvert, writer);
 
-			maybeEmitEvent(new BeforeSaveEvent<T>(o, dbDoc, collectionName));
-			dbObjectList.add(dbDoc);
+			for (int i = 0; i < toConvert.size(); i++) {
+
+				T object = toConvert.get(i);
+				BasicDBObject dbDoc = converted.get(i);
+
+				maybeEmitEvent(new BeforeSaveEvent<T>(object, dbDoc, collectionName));
+				int size = maxInsertChunkBytes > 0 ? DBObjectSize.of(dbDoc) : 0;
+
+				if (maxInsertChunkBytes > 0 && !chunk.isEmpty() && chunkBytes + size > maxInsertChunkBytes) {
+					inserted += insertChunk(collectionName, chunk, dbObjectList);
+					chunkBytes = 0;
+				}
+
+				chunk.add(object);
+				dbObjectList.add(dbDoc);
+				chunkBytes += size;
+
+				if (chunk.size() >= maxInsertChunkDocuments) {
+					inserted += insertChunk(collectionName, chunk, dbObjectList);
+					chunkBytes = 0;
+				}
+			}
+
+			toConvert.clear();
 		}
-		List<ObjectId> ids = insertDBObjectList(collectionName, dbObjectList);
-		int i = 0;
-		for (T obj : batchToSave) {
-			if (i < ids.size()) {
-				populateIdIfNecessary(obj, ids.get(i));
-				maybeEmitEvent(new AfterSaveEvent<T>(obj, dbObjectList.get(i), collectionName));
+
+		return inserted + insertChunk(collectionName, chunk, dbObjectList);
+	}
+
+	/**
+	 * Converts the given objects into {@link BasicDBObject}s, concurrently in slices of
+	 * {@value #INSERT_CONVERSION_SLICE_SIZE} objects if an insert {@link Executor} is configured.
+	 *
+	 * @param objects must not be {@literal null}.
+	 * @param writer must not be {@literal null}.
+	 * @return the converted objects in the order of the given ones.
+	 */
+	private <T> List<BasicDBObject> convertForInsert(final List<T> objects, final MongoWriter<T> writer) {
+
+		if (insertExecutor == null || objects.size() <= INSERT_CONVERSION_SLICE_SIZE) {
+
+			List<BasicDBObject> dbObjects = new ArrayList<BasicDBObject>(objects.size());
+
+			for (T object : objects) {
+
+				BasicDBObject dbDoc = new BasicDBObject();
+				writer.write(object, dbDoc);
+				dbObjects.add(dbDoc);
 			}
-			i++;
+
+			return dbObjects;
 		}
+
+		final BasicDBObject[] dbObjects = new BasicDBObject[objects.size()];
+		List<Callable<Void>> slices = new ArrayList<Callable<Void>>();
+
+		for (int start = 0; start < objects.size(); start += INSERT_CONVERSION_SLICE_SIZE) {
+
+			final int from = start;
+			final int to = Math.min(start + INSERT_CONVERSION_SLICE_SIZE, objects.size());
+
+			slices.add(new Callable<Void>() {
+
+				@Override
+				public Void call() {
+
+					for (int i = from; i < to; i++) {
+
+						BasicDBObject dbDoc = new BasicDBObject();
+						writer.write(objects.get(i), dbDoc);
+						dbObjects[i] = dbDoc;
+					}
+
+					return null;
+				}
+			});
+		}
+
+		executeInsertTasks(slices);
+
+		return Arrays.asList(dbObjects);
+	}
+
+	/**
+	 * Inserts the given chunk of converted objects, populates the identifiers and clears the given {@link List}s.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param chunk must not be {@literal null}.
+	 * @param dbObjectList the {@link DBObject}s the objects were converted into, must not be {@literal null}.
+	 * @return the number of objects inserted.
+	 */
+	private <T> int insertChunk(String collectionName, List<T> chunk, List<DBObject> dbObjectList) {
+
+		if (chunk.isEmpty()) {
+			return 0;
+		}
+
+		List<ObjectId> ids = insertDBObjectList(collectionName, dbObjectList);
+
+		for (int i = 0; i < chunk.size() && i < ids.size(); i++) {
+
+			T obj = chunk.get(i);
+			DBObject dbDoc = dbObjectList.get(i);
+
+			populateIdIfNecessary(obj, ids.get(i));
+			maybeEmitEvent(new AfterSaveEvent<T>(obj, dbDoc, collectionName));
+		}
+
+		int count = chunk.size();
+
+		chunk.clear();
+		dbObjectList.clear();
+
+		return count;
 	}
 
 	public void save(Object objectToSave) {
@@ -996,9 +1526,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 			this.mongoConverter.write(objectToSave, dbObject);
 
 			maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbObject, collectionName));
-			Update update = Update.fromDBObject(dbObject, ID_FIELD);
+			Update update = getPartialUpdate(objectToSave, collectionName, dbObject);
+
+			if (update == null) {
+				update = Update.fromDBObject(dbObject, ID_FIELD);
+			}
 
 			doUpdate(collectionName, query, update, objectToSave.getClass(), false, false);
+			updateSnapshot(objectToSave, collectionName, dbObject);
 			maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbObject, collectionName));
 		}
 	}
@@ -1012,12 +1547,52 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		DBObject dbDoc = toDbObject(objectToSave, writer);
 
 		maybeEmitEvent(new BeforeSaveEvent<T>(objectToSave, dbDoc, collectionName));
-		Object id = saveDBObject(collectionName, dbDoc, objectToSave.getClass());
+		Update update = getPartialUpdate(objectToSave, collectionName, dbDoc);
 
-		populateIdIfNecessary(objectToSave, id);
+		if (update == null) {
+
+			Object id = saveDBObject(collectionName, dbDoc, objectToSave.getClass());
+
+			evictCachedDocuments(collectionName, new BasicDBObject(ID_FIELD, dbDoc.get(ID_FIELD)));
+			populateIdIfNecessary(objectToSave, id);
+
+		} else if (!update.getUpdateObject().keySet().isEmpty()) {
+			doUpdate(collectionName, new Query(Criteria.where(ID_FIELD).is(dbDoc.get(ID_FIELD))), update,
+					objectToSave.getClass(), false, false);
+		}
+
+		updateSnapshot(objectToSave, collectionName, dbDoc);
 		maybeEmitEvent(new AfterSaveEvent<T>(objectToSave, dbDoc, collectionName));
 	}
 
+	/**
+	 * Returns the {@link Update} of the fields changed since the given entity was last read or written in case dirty
+	 * tracking is enabled and a snapshot of the very same document in the given collection is available.
+	 *
+	 * @param objectToSave must not be {@literal null}.
+	 * @param collectionName the collection the entity is written to.
+	 * @param dbDoc the document the entity has been converted into, must not be {@literal null}.
+	 * @return the {@link Update} or {@literal null} if the whole document has to be written.
+	 */
+	private Update getPartialUpdate(Object objectToSave, String collectionName, DBObject dbDoc) {
+
+		DBObject snapshot = entitySnapshots == null ? null : entitySnapshots.get(objectToSave, collectionName);
+		Object id = dbDoc.get(ID_FIELD);
+
+		if (snapshot == null || id == null || !ObjectUtils.nullSafeEquals(snapshot.get(ID_FIELD), id)) {
+			return null;
+		}
+
+		return EntitySnapshots.diff(snapshot, dbDoc);
+	}
+
+	private void updateSnapshot(Object entity, String collectionName, DBObject dbDoc) {
+
+		if (entitySnapshots != null && dbDoc.get(ID_FIELD) != null) {
+			entitySnapshots.put(entity, collectionName, dbDoc);
+		}
+	}
+
 	protected Object insertDBObject(final String collectionName, final DBObject dbDoc, final Class<?> entityClass) {
 
 		if (LOGGER.isDebugEnabled()) {
@@ -1152,6 +1727,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				WriteResult writeResult = writeConcernToUse == null ? collection.update(queryObj, updateObj, upsert, multi)
 						: collection.update(queryObj, updateObj, upsert, multi, writeConcernToUse);
 
+				evictCachedDocuments(collectionName, queryObj);
+
 				if (entity != null && entity.hasVersionProperty() && !multi) {
 					if (ReflectiveWriteResultInvoker.wasAcknowledged(writeResult) && writeResult.getN() == 0
 							&& dbObjectContainsVersionProperty(queryObj, entity)) {
@@ -1328,6 +1905,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				WriteResult wr = writeConcernToUse == null ? collection.remove(dboq)
 						: collection.remove(dboq, writeConcernToUse);
 
+				evictCachedDocuments(collectionName, dboq);
+
 				handleAnyWriteResultErrors(wr, dboq, MongoActionOperation.REMOVE);
 
 				maybeEmitEvent(new AfterDeleteEvent<T>(queryObject, entityClass, collectionName));
@@ -1487,6 +2066,51 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		return aggregate(aggregation, collectionName, outputType, null);
 	}
 
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregateStream(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <O> CloseableIterator<O> aggregateStream(TypedAggregation<?> aggregation, String inputCollectionName,
+			Class<O> outputType) {
+
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+
+		AggregationOperationContext context = new TypeBasedAggregationOperationContext(aggregation.getInputType(),
+				mappingContext, queryMapper);
+		return aggregateStream(aggregation, inputCollectionName, outputType, context);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregateStream(org.springframework.data.mongodb.core.aggregation.TypedAggregation, java.lang.Class)
+	 */
+	@Override
+	public <O> CloseableIterator<O> aggregateStream(TypedAggregation<?> aggregation, Class<O> outputType) {
+		return aggregateStream(aggregation, determineCollectionName(aggregation.getInputType()), outputType);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregateStream(org.springframework.data.mongodb.core.aggregation.Aggregation, java.lang.Class, java.lang.Class)
+	 */
+	@Override
+	public <O> CloseableIterator<O> aggregateStream(Aggregation aggregation, Class<?> inputType, Class<O> outputType) {
+
+		return aggregateStream(aggregation, determineCollectionName(inputType), outputType,
+				new TypeBasedAggregationOperationContext(inputType, mappingContext, queryMapper));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.MongoOperations#aggregateStream(org.springframework.data.mongodb.core.aggregation.Aggregation, java.lang.String, java.lang.Class)
+	 */
+	@Override
+	public <O> CloseableIterator<O> aggregateStream(Aggregation aggregation, String collectionName,
+			Class<O> outputType) {
+		return aggregateStream(aggregation, collectionName, outputType, null);
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.mongodb.core.MongoOperations#findAllAndRemove(org.springframework.data.mongodb.core.query.Query, java.lang.String)
@@ -1556,6 +2180,46 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				commandResult);
 	}
 
+	protected <O> CloseableIterator<O> aggregateStream(final Aggregation aggregation, final String collectionName,
+			final Class<O> outputType, AggregationOperationContext context) {
+
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+		Assert.notNull(aggregation, "Aggregation pipeline must not be null!");
+		Assert.notNull(outputType, "Output type must not be null!");
+		Assert.isTrue(!aggregation.getOptions().isExplain(), "Explain option is not supported for streaming aggregations!");
+
+		AggregationOperationContext rootContext = context == null ? Aggregation.DEFAULT_CONTEXT : context;
+		final List<DBObject> pipeline = aggregation.toPipeline(rootContext);
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Streaming aggregation: {} in collection {}", serializeToJsonSafely(pipeline), collectionName);
+		}
+
+		return execute(collectionName, new CollectionCallback<CloseableIterator<O>>() {
+
+			@Override
+			public CloseableIterator<O> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+				AggregationOptions options = aggregation.getOptions();
+				com.mongodb.AggregationOptions.Builder builder = com.mongodb.AggregationOptions.builder()
+						.outputMode(com.mongodb.AggregationOptions.OutputMode.CURSOR).allowDiskUse(options.isAllowDiskUse());
+
+				Integer batchSize = options.getCursorBatchSize();
+				if (batchSize != null) {
+					builder.batchSize(batchSize);
+				}
+
+				Cursor cursor = readPreference != null ? collection.aggregate(pipeline, builder.build(), readPreference)
+						: collection.aggregate(pipeline, builder.build());
+
+				DbObjectCallback<O> readCallback = new UnwrapAndReadDbObjectCallback<O>(mongoConverter, outputType,
+						collectionName);
+
+				return new CloseableIterableCursorAdapter<O>(cursor, exceptionTranslator, readCallback);
+			}
+		});
+	}
+
 	/**
 	 * Returns the potentially mapped results of the given {@commandResult} contained some.
 	 * 
@@ -1760,10 +2424,162 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 					serializeToJsonSafely(mappedQuery), mappedFields, entityClass, collectionName);
 		}
 
-		return executeFindMultiInternal(new FindCallback(mappedQuery, mappedFields), preparer, objectCallback,
+		DBDecoderFactory decoderFactory = getDecoderFactory(entity, mappedFields, objectCallback);
+		CursorPreparer preparerToUse = decoderFactory == null ? preparer
+				: new DecodingCursorPreparer(decoderFactory, preparer);
+
+		return executeFindMultiInternal(new FindCallback(mappedQuery, mappedFields), preparerToUse, objectCallback,
 				collectionName);
 	}
 
+	/**
+	 * Returns the {@link EntityDBDecoderFactory} to decode the documents read by the given {@link DbObjectCallback} in
+	 * case entity decoding is enabled and the callback reads complete documents into the given entity.
+	 *
+	 * @param entity can be {@literal null}.
+	 * @param mappedFields can be {@literal null}.
+	 * @param objectCallback must not be {@literal null}.
+	 * @return the {@link DBDecoderFactory} or {@literal null} if documents have to be decoded as a whole.
+	 */
+	private DBDecoderFactory getDecoderFactory(MongoPersistentEntity<?> entity, DBObject mappedFields,
+			DbObjectCallback<?> objectCallback) {
+
+		ConcurrentMap<Class<?>, EntityDBDecoderFactory> factories = decoderFactories;
+
+		if (factories == null || entity == null || (mappedFields != null && !mappedFields.keySet().isEmpty())
+				|| !ReadDbObjectCallback.class.equals(objectCallback.getClass())
+				|| !entity.getType().equals(((ReadDbObjectCallback<?>) objectCallback).type)) {
+			return null;
+		}
+
+		EntityDBDecoderFactory factory = factories.get(entity.getType());
+
+		if (factory == null) {
+
+			factory = new EntityDBDecoderFactory(mongoConverter, entity.getType());
+			EntityDBDecoderFactory existing = factories.putIfAbsent(entity.getType(), factory);
+			factory = existing == null ? factory : existing;
+		}
+
+		return factory;
+	}
+
+	/**
+	 * Returns whether the given {@link Query} is to be executed as aggregation joining the
+	 * {@link Query#getFetchPaths() references to be fetched}. Hints, {@code $maxScan} and {@code $snapshot} cannot be
+	 * applied to the aggregation, so queries using them resolve the references one by one instead.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean isLookupFetch(Query query) {
+
+		Meta meta = query.getMeta();
+
+		return !query.getFetchPaths().isEmpty() && !StringUtils.hasText(query.getHint()) && meta.getMaxScan() == null
+				&& !meta.getSnapshot();
+	}
+
+	/**
+	 * Executes the given {@link Query} as aggregation joining the {@link Query#getFetchPaths() references to be fetched}
+	 * via {@code $lookup} so that the referenced documents are read along with the results in a single roundtrip. The
+	 * {@code $comment} of the {@link Query} is added to the {@code $match} stage, {@code $maxTimeMS} to the aggregation
+	 * options.
+	 * 
+	 * @param collectionName name of the collection to retrieve the objects from.
+	 * @param query the query to execute, must not be {@literal null}.
+	 * @param entityClass the parameterized type of the returned list.
+	 * @param limit the maximum number of results to return, {@literal 0} for no limit.
+	 * @return the {@link List} of converted objects.
+	 * @since 1.10
+	 */
+	protected <T> List<T> doFindWithLookups(final String collectionName, Query query, final Class<T> entityClass,
+			int limit) {
+
+		MongoPersistentEntity<?> entity = getPersistentEntity(entityClass);
+
+		if (entity == null) {
+			throw new InvalidDataAccessApiUsageException(
+					String.format("Cannot fetch references for unmapped type %s!", entityClass));
+		}
+
+		final DbRefLookupFetchPlan fetchPlan = new DbRefLookupFetchPlan(query.getFetchPaths(), entity, mappingContext);
+		final List<DBObject> pipeline = new ArrayList<DBObject>();
+
+		DBObject mappedQuery = queryMapper.getMappedObject(query.getQueryObject(), entity);
+		Meta meta = query.getMeta();
+
+		if (StringUtils.hasText(meta.getComment())) {
+			mappedQuery.put("$comment", meta.getComment());
+		}
+
+		if (!mappedQuery.keySet().isEmpty()) {
+			pipeline.add(new BasicDBObject("$match", mappedQuery));
+		}
+
+		DBObject mappedSort = getMappedSortObject(query, entityClass);
+
+		if (mappedSort != null && !mappedSort.keySet().isEmpty()) {
+			pipeline.add(new BasicDBObject("$sort", mappedSort));
+		}
+
+		if (query.getSkip() > 0) {
+			pipeline.add(new BasicDBObject("$skip", query.getSkip()));
+		}
+
+		if (limit > 0) {
+			pipeline.add(new BasicDBObject("$limit", limit));
+		}
+
+		pipeline.addAll(fetchPlan.getLookupStages());
+
+		DBObject mappedFields = fetchPlan
+				.includeFetchedFields(queryMapper.getMappedFields(query.getFieldsObject(), entity));
+
+		if (mappedFields != null) {
+			pipeline.add(new BasicDBObject("$project", mappedFields));
+		}
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("Executing find with lookups: {} in collection {}", serializeToJsonSafely(pipeline),
+					collectionName);
+		}
+
+		final Long maxTimeMsec = meta.getMaxTimeMsec();
+
+		return execute(collectionName, new CollectionCallback<List<T>>() {
+
+			@Override
+			public List<T> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+				com.mongodb.AggregationOptions.Builder builder = com.mongodb.AggregationOptions.builder()
+						.outputMode(com.mongodb.AggregationOptions.OutputMode.CURSOR);
+
+				if (maxTimeMsec != null) {
+					builder.maxTime(maxTimeMsec, TimeUnit.MILLISECONDS);
+				}
+
+				com.mongodb.AggregationOptions options = builder.build();
+
+				Cursor cursor = readPreference != null ? collection.aggregate(pipeline, options, readPreference)
+						: collection.aggregate(pipeline, options);
+
+				DbObjectCallback<T> readCallback = new ReadDbObjectCallback<T>(mongoConverter, entityClass, collectionName);
+				List<T> result = new ArrayList<T>();
+
+				try {
+					while (cursor.hasNext()) {
+						result.add(readCallback.doWith(fetchPlan.hydrate(cursor.next())));
+					}
+				} finally {
+					cursor.close();
+				}
+
+				return result;
+			}
+		});
+	}
+
 	protected DBObject convertToDbObject(CollectionOptions collectionOptions) {
 		DBObject dbo = new BasicDBObject();
 		if (collectionOptions != null) {
@@ -1802,9 +2618,14 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		}
 
 		MongoPersistentEntity<?> entity = mappingContext.getPersistentEntity(entityClass);
+		DBObject mappedQuery = queryMapper.getMappedObject(query, entity);
 
-		return executeFindOneInternal(new FindAndRemoveCallback(queryMapper.getMappedObject(query, entity), fields, sort),
-				new ReadDbObjectCallback<T>(readerToUse, entityClass, collectionName), collectionName);
+		try {
+			return executeFindOneInternal(new FindAndRemoveCallback(mappedQuery, fields, sort),
+					new ReadDbObjectCallback<T>(readerToUse, entityClass, collectionName), collectionName);
+		} finally {
+			evictCachedDocuments(collectionName, mappedQuery);
+		}
 	}
 
 	protected <T> T doFindAndModify(String collectionName, DBObject query, DBObject fields, DBObject sort,
@@ -1830,8 +2651,12 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 					collectionName);
 		}
 
-		return executeFindOneInternal(new FindAndModifyCallback(mappedQuery, fields, sort, mappedUpdate, options),
-				new ReadDbObjectCallback<T>(readerToUse, entityClass, collectionName), collectionName);
+		try {
+			return executeFindOneInternal(new FindAndModifyCallback(mappedQuery, fields, sort, mappedUpdate, options),
+					new ReadDbObjectCallback<T>(readerToUse, entityClass, collectionName), collectionName);
+		} finally {
+			evictCachedDocuments(collectionName, mappedQuery);
+		}
 	}
 
 	/**
@@ -1896,12 +2721,49 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 	private <T> T executeFindOneInternal(CollectionCallback<DBObject> collectionCallback,
 			DbObjectCallback<T> objectCallback, String collectionName) {
 
+		DbRefIdentityMap identityMap = openDbRefIdentityMap();
+
 		try {
 			T result = objectCallback
 					.doWith(collectionCallback.doInCollection(getAndPrepareCollection(getDb(), collectionName)));
 			return result;
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
+		} finally {
+			closeDbRefIdentityMap(identityMap);
+		}
+	}
+
+	/**
+	 * Removes the documents possibly matched by the given mapped query from the {@link DocumentCache} and the
+	 * {@link DbRefIdentityMap} bound to the current thread, i.e. only the document with the given identifier in case the
+	 * query selects a plain identifier, all documents of the collection otherwise.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param mappedQuery must not be {@literal null}.
+	 */
+	private void evictCachedDocuments(String collectionName, DBObject mappedQuery) {
+
+		Object id = mappedQuery.get(ID_FIELD);
+		boolean evictAll = id == null || id instanceof DBObject;
+		DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+
+		if (identityMap != null) {
+			if (evictAll) {
+				identityMap.evictAll(collectionName);
+			} else {
+				identityMap.evict(collectionName, id);
+			}
+		}
+
+		if (documentCache == null) {
+			return;
+		}
+
+		if (evictAll) {
+			documentCache.evictAll(collectionName);
+		} else {
+			documentCache.evict(collectionName, id);
 		}
 	}
 
@@ -1929,6 +2791,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		try {
 
 			DBCursor cursor = null;
+			DbRefIdentityMap identityMap = openDbRefIdentityMap();
 
 			try {
 
@@ -1952,6 +2815,8 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 				if (cursor != null) {
 					cursor.close();
 				}
+
+				closeDbRefIdentityMap(identityMap);
 			}
 		} catch (RuntimeException e) {
 			throw potentiallyConvertRuntimeException(e, exceptionTranslator);
@@ -1988,6 +2853,30 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		}
 	}
 
+	/**
+	 * Opens a {@link DbRefIdentityMap} scope for the current operation if configured.
+	 * 
+	 * @return {@literal null} if no identity map is to be used.
+	 */
+	private DbRefIdentityMap openDbRefIdentityMap() {
+		return useDbRefIdentityMap ? DbRefIdentityMap.open() : null;
+	}
+
+	private void closeDbRefIdentityMap(DbRefIdentityMap identityMap) {
+
+		if (identityMap == null) {
+			return;
+		}
+
+		identityMap.close();
+
+		if (LOGGER.isDebugEnabled()) {
+			LOGGER.debug("DBRef identity map: {} document hits, {} document misses, {} object hits, {} object misses.",
+					new Object[] { identityMap.getDocumentHits(), identityMap.getDocumentMisses(), identityMap.getObjectHits(),
+							identityMap.getObjectMisses() });
+		}
+	}
+
 	private MongoPersistentEntity<?> getPersistentEntity(Class<?> type) {
 		return type == null ? null : mappingContext.getPersistentEntity(type);
 	}
@@ -2151,6 +3040,49 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		}
 	}
 
+	/**
+	 * {@link CollectionCallback} looking up a document by its identifier in the {@link DocumentCache} first and caching
+	 * it in case it had to be read from the {@link DBCollection}.
+	 *
+	 * @since 1.10
+	 */
+	private class CachingFindByIdCallback implements CollectionCallback<DBObject> {
+
+		private final String collectionName;
+		private final DBObject query;
+		private final Cached settings;
+
+		public CachingFindByIdCallback(String collectionName, DBObject query, Cached settings) {
+			this.collectionName = collectionName;
+			this.query = query;
+			this.settings = settings;
+		}
+
+		public DBObject doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+			Object id = query.get(ID_FIELD);
+
+			if (id == null || id instanceof DBObject) {
+				return collection.findOne(query);
+			}
+
+			DBObject dbObject = documentCache.get(collectionName, id);
+
+			if (dbObject != null) {
+				return dbObject;
+			}
+
+			long stamp = documentCache.getStamp(collectionName);
+			dbObject = collection.findOne(query);
+
+			if (dbObject != null) {
+				documentCache.put(collectionName, id, dbObject, settings, stamp);
+			}
+
+			return dbObject;
+		}
+	}
+
 	/**
 	 * Simple {@link CollectionCallback} that takes a query {@link DBObject} plus an optional fields specification
 	 * {@link DBObject} and executes that against the {@link DBCollection}.
@@ -2247,7 +3179,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 	 * @author Oliver Gierke
 	 * @author Christoph Strobl
 	 */
-	private class ReadDbObjectCallback<T> implements DbObjectCallback<T> {
+	class ReadDbObjectCallback<T> implements DbObjectCallback<T> {
 
 		private final EntityReader<? super T, DBObject> reader;
 		private final Class<T> type;
@@ -2268,6 +3200,7 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 			}
 			T source = reader.read(type, object);
 			if (null != source) {
+				updateSnapshot(source, collectionName, object);
 				maybeEmitEvent(new AfterConvertEvent<T>(object, source, collectionName));
 			}
 			return source;
@@ -2304,6 +3237,28 @@ public class MongoTemplate implements MongoOperations, ApplicationContextAware {
 		}
 	}
 
+	/**
+	 * {@link CursorPreparer} installing a {@link DBDecoderFactory} on the cursor after applying an optional delegate.
+	 *
+	 * @since 1.10
+	 */
+	private static class DecodingCursorPreparer implements CursorPreparer {
+
+		private final DBDecoderFactory decoderFactory;
+		private final CursorPreparer delegate;
+
+		public DecodingCursorPreparer(DBDecoderFactory decoderFactory, CursorPreparer delegate) {
+			this.decoderFactory = decoderFactory;
+			this.delegate = delegate;
+		}
+
+		public DBCursor prepare(DBCursor cursor) {
+
+			DBCursor cursorToUse = delegate == null ? cursor : delegate.prepare(cursor);
+			return cursorToUse.setDecoderFactory(decoderFactory);
+		}
+	}
+
 	class QueryCursorPreparer implements CursorPreparer {
 
 		private final Query query;
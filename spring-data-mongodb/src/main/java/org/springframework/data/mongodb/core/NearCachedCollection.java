@@ -0,0 +1,592 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Pattern;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.Assert;
+import org.springframework.util.CollectionUtils;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.MongoException;
+
+/**
+ * Keeps all documents of a small, frequently read collection in memory as converted entities and answers simple
+ * queries locally. Queries consisting of equality and {@code $in} criteria on top-level fields are evaluated in memory,
+ * using secondary indexes on the configured properties where possible. All other queries, as well as queries
+ * defining a sort, a projection or fetch paths, are sent to the server.
+ * <p>
+ * The collection is loaded on first access. Calling {@link #refresh()} periodically picks up changes: in case a last
+ * modified property is configured only documents modified after the most recent value seen are read, otherwise the
+ * whole collection is reloaded. Incremental refreshes do not detect deleted documents, use {@link #reload()} for that.
+ * <p>
+ * Entities returned are shared between callers and must not be modified.
+ *
+ * @since 1.10
+ * @see MongoTemplate#nearCache(Class)
+ */
+public class NearCachedCollection<T> {
+
+	private static final String ID_FIELD = "_id";
+	private static final String IN_OPERATOR = "$in";
+
+	private final MongoOperations operations;
+	private final Class<T> entityClass;
+	private final String collectionName;
+	private final MongoPersistentEntity<?> entity;
+	private final QueryMapper queryMapper;
+
+	private final AtomicLong localQueries = new AtomicLong();
+	private final AtomicLong serverQueries = new AtomicLong();
+
+	private volatile Set<String> indexedFields = Collections.emptySet();
+	private volatile String lastModifiedField;
+	private volatile Snapshot<T> snapshot;
+
+	/**
+	 * Creates a new {@link NearCachedCollection} for the given entity type and collection.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param entityClass must not be {@literal null}.
+	 * @param collectionName must not be {@literal null} or empty.
+	 */
+	public NearCachedCollection(MongoOperations operations, Class<T> entityClass, String collectionName) {
+
+		Assert.notNull(operations, "MongoOperations must not be null!");
+		Assert.notNull(entityClass, "Entity class must not be null!");
+		Assert.hasText(collectionName, "Collection name must not be null or empty!");
+
+		this.operations = operations;
+		this.entityClass = entityClass;
+		this.collectionName = collectionName;
+		this.entity = operations.getConverter().getMappingContext().getPersistentEntity(entityClass);
+		this.queryMapper = new QueryMapper(operations.getConverter());
+	}
+
+	/**
+	 * Configures the properties to maintain in-memory indexes for. Equality and {@code $in} criteria on these
+	 * properties are answered without scanning all documents.
+	 *
+	 * @param properties must not be {@literal null}.
+	 */
+	public void setIndexedProperties(String... properties) {
+
+		Assert.notNull(properties, "Properties must not be null!");
+
+		Set<String> fields = new LinkedHashSet<String>(properties.length);
+
+		for (String property : properties) {
+			fields.add(getFieldName(property));
+		}
+
+		this.indexedFields = Collections.unmodifiableSet(fields);
+		this.snapshot = null;
+	}
+
+	/**
+	 * Configures the property holding the point in time a document was last modified. If set, {@link #refresh()} only
+	 * reads the documents modified since the last refresh. Documents carrying the latest modification time seen so far
+	 * are read again, as further documents might have been written with the same time after the previous refresh.
+	 *
+	 * @param property can be {@literal null}.
+	 */
+	public void setLastModifiedProperty(String property) {
+
+		this.lastModifiedField = property == null ? null : getFieldName(property);
+		this.snapshot = null;
+	}
+
+	/**
+	 * Reads the documents modified since the last refresh or reloads the whole collection in case no last modified
+	 * property is configured.
+	 */
+	public synchronized void refresh() {
+
+		Snapshot<T> current = snapshot;
+
+		if (current == null || lastModifiedField == null) {
+			reload();
+			return;
+		}
+
+		DBObject query = current.lastModified == null ? new BasicDBObject()
+				: new BasicDBObject(lastModifiedField, new BasicDBObject("$gte", current.lastModified));
+		List<DBObject> modified = read(query);
+
+		if (modified.isEmpty()) {
+			return;
+		}
+
+		Map<Object, Entry<T>> entries = new LinkedHashMap<Object, Entry<T>>(current.entries);
+
+		for (DBObject document : modified) {
+			entries.put(normalize(document.get(ID_FIELD)), toEntry(document));
+		}
+
+		this.snapshot = new Snapshot<T>(entries, indexedFields, lastModifiedField);
+	}
+
+	/**
+	 * Reloads all documents of the collection.
+	 */
+	public synchronized void reload() {
+
+		Map<Object, Entry<T>> entries = new LinkedHashMap<Object, Entry<T>>();
+
+		for (DBObject document : read(new BasicDBObject())) {
+			entries.put(normalize(document.get(ID_FIELD)), toEntry(document));
+		}
+
+		this.snapshot = new Snapshot<T>(entries, indexedFields, lastModifiedField);
+	}
+
+	/**
+	 * Returns the entity with the given identifier.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @return the entity or {@literal null} if none found.
+	 */
+	public T findById(Object id) {
+
+		Assert.notNull(id, "Id must not be null!");
+
+		MongoPersistentProperty idProperty = entity == null ? null : entity.getIdProperty();
+		String idKey = idProperty == null ? ID_FIELD : idProperty.getName();
+		Object mappedId = queryMapper.getMappedObject(new BasicDBObject(idKey, id), entity).get(ID_FIELD);
+
+		localQueries.incrementAndGet();
+
+		Entry<T> entry = getSnapshot().entries.get(normalize(mappedId));
+		return entry == null ? null : entry.entity;
+	}
+
+	/**
+	 * Returns all entities of the collection.
+	 *
+	 * @return
+	 */
+	public List<T> findAll() {
+
+		localQueries.incrementAndGet();
+
+		return toEntities(getSnapshot().entries.values(), 0, 0);
+	}
+
+	/**
+	 * Returns the entities matching the given {@link Query}, evaluated in memory if possible.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return
+	 */
+	public List<T> find(Query query) {
+
+		Assert.notNull(query, "Query must not be null!");
+
+		Collection<Entry<T>> matches = isLocallyExecutable(query)
+				? getSnapshot().find(queryMapper.getMappedObject(query.getQueryObject(), entity)) : null;
+
+		if (matches == null) {
+
+			serverQueries.incrementAndGet();
+			return operations.find(query, entityClass, collectionName);
+		}
+
+		localQueries.incrementAndGet();
+
+		return toEntities(matches, query.getSkip(), query.getLimit());
+	}
+
+	/**
+	 * Returns the first entity matching the given {@link Query}, evaluated in memory if possible.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @return the entity or {@literal null} if none found.
+	 */
+	public T findOne(Query query) {
+
+		List<T> result = find(query);
+		return result.isEmpty() ? null : result.get(0);
+	}
+
+	/**
+	 * Returns the number of queries answered from memory.
+	 *
+	 * @return
+	 */
+	public long getLocalQueryCount() {
+		return localQueries.get();
+	}
+
+	/**
+	 * Returns the number of queries that had to be sent to the server.
+	 *
+	 * @return
+	 */
+	public long getServerQueryCount() {
+		return serverQueries.get();
+	}
+
+	private Snapshot<T> getSnapshot() {
+
+		Snapshot<T> current = snapshot;
+
+		if (current != null) {
+			return current;
+		}
+
+		synchronized (this) {
+
+			if (snapshot == null) {
+				reload();
+			}
+
+			return snapshot;
+		}
+	}
+
+	private List<DBObject> read(final DBObject query) {
+
+		return operations.execute(collectionName, new CollectionCallback<List<DBObject>>() {
+
+			@Override
+			public List<DBObject> doInCollection(DBCollection collection) throws MongoException, DataAccessException {
+
+				List<DBObject> result = new ArrayList<DBObject>();
+				DBCursor cursor = collection.find(query);
+
+				try {
+					while (cursor.hasNext()) {
+						result.add(cursor.next());
+					}
+				} finally {
+					cursor.close();
+				}
+
+				return result;
+			}
+		});
+	}
+
+	private Entry<T> toEntry(DBObject document) {
+		return new Entry<T>(document, operations.getConverter().read(entityClass, document));
+	}
+
+	private String getFieldName(String property) {
+
+		MongoPersistentProperty persistentProperty = entity == null ? null : entity.getPersistentProperty(property);
+		return persistentProperty == null ? property : persistentProperty.getFieldName();
+	}
+
+	private static boolean isLocallyExecutable(Query query) {
+		return query.getSortObject() == null && query.getFieldsObject() == null
+				&& CollectionUtils.isEmpty(query.getFetchPaths());
+	}
+
+	private static <T> List<T> toEntities(Collection<Entry<T>> entries, int skip, int limit) {
+
+		List<T> result = new ArrayList<T>(entries.size());
+		int index = 0;
+
+		for (Entry<T> entry : entries) {
+
+			if (limit > 0 && result.size() == limit) {
+				break;
+			}
+
+			if (index++ >= skip) {
+				result.add(entry.entity);
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Normalizes the given value for in-memory comparison the way the server compares them, i.e. numbers of different
+	 * types but equal value are considered equal.
+	 *
+	 * @param value can be {@literal null}.
+	 * @return
+	 */
+	static Object normalize(Object value) {
+
+		if (!(value instanceof Number)) {
+			return value;
+		}
+
+		Number number = (Number) value;
+		double doubleValue = number.doubleValue();
+
+		if (doubleValue == Math.rint(doubleValue) && Math.abs(doubleValue) < Long.MAX_VALUE) {
+			return number.longValue();
+		}
+
+		return doubleValue;
+	}
+
+	/**
+	 * An immutable state of the cached collection along with its indexes.
+	 */
+	private static class Snapshot<T> {
+
+		private final Map<Object, Entry<T>> entries;
+		private final Map<String, Map<Object, List<Entry<T>>>> indexes;
+		private final Object lastModified;
+
+		Snapshot(Map<Object, Entry<T>> entries, Set<String> indexedFields, String lastModifiedField) {
+
+			this.entries = entries;
+			this.indexes = new HashMap<String, Map<Object, List<Entry<T>>>>(indexedFields.size());
+
+			for (String field : indexedFields) {
+				indexes.put(field, new HashMap<Object, List<Entry<T>>>());
+			}
+
+			Object lastModified = null;
+
+			for (Entry<T> entry : entries.values()) {
+
+				for (Map.Entry<String, Map<Object, List<Entry<T>>>> index : indexes.entrySet()) {
+					for (Object key : getValues(entry.document.get(index.getKey()))) {
+
+						List<Entry<T>> indexed = index.getValue().get(key);
+
+						if (indexed == null) {
+							indexed = new ArrayList<Entry<T>>();
+							index.getValue().put(key, indexed);
+						}
+
+						indexed.add(entry);
+					}
+				}
+
+				lastModified = lastModifiedField == null ? null
+						: max(lastModified, entry.document.get(lastModifiedField));
+			}
+
+			this.lastModified = lastModified;
+		}
+
+		/**
+		 * Returns the entries matching the given mapped query or {@literal null} if the query cannot be evaluated in
+		 * memory.
+		 *
+		 * @param mappedQuery must not be {@literal null}.
+		 * @return
+		 */
+		Collection<Entry<T>> find(DBObject mappedQuery) {
+
+			Map<String, Collection<Object>> criteria = new LinkedHashMap<String, Collection<Object>>();
+
+			for (String key : mappedQuery.keySet()) {
+
+				Collection<Object> values = getCandidateValues(mappedQuery.get(key));
+
+				if (key.startsWith("$") || key.contains(".") || values == null) {
+					return null;
+				}
+
+				criteria.put(key, values);
+			}
+
+			Collection<Entry<T>> candidates = entries.values();
+
+			for (Map.Entry<String, Collection<Object>> criterion : criteria.entrySet()) {
+
+				Map<Object, List<Entry<T>>> index = indexes.get(criterion.getKey());
+
+				if (index != null) {
+					candidates = lookup(index, criterion.getValue());
+					break;
+				}
+			}
+
+			List<Entry<T>> result = new ArrayList<Entry<T>>();
+
+			for (Entry<T> candidate : candidates) {
+				if (candidate.matches(criteria)) {
+					result.add(candidate);
+				}
+			}
+
+			return result;
+		}
+
+		private Collection<Entry<T>> lookup(Map<Object, List<Entry<T>>> index, Collection<Object> values) {
+
+			if (values.size() == 1) {
+
+				List<Entry<T>> result = index.get(values.iterator().next());
+				return result == null ? Collections.<Entry<T>> emptyList() : result;
+			}
+
+			Set<Entry<T>> result = new LinkedHashSet<Entry<T>>();
+
+			for (Object value : values) {
+
+				List<Entry<T>> indexed = index.get(value);
+
+				if (indexed != null) {
+					result.addAll(indexed);
+				}
+			}
+
+			return result;
+		}
+
+		/**
+		 * Returns the normalized values a document field has to match for the given criteria value, i.e. the value itself
+		 * for an equality criteria or the values of an {@code $in} criteria. Returns {@literal null} for all other
+		 * criteria.
+		 *
+		 * @param value can be {@literal null}.
+		 * @return
+		 */
+		private static Collection<Object> getCandidateValues(Object value) {
+
+			if (value instanceof Pattern) {
+				return null;
+			}
+
+			if (!(value instanceof DBObject)) {
+				return Collections.singleton(normalize(value));
+			}
+
+			DBObject dbObject = (DBObject) value;
+
+			for (String key : dbObject.keySet()) {
+
+				if (!key.startsWith("$")) {
+					continue;
+				}
+
+				if (dbObject.keySet().size() != 1 || !IN_OPERATOR.equals(key)
+						|| !(dbObject.get(IN_OPERATOR) instanceof Collection)) {
+					return null;
+				}
+
+				Set<Object> values = new LinkedHashSet<Object>();
+
+				for (Object element : (Collection<?>) dbObject.get(IN_OPERATOR)) {
+
+					if (element instanceof Pattern) {
+						return null;
+					}
+
+					values.add(normalize(element));
+				}
+
+				return values;
+			}
+
+			return Collections.singleton(value);
+		}
+
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		private static Object max(Object current, Object candidate) {
+
+			if (!(candidate instanceof Comparable)) {
+				return current;
+			}
+
+			return current == null || ((Comparable) candidate).compareTo(current) > 0 ? candidate : current;
+		}
+	}
+
+	/**
+	 * A cached document along with the entity converted from it.
+	 */
+	private static class Entry<T> {
+
+		private final DBObject document;
+		private final T entity;
+
+		Entry(DBObject document, T entity) {
+			this.document = document;
+			this.entity = entity;
+		}
+
+		/**
+		 * Returns whether the document matches all of the given criteria, i.e. whether for every field the document value
+		 * or, for arrays, one of its elements is contained in the given candidate values.
+		 *
+		 * @param criteria must not be {@literal null}.
+		 * @return
+		 */
+		boolean matches(Map<String, Collection<Object>> criteria) {
+
+			for (Map.Entry<String, Collection<Object>> criterion : criteria.entrySet()) {
+
+				boolean matches = false;
+
+				for (Object value : getValues(document.get(criterion.getKey()))) {
+					if (criterion.getValue().contains(value)) {
+						matches = true;
+						break;
+					}
+				}
+
+				if (!matches) {
+					return false;
+				}
+			}
+
+			return true;
+		}
+	}
+
+	/**
+	 * Returns the normalized values to match criteria against for the given document value, i.e. the value itself as
+	 * well as all elements in case of an array.
+	 *
+	 * @param value can be {@literal null}.
+	 * @return
+	 */
+	private static Collection<Object> getValues(Object value) {
+
+		if (!(value instanceof Collection)) {
+			return Collections.singleton(normalize(value));
+		}
+
+		Collection<?> elements = (Collection<?>) value;
+		List<Object> result = new ArrayList<Object>(elements.size() + 1);
+		result.add(value);
+
+		for (Object element : elements) {
+			result.add(normalize(element));
+		}
+
+		return result;
+	}
+}
@@ -99,6 +99,16 @@ public class Aggregation {
 		return new Aggregation(this.operations, options);
 	}
 
+	/**
+	 * Returns the {@link AggregationOptions} of this {@link Aggregation}.
+	 *
+	 * @return never {@literal null}.
+	 * @since 1.10
+	 */
+	public AggregationOptions getOptions() {
+		return options;
+	}
+
 	/**
 	 * Creates a new {@link TypedAggregation} for the given type and {@link AggregationOperation}s.
 	 *
@@ -399,6 +409,24 @@ public class Aggregation {
 	 */
 	public DBObject toDbObject(String inputCollectionName, AggregationOperationContext rootContext) {
 
+		DBObject command = new BasicDBObject("aggregate", inputCollectionName);
+		command.put("pipeline", toPipeline(rootContext));
+
+		command = options.applyAndReturnPotentiallyChangedCommand(command);
+
+		return command;
+	}
+
+	/**
+	 * Renders the {@link AggregationOperation}s of this {@link Aggregation} into the list of pipeline stages without
+	 * wrapping them into an {@code aggregate} command.
+	 *
+	 * @param rootContext the root {@link AggregationOperationContext}.
+	 * @return the pipeline stages, never {@literal null}.
+	 * @since 1.10
+	 */
+	public List<DBObject> toPipeline(AggregationOperationContext rootContext) {
+
 		AggregationOperationContext context = rootContext;
 		List<DBObject> operationDocuments = new ArrayList<DBObject>(operations.size());
 
@@ -418,12 +446,7 @@ public class Aggregation {
 			}
 		}
 
-		DBObject command = new BasicDBObject("aggregate", inputCollectionName);
-		command.put("pipeline", operationDocuments);
-
-		command = options.applyAndReturnPotentiallyChangedCommand(command);
-
-		return command;
+		return operationDocuments;
 	}
 
 	/* 
@@ -15,6 +15,8 @@
  */
 package org.springframework.data.mongodb.core.aggregation;
 
+import org.springframework.util.Assert;
+
 import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 
@@ -34,6 +36,7 @@ public class AggregationOptions {
 	private static final String CURSOR = "cursor";
 	private static final String EXPLAIN = "explain";
 	private static final String ALLOW_DISK_USE = "allowDiskUse";
+	private static final String BATCH_SIZE = "batchSize";
 
 	private final boolean allowDiskUse;
 	private final boolean explain;
@@ -81,6 +84,22 @@ public class AggregationOptions {
 		return cursor;
 	}
 
+	/**
+	 * Returns the {@code batchSize} configured in the {@link #getCursor() cursor} options.
+	 * 
+	 * @return the batch size or {@literal null} if none configured.
+	 * @since 1.10
+	 */
+	public Integer getCursorBatchSize() {
+
+		if (cursor == null || !cursor.containsField(BATCH_SIZE)) {
+			return null;
+		}
+
+		Object batchSize = cursor.get(BATCH_SIZE);
+		return batchSize instanceof Number ? ((Number) batchSize).intValue() : null;
+	}
+
 	/**
 	 * Returns a new potentially adjusted copy for the given {@code aggregationCommandObject} with the configuration
 	 * applied.
@@ -177,6 +196,22 @@ public class AggregationOptions {
 			return this;
 		}
 
+		/**
+		 * Defines the number of documents to return per batch when using a cursor.
+		 * 
+		 * @param batchSize must be greater than or equal to zero.
+		 * @return
+		 * @since 1.10
+		 */
+		public Builder cursorBatchSize(int batchSize) {
+
+			Assert.isTrue(batchSize >= 0, "BatchSize must not be negative!");
+
+			this.cursor = this.cursor == null ? new BasicDBObject() : new BasicDBObject(this.cursor.toMap());
+			this.cursor.put(BATCH_SIZE, batchSize);
+			return this;
+		}
+
 		/**
 		 * Returns a new {@link AggregationOptions} instance with the given configuration.
 		 * 
@@ -0,0 +1,41 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.List;
+
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+
+/**
+ * {@link DbRefResolver} that is able to load multiple {@link DBRef}s at once. {@link MappingMongoConverter} resolves
+ * collections and maps of references via {@link #bulkFetch(List)} in case its {@link DbRefResolver} implements this
+ * interface and fetches them one by one otherwise.
+ * 
+ * @since 1.10
+ */
+public interface BulkDbRefResolver extends DbRefResolver {
+
+	/**
+	 * Loads a given {@link List} of {@link DBRef}s from the datasource in as few roundtrips as possible. The returned
+	 * {@link List} contains the referenced documents in the order of the given {@link DBRef}s, references that cannot
+	 * be resolved are represented by {@literal null}.
+	 * 
+	 * @param dbRefs must not be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	List<DBObject> bulkFetch(List<DBRef> dbRefs);
+}
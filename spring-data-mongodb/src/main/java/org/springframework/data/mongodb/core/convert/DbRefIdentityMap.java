@@ -0,0 +1,355 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.core.NamedThreadLocal;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+
+/**
+ * Identity map of documents and objects referenced via {@link DBRef}s, keyed by database, collection and identifier.
+ * While a {@link DbRefIdentityMap} is bound to the current thread, {@link DefaultDbRefResolver} fetches each
+ * referenced document and {@link MappingMongoConverter} materializes each referenced object only once, no matter how
+ * many documents of the operation point to it.
+ * <p>
+ * Scopes are opened via {@link #open()} and closed via {@link #close()} and may be nested, in which case the
+ * outermost scope determines the lifecycle. A scope opened while transaction synchronization is active is bound to
+ * the transaction and spans all operations executed within it (unit of work). Writes issued through
+ * {@link org.springframework.data.mongodb.core.MongoTemplate} within that scope evict the documents and objects
+ * they possibly modify via {@link #evict(String, Object)} and {@link #evictAll(String)}, so that subsequent reads
+ * observe them.
+ *
+ * @since 1.10
+ */
+public class DbRefIdentityMap {
+
+	private static final ThreadLocal<DbRefIdentityMap> CURRENT = new NamedThreadLocal<DbRefIdentityMap>(
+			"Current DBRef identity map");
+
+	private final Map<Key, DBObject> documents = new HashMap<Key, DBObject>();
+	private final Map<Key, Object> objects = new HashMap<Key, Object>();
+
+	private final AtomicLong documentHits = new AtomicLong();
+	private final AtomicLong documentMisses = new AtomicLong();
+	private final AtomicLong objectHits = new AtomicLong();
+	private final AtomicLong objectMisses = new AtomicLong();
+
+	private int depth;
+	private boolean transactionBound;
+
+	DbRefIdentityMap() {}
+
+	/**
+	 * Returns the {@link DbRefIdentityMap} bound to the current thread.
+	 *
+	 * @return {@literal null} if no scope is currently open.
+	 */
+	public static DbRefIdentityMap current() {
+		return CURRENT.get();
+	}
+
+	/**
+	 * Opens a new scope. Joins the {@link DbRefIdentityMap} already bound to the current thread or binds a new one.
+	 * Every call has to be followed by a call to {@link #close()} on the returned instance.
+	 *
+	 * @return the {@link DbRefIdentityMap} now bound to the current thread, never {@literal null}.
+	 */
+	public static DbRefIdentityMap open() {
+
+		DbRefIdentityMap identityMap = CURRENT.get();
+
+		if (identityMap == null) {
+
+			identityMap = new DbRefIdentityMap();
+			CURRENT.set(identityMap);
+
+			if (TransactionSynchronizationManager.isSynchronizationActive()) {
+
+				identityMap.transactionBound = true;
+				TransactionSynchronizationManager.registerSynchronization(new IdentityMapSynchronization(identityMap));
+			}
+		}
+
+		identityMap.depth++;
+		return identityMap;
+	}
+
+	/**
+	 * Closes the scope opened via {@link #open()}. Unbinds the {@link DbRefIdentityMap} from the current thread once the
+	 * outermost scope is closed, unless it is bound to a transaction.
+	 */
+	public void close() {
+
+		Assert.state(depth > 0, "DbRefIdentityMap is not open!");
+
+		depth--;
+
+		if (depth == 0 && !transactionBound) {
+			unbind();
+		}
+	}
+
+	/**
+	 * Returns the number of referenced documents served from the identity map instead of the database.
+	 *
+	 * @return
+	 */
+	public long getDocumentHits() {
+		return documentHits.get();
+	}
+
+	/**
+	 * Returns the number of referenced documents that had to be fetched from the database.
+	 *
+	 * @return
+	 */
+	public long getDocumentMisses() {
+		return documentMisses.get();
+	}
+
+	/**
+	 * Returns the number of referenced objects served from the identity map instead of being converted again.
+	 *
+	 * @return
+	 */
+	public long getObjectHits() {
+		return objectHits.get();
+	}
+
+	/**
+	 * Returns the number of referenced objects that had to be converted.
+	 *
+	 * @return
+	 */
+	public long getObjectMisses() {
+		return objectMisses.get();
+	}
+
+	/**
+	 * Returns the number of referenced documents currently held.
+	 *
+	 * @return
+	 */
+	public int getDocumentCount() {
+		return documents.size();
+	}
+
+	/**
+	 * Returns the previously fetched document for the given {@link DBRef}.
+	 *
+	 * @param dbRef must not be {@literal null}.
+	 * @return {@literal null} if the document has not been fetched yet.
+	 */
+	DBObject getDocument(DBRef dbRef) {
+
+		DBObject document = documents.get(Key.of(dbRef, null));
+		(document == null ? documentMisses : documentHits).incrementAndGet();
+
+		return document;
+	}
+
+	/**
+	 * Registers the document fetched for the given {@link DBRef}.
+	 *
+	 * @param dbRef must not be {@literal null}.
+	 * @param document can be {@literal null}, in which case nothing is registered.
+	 */
+	void putDocument(DBRef dbRef, DBObject document) {
+
+		if (document != null) {
+			documents.put(Key.of(dbRef, null), document);
+		}
+	}
+
+	/**
+	 * Returns the object previously converted into the given type for the given {@link DBRef}.
+	 *
+	 * @param dbRef must not be {@literal null}.
+	 * @param type can be {@literal null}.
+	 * @return {@literal null} if no object has been converted for the given {@link DBRef} and type yet.
+	 */
+	Object getObject(DBRef dbRef, Class<?> type) {
+
+		Object object = objects.get(Key.of(dbRef, type));
+		(object == null ? objectMisses : objectHits).incrementAndGet();
+
+		return object;
+	}
+
+	/**
+	 * Registers the object converted into the given type for the given {@link DBRef}.
+	 *
+	 * @param dbRef must not be {@literal null}.
+	 * @param type can be {@literal null}.
+	 * @param object can be {@literal null}, in which case nothing is registered.
+	 */
+	void putObject(DBRef dbRef, Class<?> type, Object object) {
+
+		if (object != null) {
+			objects.put(Key.of(dbRef, type), object);
+		}
+	}
+
+	/**
+	 * Removes the document with the given identifier in the given collection as well as all objects converted from it.
+	 * Documents of all databases are considered.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 * @param id must not be {@literal null}.
+	 */
+	public void evict(String collectionName, Object id) {
+
+		Assert.notNull(collectionName, "Collection name must not be null!");
+		Assert.notNull(id, "Id must not be null!");
+
+		evict(documents, collectionName, id);
+		evict(objects, collectionName, id);
+	}
+
+	/**
+	 * Removes all documents of the given collection as well as all objects converted from them.
+	 *
+	 * @param collectionName must not be {@literal null}.
+	 */
+	public void evictAll(String collectionName) {
+
+		Assert.notNull(collectionName, "Collection name must not be null!");
+
+		evict(documents, collectionName, null);
+		evict(objects, collectionName, null);
+	}
+
+	/**
+	 * Removes the entries for the given collection and identifier.
+	 *
+	 * @param entries must not be {@literal null}.
+	 * @param collectionName must not be {@literal null}.
+	 * @param id can be {@literal null} to remove the entries for all documents of the collection.
+	 */
+	private static void evict(Map<Key, ?> entries, String collectionName, Object id) {
+
+		Iterator<Key> keys = entries.keySet().iterator();
+
+		while (keys.hasNext()) {
+
+			Key key = keys.next();
+
+			if (collectionName.equals(key.collectionName) && (id == null || ObjectUtils.nullSafeEquals(id, key.id))) {
+				keys.remove();
+			}
+		}
+	}
+
+	private void unbind() {
+
+		if (CURRENT.get() == this) {
+			CURRENT.remove();
+		}
+	}
+
+	/**
+	 * Unbinds a transaction bound {@link DbRefIdentityMap} once the transaction completes.
+	 */
+	private static class IdentityMapSynchronization extends TransactionSynchronizationAdapter {
+
+		private final DbRefIdentityMap identityMap;
+
+		IdentityMapSynchronization(DbRefIdentityMap identityMap) {
+			this.identityMap = identityMap;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.transaction.support.TransactionSynchronizationAdapter#afterCompletion(int)
+		 */
+		@Override
+		public void afterCompletion(int status) {
+			identityMap.unbind();
+		}
+	}
+
+	/**
+	 * Identity of a referenced document or of the object converted from it.
+	 */
+	private static class Key {
+
+		private final String databaseName;
+		private final String collectionName;
+		private final Object id;
+		private final Class<?> type;
+
+		private Key(String databaseName, String collectionName, Object id, Class<?> type) {
+
+			this.databaseName = databaseName;
+			this.collectionName = collectionName;
+			this.id = id;
+			this.type = type;
+		}
+
+		static Key of(DBRef dbRef, Class<?> type) {
+
+			Assert.notNull(dbRef, "DBRef must not be null!");
+			return new Key(ReflectiveDBRefResolver.getDatabaseName(dbRef), dbRef.getCollectionName(), dbRef.getId(), type);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result = 31 * result + ObjectUtils.nullSafeHashCode(databaseName);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(collectionName);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(id);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(type);
+			return result;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof Key)) {
+				return false;
+			}
+
+			Key that = (Key) obj;
+
+			return ObjectUtils.nullSafeEquals(this.databaseName, that.databaseName)
+					&& ObjectUtils.nullSafeEquals(this.collectionName, that.collectionName)
+					&& ObjectUtils.nullSafeEquals(this.id, that.id) && ObjectUtils.nullSafeEquals(this.type, that.type);
+		}
+	}
+}
@@ -22,6 +22,13 @@ import java.io.ObjectInputStream;
 import java.io.ObjectOutputStream;
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
 
 import org.aopalliance.intercept.MethodInterceptor;
 import org.aopalliance.intercept.MethodInvocation;
@@ -38,8 +45,14 @@ import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.objenesis.ObjenesisStd;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.ReflectionUtils;
+import org.springframework.util.StringUtils;
 
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 
@@ -52,7 +65,9 @@ import com.mongodb.DBRef;
  * @author Christoph Strobl
  * @since 1.4
  */
-public class DefaultDbRefResolver implements DbRefResolver {
+public class DefaultDbRefResolver implements BulkDbRefResolver {
+
+	private static final String ID_FIELD = "_id";
 
 	private final MongoDbFactory mongoDbFactory;
 	private final PersistenceExceptionTranslator exceptionTranslator;
@@ -106,7 +121,210 @@ public class DefaultDbRefResolver implements DbRefResolver {
 	 */
 	@Override
 	public DBObject fetch(DBRef dbRef) {
-		return ReflectiveDBRefResolver.fetch(mongoDbFactory, dbRef);
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+
+		if (identityMap == null || dbRef == null) {
+			return ReflectiveDBRefResolver.fetch(mongoDbFactory, dbRef);
+		}
+
+		DBObject document = identityMap.getDocument(dbRef);
+
+		if (document == null) {
+			document = ReflectiveDBRefResolver.fetch(mongoDbFactory, dbRef);
+			identityMap.putDocument(dbRef, document);
+		}
+
+		return document;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.mongodb.core.convert.BulkDbRefResolver#bulkFetch(java.util.List)
+	 */
+	@Override
+	public List<DBObject> bulkFetch(List<DBRef> dbRefs) {
+
+		Assert.notNull(dbRefs, "DBRefs to fetch must not be null!");
+
+		if (dbRefs.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+		DBObject[] cached = new DBObject[dbRefs.size()];
+		Map<DbRefTarget, List<Object>> idsByTarget = new LinkedHashMap<DbRefTarget, List<Object>>();
+
+		for (int i = 0; i < dbRefs.size(); i++) {
+
+			DBRef dbRef = dbRefs.get(i);
+
+			if (dbRef == null) {
+				continue;
+			}
+
+			if (identityMap != null) {
+
+				cached[i] = identityMap.getDocument(dbRef);
+
+				if (cached[i] != null) {
+					continue;
+				}
+			}
+
+			// References that cannot be matched back to the documents read are fetched one by one
+			if (IdentifierKey.of(dbRef.getId()) == null) {
+				continue;
+			}
+
+			DbRefTarget target = DbRefTarget.of(dbRef);
+			List<Object> ids = idsByTarget.get(target);
+
+			if (ids == null) {
+				ids = new ArrayList<Object>();
+				idsByTarget.put(target, ids);
+			}
+
+			ids.add(dbRef.getId());
+		}
+
+		Map<DbRefTarget, Map<IdentifierKey, DBObject>> documentsByTarget = //
+				new HashMap<DbRefTarget, Map<IdentifierKey, DBObject>>(idsByTarget.size());
+
+		for (Entry<DbRefTarget, List<Object>> entry : idsByTarget.entrySet()) {
+			documentsByTarget.put(entry.getKey(), fetchByIds(entry.getKey(), entry.getValue()));
+		}
+
+		List<DBObject> result = new ArrayList<DBObject>(dbRefs.size());
+
+		for (int i = 0; i < dbRefs.size(); i++) {
+
+			DBRef dbRef = dbRefs.get(i);
+
+			if (dbRef == null || cached[i] != null) {
+				result.add(cached[i]);
+				continue;
+			}
+
+			IdentifierKey key = IdentifierKey.of(dbRef.getId());
+
+			if (key == null) {
+				result.add(fetch(dbRef));
+				continue;
+			}
+
+			DBObject document = documentsByTarget.get(DbRefTarget.of(dbRef)).get(key);
+
+			if (identityMap != null) {
+				identityMap.putDocument(dbRef, document);
+			}
+
+			result.add(document);
+		}
+
+		return result;
+	}
+
+	/**
+	 * Loads the documents with the given identifiers from the given {@link DbRefTarget} using a single {@code $in}
+	 * query.
+	 * 
+	 * @param target must not be {@literal null}.
+	 * @param ids must not be {@literal null}.
+	 * @return the documents keyed by the {@link IdentifierKey} of their identifier.
+	 */
+	private Map<IdentifierKey, DBObject> fetchByIds(DbRefTarget target, List<Object> ids) {
+
+		DB db = StringUtils.hasText(target.databaseName) ? mongoDbFactory.getDb(target.databaseName)
+				: mongoDbFactory.getDb();
+		DBCollection collection = db.getCollection(target.collectionName);
+
+		Map<IdentifierKey, DBObject> documents = new HashMap<IdentifierKey, DBObject>(ids.size());
+		DBCursor cursor = null;
+
+		try {
+
+			cursor = collection.find(new BasicDBObject(ID_FIELD, new BasicDBObject("$in", ids)));
+
+			while (cursor.hasNext()) {
+
+				DBObject document = cursor.next();
+				IdentifierKey key = IdentifierKey.of(document.get(ID_FIELD));
+
+				if (key != null) {
+					documents.put(key, document);
+				}
+			}
+
+		} catch (RuntimeException e) {
+			throw potentiallyTranslate(e);
+		} finally {
+			if (cursor != null) {
+				cursor.close();
+			}
+		}
+
+		return documents;
+	}
+
+	private RuntimeException potentiallyTranslate(RuntimeException e) {
+
+		DataAccessException translated = exceptionTranslator.translateExceptionIfPossible(e);
+		return translated == null ? e : translated;
+	}
+
+	/**
+	 * Value object identifying the collection (and potentially database) a {@link DBRef} points to.
+	 * 
+	 * @since 1.10
+	 */
+	static class DbRefTarget {
+
+		private final String databaseName;
+		private final String collectionName;
+
+		private DbRefTarget(String databaseName, String collectionName) {
+
+			this.databaseName = databaseName;
+			this.collectionName = collectionName;
+		}
+
+		static DbRefTarget of(DBRef dbRef) {
+			return new DbRefTarget(ReflectiveDBRefResolver.getDatabaseName(dbRef), dbRef.getCollectionName());
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result = 31 * result + ObjectUtils.nullSafeHashCode(databaseName);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(collectionName);
+			return result;
+		}
+
+		/* 
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof DbRefTarget)) {
+				return false;
+			}
+
+			DbRefTarget that = (DbRefTarget) obj;
+			return ObjectUtils.nullSafeEquals(this.databaseName, that.databaseName)
+					&& ObjectUtils.nullSafeEquals(this.collectionName, that.collectionName);
+		}
 	}
 
 	/**
@@ -0,0 +1,492 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.lang.reflect.Modifier;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.bson.types.ObjectId;
+import org.springframework.data.mapping.Association;
+import org.springframework.data.mapping.AssociationHandler;
+import org.springframework.data.mapping.PropertyHandler;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.Assert;
+
+import com.mongodb.DBCallback;
+import com.mongodb.DBCollection;
+import com.mongodb.DBDecoder;
+import com.mongodb.DBDecoderFactory;
+import com.mongodb.DBObject;
+import com.mongodb.DefaultDBCallback;
+import com.mongodb.DefaultDBDecoder;
+
+/**
+ * {@link DBDecoderFactory} creating decoders that only materialize the fields of a document that are mapped to a
+ * property of the given entity type, so that fields not read by the {@link MongoConverter} anyway are never turned
+ * into {@link DBObject}s, lists and values. The decision is made while the driver streams through the BSON, using the
+ * {@link MongoPersistentEntity} metadata of the type and its nested entities.
+ * <p>
+ * The identifier and the type key are always retained. Nested documents of dynamically typed properties, maps and
+ * references are decoded as a whole. Once a type key names a type other than the expected one, all remaining fields of
+ * that document are retained as well so that properties of subtypes can still be read. This relies on the type key
+ * preceding all fields but the identifier, which is only the case for top-level documents written by the
+ * {@link MongoConverter}. Nested documents and array elements carry their type key after all other fields, so they are
+ * only decoded selectively if their declared type is final and thus cannot be a subtype. Those of all other types are
+ * decoded as a whole.
+ *
+ * @since 1.10
+ */
+public class EntityDBDecoderFactory implements DBDecoderFactory {
+
+	private static final String ID_FIELD = "_id";
+
+	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+	private final MongoTypeMapper typeMapper;
+	private final MongoPersistentEntity<?> entity;
+	private final ConcurrentMap<MongoPersistentEntity<?>, Map<String, MongoPersistentProperty>> fields = //
+			new ConcurrentHashMap<MongoPersistentEntity<?>, Map<String, MongoPersistentProperty>>();
+
+	/**
+	 * Creates a new {@link EntityDBDecoderFactory} for the given {@link MongoConverter} and entity type.
+	 *
+	 * @param converter must not be {@literal null}.
+	 * @param type must not be {@literal null}.
+	 */
+	public EntityDBDecoderFactory(MongoConverter converter, Class<?> type) {
+
+		Assert.notNull(converter, "MongoConverter must not be null!");
+		Assert.notNull(type, "Type must not be null!");
+
+		this.mappingContext = converter.getMappingContext();
+		this.typeMapper = converter.getTypeMapper();
+		this.entity = mappingContext.getPersistentEntity(type);
+
+		Assert.notNull(entity, String.format("No persistent entity found for type %s!", type.getName()));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see com.mongodb.DBDecoderFactory#create()
+	 */
+	@Override
+	public DBDecoder create() {
+
+		return new DefaultDBDecoder() {
+
+			@Override
+			public DBCallback getDBCallback(DBCollection collection) {
+				return new EntityDBCallback(collection);
+			}
+		};
+	}
+
+	/**
+	 * Returns the mapped properties of the given entity by the name of the field they are stored in.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 */
+	private Map<String, MongoPersistentProperty> getFields(MongoPersistentEntity<?> entity) {
+
+		Map<String, MongoPersistentProperty> result = fields.get(entity);
+
+		if (result != null) {
+			return result;
+		}
+
+		final Map<String, MongoPersistentProperty> properties = new HashMap<String, MongoPersistentProperty>();
+
+		entity.doWithProperties(new PropertyHandler<MongoPersistentProperty>() {
+
+			@Override
+			public void doWithPersistentProperty(MongoPersistentProperty property) {
+				properties.put(property.getFieldName(), property);
+			}
+		});
+
+		entity.doWithAssociations(new AssociationHandler<MongoPersistentProperty>() {
+
+			@Override
+			public void doWithAssociation(Association<MongoPersistentProperty> association) {
+
+				MongoPersistentProperty property = association.getInverse();
+				properties.put(property.getFieldName(), property);
+			}
+		});
+
+		result = fields.putIfAbsent(entity, properties);
+		return result == null ? properties : result;
+	}
+
+	/**
+	 * Returns the entity to decode the nested document or the elements of the array stored for the given property
+	 * selectively, {@literal null} if it has to be decoded as a whole.
+	 *
+	 * @param property must not be {@literal null}.
+	 * @return
+	 */
+	private MongoPersistentEntity<?> getNestedEntity(MongoPersistentProperty property) {
+
+		if (!property.isEntity() || property.isMap() || property.isAssociation()) {
+			return null;
+		}
+
+		Class<?> type = property.getActualType();
+
+		if (Object.class.equals(type) || type.isInterface() || DBObject.class.isAssignableFrom(type)) {
+			return null;
+		}
+
+		// Nested documents of subtypes carry their type key last, i.e. too late to switch to retaining all fields
+		if (!Modifier.isFinal(type.getModifiers())) {
+			return null;
+		}
+
+		return mappingContext.getPersistentEntity(type);
+	}
+
+	/**
+	 * The part of a document the decoder is currently positioned in.
+	 */
+	private static class Context {
+
+		private static final Context RETAIN_ALL = new Context(null, null, false);
+		private static final Context RETAIN_ALL_ARRAY = new Context(null, null, true);
+
+		private final MongoPersistentEntity<?> entity;
+		private final Map<String, MongoPersistentProperty> fields;
+		private final boolean array;
+		private boolean retainAll;
+
+		Context(MongoPersistentEntity<?> entity, Map<String, MongoPersistentProperty> fields, boolean array) {
+
+			this.entity = entity;
+			this.fields = fields;
+			this.array = array;
+			this.retainAll = entity == null || array;
+		}
+
+		/**
+		 * Returns the entity of the array elements in case of an array of entities or the entity of the document
+		 * otherwise.
+		 *
+		 * @return
+		 */
+		MongoPersistentEntity<?> getEntity() {
+			return entity;
+		}
+
+		/**
+		 * Returns the property the field with the given name is mapped to, {@literal null} if it is not mapped or the
+		 * current document is retained as a whole anyway.
+		 *
+		 * @param name
+		 * @return
+		 */
+		MongoPersistentProperty getProperty(String name) {
+			return retainAll ? null : fields.get(name);
+		}
+
+		boolean retains(String name) {
+			return retainAll || ID_FIELD.equals(name) || fields.containsKey(name);
+		}
+
+		/**
+		 * Switches to retaining all fields in case the given type key value does not denote the expected entity.
+		 *
+		 * @param alias can be {@literal null}.
+		 */
+		void onTypeKey(Object alias) {
+
+			if (retainAll) {
+				return;
+			}
+
+			Object expected = entity.getTypeAlias();
+
+			if (!(expected == null ? entity.getType().getName() : expected).equals(alias)) {
+				retainAll = true;
+			}
+		}
+	}
+
+	/**
+	 * {@link DBCallback} dropping the fields not mapped to any property before they are materialized.
+	 */
+	private class EntityDBCallback extends DefaultDBCallback {
+
+		private final Deque<Context> contexts = new ArrayDeque<Context>();
+		private int skipped = 0;
+
+		EntityDBCallback(DBCollection collection) {
+			super(collection);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.BasicBSONCallback#reset()
+		 */
+		@Override
+		public void reset() {
+
+			super.reset();
+			contexts.clear();
+			skipped = 0;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.BasicBSONCallback#objectStart()
+		 */
+		@Override
+		public void objectStart() {
+
+			contexts.push(new Context(entity, getFields(entity), false));
+			super.objectStart();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.BasicBSONCallback#objectStart(java.lang.String)
+		 */
+		@Override
+		public void objectStart(String name) {
+
+			if (skip(name)) {
+				return;
+			}
+
+			Context current = contexts.peek();
+			MongoPersistentEntity<?> nested = current.array ? current.getEntity() : getNestedEntity(current, name);
+
+			contexts.push(nested == null ? Context.RETAIN_ALL : new Context(nested, getFields(nested), false));
+			super.objectStart(name);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.bson.BasicBSONCallback#arrayStart(java.lang.String)
+		 */
+		@Override
+		public void arrayStart(String name) {
+
+			if (skip(name)) {
+				return;
+			}
+
+			Context current = contexts.peek();
+			MongoPersistentEntity<?> elements = current.array ? null : getNestedEntity(current, name);
+
+			contexts.push(elements == null ? Context.RETAIN_ALL_ARRAY : new Context(elements, null, true));
+			super.arrayStart(name);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see com.mongodb.DefaultDBCallback#objectDone()
+		 */
+		@Override
+		public Object objectDone() {
+
+			if (skipped > 0) {
+				skipped--;
+				return null;
+			}
+
+			contexts.pop();
+			return super.objectDone();
+		}
+
+		@Override
+		public void gotNull(String name) {
+			if (retains(name, null)) {
+				super.gotNull(name);
+			}
+		}
+
+		@Override
+		public void gotUndefined(String name) {
+			if (retains(name, null)) {
+				super.gotUndefined(name);
+			}
+		}
+
+		@Override
+		public void gotMinKey(String name) {
+			if (retains(name, null)) {
+				super.gotMinKey(name);
+			}
+		}
+
+		@Override
+		public void gotMaxKey(String name) {
+			if (retains(name, null)) {
+				super.gotMaxKey(name);
+			}
+		}
+
+		@Override
+		public void gotBoolean(String name, boolean value) {
+			if (retains(name, value)) {
+				super.gotBoolean(name, value);
+			}
+		}
+
+		@Override
+		public void gotDouble(String name, double value) {
+			if (retains(name, value)) {
+				super.gotDouble(name, value);
+			}
+		}
+
+		@Override
+		public void gotInt(String name, int value) {
+			if (retains(name, value)) {
+				super.gotInt(name, value);
+			}
+		}
+
+		@Override
+		public void gotLong(String name, long value) {
+			if (retains(name, value)) {
+				super.gotLong(name, value);
+			}
+		}
+
+		@Override
+		public void gotDate(String name, long millis) {
+			if (retains(name, millis)) {
+				super.gotDate(name, millis);
+			}
+		}
+
+		@Override
+		public void gotString(String name, String value) {
+			if (retains(name, value)) {
+				super.gotString(name, value);
+			}
+		}
+
+		@Override
+		public void gotSymbol(String name, String value) {
+			if (retains(name, value)) {
+				super.gotSymbol(name, value);
+			}
+		}
+
+		@Override
+		public void gotRegex(String name, String pattern, String flags) {
+			if (retains(name, pattern)) {
+				super.gotRegex(name, pattern, flags);
+			}
+		}
+
+		@Override
+		public void gotTimestamp(String name, int time, int increment) {
+			if (retains(name, time)) {
+				super.gotTimestamp(name, time, increment);
+			}
+		}
+
+		@Override
+		public void gotObjectId(String name, ObjectId id) {
+			if (retains(name, id)) {
+				super.gotObjectId(name, id);
+			}
+		}
+
+		@Override
+		public void gotDBRef(String name, String namespace, ObjectId id) {
+			if (retains(name, id)) {
+				super.gotDBRef(name, namespace, id);
+			}
+		}
+
+		@Override
+		public void gotBinary(String name, byte type, byte[] data) {
+			if (retains(name, data)) {
+				super.gotBinary(name, type, data);
+			}
+		}
+
+		@Override
+		public void gotUUID(String name, long part1, long part2) {
+			if (retains(name, part1)) {
+				super.gotUUID(name, part1, part2);
+			}
+		}
+
+		@Override
+		public void gotCode(String name, String code) {
+			if (retains(name, code)) {
+				super.gotCode(name, code);
+			}
+		}
+
+		@Override
+		public void gotCodeWScope(String name, String code, Object scope) {
+			if (retains(name, code)) {
+				super.gotCodeWScope(name, code, scope);
+			}
+		}
+
+		private MongoPersistentEntity<?> getNestedEntity(Context current, String name) {
+
+			MongoPersistentProperty property = current.getProperty(name);
+			return property == null ? null : EntityDBDecoderFactory.this.getNestedEntity(property);
+		}
+
+		/**
+		 * Returns whether the nested document or array starting with the given field name has to be skipped and starts
+		 * skipping it if so.
+		 *
+		 * @param name
+		 * @return
+		 */
+		private boolean skip(String name) {
+
+			if (skipped > 0 || !contexts.peek().retains(name)) {
+				skipped++;
+				return true;
+			}
+
+			return false;
+		}
+
+		private boolean retains(String name, Object value) {
+
+			if (skipped > 0) {
+				return false;
+			}
+
+			Context current = contexts.peek();
+
+			if (typeMapper.isTypeKey(name)) {
+				current.onTypeKey(value);
+				return true;
+			}
+
+			return current.retains(name);
+		}
+	}
+}
@@ -0,0 +1,170 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+import org.bson.BSON;
+import org.bson.types.Binary;
+
+import com.mongodb.DBObject;
+
+/**
+ * Key to match the documents read via an {@code $in} query on {@code _id} back to the identifier values they were
+ * looked up with. Numeric identifiers are compared by value as the server matches {@code 1}, {@code 1L} and
+ * {@code 1.0} alike, binary identifiers by content as the driver reads generic binary data into a {@code byte[]}.
+ * 
+ * @since 1.10
+ */
+public final class IdentifierKey {
+
+	private final Object value;
+
+	private IdentifierKey(Object value) {
+		this.value = value;
+	}
+
+	/**
+	 * Returns the {@link IdentifierKey} for the given identifier value.
+	 * 
+	 * @param id can be {@literal null}.
+	 * @return the {@link IdentifierKey} or {@literal null} in case documents cannot be reliably matched back to the given
+	 *         value, e.g. for documents, arrays or patterns used as identifier.
+	 */
+	public static IdentifierKey of(Object id) {
+
+		if (id == null || id instanceof DBObject || id instanceof Map || id instanceof Iterable || id instanceof Pattern) {
+			return null;
+		}
+
+		if (id instanceof Byte || id instanceof Short || id instanceof Integer || id instanceof Long) {
+			return new IdentifierKey(((Number) id).longValue());
+		}
+
+		if (id instanceof Float || id instanceof Double) {
+
+			double value = ((Number) id).doubleValue();
+			boolean integral = value == Math.rint(value) && value >= Long.MIN_VALUE && value < Long.MAX_VALUE;
+
+			return new IdentifierKey(integral ? (Object) Long.valueOf((long) value) : (Object) Double.valueOf(value));
+		}
+
+		if (id instanceof byte[]) {
+			return new IdentifierKey(new BinaryValue(BSON.B_GENERAL, (byte[]) id));
+		}
+
+		if (id instanceof Binary) {
+
+			Binary binary = (Binary) id;
+			byte type = binary.getType() == BSON.B_BINARY ? BSON.B_GENERAL : binary.getType();
+
+			return new IdentifierKey(new BinaryValue(type, binary.getData()));
+		}
+
+		return id.getClass().isArray() ? null : new IdentifierKey(id);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof IdentifierKey)) {
+			return false;
+		}
+
+		return this.value.equals(((IdentifierKey) obj).value);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+		return value.hashCode();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("IdentifierKey [%s]", value);
+	}
+
+	/**
+	 * Binary identifier value compared by content.
+	 */
+	private static class BinaryValue {
+
+		private final byte type;
+		private final byte[] data;
+
+		BinaryValue(byte type, byte[] data) {
+
+			this.type = type;
+			this.data = data;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof BinaryValue)) {
+				return false;
+			}
+
+			BinaryValue that = (BinaryValue) obj;
+
+			return this.type == that.type && Arrays.equals(this.data, that.data);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * type + Arrays.hashCode(data);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("Binary [type: %d, length: %d]", type, data.length);
+		}
+	}
+}
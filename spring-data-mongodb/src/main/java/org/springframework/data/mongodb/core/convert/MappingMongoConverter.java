@@ -20,6 +20,7 @@ import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.Iterator;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -901,6 +902,12 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 		Collection<Object> items = targetType.getType().isArray() ? new ArrayList<Object>()
 				: CollectionFactory.createCollection(collectionType, rawComponentType, sourceValue.size());
 
+		if (!DBRef.class.equals(rawComponentType) && isCollectionOfDbRefs(sourceValue)) {
+
+			items.addAll(bulkReadAndConvertDBRefs(asDbRefList(sourceValue), componentType, path, rawComponentType));
+			return getPotentiallyConvertedSimpleRead(items, targetType.getType());
+		}
+
 		for (Object dbObjItem : sourceValue) {
 
 			if (dbObjItem instanceof DBRef) {
@@ -941,6 +948,10 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 		Map<Object, Object> map = CollectionFactory.createMap(mapType, rawKeyType, dbObject.keySet().size());
 		Map<String, Object> sourceMap = dbObject.toMap();
 
+		boolean bulkFetchDbRefs = !DBRef.class.equals(rawValueType);
+		List<Object> dbRefKeys = new ArrayList<Object>();
+		List<DBRef> dbRefs = new ArrayList<DBRef>();
+
 		for (Entry<String, Object> entry : sourceMap.entrySet()) {
 			if (typeMapper.isTypeKey(entry.getKey())) {
 				continue;
@@ -957,14 +968,32 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 			if (value instanceof DBObject) {
 				map.put(key, read(valueType, (DBObject) value, path));
 			} else if (value instanceof DBRef) {
-				map.put(key, DBRef.class.equals(rawValueType) ? value
-						: readAndConvertDBRef((DBRef) value, valueType, ObjectPath.ROOT, rawValueType));
+
+				if (bulkFetchDbRefs) {
+
+					// keep the key's position and resolve all references in one go once the entire map was read
+					map.put(key, null);
+					dbRefKeys.add(key);
+					dbRefs.add((DBRef) value);
+
+				} else {
+					map.put(key, value);
+				}
 			} else {
 				Class<?> valueClass = valueType == null ? null : valueType.getType();
 				map.put(key, getPotentiallyConvertedSimpleRead(value, valueClass));
 			}
 		}
 
+		if (!dbRefs.isEmpty()) {
+
+			List<Object> resolved = bulkReadAndConvertDBRefs(dbRefs, valueType, ObjectPath.ROOT, rawValueType);
+
+			for (int i = 0; i < dbRefKeys.size(); i++) {
+				map.put(dbRefKeys.get(i), resolved.get(i));
+			}
+		}
+
 		return map;
 	}
 
@@ -1218,6 +1247,17 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 	@SuppressWarnings("unchecked")
 	private <T> T readAndConvertDBRef(DBRef dbref, TypeInformation<?> type, ObjectPath path, final Class<?> rawType) {
 
+		DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+
+		if (identityMap != null && dbref != null) {
+
+			Object cached = identityMap.getObject(dbref, rawType);
+
+			if (cached != null) {
+				return (T) cached;
+			}
+		}
+
 		final DBObject readRef = readRef(dbref);
 		final String collectionName = dbref.getCollectionName();
 
@@ -1231,9 +1271,113 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 			maybeEmitEvent(new AfterConvertEvent<T>(readRef, target, collectionName));
 		}
 
+		if (identityMap != null && dbref != null) {
+			identityMap.putObject(dbref, rawType, target);
+		}
+
 		return target;
 	}
 
+	/**
+	 * Resolves the given {@link DBRef}s using as few roundtrips as possible and converts the referenced documents into
+	 * the given type. The returned {@link List} contains the converted objects in the order of the given {@link DBRef}s,
+	 * with {@literal null} for references that could not be resolved.
+	 * 
+	 * @param dbrefs must not be {@literal null}.
+	 * @param type can be {@literal null}.
+	 * @param path must not be {@literal null}.
+	 * @param rawType can be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	@SuppressWarnings("unchecked")
+	private List<Object> bulkReadAndConvertDBRefs(List<DBRef> dbrefs, TypeInformation<?> type, ObjectPath path,
+			Class<?> rawType) {
+
+		if (dbrefs.isEmpty()) {
+			return Collections.emptyList();
+		}
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.current();
+		Object[] cached = new Object[dbrefs.size()];
+		List<DBRef> toFetch = dbrefs;
+
+		if (identityMap != null) {
+
+			toFetch = new ArrayList<DBRef>(dbrefs.size());
+
+			for (int i = 0; i < dbrefs.size(); i++) {
+
+				cached[i] = identityMap.getObject(dbrefs.get(i), rawType);
+
+				if (cached[i] == null) {
+					toFetch.add(dbrefs.get(i));
+				}
+			}
+		}
+
+		List<DBObject> referencedRawDocuments = toFetch.isEmpty() ? Collections.<DBObject> emptyList()
+				: toFetch.size() == 1 ? Collections.singletonList(readRef(toFetch.get(0))) : bulkReadRefs(toFetch);
+		Iterator<DBObject> documents = referencedRawDocuments.iterator();
+		List<Object> targets = new ArrayList<Object>(dbrefs.size());
+
+		for (int i = 0; i < dbrefs.size(); i++) {
+
+			if (cached[i] != null) {
+				targets.add(cached[i]);
+				continue;
+			}
+
+			DBObject document = documents.next();
+			String collectionName = dbrefs.get(i).getCollectionName();
+
+			if (document != null) {
+				maybeEmitEvent(new AfterLoadEvent<Object>(document, (Class<Object>) rawType, collectionName));
+			}
+
+			Object target = read(type, document, path);
+
+			if (target != null) {
+				maybeEmitEvent(new AfterConvertEvent<Object>(document, target, collectionName));
+			}
+
+			if (identityMap != null) {
+				identityMap.putObject(dbrefs.get(i), rawType, target);
+			}
+
+			targets.add(target);
+		}
+
+		return targets;
+	}
+
+	/**
+	 * Returns whether the given {@link BasicDBList} only consists of {@link DBRef}s.
+	 * 
+	 * @param source must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean isCollectionOfDbRefs(BasicDBList source) {
+
+		for (Object element : source) {
+			if (!(element instanceof DBRef)) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	private static List<DBRef> asDbRefList(BasicDBList source) {
+
+		List<DBRef> dbRefs = new ArrayList<DBRef>(source.size());
+
+		for (Object element : source) {
+			dbRefs.add((DBRef) element);
+		}
+
+		return dbRefs;
+	}
+
 	private void maybeEmitEvent(MongoMappingEvent<?> event) {
 
 		if (canPublishEvent()) {
@@ -1255,6 +1399,29 @@ public class MappingMongoConverter extends AbstractMongoConverter implements App
 		return dbRefResolver.fetch(ref);
 	}
 
+	/**
+	 * Performs a bulk fetch operation for the given {@link DBRef}s in case the {@link DbRefResolver} is a
+	 * {@link BulkDbRefResolver}, fetches them one by one otherwise.
+	 * 
+	 * @param references must not be {@literal null}.
+	 * @return never {@literal null}.
+	 * @since 1.10
+	 */
+	List<DBObject> bulkReadRefs(List<DBRef> references) {
+
+		if (dbRefResolver instanceof BulkDbRefResolver) {
+			return ((BulkDbRefResolver) dbRefResolver).bulkFetch(references);
+		}
+
+		List<DBObject> documents = new ArrayList<DBObject>(references.size());
+
+		for (DBRef reference : references) {
+			documents.add(readRef(reference));
+		}
+
+		return documents;
+	}
+
 	/**
 	 * Marker class used to indicate we have a non root document object here that might be used within an update - so we
 	 * need to preserve type hints for potential nested elements but need to remove it on top level.
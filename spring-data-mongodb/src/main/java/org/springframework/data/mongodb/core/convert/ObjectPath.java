@@ -1,5 +1,5 @@
 /*
- * Copyright 2014 the original author or authors.
+ * Copyright 2014-2016 the original author or authors.
  *
  * Licensed under the Apache License, Version 2.0 (the "License");
  * you may not use this file except in compliance with the License.
@@ -15,12 +15,15 @@
  */
 package org.springframework.data.mongodb.core.convert;
 
-import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
 import org.springframework.util.StringUtils;
 
 import com.mongodb.DBObject;
@@ -30,9 +33,11 @@ import com.mongodb.DBObject;
  * when resolving more nested objects. This allows to avoid re-resolving object instances that are logically equivalent
  * to already resolved ones.
  * <p>
- * An immutable ordered set of target objects for {@link DBObject} to {@link Object} conversions. Object paths can be
- * constructed by the {@link #toObjectPath(Object)} method and extended via {@link #push(Object)}.
- * 
+ * An immutable, parent-linked chain of target objects for {@link DBObject} to {@link Object} conversions. Object paths
+ * are extended via {@link #push(Object, MongoPersistentEntity, Object)}, which only allocates the new path element.
+ * Lookups via {@link #getPathItem(Object, String)} walk short chains and use a (collection, id) index computed lazily
+ * for longer ones.
+ *
  * @author Thomas Darimont
  * @author Oliver Gierke
  * @since 1.6
@@ -41,25 +46,37 @@ class ObjectPath {
 
 	public static final ObjectPath ROOT = new ObjectPath();
 
-	private final List<ObjectPathItem> items;
+	/**
+	 * Number of identifiable items up to which {@link #getPathItem(Object, String)} walks the chain instead of building
+	 * an index.
+	 */
+	private static final int INDEX_THRESHOLD = 4;
+
+	private final ObjectPath parent;
+	private final ObjectPathItem item;
+	private final int identifiableItems;
+
+	private volatile Map<PathItemKey, Object> index;
 
 	private ObjectPath() {
-		this.items = Collections.emptyList();
+
+		this.parent = null;
+		this.item = null;
+		this.identifiableItems = 0;
 	}
 
 	/**
 	 * Creates a new {@link ObjectPath} from the given parent {@link ObjectPath} by adding the provided
 	 * {@link ObjectPathItem} to it.
-	 * 
-	 * @param parent can be {@literal null}.
-	 * @param item
+	 *
+	 * @param parent must not be {@literal null}.
+	 * @param item must not be {@literal null}.
 	 */
 	private ObjectPath(ObjectPath parent, ObjectPath.ObjectPathItem item) {
 
-		List<ObjectPath.ObjectPathItem> items = new ArrayList<ObjectPath.ObjectPathItem>(parent.items);
-		items.add(item);
-
-		this.items = Collections.unmodifiableList(items);
+		this.parent = parent;
+		this.item = item;
+		this.identifiableItems = parent.identifiableItems + (item.isIdentifiable() ? 1 : 0);
 	}
 
 	/**
@@ -82,7 +99,7 @@ class ObjectPath {
 	/**
 	 * Returns the object with the given id and stored in the given collection if it's contained in the {@link ObjectPath}
 	 * .
-	 * 
+	 *
 	 * @param id must not be {@literal null}.
 	 * @param collection must not be {@literal null} or empty.
 	 * @return
@@ -92,58 +109,98 @@ class ObjectPath {
 		Assert.notNull(id, "Id must not be null!");
 		Assert.hasText(collection, "Collection name must not be null!");
 
-		for (ObjectPathItem item : items) {
-
-			Object object = item.getObject();
-
-			if (object == null) {
-				continue;
-			}
-
-			if (item.getIdValue() == null) {
-				continue;
-			}
+		if (identifiableItems == 0) {
+			return null;
+		}
 
-			if (collection.equals(item.getCollection()) && id.equals(item.getIdValue())) {
-				return object;
-			}
+		if (identifiableItems <= INDEX_THRESHOLD) {
+			return findPathItem(id, collection);
 		}
 
-		return null;
+		return getIndex().get(new PathItemKey(collection, id));
 	}
 
 	/**
 	 * Returns the current object of the {@link ObjectPath} or {@literal null} if the path is empty.
-	 * 
+	 *
 	 * @return
 	 */
 	public Object getCurrentObject() {
-		return items.isEmpty() ? null : items.get(items.size() - 1).getObject();
+		return item == null ? null : item.getObject();
 	}
 
-	/* 
+	/*
 	 * (non-Javadoc)
 	 * @see java.lang.Object#toString()
 	 */
 	@Override
 	public String toString() {
 
-		if (items.isEmpty()) {
+		if (item == null) {
 			return "[empty]";
 		}
 
-		List<String> strings = new ArrayList<String>(items.size());
+		List<String> strings = new LinkedList<String>();
 
-		for (ObjectPathItem item : items) {
-			strings.add(item.object.toString());
+		for (ObjectPath current = this; current.item != null; current = current.parent) {
+			strings.add(0, current.item.getObject().toString());
 		}
 
 		return StringUtils.collectionToDelimitedString(strings, " -> ");
 	}
 
+	/**
+	 * Walks the chain towards the root and returns the outermost object matching the given id and collection.
+	 *
+	 * @param id must not be {@literal null}.
+	 * @param collection must not be {@literal null}.
+	 * @return
+	 */
+	private Object findPathItem(Object id, String collection) {
+
+		Object result = null;
+
+		for (ObjectPath current = this; current.item != null; current = current.parent) {
+			if (current.item.matches(id, collection)) {
+				result = current.item.getObject();
+			}
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns the (collection, id) index of all identifiable items of the path. As the path is immutable, the index is
+	 * computed once on first access. Items closer to the root win for duplicate keys.
+	 *
+	 * @return never {@literal null}.
+	 */
+	private Map<PathItemKey, Object> getIndex() {
+
+		Map<PathItemKey, Object> index = this.index;
+
+		if (index != null) {
+			return index;
+		}
+
+		index = new HashMap<PathItemKey, Object>(identifiableItems * 2);
+
+		for (ObjectPath current = this; current.item != null; current = current.parent) {
+
+			ObjectPathItem pathItem = current.item;
+
+			if (pathItem.isIdentifiable()) {
+				index.put(new PathItemKey(pathItem.getCollection(), pathItem.getIdValue()), pathItem.getObject());
+			}
+		}
+
+		this.index = Collections.unmodifiableMap(index);
+		return this.index;
+	}
+
 	/**
 	 * An item in an {@link ObjectPath}.
-	 * 
+	 *
 	 * @author Thomas Darimont
 	 * @author Oliver Gierke
 	 */
@@ -155,7 +212,7 @@ class ObjectPath {
 
 		/**
 		 * Creates a new {@link ObjectPathItem}.
-		 * 
+		 *
 		 * @param object
 		 * @param idValue
 		 * @param collection
@@ -178,5 +235,62 @@ class ObjectPath {
 		public String getCollection() {
 			return collection;
 		}
+
+		boolean isIdentifiable() {
+			return object != null && idValue != null;
+		}
+
+		boolean matches(Object id, String collection) {
+			return isIdentifiable() && collection.equals(this.collection) && id.equals(idValue);
+		}
+	}
+
+	/**
+	 * Key of the (collection, id) index of an {@link ObjectPath}.
+	 */
+	private static class PathItemKey {
+
+		private final String collection;
+		private final Object id;
+
+		PathItemKey(String collection, Object id) {
+
+			this.collection = collection;
+			this.id = id;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result = 31 * result + ObjectUtils.nullSafeHashCode(collection);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(id);
+			return result;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof PathItemKey)) {
+				return false;
+			}
+
+			PathItemKey that = (PathItemKey) obj;
+
+			return ObjectUtils.nullSafeEquals(this.collection, that.collection)
+					&& ObjectUtils.nullSafeEquals(this.id, that.id);
+		}
 	}
 }
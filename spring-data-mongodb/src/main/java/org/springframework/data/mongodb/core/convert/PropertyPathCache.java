@@ -0,0 +1,227 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.context.ApplicationListener;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mapping.context.MappingContextEvent;
+import org.springframework.data.mapping.context.PersistentPropertyPath;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Bounded, concurrent cache of the {@link PersistentPropertyPath}s {@link QueryMapper} and {@link UpdateMapper} resolve
+ * for the keys of queries and updates, keyed by entity type and path expression. Unresolvable paths are cached as
+ * well. Once the configured maximum size is reached, the cache is cleared entirely. It is also cleared whenever the
+ * {@link MappingContext} it was created for adds a new entity.
+ *
+ * @since 1.10
+ */
+public class PropertyPathCache implements ApplicationListener<MappingContextEvent<?, ?>> {
+
+	static final int DEFAULT_MAX_SIZE = 1024;
+
+	private static final Object UNRESOLVABLE = new Object();
+
+	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+	private final int maxSize;
+	private final Map<CacheKey, Object> paths = new ConcurrentHashMap<CacheKey, Object>();
+
+	private final AtomicLong hits = new AtomicLong();
+	private final AtomicLong misses = new AtomicLong();
+
+	/**
+	 * Creates a new {@link PropertyPathCache} for the given {@link MappingContext} holding at most the given number of
+	 * paths.
+	 *
+	 * @param mappingContext can be {@literal null}.
+	 * @param maxSize must be greater than zero.
+	 */
+	PropertyPathCache(MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+			int maxSize) {
+
+		Assert.isTrue(maxSize > 0, "Maximum size must be greater than zero!");
+
+		this.mappingContext = mappingContext;
+		this.maxSize = maxSize;
+	}
+
+	/**
+	 * Returns the number of lookups served from the cache.
+	 *
+	 * @return
+	 */
+	public long getHitCount() {
+		return hits.get();
+	}
+
+	/**
+	 * Returns the number of lookups that had to resolve the path.
+	 *
+	 * @return
+	 */
+	public long getMissCount() {
+		return misses.get();
+	}
+
+	/**
+	 * Returns the ratio of lookups served from the cache.
+	 *
+	 * @return a value between {@code 0} and {@code 1}, {@code 0} if no lookup has happened yet.
+	 */
+	public double getHitRate() {
+
+		long hits = this.hits.get();
+		long total = hits + misses.get();
+
+		return total == 0 ? 0 : (double) hits / total;
+	}
+
+	/**
+	 * Returns the number of paths currently cached.
+	 *
+	 * @return
+	 */
+	public int size() {
+		return paths.size();
+	}
+
+	/**
+	 * Removes all cached paths.
+	 */
+	public void clear() {
+		paths.clear();
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.context.ApplicationListener#onApplicationEvent(org.springframework.context.ApplicationEvent)
+	 */
+	@Override
+	public void onApplicationEvent(MappingContextEvent<?, ?> event) {
+
+		if (mappingContext != null && event.wasEmittedBy(mappingContext)) {
+			clear();
+		}
+	}
+
+	/**
+	 * Returns the cached {@link PersistentPropertyPath} for the given entity and path expression or resolves it via the
+	 * given {@link PathResolver}.
+	 *
+	 * @param entity must not be {@literal null}.
+	 * @param pathExpression must not be {@literal null}.
+	 * @param resolver must not be {@literal null}.
+	 * @return {@literal null} if the path cannot be resolved.
+	 */
+	PersistentPropertyPath<MongoPersistentProperty> getPath(MongoPersistentEntity<?> entity, String pathExpression,
+			PathResolver resolver) {
+
+		CacheKey key = new CacheKey(entity.getType(), pathExpression);
+		Object cached = paths.get(key);
+
+		if (cached != null) {
+			hits.incrementAndGet();
+			return unwrap(cached);
+		}
+
+		misses.incrementAndGet();
+
+		PersistentPropertyPath<MongoPersistentProperty> path = resolver.resolve(pathExpression);
+
+		if (paths.size() >= maxSize) {
+			paths.clear();
+		}
+
+		paths.put(key, path == null ? UNRESOLVABLE : path);
+
+		return path;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PersistentPropertyPath<MongoPersistentProperty> unwrap(Object cached) {
+		return cached == UNRESOLVABLE ? null : (PersistentPropertyPath<MongoPersistentProperty>) cached;
+	}
+
+	/**
+	 * Callback to resolve a path expression not yet cached.
+	 */
+	interface PathResolver {
+
+		/**
+		 * Resolves the given path expression.
+		 *
+		 * @param pathExpression will never be {@literal null}.
+		 * @return {@literal null} if the path cannot be resolved.
+		 */
+		PersistentPropertyPath<MongoPersistentProperty> resolve(String pathExpression);
+	}
+
+	/**
+	 * Cache key consisting of the entity type and the path expression.
+	 */
+	private static class CacheKey {
+
+		private final Class<?> type;
+		private final String pathExpression;
+
+		CacheKey(Class<?> type, String pathExpression) {
+
+			this.type = type;
+			this.pathExpression = pathExpression;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result = 31 * result + ObjectUtils.nullSafeHashCode(type);
+			result = 31 * result + ObjectUtils.nullSafeHashCode(pathExpression);
+			return result;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof CacheKey)) {
+				return false;
+			}
+
+			CacheKey that = (CacheKey) obj;
+
+			return ObjectUtils.nullSafeEquals(this.type, that.type)
+					&& ObjectUtils.nullSafeEquals(this.pathExpression, that.pathExpression);
+		}
+	}
+}
@@ -73,6 +73,7 @@ public class QueryMapper {
 	private final MongoConverter converter;
 	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
 	private final MongoExampleMapper exampleMapper;
+	private final PropertyPathCache propertyPathCache;
 
 	/**
 	 * Creates a new {@link QueryMapper} with the given {@link MongoConverter}.
@@ -87,6 +88,19 @@ public class QueryMapper {
 		this.converter = converter;
 		this.mappingContext = converter.getMappingContext();
 		this.exampleMapper = new MongoExampleMapper(converter);
+		this.propertyPathCache = new PropertyPathCache(mappingContext, PropertyPathCache.DEFAULT_MAX_SIZE);
+	}
+
+	/**
+	 * Returns the {@link PropertyPathCache} used to resolve the property paths of mapped keys. Exposes hit and miss
+	 * counts and needs to be registered as listener for the mapping context events to get cleared once new entities are
+	 * added.
+	 * 
+	 * @return never {@literal null}.
+	 * @since 1.10
+	 */
+	public PropertyPathCache getPropertyPathCache() {
+		return propertyPathCache;
 	}
 
 	/**
@@ -227,7 +241,7 @@ public class QueryMapper {
 	 */
 	protected Field createPropertyField(MongoPersistentEntity<?> entity, String key,
 			MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
-		return entity == null ? new Field(key) : new MetadataBackedField(key, entity, mappingContext);
+		return entity == null ? new Field(key) : new MetadataBackedField(key, entity, mappingContext, null, propertyPathCache);
 	}
 
 	/**
@@ -720,6 +734,7 @@ public class QueryMapper {
 		private final MongoPersistentProperty property;
 		private final PersistentPropertyPath<MongoPersistentProperty> path;
 		private final Association<MongoPersistentProperty> association;
+		private final PropertyPathCache propertyPathCache;
 
 		/**
 		 * Creates a new {@link MetadataBackedField} with the given name, {@link MongoPersistentEntity} and
@@ -746,6 +761,24 @@ public class QueryMapper {
 		public MetadataBackedField(String name, MongoPersistentEntity<?> entity,
 				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context,
 				MongoPersistentProperty property) {
+			this(name, entity, context, property, null);
+		}
+
+		/**
+		 * Creates a new {@link MetadataBackedField} with the given name, {@link MongoPersistentEntity} and
+		 * {@link MappingContext} with the given {@link MongoPersistentProperty} resolving the property path through the
+		 * given {@link PropertyPathCache}.
+		 * 
+		 * @param name must not be {@literal null} or empty.
+		 * @param entity must not be {@literal null}.
+		 * @param context must not be {@literal null}.
+		 * @param property may be {@literal null}.
+		 * @param propertyPathCache may be {@literal null}.
+		 * @since 1.10
+		 */
+		public MetadataBackedField(String name, MongoPersistentEntity<?> entity,
+				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context,
+				MongoPersistentProperty property, PropertyPathCache propertyPathCache) {
 
 			super(name);
 
@@ -753,6 +786,7 @@ public class QueryMapper {
 
 			this.entity = entity;
 			this.mappingContext = context;
+			this.propertyPathCache = propertyPathCache;
 
 			this.path = getPath(name);
 			this.property = path == null ? property : path.getLeafProperty();
@@ -765,7 +799,7 @@ public class QueryMapper {
 		 */
 		@Override
 		public MetadataBackedField with(String name) {
-			return new MetadataBackedField(name, entity, mappingContext, property);
+			return new MetadataBackedField(name, entity, mappingContext, property, propertyPathCache);
 		}
 
 		/*
@@ -860,6 +894,21 @@ public class QueryMapper {
 		 */
 		private PersistentPropertyPath<MongoPersistentProperty> getPath(String pathExpression) {
 
+			if (propertyPathCache == null) {
+				return resolvePath(pathExpression);
+			}
+
+			return propertyPathCache.getPath(entity, pathExpression, new PropertyPathCache.PathResolver() {
+
+				@Override
+				public PersistentPropertyPath<MongoPersistentProperty> resolve(String pathExpression) {
+					return resolvePath(pathExpression);
+				}
+			});
+		}
+
+		private PersistentPropertyPath<MongoPersistentProperty> resolvePath(String pathExpression) {
+
 			try {
 
 				PropertyPath path = PropertyPath.from(pathExpression.replaceAll("\\.\\d", ""), entity.getTypeInformation());
@@ -38,9 +38,11 @@ import com.mongodb.DBRef;
 class ReflectiveDBRefResolver {
 
 	private static final Method FETCH_METHOD;
+	private static final Method GET_DATABASE_NAME_METHOD;
 
 	static {
 		FETCH_METHOD = findMethod(DBRef.class, "fetch");
+		GET_DATABASE_NAME_METHOD = findMethod(DBRef.class, "getDatabaseName");
 	}
 
 	/**
@@ -63,4 +65,19 @@ class ReflectiveDBRefResolver {
 
 		return (DBObject) invokeMethod(FETCH_METHOD, ref);
 	}
+
+	/**
+	 * Returns the name of the database the given {@link DBRef} points to.
+	 *
+	 * @param ref must not be {@literal null}.
+	 * @return the database name or {@literal null} if the {@link DBRef} does not carry one or the driver in use does not
+	 *         support it.
+	 * @since 1.10
+	 */
+	public static String getDatabaseName(DBRef ref) {
+
+		Assert.notNull(ref, "DBRef must not be null!");
+
+		return GET_DATABASE_NAME_METHOD == null ? null : (String) invokeMethod(GET_DATABASE_NAME_METHOD, ref);
+	}
 }
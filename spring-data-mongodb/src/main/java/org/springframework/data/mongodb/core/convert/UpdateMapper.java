@@ -162,7 +162,7 @@ public class UpdateMapper extends QueryMapper {
 			MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
 
 		return entity == null ? super.createPropertyField(entity, key, mappingContext)
-				: new MetadataBackedUpdateField(entity, key, mappingContext);
+				: new MetadataBackedUpdateField(entity, key, mappingContext, getPropertyPathCache());
 	}
 
 	/**
@@ -186,11 +186,13 @@ public class UpdateMapper extends QueryMapper {
 		 * @param entity must not be {@literal null}.
 		 * @param key must not be {@literal null} or empty.
 		 * @param mappingContext must not be {@literal null}.
+		 * @param propertyPathCache may be {@literal null}.
 		 */
 		public MetadataBackedUpdateField(MongoPersistentEntity<?> entity, String key,
-				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+				PropertyPathCache propertyPathCache) {
 
-			super(key.replaceAll("\\.\\$", ""), entity, mappingContext);
+			super(key.replaceAll("\\.\\$", ""), entity, mappingContext, null, propertyPathCache);
 			this.key = key;
 		}
 
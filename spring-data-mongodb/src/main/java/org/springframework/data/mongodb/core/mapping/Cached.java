@@ -0,0 +1,54 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.mapping;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Inherited;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a domain type whose documents are kept in the second-level
+ * {@link org.springframework.data.mongodb.core.DocumentCache} of the template when looked up by identifier. Suited for
+ * reference data that is read frequently but rarely changes. Writes issued through the template evict the affected
+ * entries, changes applied to the collection by other means are only picked up once an entry expires.
+ *
+ * @since 1.10
+ */
+@Documented
+@Inherited
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ ElementType.TYPE })
+public @interface Cached {
+
+	/**
+	 * The time in seconds a cached document stays valid. Defaults to {@literal 0} meaning cached documents only get
+	 * evicted by writes or due to the cache being full.
+	 *
+	 * @return
+	 */
+	long ttl() default 0;
+
+	/**
+	 * The maximum number of documents to be cached for the collection. Once exceeded the least recently used documents
+	 * get evicted.
+	 *
+	 * @return
+	 */
+	int maxEntries() default 1000;
+}
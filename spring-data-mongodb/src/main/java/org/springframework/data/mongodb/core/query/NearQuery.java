@@ -406,6 +406,14 @@ public final class NearQuery {
 		return skip;
 	}
 
+	/**
+	 * @return the maximum number of results including the ones to skip.
+	 * @since 1.10
+	 */
+	public Integer getNum() {
+		return num;
+	}
+
 	/**
 	 * Returns the {@link DBObject} built by the {@link NearQuery}.
 	 * 
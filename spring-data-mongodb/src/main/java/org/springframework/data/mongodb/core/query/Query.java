@@ -22,6 +22,7 @@ import java.util.ArrayList;
 import java.util.Collections;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -53,6 +54,7 @@ public class Query {
 	private int skip;
 	private int limit;
 	private String hint;
+	private final Set<String> fetchPaths = new LinkedHashSet<String>();
 
 	private Meta meta = new Meta();
 
@@ -190,6 +192,45 @@ public class Query {
 		return this;
 	}
 
+	/**
+	 * Eagerly loads the given {@link org.springframework.data.mongodb.core.mapping.DBRef} properties along with the
+	 * query results. Instead of resolving each reference after reading the result documents, the query is executed as
+	 * aggregation joining the referenced documents via {@code $lookup}, so that the entire object graph is loaded in a
+	 * single roundtrip. The {@code $maxTimeMS} and {@code $comment} {@link Meta} values are applied to the aggregation.
+	 * Queries using a {@link #withHint(String) hint}, {@code $maxScan} or {@code $snapshot} are executed as plain queries
+	 * resolving the references one by one as those cannot be applied to the aggregation. References pointing to a
+	 * collection other than the one of the referenced entity are resolved one by one, too.
+	 * 
+	 * @param properties the names of the {@link org.springframework.data.mongodb.core.mapping.DBRef} properties to
+	 *          fetch, must not be {@literal null}.
+	 * @return
+	 * @since 1.10
+	 */
+	public Query fetch(String... properties) {
+
+		Assert.notNull(properties, "Properties to fetch must not be null!");
+
+		for (String property : properties) {
+
+			Assert.hasText(property, "Property to fetch must not be null or empty!");
+			this.fetchPaths.add(property);
+		}
+
+		return this;
+	}
+
+	/**
+	 * Returns the names of the {@link org.springframework.data.mongodb.core.mapping.DBRef} properties to be fetched
+	 * eagerly.
+	 * 
+	 * @return never {@literal null}.
+	 * @since 1.10
+	 * @see #fetch(String...)
+	 */
+	public Set<String> getFetchPaths() {
+		return Collections.unmodifiableSet(fetchPaths);
+	}
+
 	/**
 	 * @return the restrictedTypes
 	 */
@@ -401,8 +442,10 @@ public class Query {
 		boolean skipEqual = this.skip == that.skip;
 		boolean limitEqual = this.limit == that.limit;
 		boolean metaEqual = nullSafeEquals(this.meta, that.meta);
+		boolean fetchPathsEqual = this.fetchPaths.equals(that.fetchPaths);
 
-		return criteriaEqual && fieldsEqual && sortEqual && hintEqual && skipEqual && limitEqual && metaEqual;
+		return criteriaEqual && fieldsEqual && sortEqual && hintEqual && skipEqual && limitEqual && metaEqual
+				&& fetchPathsEqual;
 	}
 
 	/* 
@@ -421,6 +464,7 @@ public class Query {
 		result += 31 * skip;
 		result += 31 * limit;
 		result += 31 * nullSafeHashCode(meta);
+		result += 31 * fetchPaths.hashCode();
 
 		return result;
 	}
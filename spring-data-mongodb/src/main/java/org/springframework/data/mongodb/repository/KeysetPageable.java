@@ -0,0 +1,276 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository;
+
+import java.nio.charset.Charset;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.springframework.data.domain.AbstractPageRequest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.util.JSON;
+
+/**
+ * {@link Pageable} to be handed to {@link Slice} or {@link org.springframework.data.domain.Page} returning repository
+ * query methods to page through the results via a keyset (seek) instead of skipping the elements of previous pages.
+ * The keyset consists of the values of the sort properties and the identifier of the last element of the previous
+ * page and is turned into a range predicate on those properties, so that every page costs the same no matter how deep
+ * it is.
+ * <p>
+ * Start with {@link #KeysetPageable(int, Sort)} and obtain the {@link Pageable} for the next page via
+ * {@link Slice#nextPageable()}. The keyset can be handed to clients via {@link #toContinuationToken()} and restored
+ * via {@link #fromContinuationToken(String, int, Sort)}. {@link #next()} and {@link #previous()} fall back to offset
+ * based {@link PageRequest}s. The sort properties should not be {@literal null} for any of the documents paged
+ * through. As the elements of previous pages are not skipped, the limit of query methods like {@code findTop10By…}
+ * caps the size of each page rather than the number of elements paged through.
+ *
+ * @since 1.10
+ */
+public class KeysetPageable extends AbstractPageRequest {
+
+	private static final long serialVersionUID = -4541509938956089562L;
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+	private static final String PAGE_KEY = "page";
+	private static final String KEYSET_KEY = "keyset";
+
+	private final Sort sort;
+	private final Map<String, Object> keyset;
+
+	/**
+	 * Creates a new {@link KeysetPageable} for the first page of the given size using the given {@link Sort}.
+	 *
+	 * @param size the size of the page to be returned.
+	 * @param sort can be {@literal null}.
+	 */
+	public KeysetPageable(int size, Sort sort) {
+		this(0, size, sort, Collections.<String, Object> emptyMap());
+	}
+
+	/**
+	 * Creates a new {@link KeysetPageable} for the page following the element with the given keyset.
+	 *
+	 * @param page zero-based page index, only used to calculate page metadata.
+	 * @param size the size of the page to be returned.
+	 * @param sort can be {@literal null}.
+	 * @param keyset the values of the sort properties and the identifier keyed by property path, must not be
+	 *          {@literal null}.
+	 */
+	public KeysetPageable(int page, int size, Sort sort, Map<String, Object> keyset) {
+
+		super(page, size);
+
+		Assert.notNull(keyset, "Keyset must not be null!");
+
+		this.sort = sort;
+		this.keyset = Collections.unmodifiableMap(new LinkedHashMap<String, Object>(keyset));
+	}
+
+	/**
+	 * Restores the {@link KeysetPageable} from a token obtained via {@link #toContinuationToken()}.
+	 *
+	 * @param token must not be {@literal null} or empty.
+	 * @param size the size of the page to be returned.
+	 * @param sort must be the {@link Sort} the token was created with, can be {@literal null}.
+	 * @return
+	 * @throws IllegalArgumentException in case the token is invalid.
+	 */
+	public static KeysetPageable fromContinuationToken(String token, int size, Sort sort) {
+
+		Assert.hasText(token, "Continuation token must not be null or empty!");
+
+		Object parsed;
+
+		try {
+			parsed = JSON.parse(new String(DatatypeConverter.parseBase64Binary(token), UTF8));
+		} catch (RuntimeException o_O) {
+			throw new IllegalArgumentException(String.format("Invalid continuation token %s!", token), o_O);
+		}
+
+		if (!(parsed instanceof DBObject) || !(((DBObject) parsed).get(KEYSET_KEY) instanceof DBObject)) {
+			throw new IllegalArgumentException(String.format("Invalid continuation token %s!", token));
+		}
+
+		DBObject source = (DBObject) parsed;
+		Object page = source.get(PAGE_KEY);
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+
+		DBObject keysetSource = (DBObject) source.get(KEYSET_KEY);
+
+		for (String key : keysetSource.keySet()) {
+
+			Object value = keysetSource.get(key);
+
+			if (containsOperator(value)) {
+				throw new IllegalArgumentException(
+						String.format("Invalid continuation token %s! Keyset values must not contain operators.", token));
+			}
+
+			keyset.put(key, value);
+		}
+
+		return new KeysetPageable(page instanceof Number ? ((Number) page).intValue() : 0, size, sort, keyset);
+	}
+
+	/**
+	 * Returns whether the given value parsed from a continuation token is or contains a document with {@code $}-prefixed
+	 * keys. Extended JSON types like {@code $oid} or {@code $date} have already been turned into their Java types by
+	 * the parser, so any remaining such key is a query operator that must not end up in the range predicate.
+	 *
+	 * @param value can be {@literal null}.
+	 * @return
+	 */
+	private static boolean containsOperator(Object value) {
+
+		if (!(value instanceof DBObject)) {
+			return false;
+		}
+
+		DBObject dbObject = (DBObject) value;
+
+		for (String key : dbObject.keySet()) {
+			if (key.startsWith("$") || containsOperator(dbObject.get(key))) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * Returns the values of the sort properties and the identifier of the last element of the previous page keyed by
+	 * property path.
+	 *
+	 * @return never {@literal null}, empty for the first page.
+	 */
+	public Map<String, Object> getKeyset() {
+		return keyset;
+	}
+
+	/**
+	 * Returns whether the {@link KeysetPageable} points to the first page, i.e. does not contain a keyset.
+	 *
+	 * @return
+	 */
+	public boolean isFirstPage() {
+		return keyset.isEmpty();
+	}
+
+	/**
+	 * Returns an opaque token representing the page number and keyset that can be handed to clients and turned back
+	 * into a {@link KeysetPageable} via {@link #fromContinuationToken(String, int, Sort)}.
+	 *
+	 * @return never {@literal null}.
+	 */
+	public String toContinuationToken() {
+
+		DBObject token = new BasicDBObject(PAGE_KEY, getPageNumber()).append(KEYSET_KEY, new BasicDBObject(keyset));
+		return DatatypeConverter.printBase64Binary(JSON.serialize(token).getBytes(UTF8));
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#getSort()
+	 */
+	@Override
+	public Sort getSort() {
+		return sort;
+	}
+
+	/**
+	 * Returns an offset based {@link PageRequest} for the next page as the keyset of the next page depends on the last
+	 * element of the current one. Prefer {@link Slice#nextPageable()} to keep paging via the keyset.
+	 *
+	 * @return
+	 */
+	@Override
+	public Pageable next() {
+		return new PageRequest(getPageNumber() + 1, getPageSize(), sort);
+	}
+
+	/**
+	 * Returns an offset based {@link PageRequest} for the previous page or the current {@link KeysetPageable} in case it
+	 * points to the first page, as keyset pagination can only move forward.
+	 *
+	 * @return
+	 */
+	@Override
+	public Pageable previous() {
+		return getPageNumber() == 0 ? this : new PageRequest(getPageNumber() - 1, getPageSize(), sort);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.Pageable#first()
+	 */
+	@Override
+	public Pageable first() {
+		return new KeysetPageable(getPageSize(), sort);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see org.springframework.data.domain.AbstractPageRequest#hashCode()
+	 */
+	@Override
+	public int hashCode() {
+
+		int result = super.hashCode();
+		result = 31 * result + ObjectUtils.nullSafeHashCode(sort);
+		result = 31 * result + keyset.hashCode();
+		return result;
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#equals(java.lang.Object)
+	 */
+	@Override
+	public boolean equals(Object obj) {
+
+		if (this == obj) {
+			return true;
+		}
+
+		if (!(obj instanceof KeysetPageable)) {
+			return false;
+		}
+
+		KeysetPageable that = (KeysetPageable) obj;
+
+		return super.equals(that) && ObjectUtils.nullSafeEquals(this.sort, that.sort) && this.keyset.equals(that.keyset);
+	}
+
+	/*
+	 * (non-Javadoc)
+	 * @see java.lang.Object#toString()
+	 */
+	@Override
+	public String toString() {
+		return String.format("Keyset page request [number: %d, size %d, sort: %s, keyset: %s]", getPageNumber(),
+				getPageSize(), sort, keyset);
+	}
+}
@@ -47,6 +47,8 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 	private final MongoOperations operations;
 	private final EntityInstantiators instantiators;
 
+	private PageFactory pageFactory = PageFactory.EAGER;
+
 	/**
 	 * Creates a new {@link AbstractMongoQuery} from the given {@link MongoQueryMethod} and {@link MongoOperations}.
 	 * 
@@ -63,6 +65,19 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 		this.instantiators = new EntityInstantiators();
 	}
 
+	/**
+	 * Configures the {@link PageFactory} to create the {@link org.springframework.data.domain.Page}s returned by
+	 * pagination queries. Defaults to {@link PageFactory#EAGER}.
+	 * 
+	 * @param pageFactory must not be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setPageFactory(PageFactory pageFactory) {
+
+		Assert.notNull(pageFactory, "PageFactory must not be null!");
+		this.pageFactory = pageFactory;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.query.RepositoryQuery#getQueryMethod()
@@ -114,7 +129,7 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 		if (isDeleteQuery()) {
 			return new DeleteExecution(operations, method);
 		} else if (method.isGeoNearQuery() && method.isPageQuery()) {
-			return new PagingGeoNearExecution(operations, accessor, method.getReturnType(), this);
+			return new PagingGeoNearExecution(operations, accessor, method.getReturnType(), this, pageFactory);
 		} else if (method.isGeoNearQuery()) {
 			return new GeoNearExecution(operations, accessor, method.getReturnType());
 		} else if (method.isSliceQuery()) {
@@ -122,7 +137,7 @@ public abstract class AbstractMongoQuery implements RepositoryQuery {
 		} else if (method.isCollectionQuery()) {
 			return new CollectionExecution(operations, accessor.getPageable());
 		} else if (method.isPageQuery()) {
-			return new PagedExecution(operations, accessor.getPageable());
+			return new PagedExecution(operations, accessor.getPageable(), pageFactory);
 		} else {
 			return new SingleEntityExecution(operations, isCountQuery());
 		}
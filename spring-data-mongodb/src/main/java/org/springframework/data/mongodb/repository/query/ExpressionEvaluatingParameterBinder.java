@@ -16,7 +16,10 @@
 package org.springframework.data.mongodb.repository.query;
 
 import java.util.Collections;
+import java.util.Date;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import javax.xml.bind.DatatypeConverter;
 
@@ -45,6 +48,7 @@ class ExpressionEvaluatingParameterBinder {
 
 	private final SpelExpressionParser expressionParser;
 	private final EvaluationContextProvider evaluationContextProvider;
+	private final Map<String, Expression> expressionCache = new ConcurrentHashMap<String, Expression>();
 
 	/**
 	 * Creates new {@link ExpressionEvaluatingParameterBinder}
@@ -80,6 +84,41 @@ class ExpressionEvaluatingParameterBinder {
 		return replacePlaceholders(raw, accessor, bindingContext);
 	}
 
+	/**
+	 * Returns the value to be used for the given {@link ParameterBinding} occupying a complete value position of a
+	 * parsed query document. The value is equivalent to the one obtained by binding the parameter textually via
+	 * {@link #bind(String, MongoParameterAccessor, BindingContext)} and parsing the result, but avoids serializing and
+	 * re-parsing values of simple types.
+	 * 
+	 * @param accessor must not be {@literal null}.
+	 * @param parameters must not be {@literal null}.
+	 * @param binding must not be {@literal null}.
+	 * @return
+	 * @since 1.10
+	 */
+	public Object bindValue(MongoParameterAccessor accessor, MongoParameters parameters, ParameterBinding binding) {
+
+		Object value = getParameterValue(accessor, parameters, binding);
+
+		if (binding.isExpression() || binding.isQuoted()) {
+
+			// mimic the textual replacement of a quoted insertion point, which only unquotes object literals
+			String valueForBinding = serializeValueForBinding(value, binding);
+			return valueForBinding.startsWith("{") ? JSON.parse(valueForBinding) : valueForBinding;
+		}
+
+		if (value == null || value instanceof String || value instanceof Integer || value instanceof Double
+				|| value instanceof Boolean) {
+			return value;
+		}
+
+		if (value instanceof Date) {
+			return new Date(((Date) value).getTime());
+		}
+
+		return JSON.parse(serializeValueForBinding(value, binding));
+	}
+
 	/**
 	 * Replaced the parameter placeholders with the actual parameter values from the given {@link ParameterBinding}s.
 	 * 
@@ -142,10 +181,33 @@ class ExpressionEvaluatingParameterBinder {
 	 */
 	private String getParameterValueForBinding(MongoParameterAccessor accessor, MongoParameters parameters,
 			ParameterBinding binding) {
+		return serializeValueForBinding(getParameterValue(accessor, parameters, binding), binding);
+	}
 
-		Object value = binding.isExpression()
-				? evaluateExpression(binding.getExpression(), parameters, accessor.getValues())
+	/**
+	 * Returns the raw value for the given {@link ParameterBinding}, i.e. the result of the expression or the bindable
+	 * value of the referenced parameter.
+	 * 
+	 * @param accessor must not be {@literal null}.
+	 * @param parameters
+	 * @param binding must not be {@literal null}.
+	 * @return
+	 */
+	private Object getParameterValue(MongoParameterAccessor accessor, MongoParameters parameters,
+			ParameterBinding binding) {
+
+		return binding.isExpression() ? evaluateExpression(binding.getExpression(), parameters, accessor.getValues())
 				: accessor.getBindableValue(binding.getParameterIndex());
+	}
+
+	/**
+	 * Returns the serialized form of the given value to be inserted for the given {@link ParameterBinding}.
+	 * 
+	 * @param value can be {@literal null}.
+	 * @param binding must not be {@literal null}.
+	 * @return
+	 */
+	private static String serializeValueForBinding(Object value, ParameterBinding binding) {
 
 		if (value instanceof String && binding.isQuoted()) {
 			return (String) value;
@@ -176,7 +238,12 @@ class ExpressionEvaluatingParameterBinder {
 	private Object evaluateExpression(String expressionString, MongoParameters parameters, Object[] parameterValues) {
 
 		EvaluationContext evaluationContext = evaluationContextProvider.getEvaluationContext(parameters, parameterValues);
-		Expression expression = expressionParser.parseExpression(expressionString);
+		Expression expression = expressionCache.get(expressionString);
+
+		if (expression == null) {
+			expression = expressionParser.parseExpression(expressionString);
+			expressionCache.put(expressionString, expression);
+		}
 
 		return expression.getValue(evaluationContext, Object.class);
 	}
@@ -0,0 +1,559 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.SliceImpl;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.convert.QueryMapper;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.KeysetPageable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+import org.springframework.util.StringUtils;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Applies a {@link KeysetPageable} to a {@link Query}. The query is sorted by the requested {@link Sort} and the
+ * identifier as tie breaker and restricted to the elements following the keyset of the previous page via a range
+ * predicate instead of skipping the elements of all previous pages. The keyset for the following page is extracted
+ * from the last element of the current one.
+ *
+ * @since 1.10
+ */
+class KeysetPagination {
+
+	private final MongoOperations operations;
+	private final KeysetPageable pageable;
+
+	/**
+	 * Creates a new {@link KeysetPagination} for the given {@link MongoOperations} and {@link KeysetPageable}.
+	 *
+	 * @param operations must not be {@literal null}.
+	 * @param pageable must not be {@literal null}.
+	 */
+	KeysetPagination(MongoOperations operations, KeysetPageable pageable) {
+
+		Assert.notNull(operations, "MongoOperations must not be null!");
+		Assert.notNull(pageable, "KeysetPageable must not be null!");
+
+		this.operations = operations;
+		this.pageable = pageable;
+	}
+
+	/**
+	 * Applies the sort including the identifier as tie breaker, the range predicate for the keyset and the given limit
+	 * to the given {@link Query}. For pages following the first one, a new {@link Query} combining the criteria of the
+	 * given one and the range predicate via {@code $and} is returned, so that neither criteria without a key nor a
+	 * top-level {@code $and} of the given {@link Query} get in the way.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param type the type queried, must not be {@literal null}.
+	 * @param limit the maximum number of elements to read.
+	 * @return the {@link Query} to read the page with.
+	 */
+	Query apply(Query query, Class<?> type, int limit) {
+
+		query.with(pageable.getSort());
+
+		MongoPersistentEntity<?> entity = getEntity(type);
+		String idPath = entity.getIdProperty().getName();
+		List<Order> orders = getOrders(query);
+
+		if (!containsIdentifier(orders, entity)) {
+			query.with(new Sort(Direction.ASC, idPath));
+			orders.add(new Order(idPath, true));
+		}
+
+		Query result = pageable.isFirstPage() ? query : withRangeCriteria(query, createRangeCriteria(orders));
+
+		return result.skip(0).limit(limit);
+	}
+
+	/**
+	 * Creates a copy of the given {@link Query} selecting the documents matching both its query object and the given
+	 * range {@link Criteria}. The type restrictions of the given {@link Query} are kept on the top level.
+	 *
+	 * @param query must not be {@literal null}.
+	 * @param range must not be {@literal null}.
+	 * @return
+	 */
+	private static Query withRangeCriteria(Query query, Criteria range) {
+
+		DBObject queryObject = query.getQueryObject();
+		DBObject criteria = new BasicDBObject();
+		DBObject combined = new BasicDBObject();
+
+		for (String key : queryObject.keySet()) {
+
+			if (Query.isRestrictedTypeKey(key)) {
+				combined.put(key, queryObject.get(key));
+			} else {
+				criteria.put(key, queryObject.get(key));
+			}
+		}
+
+		List<DBObject> predicates = new ArrayList<DBObject>(2);
+
+		if (!criteria.keySet().isEmpty()) {
+			predicates.add(criteria);
+		}
+
+		predicates.add(range.getCriteriaObject());
+		combined.put("$and", predicates);
+
+		BasicQuery result = new BasicQuery(combined, query.getFieldsObject());
+		result.setSortObject(query.getSortObject());
+		result.setMeta(query.getMeta());
+		result.fetch(query.getFetchPaths().toArray(new String[0]));
+
+		if (StringUtils.hasText(query.getHint())) {
+			result.withHint(query.getHint());
+		}
+
+		return result;
+	}
+
+	/**
+	 * Returns a {@link SliceImpl} for the given elements read with a limit of one element more than the page size.
+	 *
+	 * @param result must not be {@literal null}.
+	 * @param query the {@link Query} the elements were read with, must not be {@literal null}.
+	 * @return
+	 */
+	SliceImpl<Object> toSlice(List<?> result, Query query) {
+
+		int pageSize = pageable.getPageSize();
+		boolean hasNext = result.size() > pageSize;
+		List<?> content = hasNext ? result.subList(0, pageSize) : result;
+
+		return new KeysetSlice(content, pageable, hasNext, hasNext ? nextPageable(content, query) : null);
+	}
+
+	/**
+	 * Returns a {@link Page} exposing the keyset of the last element of the given {@link Page} as
+	 * {@link Page#nextPageable()}.
+	 *
+	 * @param page the {@link Page} created for the elements read, must not be {@literal null}.
+	 * @param query the {@link Query} the elements were read with, must not be {@literal null}.
+	 * @return
+	 */
+	@SuppressWarnings("unchecked")
+	Page<Object> toPage(Page<?> page, Query query) {
+
+		List<?> content = page.getContent();
+		KeysetPageable next = page.hasNext() && !content.isEmpty() ? nextPageable(content, query) : null;
+
+		return new KeysetPage<Object>((Page<Object>) page, next);
+	}
+
+	private KeysetPageable nextPageable(List<?> content, Query query) {
+
+		Object last = content.get(content.size() - 1);
+		MongoConverter converter = operations.getConverter();
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+
+		for (Order order : getOrders(query)) {
+			keyset.put(order.path, converter.convertToMongoType(getValue(last, order.path)));
+		}
+
+		return new KeysetPageable(pageable.getPageNumber() + 1, pageable.getPageSize(), pageable.getSort(), keyset);
+	}
+
+	/**
+	 * Creates the {@link Criteria} selecting the elements following the keyset in the given sort order, i.e. for
+	 * {@code a ASC, b DESC} something like {@code a > :a OR (a = :a AND b < :b)}.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @return
+	 */
+	private Criteria createRangeCriteria(List<Order> orders) {
+
+		Map<String, Object> keyset = pageable.getKeyset();
+		List<Criteria> alternatives = new ArrayList<Criteria>(orders.size());
+
+		for (int i = 0; i < orders.size(); i++) {
+
+			Criteria criteria = null;
+
+			for (int j = 0; j < i; j++) {
+				String path = orders.get(j).path;
+				criteria = criteria == null ? Criteria.where(path) : criteria.and(path);
+				criteria.is(getKeysetValue(keyset, path));
+			}
+
+			Order order = orders.get(i);
+			criteria = criteria == null ? Criteria.where(order.path) : criteria.and(order.path);
+			Object value = getKeysetValue(keyset, order.path);
+
+			alternatives.add(order.ascending ? criteria.gt(value) : criteria.lt(value));
+		}
+
+		return new Criteria().orOperator(alternatives.toArray(new Criteria[alternatives.size()]));
+	}
+
+	private static Object getKeysetValue(Map<String, Object> keyset, String path) {
+
+		if (!keyset.containsKey(path)) {
+			throw new IllegalArgumentException(
+					String.format("Keyset %s does not contain a value for sort property %s!", keyset, path));
+		}
+
+		return keyset.get(path);
+	}
+
+	private Object getValue(Object source, String path) {
+
+		MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context = operations.getConverter()
+				.getMappingContext();
+		Object current = source;
+
+		for (String segment : StringUtils.delimitedListToStringArray(path, ".")) {
+
+			if (current == null) {
+				return null;
+			}
+
+			MongoPersistentEntity<?> entity = context.getPersistentEntity(current.getClass());
+			MongoPersistentProperty property = entity == null ? null : entity.getPersistentProperty(segment);
+
+			if (property == null && entity != null && "_id".equals(segment)) {
+				property = entity.getIdProperty();
+			}
+
+			if (property == null) {
+				throw new IllegalStateException(String.format("Cannot read keyset property %s from %s!", path, source));
+			}
+
+			current = entity.getPropertyAccessor(current).getProperty(property);
+		}
+
+		return current;
+	}
+
+	private MongoPersistentEntity<?> getEntity(Class<?> type) {
+
+		MongoPersistentEntity<?> entity = operations.getConverter().getMappingContext().getPersistentEntity(type);
+
+		if (entity == null || !entity.hasIdProperty()) {
+			throw new IllegalStateException(
+					String.format("Keyset pagination requires %s to be an entity with an identifier!", type));
+		}
+
+		return entity;
+	}
+
+	private static List<Order> getOrders(Query query) {
+
+		DBObject sortObject = query.getSortObject();
+		List<Order> orders = new ArrayList<Order>();
+
+		if (sortObject == null) {
+			return orders;
+		}
+
+		for (Entry<String, Object> entry : sortObject.toMap().entrySet()) {
+
+			Object direction = entry.getValue();
+			orders.add(new Order(entry.getKey(), !(direction instanceof Number) || ((Number) direction).intValue() >= 0));
+		}
+
+		return orders;
+	}
+
+	/**
+	 * Returns whether any of the given {@link Order}s refers to the identifier of the given entity, comparing the mapped
+	 * field names so that both the identifier property and its field name are detected but nested properties are not.
+	 *
+	 * @param orders must not be {@literal null}.
+	 * @param entity must not be {@literal null}.
+	 * @return
+	 */
+	private boolean containsIdentifier(List<Order> orders, MongoPersistentEntity<?> entity) {
+
+		QueryMapper mapper = new QueryMapper(operations.getConverter());
+		String idFieldName = entity.getIdProperty().getFieldName();
+
+		for (Order order : orders) {
+			if (mapper.getMappedSort(new BasicDBObject(order.path, 1), entity).containsField(idFieldName)) {
+				return true;
+			}
+		}
+
+		return false;
+	}
+
+	/**
+	 * A sort property along with its direction.
+	 */
+	private static class Order {
+
+		private final String path;
+		private final boolean ascending;
+
+		Order(String path, boolean ascending) {
+
+			this.path = path;
+			this.ascending = ascending;
+		}
+	}
+
+	/**
+	 * {@link SliceImpl} pointing to the {@link KeysetPageable} for the next slice.
+	 */
+	private static class KeysetSlice extends SliceImpl<Object> {
+
+		private static final long serialVersionUID = -1853419556838127556L;
+
+		private final KeysetPageable next;
+
+		@SuppressWarnings("unchecked")
+		KeysetSlice(List<?> content, KeysetPageable pageable, boolean hasNext, KeysetPageable next) {
+
+			super((List<Object>) content, pageable, hasNext);
+			this.next = next;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#nextPageable()
+		 */
+		@Override
+		public Pageable nextPageable() {
+			return next;
+		}
+	}
+
+	/**
+	 * {@link Page} pointing to the {@link KeysetPageable} for the next page, delegating to the {@link Page} created for
+	 * the configured {@link PageCountMode} otherwise.
+	 */
+	private static class KeysetPage<T> implements Page<T>, Serializable {
+
+		private static final long serialVersionUID = 2978207407564718254L;
+
+		private final Page<T> delegate;
+		private final KeysetPageable next;
+
+		KeysetPage(Page<T> delegate, KeysetPageable next) {
+
+			this.delegate = delegate;
+			this.next = next;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#getTotalPages()
+		 */
+		@Override
+		public int getTotalPages() {
+			return delegate.getTotalPages();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#getTotalElements()
+		 */
+		@Override
+		public long getTotalElements() {
+			return delegate.getTotalElements();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#getNumber()
+		 */
+		@Override
+		public int getNumber() {
+			return delegate.getNumber();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#getSize()
+		 */
+		@Override
+		public int getSize() {
+			return delegate.getSize();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#getNumberOfElements()
+		 */
+		@Override
+		public int getNumberOfElements() {
+			return delegate.getNumberOfElements();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#getContent()
+		 */
+		@Override
+		public List<T> getContent() {
+			return delegate.getContent();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#hasContent()
+		 */
+		@Override
+		public boolean hasContent() {
+			return delegate.hasContent();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#getSort()
+		 */
+		@Override
+		public Sort getSort() {
+			return delegate.getSort();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#isFirst()
+		 */
+		@Override
+		public boolean isFirst() {
+			return delegate.isFirst();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#isLast()
+		 */
+		@Override
+		public boolean isLast() {
+			return delegate.isLast();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			return delegate.hasNext();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#hasPrevious()
+		 */
+		@Override
+		public boolean hasPrevious() {
+			return delegate.hasPrevious();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#nextPageable()
+		 */
+		@Override
+		public Pageable nextPageable() {
+			return next;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#previousPageable()
+		 */
+		@Override
+		public Pageable previousPageable() {
+			return delegate.previousPageable();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#map(org.springframework.core.convert.converter.Converter)
+		 */
+		@Override
+		public <S> Page<S> map(Converter<? super T, ? extends S> converter) {
+			return new KeysetPage<S>(delegate.<S> map(converter), next);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Iterable#iterator()
+		 */
+		@Override
+		public Iterator<T> iterator() {
+			return delegate.iterator();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof KeysetPage)) {
+				return false;
+			}
+
+			KeysetPage<?> that = (KeysetPage<?>) obj;
+
+			return this.delegate.equals(that.delegate) && ObjectUtils.nullSafeEquals(this.next, that.next);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+			return 31 * delegate.hashCode() + ObjectUtils.nullSafeHashCode(next);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return delegate.toString();
+		}
+	}
+}
@@ -18,25 +18,28 @@ package org.springframework.data.mongodb.repository.query;
 import lombok.NonNull;
 import lombok.RequiredArgsConstructor;
 
-import java.util.Collections;
 import java.util.List;
 import java.util.function.Function;
 
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.data.convert.EntityInstantiators;
-import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Range;
 import org.springframework.data.domain.Slice;
 import org.springframework.data.domain.SliceImpl;
 import org.springframework.data.geo.Distance;
-import org.springframework.data.geo.GeoPage;
 import org.springframework.data.geo.GeoResult;
 import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.KeysetPageable;
+import org.springframework.data.mongodb.repository.query.PageFactory.ContentCallback;
+import org.springframework.data.mongodb.repository.query.PageFactory.CountCallback;
+import org.springframework.data.mongodb.repository.query.PageFactory.GeoContentCallback;
 import org.springframework.data.repository.query.ResultProcessor;
 import org.springframework.data.repository.query.ReturnedType;
 import org.springframework.data.util.CloseableIterator;
@@ -67,6 +70,12 @@ interface MongoQueryExecution {
 		 */
 		@Override
 		public Object execute(Query query, Class<?> type, String collection) {
+
+			if (pageable instanceof KeysetPageable) {
+				KeysetPagination pagination = new KeysetPagination(operations, (KeysetPageable) pageable);
+				return operations.find(pagination.apply(query, type, pageable.getPageSize()), type, collection);
+			}
+
 			return operations.find(query.with(pageable), type, collection);
 		}
 	}
@@ -94,6 +103,14 @@ interface MongoQueryExecution {
 
 			int pageSize = pageable.getPageSize();
 
+			if (pageable instanceof KeysetPageable) {
+
+				KeysetPagination pagination = new KeysetPagination(operations, (KeysetPageable) pageable);
+				Query keysetQuery = pagination.apply(query, type, pageSize + 1);
+
+				return pagination.toSlice(operations.find(keysetQuery, type, collection), keysetQuery);
+			}
+
 			// Apply Pageable but tweak limit to peek into next page
 			Query modifiedQuery = query.with(pageable).limit(pageSize + 1);
 			List result = operations.find(modifiedQuery, type, collection);
@@ -114,35 +131,103 @@ interface MongoQueryExecution {
 
 		private final @NonNull MongoOperations operations;
 		private final @NonNull Pageable pageable;
+		private final @NonNull PageFactory pageFactory;
 
 		/*
 		 * (non-Javadoc)
 		 * @see org.springframework.data.mongodb.repository.query.AbstractMongoQuery.Execution#execute(org.springframework.data.mongodb.core.query.Query, java.lang.Class, java.lang.String)
 		 */
 		@Override
-		@SuppressWarnings({ "rawtypes", "unchecked" })
-		public Object execute(Query query, Class<?> type, String collection) {
-
-			int overallLimit = query.getLimit();
-			long count = operations.count(query, type, collection);
-			count = overallLimit != 0 ? Math.min(count, query.getLimit()) : count;
+		public Object execute(final Query query, final Class<?> type, final String collection) {
 
-			boolean pageableOutOfScope = pageable.getOffset() > count;
+			final int overallLimit = query.getLimit();
 
-			if (pageableOutOfScope) {
-				return new PageImpl<Object>(Collections.emptyList(), pageable, count);
+			if (pageable instanceof KeysetPageable) {
+				return getKeysetPage(query, type, collection, overallLimit);
 			}
 
-			// Apply raw pagination
-			query = query.with(pageable);
+			// The count might run concurrently to or after reading the content which modifies the query
+			final Query countQuery = pageFactory.getMode() == PageCountMode.EAGER ? query : copyForCount(query);
 
-			// Adjust limit if page would exceed the overall limit
-			if (overallLimit != 0 && pageable.getOffset() + pageable.getPageSize() > overallLimit) {
-				query.limit(overallLimit - pageable.getOffset());
-			}
+			return pageFactory.getPage(pageable, new ContentCallback<Object>() {
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public List<Object> doFind(int limit) {
+
+					// Apply raw pagination
+					query.with(pageable).limit(limit);
+
+					// Adjust limit if page would exceed the overall limit
+					if (overallLimit != 0 && pageable.getOffset() + limit > overallLimit) {
+						query.limit(Math.max(overallLimit - pageable.getOffset(), 0));
+					}
 
-			List<?> result = operations.find(query, type, collection);
-			return new PageImpl(result, pageable, count);
+					return (List<Object>) operations.find(query, type, collection);
+				}
+
+			}, new CountCallback() {
+
+				@Override
+				public long doCount() {
+					return count(countQuery, type, collection, overallLimit);
+				}
+			});
+		}
+
+		/**
+		 * Reads the page for a {@link KeysetPageable}. The offset derived from the page number of the
+		 * {@link KeysetPageable} is not used to read the page, so the overall limit of the query caps the size of each
+		 * page and the total count only.
+		 *
+		 * @param query must not be {@literal null}.
+		 * @param type must not be {@literal null}.
+		 * @param collection must not be {@literal null}.
+		 * @param overallLimit the limit of the query, {@literal 0} for none.
+		 * @return
+		 */
+		private Page<Object> getKeysetPage(final Query query, final Class<?> type, final String collection,
+				final int overallLimit) {
+
+			final KeysetPagination pagination = new KeysetPagination(operations, (KeysetPageable) pageable);
+			final Query countQuery = copyForCount(query);
+
+			Page<Object> page = pageFactory.getPage(pageable, new ContentCallback<Object>() {
+
+				@Override
+				@SuppressWarnings("unchecked")
+				public List<Object> doFind(int limit) {
+
+					int keysetLimit = overallLimit != 0 ? Math.min(limit, overallLimit) : limit;
+					Query keysetQuery = pagination.apply(query, type, keysetLimit);
+
+					return (List<Object>) operations.find(keysetQuery, type, collection);
+				}
+
+			}, new CountCallback() {
+
+				@Override
+				public long doCount() {
+					return count(countQuery, type, collection, overallLimit);
+				}
+			});
+
+			// KeysetPagination.apply(…) applied the sort the keyset of the last element is extracted for to the query
+			return pagination.toPage(page, query);
+		}
+
+		private long count(Query query, Class<?> type, String collection, int overallLimit) {
+
+			long count = operations.count(query, type, collection);
+			return overallLimit != 0 ? Math.min(count, overallLimit) : count;
+		}
+
+		private static Query copyForCount(Query query) {
+
+			Query copy = new BasicQuery(query.getQueryObject());
+			copy.setMeta(query.getMeta());
+
+			return copy;
 		}
 	}
 
@@ -190,9 +275,26 @@ interface MongoQueryExecution {
 			return isListOfGeoResult() ? results.getContent() : results;
 		}
 
-		@SuppressWarnings("unchecked")
 		protected GeoResults<Object> doExecuteQuery(Query query, Class<?> type, String collection) {
 
+			Pageable pageable = accessor.getPageable();
+			return doExecuteQuery(query, type, collection, pageable == null ? null : pageable.getPageSize());
+		}
+
+		/**
+		 * Executes the geo-near query for the given {@link Query} returning at most the given number of elements of the
+		 * current page.
+		 * 
+		 * @param query can be {@literal null}.
+		 * @param type must not be {@literal null}.
+		 * @param collection must not be {@literal null}.
+		 * @param limit the maximum number of elements to return, {@literal null} to not limit the elements for unpaged
+		 *          queries.
+		 * @return
+		 */
+		@SuppressWarnings("unchecked")
+		protected GeoResults<Object> doExecuteQuery(Query query, Class<?> type, String collection, Integer limit) {
+
 			Point nearLocation = accessor.getGeoNearLocation();
 			NearQuery nearQuery = NearQuery.near(nearLocation);
 
@@ -216,7 +318,7 @@ interface MongoQueryExecution {
 			Pageable pageable = accessor.getPageable();
 
 			if (pageable != null) {
-				nearQuery.with(pageable);
+				nearQuery.with(pageable).num(pageable.getOffset() + limit);
 			}
 
 			return (GeoResults<Object>) operations.geoNear(nearQuery, type, collection);
@@ -238,15 +340,17 @@ interface MongoQueryExecution {
 		private final MongoOperations operations;
 		private final MongoParameterAccessor accessor;
 		private final AbstractMongoQuery mongoQuery;
+		private final PageFactory pageFactory;
 
 		public PagingGeoNearExecution(MongoOperations operations, MongoParameterAccessor accessor,
-				TypeInformation<?> returnType, AbstractMongoQuery query) {
+				TypeInformation<?> returnType, AbstractMongoQuery query, PageFactory pageFactory) {
 
 			super(operations, accessor, returnType);
 
 			this.accessor = accessor;
 			this.operations = operations;
 			this.mongoQuery = query;
+			this.pageFactory = pageFactory;
 		}
 
 		/**
@@ -257,14 +361,28 @@ interface MongoQueryExecution {
 		 * @return
 		 */
 		@Override
-		public Object execute(Query query, Class<?> type, String collection) {
+		public Object execute(final Query query, final Class<?> type, final String collection) {
 
-			ConvertingParameterAccessor parameterAccessor = new ConvertingParameterAccessor(operations.getConverter(),
+			final ConvertingParameterAccessor parameterAccessor = new ConvertingParameterAccessor(operations.getConverter(),
 					accessor);
-			Query countQuery = mongoQuery.applyQueryMetaAttributesWhenPresent(mongoQuery.createCountQuery(parameterAccessor));
-			long count = operations.count(countQuery, collection);
 
-			return new GeoPage<Object>(doExecuteQuery(query, type, collection), accessor.getPageable(), count);
+			return pageFactory.getGeoPage(accessor.getPageable(), new GeoContentCallback<Object>() {
+
+				@Override
+				public GeoResults<Object> doFind(int limit) {
+					return doExecuteQuery(query, type, collection, limit);
+				}
+
+			}, new CountCallback() {
+
+				@Override
+				public long doCount() {
+
+					Query countQuery = mongoQuery
+							.applyQueryMetaAttributesWhenPresent(mongoQuery.createCountQuery(parameterAccessor));
+					return operations.count(countQuery, collection);
+				}
+			});
 		}
 	}
 
@@ -0,0 +1,43 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import org.springframework.data.domain.Page;
+
+/**
+ * Defines when the total number of elements of a {@link Page} returned by a repository is counted.
+ *
+ * @since 1.10
+ * @see PageFactory
+ */
+public enum PageCountMode {
+
+	/**
+	 * Counts the elements on the calling thread before reading the page content.
+	 */
+	EAGER,
+
+	/**
+	 * Counts the elements on a separate thread while reading the page content on the calling thread.
+	 */
+	CONCURRENT,
+
+	/**
+	 * Counts the elements on first access of {@link Page#getTotalElements()} or {@link Page#getTotalPages()}. Whether
+	 * there is a next page is determined by reading one element more than the page size.
+	 */
+	DEFERRED;
+}
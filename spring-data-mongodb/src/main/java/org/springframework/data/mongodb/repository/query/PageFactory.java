@@ -0,0 +1,558 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Chunk;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.mongodb.UncategorizedMongoDbException;
+import org.springframework.data.mongodb.repository.KeysetPageable;
+import org.springframework.util.Assert;
+import org.springframework.util.ObjectUtils;
+
+/**
+ * Creates {@link Page}s and {@link GeoPage}s from the page content and the total number of elements, counting the
+ * latter according to the configured {@link PageCountMode}.
+ *
+ * @since 1.10
+ */
+public class PageFactory {
+
+	/**
+	 * {@link PageFactory} counting the total number of elements on the calling thread before reading the page content.
+	 */
+	public static final PageFactory EAGER = new PageFactory(PageCountMode.EAGER, null);
+
+	private final PageCountMode mode;
+	private final Executor executor;
+
+	/**
+	 * Creates a new {@link PageFactory} for the given {@link PageCountMode} and {@link Executor}.
+	 *
+	 * @param mode must not be {@literal null}.
+	 * @param executor the {@link Executor} to run the count on, must not be {@literal null} for
+	 *          {@link PageCountMode#CONCURRENT}.
+	 */
+	public PageFactory(PageCountMode mode, Executor executor) {
+
+		Assert.notNull(mode, "PageCountMode must not be null!");
+		Assert.isTrue(mode != PageCountMode.CONCURRENT || executor != null,
+				"An Executor is required to count concurrently!");
+
+		this.mode = mode;
+		this.executor = executor;
+	}
+
+	/**
+	 * Returns the {@link PageCountMode} used.
+	 *
+	 * @return
+	 */
+	public PageCountMode getMode() {
+		return mode;
+	}
+
+	/**
+	 * Creates the {@link Page} for the given {@link Pageable} reading the content and total number of elements via the
+	 * given callbacks.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @param content must not be {@literal null}.
+	 * @param count must not be {@literal null}.
+	 * @return
+	 */
+	public <T> Page<T> getPage(Pageable pageable, ContentCallback<T> content, CountCallback count) {
+
+		Assert.notNull(pageable, "Pageable must not be null!");
+		Assert.notNull(content, "ContentCallback must not be null!");
+		Assert.notNull(count, "CountCallback must not be null!");
+
+		switch (mode) {
+			case CONCURRENT:
+				return getPageCountingConcurrently(pageable, content, count);
+			case DEFERRED:
+				return getPageCountingOnDemand(pageable, content, count);
+			default:
+				return getPageCountingEagerly(pageable, content, count);
+		}
+	}
+
+	private static <T> Page<T> getPageCountingEagerly(Pageable pageable, ContentCallback<T> content,
+			CountCallback count) {
+
+		long total = count.doCount();
+
+		if (hasReliableOffset(pageable) && pageable.getOffset() > total) {
+			return new PageImpl<T>(Collections.<T> emptyList(), pageable, total);
+		}
+
+		return new PageImpl<T>(content.doFind(pageable.getPageSize()), pageable, total);
+	}
+
+	private <T> Page<T> getPageCountingConcurrently(Pageable pageable, ContentCallback<T> content,
+			CountCallback count) {
+
+		FutureTask<Long> total = countConcurrently(count);
+		List<T> result;
+
+		try {
+			result = content.doFind(pageable.getPageSize());
+		} catch (RuntimeException o_O) {
+
+			total.cancel(true);
+			throw o_O;
+		}
+
+		return new PageImpl<T>(result, pageable, await(total));
+	}
+
+	private FutureTask<Long> countConcurrently(final CountCallback count) {
+
+		FutureTask<Long> total = new FutureTask<Long>(new Callable<Long>() {
+
+			@Override
+			public Long call() throws Exception {
+				return count.doCount();
+			}
+		});
+
+		executor.execute(total);
+
+		return total;
+	}
+
+	private static long await(FutureTask<Long> total) {
+
+		try {
+			return total.get();
+		} catch (InterruptedException o_O) {
+
+			total.cancel(true);
+			Thread.currentThread().interrupt();
+
+			throw new UncategorizedMongoDbException("Interrupted while waiting for the total count!", o_O);
+
+		} catch (ExecutionException o_O) {
+
+			Throwable cause = o_O.getCause();
+
+			if (cause instanceof RuntimeException) {
+				throw (RuntimeException) cause;
+			}
+
+			if (cause instanceof Error) {
+				throw (Error) cause;
+			}
+
+			throw new UncategorizedMongoDbException("Failed to count the total number of elements!", cause);
+		}
+	}
+
+	private static <T> Page<T> getPageCountingOnDemand(Pageable pageable, ContentCallback<T> content,
+			CountCallback count) {
+
+		int pageSize = pageable.getPageSize();
+		List<T> result = content.doFind(pageSize + 1);
+		boolean hasNext = result.size() > pageSize;
+
+		List<T> pageContent = hasNext ? result.subList(0, pageSize) : result;
+		boolean totalKnown = !hasNext
+				&& (pageable.getOffset() == 0 || (!pageContent.isEmpty() && hasReliableOffset(pageable)));
+		TotalCount total = totalKnown ? new TotalCount(pageable.getOffset() + pageContent.size())
+				: new TotalCount(count);
+
+		return new DeferredCountPage<T>(pageContent, pageable, hasNext, total);
+	}
+
+	/**
+	 * Returns whether the offset of the given {@link Pageable} is the number of elements preceding the page. That's not
+	 * the case for a {@link KeysetPageable} as it does not skip elements and its page number is handed in by clients.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean hasReliableOffset(Pageable pageable) {
+		return !(pageable instanceof KeysetPageable);
+	}
+
+	/**
+	 * Creates the {@link GeoPage} for the given {@link Pageable} reading the content and total number of elements via
+	 * the given callbacks.
+	 *
+	 * @param pageable must not be {@literal null}.
+	 * @param content must not be {@literal null}.
+	 * @param count must not be {@literal null}.
+	 * @return
+	 */
+	public <T> GeoPage<T> getGeoPage(Pageable pageable, GeoContentCallback<T> content, CountCallback count) {
+
+		Assert.notNull(pageable, "Pageable must not be null!");
+		Assert.notNull(content, "GeoContentCallback must not be null!");
+		Assert.notNull(count, "CountCallback must not be null!");
+
+		switch (mode) {
+			case CONCURRENT:
+				return getGeoPageCountingConcurrently(pageable, content, count);
+			case DEFERRED:
+				return getGeoPageCountingOnDemand(pageable, content, count);
+			default:
+				long total = count.doCount();
+				return new GeoPage<T>(content.doFind(pageable.getPageSize()), pageable, total);
+		}
+	}
+
+	private <T> GeoPage<T> getGeoPageCountingConcurrently(Pageable pageable, GeoContentCallback<T> content,
+			CountCallback count) {
+
+		FutureTask<Long> total = countConcurrently(count);
+		GeoResults<T> results;
+
+		try {
+			results = content.doFind(pageable.getPageSize());
+		} catch (RuntimeException o_O) {
+
+			total.cancel(true);
+			throw o_O;
+		}
+
+		return new GeoPage<T>(results, pageable, await(total));
+	}
+
+	private static <T> GeoPage<T> getGeoPageCountingOnDemand(Pageable pageable, GeoContentCallback<T> content,
+			CountCallback count) {
+
+		int pageSize = pageable.getPageSize();
+		GeoResults<T> results = content.doFind(pageSize + 1);
+		List<GeoResult<T>> elements = results.getContent();
+		boolean hasNext = elements.size() > pageSize;
+
+		GeoResults<T> pageContent = hasNext
+				? new GeoResults<T>(elements.subList(0, pageSize), results.getAverageDistance().getMetric()) : results;
+		TotalCount total = hasNext || (elements.isEmpty() && pageable.getOffset() > 0) ? new TotalCount(count)
+				: new TotalCount(pageable.getOffset() + elements.size());
+
+		return new DeferredCountGeoPage<T>(pageContent, pageable, hasNext, total);
+	}
+
+	/**
+	 * Callback to read the content of a page.
+	 */
+	public interface ContentCallback<T> {
+
+		/**
+		 * Reads the content of the page, returning at most the given number of elements.
+		 *
+		 * @param limit the maximum number of elements to return, might exceed the page size by one to determine whether
+		 *          there is a next page.
+		 * @return must not be {@literal null}.
+		 */
+		List<T> doFind(int limit);
+	}
+
+	/**
+	 * Callback to read the content of a {@link GeoPage}.
+	 */
+	public interface GeoContentCallback<T> {
+
+		/**
+		 * Reads the content of the page, returning at most the given number of elements.
+		 *
+		 * @param limit the maximum number of elements to return, might exceed the page size by one to determine whether
+		 *          there is a next page.
+		 * @return must not be {@literal null}.
+		 */
+		GeoResults<T> doFind(int limit);
+	}
+
+	/**
+	 * Callback to count the total number of elements.
+	 */
+	public interface CountCallback {
+
+		/**
+		 * Counts the total number of elements. Might be invoked on a different thread than the one creating the page.
+		 *
+		 * @return
+		 */
+		long doCount();
+	}
+
+	/**
+	 * The total number of elements of a page, counted at most once on first access unless known upfront. The
+	 * {@link CountCallback} is not serialized: serializing a {@link TotalCount} that has not been counted yet triggers
+	 * the count, so that deserialized pages carry the resolved total.
+	 */
+	private static class TotalCount implements Serializable {
+
+		private static final long serialVersionUID = -3498120357466281372L;
+
+		private transient CountCallback callback;
+		private long total;
+
+		TotalCount(CountCallback callback) {
+			this.callback = callback;
+		}
+
+		TotalCount(long total) {
+			this.total = total;
+		}
+
+		synchronized long get() {
+
+			if (callback != null) {
+				total = callback.doCount();
+				callback = null;
+			}
+
+			return total;
+		}
+
+		private synchronized void writeObject(ObjectOutputStream stream) throws IOException {
+
+			get();
+			stream.defaultWriteObject();
+		}
+	}
+
+	/**
+	 * {@link Page} counting the total number of elements on first access.
+	 */
+	private static class DeferredCountPage<T> extends Chunk<T> implements Page<T> {
+
+		private static final long serialVersionUID = 2624405339539373553L;
+
+		private final Pageable pageable;
+		private final boolean hasNext;
+		private final TotalCount total;
+
+		DeferredCountPage(List<T> content, Pageable pageable, boolean hasNext, TotalCount total) {
+
+			super(content, pageable);
+
+			this.pageable = pageable;
+			this.hasNext = hasNext;
+			this.total = total;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#getTotalPages()
+		 */
+		@Override
+		public int getTotalPages() {
+			return getSize() == 0 ? 1 : (int) Math.ceil((double) getTotalElements() / (double) getSize());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#getTotalElements()
+		 */
+		@Override
+		public long getTotalElements() {
+			return total.get();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Slice#isLast()
+		 */
+		@Override
+		public boolean isLast() {
+			return !hasNext;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Page#map(org.springframework.core.convert.converter.Converter)
+		 */
+		@Override
+		public <S> Page<S> map(Converter<? super T, ? extends S> converter) {
+			return new DeferredCountPage<S>(getConvertedContent(converter), pageable, hasNext, total);
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Chunk#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof DeferredCountPage)) {
+				return false;
+			}
+
+			DeferredCountPage<?> that = (DeferredCountPage<?>) obj;
+
+			return super.equals(that) && this.hasNext == that.hasNext && getTotalElements() == that.getTotalElements();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.Chunk#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = super.hashCode();
+			result = 31 * result + (hasNext ? 1 : 0);
+			result = 31 * result + (int) (getTotalElements() ^ getTotalElements() >>> 32);
+			return result;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see java.lang.Object#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("Page %s with deferred total count", getNumber() + 1);
+		}
+	}
+
+	/**
+	 * {@link GeoPage} counting the total number of elements on first access.
+	 */
+	private static class DeferredCountGeoPage<T> extends GeoPage<T> {
+
+		private static final long serialVersionUID = -6343473337539180425L;
+
+		private final boolean hasNext;
+		private final TotalCount total;
+
+		DeferredCountGeoPage(GeoResults<T> results, Pageable pageable, boolean hasNext, TotalCount total) {
+
+			super(results, pageable, 0);
+
+			this.hasNext = hasNext;
+			this.total = total;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.PageImpl#getTotalPages()
+		 */
+		@Override
+		public int getTotalPages() {
+			return getSize() == 0 ? 1 : (int) Math.ceil((double) getTotalElements() / (double) getSize());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.PageImpl#getTotalElements()
+		 */
+		@Override
+		public long getTotalElements() {
+			return total.get();
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.PageImpl#hasNext()
+		 */
+		@Override
+		public boolean hasNext() {
+			return hasNext;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.PageImpl#isLast()
+		 */
+		@Override
+		public boolean isLast() {
+			return !hasNext;
+		}
+
+		/**
+		 * Compares the resolved total instead of the placeholder handed to the {@link GeoPage} constructor.
+		 *
+		 * @see org.springframework.data.geo.GeoPage#equals(java.lang.Object)
+		 */
+		@Override
+		public boolean equals(Object obj) {
+
+			if (this == obj) {
+				return true;
+			}
+
+			if (!(obj instanceof DeferredCountGeoPage)) {
+				return false;
+			}
+
+			DeferredCountGeoPage<?> that = (DeferredCountGeoPage<?>) obj;
+
+			return this.hasNext == that.hasNext && getTotalElements() == that.getTotalElements()
+					&& getNumber() == that.getNumber() && getSize() == that.getSize()
+					&& ObjectUtils.nullSafeEquals(getSort(), that.getSort()) && getContent().equals(that.getContent())
+					&& ObjectUtils.nullSafeEquals(getAverageDistance(), that.getAverageDistance());
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.geo.GeoPage#hashCode()
+		 */
+		@Override
+		public int hashCode() {
+
+			int result = 17;
+			result = 31 * result + (hasNext ? 1 : 0);
+			result = 31 * result + (int) (getTotalElements() ^ getTotalElements() >>> 32);
+			result = 31 * result + getNumber();
+			result = 31 * result + getSize();
+			result = 31 * result + ObjectUtils.nullSafeHashCode(getSort());
+			result = 31 * result + getContent().hashCode();
+			result = 31 * result + ObjectUtils.nullSafeHashCode(getAverageDistance());
+			return result;
+		}
+
+		/*
+		 * (non-Javadoc)
+		 * @see org.springframework.data.domain.PageImpl#toString()
+		 */
+		@Override
+		public String toString() {
+			return String.format("GeoPage %s with deferred total count", getNumber() + 1);
+		}
+	}
+}
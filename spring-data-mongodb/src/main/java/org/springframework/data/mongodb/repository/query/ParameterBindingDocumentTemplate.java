@@ -0,0 +1,127 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.util.Date;
+import java.util.List;
+
+import org.springframework.data.mongodb.repository.query.StringBasedMongoQuery.ParameterBinding;
+import org.springframework.util.Assert;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * A query or field specification document parsed once, with binding slots at the value positions occupied by
+ * parameter placeholders. Binding a {@link ParameterBindingDocumentTemplate} copies the document structure and splices
+ * in the values for the slots instead of replacing the placeholders textually and parsing the result.
+ *
+ * @since 1.10
+ * @see ExpressionEvaluatingParameterBinder#bindValue(MongoParameterAccessor, MongoParameters, ParameterBinding)
+ */
+class ParameterBindingDocumentTemplate {
+
+	private final DBObject template;
+
+	/**
+	 * Creates a new {@link ParameterBindingDocumentTemplate} for the given document containing slots created via
+	 * {@link #slot(ParameterBinding)}.
+	 *
+	 * @param template must not be {@literal null}.
+	 */
+	ParameterBindingDocumentTemplate(DBObject template) {
+
+		Assert.notNull(template, "Template must not be null!");
+		this.template = template;
+	}
+
+	/**
+	 * Creates a binding slot for the given {@link ParameterBinding} to be placed into a template document.
+	 *
+	 * @param binding must not be {@literal null}.
+	 * @return
+	 */
+	static Object slot(ParameterBinding binding) {
+
+		Assert.notNull(binding, "ParameterBinding must not be null!");
+		return new BindingSlot(binding);
+	}
+
+	/**
+	 * Returns a new document for the template with all slots replaced by the values bound via the given
+	 * {@link ExpressionEvaluatingParameterBinder}.
+	 *
+	 * @param binder must not be {@literal null}.
+	 * @param accessor must not be {@literal null}.
+	 * @param parameters must not be {@literal null}.
+	 * @return never {@literal null}.
+	 */
+	DBObject bind(ExpressionEvaluatingParameterBinder binder, MongoParameterAccessor accessor,
+			MongoParameters parameters) {
+		return (DBObject) bindValue(template, binder, accessor, parameters);
+	}
+
+	private static Object bindValue(Object value, ExpressionEvaluatingParameterBinder binder,
+			MongoParameterAccessor accessor, MongoParameters parameters) {
+
+		if (value instanceof BindingSlot) {
+			return binder.bindValue(accessor, parameters, ((BindingSlot) value).binding);
+		}
+
+		if (value instanceof BasicDBList) {
+
+			List<?> source = (BasicDBList) value;
+			BasicDBList result = new BasicDBList();
+
+			for (Object element : source) {
+				result.add(bindValue(element, binder, accessor, parameters));
+			}
+
+			return result;
+		}
+
+		if (value instanceof BasicDBObject) {
+
+			DBObject source = (DBObject) value;
+			BasicDBObject result = new BasicDBObject();
+
+			for (String key : source.keySet()) {
+				result.put(key, bindValue(source.get(key), binder, accessor, parameters));
+			}
+
+			return result;
+		}
+
+		if (value instanceof Date) {
+			return new Date(((Date) value).getTime());
+		}
+
+		return value;
+	}
+
+	/**
+	 * Placeholder for a value to be bound.
+	 */
+	private static class BindingSlot {
+
+		private final ParameterBinding binding;
+
+		BindingSlot(ParameterBinding binding) {
+			this.binding = binding;
+		}
+	}
+}
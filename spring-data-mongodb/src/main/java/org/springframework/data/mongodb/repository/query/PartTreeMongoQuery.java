@@ -45,6 +45,7 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 	private final boolean isGeoNearQuery;
 	private final MappingContext<?, MongoPersistentProperty> context;
 	private final ResultProcessor processor;
+	private final PartTreeQueryShape shape;
 
 	/**
 	 * Creates a new {@link PartTreeMongoQuery} from the given {@link QueryMethod} and {@link MongoTemplate}.
@@ -60,6 +61,7 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 		this.tree = new PartTree(method.getName(), processor.getReturnedType().getDomainType());
 		this.isGeoNearQuery = method.isGeoNearQuery();
 		this.context = mongoOperations.getConverter().getMappingContext();
+		this.shape = PartTreeQueryShape.of(tree, context);
 	}
 
 	/**
@@ -78,8 +80,8 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 	@Override
 	protected Query createQuery(ConvertingParameterAccessor accessor) {
 
-		MongoQueryCreator creator = new MongoQueryCreator(tree, accessor, context, isGeoNearQuery);
-		Query query = creator.createQuery();
+		Query query = shape != null ? shape.createQuery(accessor)
+				: new MongoQueryCreator(tree, accessor, context, isGeoNearQuery).createQuery();
 
 		if (tree.isLimiting()) {
 			query.limit(tree.getMaxResults());
@@ -127,7 +129,8 @@ public class PartTreeMongoQuery extends AbstractMongoQuery {
 	 */
 	@Override
 	protected Query createCountQuery(ConvertingParameterAccessor accessor) {
-		return new MongoQueryCreator(tree, accessor, context, false).createQuery();
+		return shape != null ? shape.createQuery(accessor)
+				: new MongoQueryCreator(tree, accessor, context, false).createQuery();
 	}
 
 	/*
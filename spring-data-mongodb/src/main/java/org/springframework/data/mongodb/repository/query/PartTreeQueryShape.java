@@ -0,0 +1,211 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Set;
+
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.query.parser.Part;
+import org.springframework.data.repository.query.parser.Part.Type;
+import org.springframework.data.repository.query.parser.PartTree;
+import org.springframework.data.repository.query.parser.PartTree.OrPart;
+import org.springframework.util.Assert;
+
+/**
+ * The shape of a derived query consisting of simple comparisons combined with {@literal And} only, e.g.
+ * {@code findByTenantIdAndStatus(…)}. The property paths and operators are resolved once so that creating a
+ * {@link Query} only has to bind the parameter values instead of walking the {@link PartTree} and resolving the
+ * property paths against the {@link MappingContext} through a {@link MongoQueryCreator} on every invocation. The
+ * resulting {@link Query} is equivalent to the one created by {@link MongoQueryCreator}.
+ *
+ * @since 1.10
+ */
+class PartTreeQueryShape {
+
+	private final List<Predicate> predicates;
+	private final Sort staticSort;
+
+	private PartTreeQueryShape(List<Predicate> predicates, Sort staticSort) {
+
+		this.predicates = Collections.unmodifiableList(predicates);
+		this.staticSort = staticSort;
+	}
+
+	/**
+	 * Computes the {@link PartTreeQueryShape} for the given {@link PartTree}.
+	 *
+	 * @param tree must not be {@literal null}.
+	 * @param context must not be {@literal null}.
+	 * @return {@literal null} if the given {@link PartTree} uses {@literal Or}, keywords other than simple comparisons
+	 *         or refers to the same property multiple times.
+	 */
+	static PartTreeQueryShape of(PartTree tree, MappingContext<?, MongoPersistentProperty> context) {
+
+		Assert.notNull(tree, "PartTree must not be null!");
+		Assert.notNull(context, "MappingContext must not be null!");
+
+		Iterator<OrPart> orParts = tree.iterator();
+
+		if (!orParts.hasNext()) {
+			return new PartTreeQueryShape(Collections.<Predicate> emptyList(), tree.getSort());
+		}
+
+		OrPart orPart = orParts.next();
+
+		if (orParts.hasNext()) {
+			return null;
+		}
+
+		List<Predicate> predicates = new ArrayList<Predicate>();
+		Set<String> dotPaths = new HashSet<String>();
+
+		for (Part part : orPart) {
+
+			if (!isSupported(part)) {
+				return null;
+			}
+
+			String dotPath = context.getPersistentPropertyPath(part.getProperty()).toDotPath();
+
+			if (!dotPaths.add(dotPath)) {
+				return null;
+			}
+
+			predicates.add(new Predicate(dotPath, part.getType()));
+		}
+
+		return new PartTreeQueryShape(predicates, tree.getSort());
+	}
+
+	/**
+	 * Creates the {@link Query} for the given {@link ConvertingParameterAccessor}.
+	 *
+	 * @param accessor must not be {@literal null}.
+	 * @return
+	 */
+	Query createQuery(ConvertingParameterAccessor accessor) {
+
+		Iterator<Object> parameters = accessor.iterator();
+		Criteria criteria = null;
+
+		for (Predicate predicate : predicates) {
+			criteria = predicate.apply(criteria == null ? Criteria.where(predicate.dotPath) : criteria.and(predicate.dotPath),
+					parameters);
+		}
+
+		Sort dynamicSort = accessor.getSort();
+		Sort sort = staticSort != null ? staticSort.and(dynamicSort) : dynamicSort;
+
+		return (criteria == null ? new Query() : new Query(criteria)).with(sort);
+	}
+
+	private static boolean isSupported(Part part) {
+
+		switch (part.getType()) {
+			case SIMPLE_PROPERTY:
+			case NEGATING_SIMPLE_PROPERTY:
+				return isSimpleComparisonPossible(part);
+			case TRUE:
+			case FALSE:
+			case IS_NULL:
+			case IS_NOT_NULL:
+			case AFTER:
+			case GREATER_THAN:
+			case GREATER_THAN_EQUAL:
+			case BEFORE:
+			case LESS_THAN:
+			case LESS_THAN_EQUAL:
+				return true;
+			default:
+				return false;
+		}
+	}
+
+	/**
+	 * Mirrors the check of {@link MongoQueryCreator} whether a property can be compared without resorting to a
+	 * case-insensitive regular expression.
+	 *
+	 * @param part must not be {@literal null}.
+	 * @return
+	 */
+	private static boolean isSimpleComparisonPossible(Part part) {
+
+		switch (part.shouldIgnoreCase()) {
+			case NEVER:
+				return true;
+			case WHEN_POSSIBLE:
+				return part.getProperty().getType() != String.class;
+			case ALWAYS:
+				return false;
+			default:
+				return true;
+		}
+	}
+
+	/**
+	 * A single comparison of a property with a parameter value or a constant.
+	 */
+	private static class Predicate {
+
+		private final String dotPath;
+		private final Type type;
+
+		Predicate(String dotPath, Type type) {
+
+			this.dotPath = dotPath;
+			this.type = type;
+		}
+
+		Criteria apply(Criteria criteria, Iterator<Object> parameters) {
+
+			switch (type) {
+				case SIMPLE_PROPERTY:
+					return criteria.is(parameters.next());
+				case NEGATING_SIMPLE_PROPERTY:
+					return criteria.ne(parameters.next());
+				case TRUE:
+					return criteria.is(true);
+				case FALSE:
+					return criteria.is(false);
+				case IS_NULL:
+					return criteria.is(null);
+				case IS_NOT_NULL:
+					return criteria.ne(null);
+				case AFTER:
+				case GREATER_THAN:
+					return criteria.gt(parameters.next());
+				case GREATER_THAN_EQUAL:
+					return criteria.gte(parameters.next());
+				case BEFORE:
+				case LESS_THAN:
+					return criteria.lt(parameters.next());
+				case LESS_THAN_EQUAL:
+					return criteria.lte(parameters.next());
+				default:
+					throw new IllegalStateException(String.format("Unsupported keyword %s!", type));
+			}
+		}
+	}
+}
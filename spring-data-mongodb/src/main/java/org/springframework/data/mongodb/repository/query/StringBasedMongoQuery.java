@@ -32,6 +32,8 @@ import org.springframework.expression.spel.standard.SpelExpressionParser;
 import org.springframework.util.Assert;
 import org.springframework.util.StringUtils;
 
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
 import com.mongodb.DBObject;
 import com.mongodb.DBRef;
 import com.mongodb.util.JSON;
@@ -55,6 +57,8 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 	private final boolean isDeleteQuery;
 	private final List<ParameterBinding> queryParameterBindings;
 	private final List<ParameterBinding> fieldSpecParameterBindings;
+	private final ParameterBindingDocumentTemplate queryTemplate;
+	private final ParameterBindingDocumentTemplate fieldSpecTemplate;
 	private final ExpressionEvaluatingParameterBinder parameterBinder;
 
 	/**
@@ -95,6 +99,9 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 		this.fieldSpec = BINDING_PARSER.parseAndCollectParameterBindingsFromQueryIntoBindings(
 				method.getFieldSpecification(), this.fieldSpecParameterBindings);
 
+		this.queryTemplate = BINDING_PARSER.compileTemplate(this.query, this.queryParameterBindings);
+		this.fieldSpecTemplate = BINDING_PARSER.compileTemplate(this.fieldSpec, this.fieldSpecParameterBindings);
+
 		this.isCountQuery = method.hasAnnotatedQuery() ? method.getQueryAnnotation().count() : false;
 		this.isDeleteQuery = method.hasAnnotatedQuery() ? method.getQueryAnnotation().delete() : false;
 
@@ -112,12 +119,16 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 	@Override
 	protected Query createQuery(ConvertingParameterAccessor accessor) {
 
-		String queryString = parameterBinder.bind(this.query, accessor, new BindingContext(getQueryMethod()
-				.getParameters(), queryParameterBindings));
-		String fieldsString = parameterBinder.bind(this.fieldSpec, accessor, new BindingContext(getQueryMethod()
-				.getParameters(), fieldSpecParameterBindings));
+		MongoParameters parameters = getQueryMethod().getParameters();
+
+		DBObject queryObject = queryTemplate != null ? queryTemplate.bind(parameterBinder, accessor, parameters)
+				: (DBObject) JSON.parse(
+						parameterBinder.bind(this.query, accessor, new BindingContext(parameters, queryParameterBindings)));
+		DBObject fieldsObject = fieldSpecTemplate != null ? fieldSpecTemplate.bind(parameterBinder, accessor, parameters)
+				: (DBObject) JSON.parse(
+						parameterBinder.bind(this.fieldSpec, accessor, new BindingContext(parameters, fieldSpecParameterBindings)));
 
-		Query query = new BasicQuery(queryString, fieldsString).with(accessor.getSort());
+		Query query = new BasicQuery(queryObject, fieldsObject).with(accessor.getSort());
 
 		if (LOG.isDebugEnabled()) {
 			LOG.debug(String.format("Created query %s for %s fields.", query.getQueryObject(), query.getFieldsObject()));
@@ -164,6 +175,10 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 		private static final Pattern PARAMETER_BINDING_PATTERN = Pattern.compile("\\?(\\d+)");
 		private static final Pattern PARSEABLE_BINDING_PATTERN = Pattern.compile("\"?" + PARAMETER_PREFIX + "(\\d+)\"?");
 
+		private static final Pattern PARAMETER_SLOT_PATTERN = Pattern.compile(PARAMETER_PREFIX + "(\\d+)");
+		private static final Pattern EXPRESSION_SLOT_PATTERN = Pattern.compile("\\?expr(\\d+)");
+		private static final Object NOT_COMPILABLE = new Object();
+
 		private final static int PARAMETER_INDEX_GROUP = 1;
 
 		/**
@@ -190,6 +205,136 @@ public class StringBasedMongoQuery extends AbstractMongoQuery {
 			return transformedInput;
 		}
 
+		/**
+		 * Compiles the given input, as returned by {@link #parseAndCollectParameterBindingsFromQueryIntoBindings(String, List)},
+		 * into a {@link ParameterBindingDocumentTemplate}. Only inputs whose placeholders all occupy complete value
+		 * positions can be compiled, e.g. {@code { 'lastname' : ?0 }} but not {@code { 'lastname' : { '$regex' : '^?0' } }}.
+		 * 
+		 * @param input can be {@literal null} or empty.
+		 * @param bindings must not be {@literal null}.
+		 * @return {@literal null} if the input cannot be compiled into a template.
+		 */
+		public ParameterBindingDocumentTemplate compileTemplate(String input, List<ParameterBinding> bindings) {
+
+			if (!StringUtils.hasText(input)) {
+				return null;
+			}
+
+			Object parsed;
+
+			try {
+				parsed = JSON.parse(makeParameterReferencesParseable(input));
+			} catch (RuntimeException o_O) {
+				return null;
+			}
+
+			if (!(parsed instanceof BasicDBObject)) {
+				return null;
+			}
+
+			Object template = toTemplateValue(parsed, bindings);
+
+			return template == NOT_COMPILABLE ? null : new ParameterBindingDocumentTemplate((DBObject) template);
+		}
+
+		/**
+		 * Returns the given parsed value with placeholders replaced by binding slots or {@link #NOT_COMPILABLE} in case a
+		 * placeholder is embedded into a field name, a {@link String}, a {@link Pattern} or a {@link DBRef}.
+		 * 
+		 * @param value can be {@literal null}.
+		 * @param bindings must not be {@literal null}.
+		 * @return
+		 */
+		private static Object toTemplateValue(Object value, List<ParameterBinding> bindings) {
+
+			if (value instanceof String) {
+
+				String string = (String) value;
+				Matcher parameterMatcher = PARAMETER_SLOT_PATTERN.matcher(string);
+
+				if (parameterMatcher.matches()) {
+					return ParameterBindingDocumentTemplate
+							.slot(new ParameterBinding(Integer.parseInt(parameterMatcher.group(PARAMETER_INDEX_GROUP)), false));
+				}
+
+				Matcher expressionMatcher = EXPRESSION_SLOT_PATTERN.matcher(string);
+
+				if (expressionMatcher.matches()) {
+
+					ParameterBinding binding = getExpressionBinding(
+							Integer.parseInt(expressionMatcher.group(PARAMETER_INDEX_GROUP)), bindings);
+					return binding == null ? NOT_COMPILABLE : ParameterBindingDocumentTemplate.slot(binding);
+				}
+
+				return containsPlaceholder(string) ? NOT_COMPILABLE : string;
+			}
+
+			if (value instanceof Pattern) {
+				return containsPlaceholder(value.toString()) ? NOT_COMPILABLE : value;
+			}
+
+			if (value instanceof DBRef) {
+
+				DBRef dbref = (DBRef) value;
+				return containsPlaceholder(dbref.getCollectionName()) || containsPlaceholder(String.valueOf(dbref.getId()))
+						? NOT_COMPILABLE : value;
+			}
+
+			if (value instanceof BasicDBList) {
+
+				BasicDBList result = new BasicDBList();
+
+				for (Object element : (BasicDBList) value) {
+
+					Object templateValue = toTemplateValue(element, bindings);
+
+					if (templateValue == NOT_COMPILABLE) {
+						return NOT_COMPILABLE;
+					}
+
+					result.add(templateValue);
+				}
+
+				return result;
+			}
+
+			if (value instanceof DBObject) {
+
+				DBObject dbo = (DBObject) value;
+				BasicDBObject result = new BasicDBObject();
+
+				for (String field : dbo.keySet()) {
+
+					Object templateValue = toTemplateValue(dbo.get(field), bindings);
+
+					if (containsPlaceholder(field) || templateValue == NOT_COMPILABLE) {
+						return NOT_COMPILABLE;
+					}
+
+					result.put(field, templateValue);
+				}
+
+				return result;
+			}
+
+			return value;
+		}
+
+		private static ParameterBinding getExpressionBinding(int index, List<ParameterBinding> bindings) {
+
+			for (ParameterBinding binding : bindings) {
+				if (binding.isExpression() && binding.getParameterIndex() == index) {
+					return binding;
+				}
+			}
+
+			return null;
+		}
+
+		private static boolean containsPlaceholder(String source) {
+			return source.contains(PARAMETER_PREFIX) || source.contains(EXPRESSION_PARAM_PREFIX);
+		}
+
 		private static String transformQueryAndCollectExpressionParametersIntoBindings(String input,
 				List<ParameterBinding> bindings) {
 
@@ -19,6 +19,7 @@ import static org.springframework.data.querydsl.QueryDslUtils.*;
 
 import java.io.Serializable;
 import java.lang.reflect.Method;
+import java.util.concurrent.Executor;
 
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mapping.model.MappingException;
@@ -26,8 +27,11 @@ import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.query.AbstractMongoQuery;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
 import org.springframework.data.mongodb.repository.query.MongoQueryMethod;
+import org.springframework.data.mongodb.repository.query.PageCountMode;
+import org.springframework.data.mongodb.repository.query.PageFactory;
 import org.springframework.data.mongodb.repository.query.PartTreeMongoQuery;
 import org.springframework.data.mongodb.repository.query.StringBasedMongoQuery;
 import org.springframework.data.projection.ProjectionFactory;
@@ -57,6 +61,9 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 	private final MongoOperations operations;
 	private final MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
 
+	private PageCountMode pageCountMode = PageCountMode.EAGER;
+	private Executor countExecutor;
+
 	/**
 	 * Creates a new {@link MongoRepositoryFactory} with the given {@link MongoOperations}.
 	 * 
@@ -70,6 +77,29 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 		this.mappingContext = mongoOperations.getConverter().getMappingContext();
 	}
 
+	/**
+	 * Configures when the total number of elements of the {@link org.springframework.data.domain.Page}s returned by
+	 * repositories is counted. Defaults to {@link PageCountMode#EAGER}.
+	 * 
+	 * @param pageCountMode must not be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setPageCountMode(PageCountMode pageCountMode) {
+
+		Assert.notNull(pageCountMode, "PageCountMode must not be null!");
+		this.pageCountMode = pageCountMode;
+	}
+
+	/**
+	 * Configures the {@link Executor} to count the total number of elements with {@link PageCountMode#CONCURRENT}.
+	 * 
+	 * @param countExecutor can be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setCountExecutor(Executor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactorySupport#getRepositoryBaseClass(org.springframework.data.repository.core.RepositoryMetadata)
@@ -92,7 +122,13 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 
 		MongoEntityInformation<?, Serializable> entityInformation = getEntityInformation(information.getDomainType(),
 				information);
-		return getTargetRepositoryViaReflection(information, entityInformation, operations);
+		Object repository = getTargetRepositoryViaReflection(information, entityInformation, operations);
+
+		if (repository instanceof QueryDslMongoRepository) {
+			((QueryDslMongoRepository<?, ?>) repository).setPageFactory(getPageFactory());
+		}
+
+		return repository;
 	}
 
 	/* 
@@ -101,7 +137,11 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 	 */
 	@Override
 	protected QueryLookupStrategy getQueryLookupStrategy(Key key, EvaluationContextProvider evaluationContextProvider) {
-		return new MongoQueryLookupStrategy(operations, evaluationContextProvider, mappingContext);
+		return new MongoQueryLookupStrategy(operations, evaluationContextProvider, mappingContext, getPageFactory());
+	}
+
+	private PageFactory getPageFactory() {
+		return pageCountMode == PageCountMode.EAGER ? PageFactory.EAGER : new PageFactory(pageCountMode, countExecutor);
 	}
 
 	/*
@@ -138,13 +178,16 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 		private final MongoOperations operations;
 		private final EvaluationContextProvider evaluationContextProvider;
 		MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext;
+		private final PageFactory pageFactory;
 
 		public MongoQueryLookupStrategy(MongoOperations operations, EvaluationContextProvider evaluationContextProvider,
-				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext) {
+				MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> mappingContext,
+				PageFactory pageFactory) {
 
 			this.operations = operations;
 			this.evaluationContextProvider = evaluationContextProvider;
 			this.mappingContext = mappingContext;
+			this.pageFactory = pageFactory;
 		}
 
 		/* 
@@ -157,16 +200,20 @@ public class MongoRepositoryFactory extends RepositoryFactorySupport {
 
 			MongoQueryMethod queryMethod = new MongoQueryMethod(method, metadata, factory, mappingContext);
 			String namedQueryName = queryMethod.getNamedQueryName();
+			AbstractMongoQuery query;
 
 			if (namedQueries.hasQuery(namedQueryName)) {
 				String namedQuery = namedQueries.getQuery(namedQueryName);
-				return new StringBasedMongoQuery(namedQuery, queryMethod, operations, EXPRESSION_PARSER,
+				query = new StringBasedMongoQuery(namedQuery, queryMethod, operations, EXPRESSION_PARSER,
 						evaluationContextProvider);
 			} else if (queryMethod.hasAnnotatedQuery()) {
-				return new StringBasedMongoQuery(queryMethod, operations, EXPRESSION_PARSER, evaluationContextProvider);
+				query = new StringBasedMongoQuery(queryMethod, operations, EXPRESSION_PARSER, evaluationContextProvider);
 			} else {
-				return new PartTreeMongoQuery(queryMethod, operations);
+				query = new PartTreeMongoQuery(queryMethod, operations);
 			}
+
+			query.setPageFactory(pageFactory);
+			return query;
 		}
 	}
 }
@@ -16,10 +16,12 @@
 package org.springframework.data.mongodb.repository.support;
 
 import java.io.Serializable;
+import java.util.concurrent.Executor;
 
 import org.springframework.data.mapping.context.MappingContext;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.data.mongodb.repository.query.PageCountMode;
 import org.springframework.data.repository.Repository;
 import org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport;
 import org.springframework.data.repository.core.support.RepositoryFactorySupport;
@@ -36,6 +38,8 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 	private MongoOperations operations;
 	private boolean createIndexesForQueryMethods = false;
 	private boolean mappingContextConfigured = false;
+	private PageCountMode pageCountMode = PageCountMode.EAGER;
+	private Executor countExecutor;
 
 	/**
 	 * Configures the {@link MongoOperations} to be used.
@@ -55,6 +59,29 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 		this.createIndexesForQueryMethods = createIndexesForQueryMethods;
 	}
 
+	/**
+	 * Configures when the total number of elements of the {@link org.springframework.data.domain.Page}s returned by the
+	 * repository is counted. Defaults to {@link PageCountMode#EAGER}.
+	 * 
+	 * @param pageCountMode must not be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setPageCountMode(PageCountMode pageCountMode) {
+
+		Assert.notNull(pageCountMode, "PageCountMode must not be null!");
+		this.pageCountMode = pageCountMode;
+	}
+
+	/**
+	 * Configures the {@link Executor} to count the total number of elements with {@link PageCountMode#CONCURRENT}.
+	 * 
+	 * @param countExecutor the countExecutor to set
+	 * @since 1.10
+	 */
+	public void setCountExecutor(Executor countExecutor) {
+		this.countExecutor = countExecutor;
+	}
+
 	/* 
 	 * (non-Javadoc)
 	 * @see org.springframework.data.repository.core.support.RepositoryFactoryBeanSupport#setMappingContext(org.springframework.data.mapping.context.MappingContext)
@@ -78,6 +105,11 @@ public class MongoRepositoryFactoryBean<T extends Repository<S, ID>, S, ID exten
 
 		RepositoryFactorySupport factory = getFactoryInstance(operations);
 
+		if (factory instanceof MongoRepositoryFactory) {
+			((MongoRepositoryFactory) factory).setPageCountMode(pageCountMode);
+			((MongoRepositoryFactory) factory).setCountExecutor(countExecutor);
+		}
+
 		if (createIndexesForQueryMethods) {
 			factory.addQueryCreationListener(new IndexEnsuringQueryCreationListener(operations));
 		}
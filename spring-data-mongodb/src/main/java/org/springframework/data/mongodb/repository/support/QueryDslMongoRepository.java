@@ -26,6 +26,9 @@ import org.springframework.data.domain.Sort.Order;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.repository.query.MongoEntityInformation;
+import org.springframework.data.mongodb.repository.query.PageFactory;
+import org.springframework.data.mongodb.repository.query.PageFactory.ContentCallback;
+import org.springframework.data.mongodb.repository.query.PageFactory.CountCallback;
 import org.springframework.data.querydsl.EntityPathResolver;
 import org.springframework.data.querydsl.QSort;
 import org.springframework.data.querydsl.QueryDslPredicateExecutor;
@@ -54,6 +57,8 @@ public class QueryDslMongoRepository<T, ID extends Serializable> extends SimpleM
 	private final EntityInformation<T, ID> entityInformation;
 	private final MongoOperations mongoOperations;
 
+	private PageFactory pageFactory = PageFactory.EAGER;
+
 	/**
 	 * Creates a new {@link QueryDslMongoRepository} for the given {@link EntityMetadata} and {@link MongoTemplate}. Uses
 	 * the {@link SimpleEntityPathResolver} to create an {@link EntityPath} for the given domain class.
@@ -86,6 +91,19 @@ public class QueryDslMongoRepository<T, ID extends Serializable> extends SimpleM
 		this.mongoOperations = mongoOperations;
 	}
 
+	/**
+	 * Configures the {@link PageFactory} to create the {@link Page}s returned by the paging {@code findAll(…)} methods.
+	 * Defaults to {@link PageFactory#EAGER}.
+	 * 
+	 * @param pageFactory must not be {@literal null}.
+	 * @since 1.10
+	 */
+	public void setPageFactory(PageFactory pageFactory) {
+
+		Assert.notNull(pageFactory, "PageFactory must not be null!");
+		this.pageFactory = pageFactory;
+	}
+
 	/*
 	 * (non-Javadoc)
 	 * @see org.springframework.data.querydsl.QueryDslPredicateExecutor#findOne(com.mysema.query.types.Predicate)
@@ -137,12 +155,7 @@ public class QueryDslMongoRepository<T, ID extends Serializable> extends SimpleM
 	 */
 	@Override
 	public Page<T> findAll(Predicate predicate, Pageable pageable) {
-
-		AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> countQuery = createQueryFor(predicate);
-		AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> query = createQueryFor(predicate);
-
-		return new PageImpl<T>(applyPagination(query, pageable).fetchResults().getResults(), pageable,
-				countQuery.fetchCount());
+		return getPage(createQueryFor(predicate), createQueryFor(predicate), pageable);
 	}
 
 	/*
@@ -151,12 +164,7 @@ public class QueryDslMongoRepository<T, ID extends Serializable> extends SimpleM
 	 */
 	@Override
 	public Page<T> findAll(Pageable pageable) {
-
-		AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> countQuery = createQuery();
-		AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> query = createQuery();
-
-		return new PageImpl<T>(applyPagination(query, pageable).fetchResults().getResults(), pageable,
-				countQuery.fetchCount());
+		return getPage(createQuery(), createQuery(), pageable);
 	}
 
 	/*
@@ -186,6 +194,38 @@ public class QueryDslMongoRepository<T, ID extends Serializable> extends SimpleM
 		return createQueryFor(predicate).fetchCount() > 0;
 	}
 
+	/**
+	 * Returns the {@link Page} for the given {@link Pageable} reading the content and the total number of elements via
+	 * the given queries using the configured {@link PageFactory}.
+	 * 
+	 * @param query must not be {@literal null}.
+	 * @param countQuery must not be {@literal null}.
+	 * @param pageable can be {@literal null}.
+	 * @return
+	 */
+	private Page<T> getPage(final AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> query,
+			final AbstractMongodbQuery<T, SpringDataMongodbQuery<T>> countQuery, final Pageable pageable) {
+
+		if (pageable == null) {
+			return new PageImpl<T>(query.fetch(), pageable, countQuery.fetchCount());
+		}
+
+		return pageFactory.getPage(pageable, new ContentCallback<T>() {
+
+			@Override
+			public List<T> doFind(int limit) {
+				return applyPagination(query, pageable).limit(limit).fetch();
+			}
+
+		}, new CountCallback() {
+
+			@Override
+			public long doCount() {
+				return countQuery.fetchCount();
+			}
+		});
+	}
+
 	/**
 	 * Creates a {@link MongodbQuery} for the given {@link Predicate}.
 	 * 
@@ -30,6 +30,8 @@ import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
 import org.springframework.data.mongodb.core.MongoOperations;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -104,9 +106,14 @@ public class SimpleMongoRepository<T, ID extends Serializable> implements MongoR
 			mongoOperations.insertAll(result);
 		} else {
 
+			BulkOperations bulk = mongoOperations.bulkOps(BulkMode.UNORDERED, entityInformation.getJavaType(),
+					entityInformation.getCollectionName());
+
 			for (S entity : result) {
-				save(entity);
+				bulk.save(entity);
 			}
+
+			bulk.execute();
 		}
 
 		return result;
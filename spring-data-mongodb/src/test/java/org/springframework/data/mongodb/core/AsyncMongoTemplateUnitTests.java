@@ -0,0 +1,172 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.core.task.SyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.util.concurrent.ListenableFuture;
+
+/**
+ * Unit tests for {@link AsyncMongoTemplate}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class AsyncMongoTemplateUnitTests {
+
+	@Mock MongoOperations operations;
+
+	AsyncMongoTemplate template;
+
+	@Before
+	public void setUp() {
+		template = new AsyncMongoTemplate(operations, new TaskExecutorAdapter(new SyncTaskExecutor()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsNullOperations() {
+		new AsyncMongoTemplate(null);
+	}
+
+	@Test
+	public void findDelegatesToOperations() throws Exception {
+
+		Query query = new Query();
+		List<Person> people = Arrays.asList(new Person("Walter"));
+		when(operations.find(query, Person.class)).thenReturn(people);
+
+		ListenableFuture<List<Person>> future = template.find(query, Person.class);
+
+		assertThat(future.get(), is(people));
+		verify(operations).find(query, Person.class);
+	}
+
+	@Test
+	public void insertCompletesWithInsertedObject() throws Exception {
+
+		Person person = new Person("Walter");
+
+		assertThat(template.insert(person).get(), is(person));
+		verify(operations).insert(person);
+	}
+
+	@Test
+	public void countCompletesWithCount() throws Exception {
+
+		Query query = new Query();
+		when(operations.count(query, Person.class)).thenReturn(42L);
+
+		assertThat(template.count(query, Person.class).get(), is(42L));
+	}
+
+	@Test
+	public void propagatesExceptionThroughFuture() throws Exception {
+
+		Query query = new Query();
+		DataAccessResourceFailureException exception = new DataAccessResourceFailureException("o_O");
+		when(operations.findOne(query, Person.class)).thenThrow(exception);
+
+		ListenableFuture<Person> future = template.findOne(query, Person.class);
+
+		try {
+			future.get();
+			fail("Expected ExecutionException!");
+		} catch (ExecutionException o_O) {
+			assertThat(o_O.getCause(), is((Throwable) exception));
+		}
+	}
+
+	@Test
+	public void defaultExecutorRunsOperationsOffCallingThread() throws Exception {
+
+		AsyncMongoTemplate template = new AsyncMongoTemplate(operations, 2);
+		final Thread caller = Thread.currentThread();
+
+		when(operations.findAll(Person.class)).thenAnswer(new Answer<List<Person>>() {
+
+			@Override
+			public List<Person> answer(InvocationOnMock invocation) {
+
+				assertThat(Thread.currentThread(), is(not(caller)));
+				return Arrays.asList(new Person("Walter"));
+			}
+		});
+
+		try {
+			assertThat(template.findAll(Person.class).get(), hasSize(1));
+		} finally {
+			template.destroy();
+		}
+	}
+
+	@Test
+	public void failsFutureInsteadOfBlockingOnceDefaultExecutorIsSaturated() throws Exception {
+
+		AsyncMongoTemplate template = new AsyncMongoTemplate(operations, 1, 0);
+		final CountDownLatch started = new CountDownLatch(1);
+		final CountDownLatch release = new CountDownLatch(1);
+
+		when(operations.findAll(Person.class)).thenAnswer(new Answer<List<Person>>() {
+
+			@Override
+			public List<Person> answer(InvocationOnMock invocation) throws InterruptedException {
+
+				started.countDown();
+				release.await();
+				return Arrays.asList(new Person("Walter"));
+			}
+		});
+
+		try {
+
+			ListenableFuture<List<Person>> running = template.findAll(Person.class);
+			started.await();
+
+			ListenableFuture<List<Person>> rejected = template.findAll(Person.class);
+
+			try {
+				rejected.get();
+				fail("Expected ExecutionException!");
+			} catch (ExecutionException o_O) {
+				assertThat(o_O.getCause(), is(instanceOf(TaskRejectedException.class)));
+			}
+
+			release.countDown();
+			assertThat(running.get(), hasSize(1));
+
+		} finally {
+			release.countDown();
+			template.destroy();
+		}
+	}
+}
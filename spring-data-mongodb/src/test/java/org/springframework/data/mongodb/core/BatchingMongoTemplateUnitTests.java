@@ -0,0 +1,288 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.bson.types.ObjectId;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteResult;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.WriteConcern;
+
+/**
+ * Unit tests for {@link BatchingMongoTemplate}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class BatchingMongoTemplateUnitTests {
+
+	@Mock MongoDbFactory factory;
+	@Mock DB db;
+	@Mock DBCollection collection;
+	@Mock BulkWriteOperation bulk;
+	@Mock DBCursor cursor;
+
+	BatchingMongoTemplate template;
+	ExecutorService executor;
+
+	@Before
+	public void setUp() {
+
+		when(factory.getDb()).thenReturn(db);
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(Mockito.any(String.class))).thenReturn(collection);
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+
+		MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory),
+				new MongoMappingContext());
+		converter.afterPropertiesSet();
+
+		template = new BatchingMongoTemplate(factory, converter);
+		executor = Executors.newFixedThreadPool(3);
+	}
+
+	@After
+	public void tearDown() {
+
+		template.destroy();
+		executor.shutdownNow();
+	}
+
+	@Test
+	public void writesConcurrentInsertsAsSingleBatchOnceFull() throws Exception {
+
+		template.setMaxBatchSize(2);
+		template.setMaxDelayMillis(60000);
+
+		Future<Person> first = insertAsync(new Person("Walter"));
+		Future<Person> second = insertAsync(new Person("Jesse"));
+
+		assertThat(first.get().getId(), is(notNullValue()));
+		assertThat(second.get().getId(), is(notNullValue()));
+		assertThat(first.get().getId(), is(not(second.get().getId())));
+
+		verify(collection, times(1)).initializeUnorderedBulkOperation();
+		verify(bulk, times(2)).insert(Mockito.any(DBObject.class));
+		verify(collection, never()).insert(Mockito.any(DBObject.class));
+		assertThat(template.getBatchCount(), is(1L));
+		assertThat(template.getInsertCount(), is(2L));
+	}
+
+	@Test
+	public void writesPendingInsertAfterMaxDelay() {
+
+		template.setMaxDelayMillis(1);
+
+		Person person = new Person("Walter");
+		template.insert(person);
+
+		assertThat(person.getId(), is(notNullValue()));
+		verify(bulk, times(1)).insert(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void writesExpiredBatchOffSchedulerThread() {
+
+		final AtomicReference<String> writingThread = new AtomicReference<String>();
+
+		when(bulk.execute()).thenAnswer(new Answer<BulkWriteResult>() {
+
+			@Override
+			public BulkWriteResult answer(InvocationOnMock invocation) {
+
+				writingThread.set(Thread.currentThread().getName());
+				return null;
+			}
+		});
+
+		template.setMaxDelayMillis(1);
+		template.insert(new Person("Walter"));
+
+		assertThat(writingThread.get(), startsWith("mongo-batch-flush-"));
+	}
+
+	@Test
+	public void batchesSaveOfNewDocuments() {
+
+		template.setMaxDelayMillis(1);
+		template.save(new Person("Walter"));
+
+		verify(bulk, times(1)).insert(Mockito.any(DBObject.class));
+		verify(collection, never()).save(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void failsOnlyInsertAffectedByWriteError() throws Exception {
+
+		BulkWriteException exception = mock(BulkWriteException.class);
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 1)));
+		when(bulk.execute()).thenThrow(exception);
+
+		template.setMaxBatchSize(2);
+		template.setMaxDelayMillis(60000);
+
+		Future<Person> first = insertAsync(new Person("Walter"));
+		Future<Person> second = insertAsync(new Person("Jesse"));
+
+		int failures = 0;
+
+		for (Future<Person> future : Arrays.asList(first, second)) {
+			try {
+				assertThat(future.get().getId(), is(notNullValue()));
+			} catch (ExecutionException o_O) {
+				assertThat(o_O.getCause(), is(instanceOf(DuplicateKeyException.class)));
+				failures++;
+			}
+		}
+
+		assertThat(failures, is(1));
+	}
+
+	@Test
+	public void sharesQueryForConcurrentLookupsOfSameAndDistinctIds() throws Exception {
+
+		ObjectId first = new ObjectId();
+		ObjectId second = new ObjectId();
+
+		when(collection.find(Mockito.any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true, true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("_id", first).append("firstName", "Walter"),
+				new BasicDBObject("_id", second).append("firstName", "Jesse"));
+
+		template.setMaxBatchSize(2);
+		template.setMaxDelayMillis(60000);
+
+		Future<Person> walter = findByIdAsync(first);
+		Future<Person> walterAgain = findByIdAsync(first);
+
+		while (template.getFindByIdCount() < 2) {
+			Thread.sleep(1);
+		}
+
+		Person jesse = template.findById(second, Person.class);
+
+		assertThat(walter.get().getFirstName(), is("Walter"));
+		assertThat(walterAgain.get().getFirstName(), is("Walter"));
+		assertThat(walter.get(), is(not(sameInstance(walterAgain.get()))));
+		assertThat(jesse.getFirstName(), is("Jesse"));
+
+		verify(collection, times(1)).find(Mockito.any(DBObject.class));
+		verify(collection, never()).findOne(Mockito.any(DBObject.class));
+		assertThat(template.getFindByIdQueryCount(), is(1L));
+		assertThat(template.getFindByIdCoalescingRatio(), is(3.0));
+	}
+
+	@Test
+	public void returnsNullForLookupOfUnknownId() {
+
+		when(collection.find(Mockito.any(DBObject.class))).thenReturn(cursor);
+		template.setMaxDelayMillis(1);
+
+		assertThat(template.findById(new ObjectId(), Person.class), is(nullValue()));
+	}
+
+	@Test
+	public void matchesNumericIdsByValue() {
+
+		when(collection.find(Mockito.any(DBObject.class))).thenReturn(cursor);
+		when(cursor.hasNext()).thenReturn(true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("_id", 42L).append("firstName", "Walter"));
+		template.setMaxDelayMillis(1);
+
+		BasicDBObject result = template.findById(42, BasicDBObject.class, "person");
+
+		assertThat(result, is(notNullValue()));
+		assertThat(result.get("firstName"), is((Object) "Walter"));
+	}
+
+	@Test
+	public void resolvesWriteConcernForBatchedInsertWithEntityType() {
+
+		final List<Object> entityTypes = new ArrayList<Object>();
+
+		template.setWriteConcernResolver(new WriteConcernResolver() {
+
+			@Override
+			public WriteConcern resolve(MongoAction action) {
+
+				entityTypes.add(action.getEntityType());
+				return WriteConcern.ACKNOWLEDGED;
+			}
+		});
+		template.setMaxDelayMillis(1);
+		template.insert(new Person("Walter"));
+
+		assertThat(entityTypes, contains((Object) Person.class));
+		verify(bulk).execute(WriteConcern.ACKNOWLEDGED);
+	}
+
+	private Future<Person> findByIdAsync(final ObjectId id) {
+
+		return executor.submit(new Callable<Person>() {
+
+			@Override
+			public Person call() {
+				return template.findById(id, Person.class);
+			}
+		});
+	}
+
+	private Future<Person> insertAsync(final Person person) {
+
+		return executor.submit(new Callable<Person>() {
+
+			@Override
+			public Person call() {
+				template.insert(person);
+				return person;
+			}
+		});
+	}
+}
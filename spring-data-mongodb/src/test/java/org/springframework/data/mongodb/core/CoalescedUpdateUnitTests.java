@@ -0,0 +1,86 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+
+import org.junit.Test;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link CoalescedUpdate}.
+ */
+public class CoalescedUpdateUnitTests {
+
+	static final DBObject QUERY = new BasicDBObject("_id", 1);
+
+	@Test
+	public void onlyCoalescesUpdatesSelectingDocumentById() {
+
+		assertThat(CoalescedUpdate.getId(QUERY), is((Object) 1));
+		assertThat(CoalescedUpdate.getId(new BasicDBObject("_id", 1).append("name", "Dave")), is(nullValue()));
+		assertThat(CoalescedUpdate.getId(new BasicDBObject("_id", new BasicDBObject("$in", Arrays.asList(1, 2)))),
+				is(nullValue()));
+	}
+
+	@Test
+	public void sumsIncrementsKeepsLastSetAndAccumulatesPushes() {
+
+		CoalescedUpdate update = new CoalescedUpdate(QUERY,
+				new Update().inc("count", 1).set("state", "a").push("events", "e1").getUpdateObject(), false);
+
+		assertThat(update.merge(new Update().inc("count", 2).set("state", "b").push("events", "e2").getUpdateObject(),
+				false), is(true));
+		assertThat(update.merge(new Update().inc("total", 5L).getUpdateObject(), false), is(true));
+
+		DBObject result = update.getUpdate();
+
+		assertThat(((DBObject) result.get("$inc")).get("count"), is((Object) 3));
+		assertThat(((DBObject) result.get("$inc")).get("total"), is((Object) 5L));
+		assertThat(((DBObject) result.get("$set")).get("state"), is((Object) "b"));
+		assertThat(((DBObject) result.get("$push")).get("events"),
+				is((Object) new BasicDBObject("$each", Arrays.asList("e1", "e2"))));
+	}
+
+	@Test
+	public void rejectsUpdatesNotSafeToMerge() {
+
+		CoalescedUpdate update = new CoalescedUpdate(QUERY, new Update().inc("count", 1).set("address.city", "NYC")
+				.getUpdateObject(), false);
+		DBObject original = update.getUpdate();
+
+		assertThat(update.merge(new Update().set("count", 0).getUpdateObject(), false), is(false));
+		assertThat(update.merge(new Update().set("address", new BasicDBObject()).getUpdateObject(), false), is(false));
+		assertThat(update.merge(new Update().inc("count", 0.5).getUpdateObject(), false), is(false));
+		assertThat(update.merge(new Update().unset("name").getUpdateObject(), false), is(false));
+		assertThat(update.merge(new Update().inc("count", 1).getUpdateObject(), true), is(false));
+		assertThat(update.getUpdate(), is(sameInstance(original)));
+	}
+
+	@Test
+	public void rejectsMergingPushWithModifiers() {
+
+		CoalescedUpdate update = new CoalescedUpdate(QUERY, new Update().push("events", "e1").getUpdateObject(), false);
+
+		assertThat(update.merge(new Update().push("events").atPosition(0).each("e2").getUpdateObject(), false), is(false));
+	}
+}
@@ -0,0 +1,96 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Date;
+import java.util.UUID;
+import java.util.regex.Pattern;
+
+import org.bson.io.BasicOutputBuffer;
+import org.bson.types.Binary;
+import org.bson.types.Code;
+import org.bson.types.ObjectId;
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BasicDBList;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+import com.mongodb.DefaultDBEncoder;
+
+/**
+ * Unit tests for {@link DBObjectSize}.
+ */
+public class DBObjectSizeUnitTests {
+
+	@Test
+	public void returnsSizeOfDefaultEncoding() {
+
+		DBObject source = new BasicDBObject("_id", 1).append("name", "Dave").append("tags",
+				Arrays.asList("a", new BasicDBObject("b", 2)));
+
+		assertThat(DBObjectSize.of(source), is(encodedSize(source)));
+	}
+
+	@Test
+	public void calculatesSizeOfAllPlainTypesWithoutEncoding() {
+
+		BasicDBList list = new BasicDBList();
+		list.add(1L);
+		list.add("\u00e4\u20ac\ud83d\ude00");
+
+		DBObject source = new BasicDBObject("_id", new ObjectId()).append("string", "M\u00fcller")
+				.append("int", 42).append("long", 42L).append("double", 4.2).append("boolean", true)
+				.append("date", new Date()).append("null", null).append("bytes", new byte[] { 1, 2, 3 })
+				.append("binary", new Binary((byte) 2, new byte[] { 1, 2 })).append("uuid", UUID.randomUUID())
+				.append("pattern", Pattern.compile("^a", Pattern.CASE_INSENSITIVE)).append("code", new Code("x = 1"))
+				.append("list", list).append("array", new int[] { 1, 2 })
+				.append("map", Collections.singletonMap("key", "value"))
+				.append("nested", new BasicDBObject("\u00e4", new BasicDBObject("deep", 1.0f)));
+
+		assertThat(DBObjectSize.of(source), is(encodedSize(source)));
+	}
+
+	@Test
+	public void fallsBackToEncodingForReferences() {
+
+		DBObject source = new BasicDBObject("_id", 1).append("ref", new DBRef("collection", 1));
+
+		assertThat(DBObjectSize.of(source), is(encodedSize(source)));
+	}
+
+	@Test
+	public void doesNotModifyDocument() {
+
+		DBObject source = new BasicDBObject("name", "Dave");
+
+		DBObjectSize.of(source);
+
+		assertThat(source.keySet(), contains("name"));
+	}
+
+	private static int encodedSize(DBObject dbObject) {
+
+		BasicOutputBuffer buffer = new BasicOutputBuffer();
+		DefaultDBEncoder.FACTORY.create().writeObject(buffer, dbObject);
+		return buffer.toByteArray().length;
+	}
+}
@@ -0,0 +1,90 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.BasicDBList;
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+
+/**
+ * Unit tests for {@link DbRefLookupFetchPlan}.
+ */
+public class DbRefLookupFetchPlanUnitTests {
+
+	MongoMappingContext context = new MongoMappingContext();
+
+	@Test
+	public void joinsReferencedDocumentsFromCollectionOfTargetEntity() {
+
+		DBObject lookup = (DBObject) createPlan().getLookupStages().get(1).get("$lookup");
+
+		assertThat(lookup.get("from"), is((Object) "customer"));
+		assertThat(lookup.get("foreignField"), is((Object) "_id"));
+	}
+
+	@Test
+	public void keepsReferencesToOtherCollections() {
+
+		DBRef premiumCustomer = new DBRef("premiumCustomer", "c1");
+		DBRef otherPremiumCustomer = new DBRef("premiumCustomer", "c2");
+		DBObject carter = new BasicDBObject("_id", "c2").append("name", "Carter");
+
+		BasicDBList customers = new BasicDBList();
+		customers.add(new DBRef("customer", "c2"));
+		customers.add(otherPremiumCustomer);
+
+		DBObject document = new BasicDBObject("_id", "o1").append("customer", premiumCustomer)
+				.append("customers", customers)
+				.append("__fetched_customer", Arrays.asList(new BasicDBObject("_id", "c1").append("name", "Dave")))
+				.append("__fetched_customers", Arrays.asList(carter));
+
+		createPlan().hydrate(document);
+
+		assertThat(document.get("customer"), is(sameInstance((Object) premiumCustomer)));
+		assertThat((BasicDBList) document.get("customers"), contains((Object) carter, otherPremiumCustomer));
+		assertThat(document.containsField("__fetched_customer"), is(false));
+		assertThat(document.containsField("__fetched_customers"), is(false));
+	}
+
+	private DbRefLookupFetchPlan createPlan() {
+		return new DbRefLookupFetchPlan(Arrays.asList("customer", "customers"), context.getPersistentEntity(Order.class),
+				context);
+	}
+
+	static class Order {
+
+		@Id String id;
+		@org.springframework.data.mongodb.core.mapping.DBRef Customer customer;
+		@org.springframework.data.mongodb.core.mapping.DBRef List<Customer> customers;
+	}
+
+	static class Customer {
+
+		@Id String id;
+		String name;
+	}
+}
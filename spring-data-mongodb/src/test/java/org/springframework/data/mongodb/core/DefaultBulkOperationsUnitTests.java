@@ -0,0 +1,536 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.OptimisticLockingFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.Version;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.convert.DbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.event.AfterSaveEvent;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BulkUpdateRequestBuilder;
+import com.mongodb.BulkWriteError;
+import com.mongodb.BulkWriteException;
+import com.mongodb.BulkWriteOperation;
+import com.mongodb.BulkWriteRequestBuilder;
+import com.mongodb.BulkWriteResult;
+import com.mongodb.BulkWriteUpsert;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link DefaultBulkOperations}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultBulkOperationsUnitTests {
+
+	@Mock MongoOperations operations;
+	@Mock DBCollection collection;
+	@Mock BulkWriteOperation bulk;
+	@Mock BulkWriteRequestBuilder builder;
+	@Mock BulkUpdateRequestBuilder upsertBuilder;
+	@Mock DbRefResolver resolver;
+	@Mock ApplicationEventPublisher publisher;
+
+	DefaultBulkOperations bulkOperations;
+
+	@Before
+	public void setUp() {
+
+		MappingMongoConverter converter = new MappingMongoConverter(resolver, new MongoMappingContext());
+		converter.afterPropertiesSet();
+
+		when(operations.getConverter()).thenReturn(converter);
+		when(operations.getCollection("collection")).thenReturn(collection);
+		when(collection.initializeOrderedBulkOperation()).thenReturn(bulk);
+		when(bulk.find(Mockito.any(DBObject.class))).thenReturn(builder);
+		when(builder.upsert()).thenReturn(upsertBuilder);
+
+		bulkOperations = new DefaultBulkOperations(operations, BulkMode.ORDERED, "collection", null);
+		bulkOperations.setEventPublisher(publisher);
+	}
+
+	@Test
+	public void executesWholeBulkOnceIfNotChunked() {
+
+		BulkWriteResult result = result(3, -1);
+		when(bulk.execute()).thenReturn(result);
+
+		bulkOperations.insert(Arrays.asList(document(1), document(2), document(3)));
+
+		assertThat(bulkOperations.execute(), is(sameInstance(result)));
+		verify(bulk, times(1)).execute();
+	}
+
+	@Test
+	public void executesChunksOnceMaxRequestsReachedAndAggregatesResults() {
+
+		BulkWriteResult first = result(2, -1);
+		BulkWriteResult second = result(1, 1);
+		when(bulk.execute()).thenReturn(first, second);
+
+		bulkOperations.chunked(2, 0);
+		bulkOperations.insert(Arrays.asList(document(1), document(2), document(3)).iterator());
+
+		verify(bulk, times(1)).execute();
+
+		bulkOperations.upsert(new Query(), new Update().set("value", 4));
+		BulkWriteResult result = bulkOperations.execute();
+
+		verify(bulk, times(2)).execute();
+		assertThat(result.getInsertedCount(), is(3));
+		assertThat(result.getUpserts(), hasSize(1));
+		assertThat(result.getUpserts().get(0).getIndex(), is(3));
+	}
+
+	@Test
+	public void executesChunksOnceMaxBytesReached() {
+
+		BulkWriteResult result = result(1, -1);
+		when(bulk.execute()).thenReturn(result);
+
+		bulkOperations.chunked(0, 1);
+		bulkOperations.insert(Arrays.asList(document(1), document(2)));
+
+		assertThat(bulkOperations.execute().getInsertedCount(), is(2));
+		verify(bulk, times(2)).execute();
+	}
+
+	@Test
+	public void savesNewAndExistingEntitiesPopulatingIdsAfterExecution() {
+
+		BulkWriteResult result = result(1, -1);
+		when(bulk.execute()).thenReturn(result);
+
+		Person newPerson = new Person();
+		Person existingPerson = new Person();
+		existingPerson.id = "id-1";
+
+		bulkOperations.save(newPerson).save(existingPerson);
+
+		verify(bulk).insert(Mockito.any(DBObject.class));
+		verify(bulk).find(new BasicDBObject("_id", "id-1"));
+		verify(upsertBuilder).replaceOne(Mockito.any(DBObject.class));
+		assertThat(newPerson.id, is(nullValue()));
+
+		bulkOperations.execute();
+
+		assertThat(newPerson.id, is(notNullValue()));
+		verify(publisher, times(2)).publishEvent(Mockito.isA(AfterSaveEvent.class));
+	}
+
+	@Test
+	public void savesVersionedEntityByIdAndPreviousVersion() {
+
+		BulkWriteResult result = result(0, -1);
+		when(result.getMatchedCount()).thenReturn(1);
+		when(bulk.execute()).thenReturn(result);
+
+		VersionedPerson person = new VersionedPerson();
+		person.id = "id-1";
+		person.version = 1L;
+
+		bulkOperations.save(person).execute();
+
+		verify(bulk).find(new BasicDBObject("_id", "id-1").append("version", 1L));
+		verify(builder).replaceOne(Mockito.any(DBObject.class));
+		verify(builder, never()).upsert();
+		assertThat(person.version, is(2L));
+	}
+
+	@Test
+	public void executesVersionedSavesSeparately() {
+
+		BulkWriteResult result = result(1, -1);
+		when(result.getMatchedCount()).thenReturn(1);
+		when(bulk.execute()).thenReturn(result);
+
+		VersionedPerson person = new VersionedPerson();
+		person.id = "id-1";
+		person.version = 1L;
+
+		bulkOperations.insert(document(1)).save(person);
+
+		verify(bulk, times(1)).execute();
+
+		bulkOperations.execute();
+
+		verify(bulk, times(2)).execute();
+	}
+
+	@Test
+	public void collectsVersionedSavesOfUnorderedBulkInSeparateBulkWrite() {
+
+		BulkWriteOperation versioned = mock(BulkWriteOperation.class);
+		BulkWriteResult versionedResult = result(0, -1);
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk, versioned, bulk);
+		when(versioned.find(Mockito.any(DBObject.class))).thenReturn(builder);
+		when(bulk.execute()).thenReturn(result(2, -1));
+		when(versioned.execute()).thenReturn(versionedResult);
+
+		VersionedPerson person = new VersionedPerson();
+		person.id = "id-1";
+		person.version = 1L;
+		Person first = new Person();
+		Person last = new Person();
+
+		DefaultBulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null);
+		unordered.setEventPublisher(publisher);
+		unordered.save(first).save(person).save(last);
+
+		verify(bulk, never()).execute();
+		verify(versioned).find(new BasicDBObject("_id", "id-1").append("version", 1L));
+
+		try {
+			unordered.execute();
+			fail("Expected OptimisticLockingFailureException!");
+		} catch (OptimisticLockingFailureException o_O) {}
+
+		verify(bulk, times(1)).execute();
+		verify(versioned, times(1)).execute();
+		assertThat(first.id, is(notNullValue()));
+		assertThat(last.id, is(notNullValue()));
+		verify(publisher, times(2)).publishEvent(Mockito.isA(AfterSaveEvent.class));
+	}
+
+	@Test
+	public void remapsErrorIndexesToPositionsAmongVersionedSaves() {
+
+		BulkWriteOperation versioned = mock(BulkWriteOperation.class);
+		BulkWriteResult versionedResult = result(0, -1);
+		when(versionedResult.getMatchedCount()).thenReturn(1);
+
+		BulkWriteException exception = mock(BulkWriteException.class);
+		BulkWriteResult partialResult = result(1, -1);
+		when(exception.getWriteResult()).thenReturn(partialResult);
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 1)));
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk, versioned, bulk);
+		when(versioned.find(Mockito.any(DBObject.class))).thenReturn(builder);
+		when(bulk.execute()).thenThrow(exception);
+		when(versioned.execute()).thenReturn(versionedResult);
+
+		VersionedPerson person = new VersionedPerson();
+		person.id = "id-1";
+		person.version = 1L;
+
+		try {
+			new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null).insert(document(1)).save(person)
+					.insert(document(2)).execute();
+			fail("Expected BulkOperationException!");
+		} catch (BulkOperationException o_O) {
+
+			assertThat(o_O.getErrors(), hasSize(1));
+			assertThat(o_O.getErrors().get(0).getIndex(), is(2));
+		}
+	}
+
+	@Test
+	public void failsVersionedSaveNotMatchingDocument() {
+
+		BulkWriteResult result = result(0, -1);
+		when(bulk.execute()).thenReturn(result);
+		when(operations.exists(Mockito.any(Query.class), Mockito.eq("collection"))).thenReturn(true, false);
+
+		VersionedPerson first = new VersionedPerson();
+		first.id = "id-1";
+		first.version = 1L;
+
+		VersionedPerson second = new VersionedPerson();
+		second.id = "id-2";
+		second.version = 1L;
+
+		when(result.getMatchedCount()).thenReturn(1);
+
+		try {
+			bulkOperations.save(first).save(second).execute();
+			fail("Expected OptimisticLockingFailureException!");
+		} catch (OptimisticLockingFailureException o_O) {}
+
+		verify(bulk, times(1)).execute();
+		verify(publisher, times(1)).publishEvent(Mockito.isA(AfterSaveEvent.class));
+	}
+
+	@Test
+	public void populatesIdsOfSavesExecutedBeforeFailedRequest() {
+
+		BulkWriteException exception = mock(BulkWriteException.class);
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 1)));
+		when(bulk.execute()).thenThrow(exception);
+
+		Person first = new Person();
+		Person failed = new Person();
+		Person notExecuted = new Person();
+
+		try {
+			bulkOperations.save(first).save(failed).save(notExecuted).execute();
+			fail("Expected DataAccessException!");
+		} catch (DataAccessException o_O) {}
+
+		assertThat(first.id, is(notNullValue()));
+		assertThat(failed.id, is(nullValue()));
+		assertThat(notExecuted.id, is(nullValue()));
+		verify(publisher, times(1)).publishEvent(Mockito.isA(AfterSaveEvent.class));
+	}
+
+	@Test
+	public void populatesIdsOfAllSucceededSavesOfUnorderedBulk() {
+
+		BulkWriteException exception = mock(BulkWriteException.class);
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 1)));
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+		when(bulk.execute()).thenThrow(exception);
+
+		Person first = new Person();
+		Person failed = new Person();
+		Person last = new Person();
+
+		try {
+			new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null).save(first).save(failed).save(last)
+					.execute();
+			fail("Expected DataAccessException!");
+		} catch (DataAccessException o_O) {}
+
+		assertThat(first.id, is(notNullValue()));
+		assertThat(failed.id, is(nullValue()));
+		assertThat(last.id, is(notNullValue()));
+	}
+
+	@Test
+	public void executesBatchesOfUnorderedBulkConcurrentlyAndMergesResults() {
+
+		BulkWriteOperation second = mock(BulkWriteOperation.class);
+		BulkWriteResult firstResult = result(2, -1);
+		BulkWriteResult secondResult = result(1, -1);
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk, second, bulk);
+		when(bulk.execute()).thenReturn(firstResult);
+		when(second.execute()).thenReturn(secondResult);
+
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.parallel(inlineExecutor(tasks), 2);
+
+		assertThat(unordered.insert(Arrays.asList(document(1), document(2), document(3))).execute().getInsertedCount(),
+				is(3));
+		assertThat(tasks, hasSize(2));
+		verify(bulk, times(2)).insert(Mockito.any(DBObject.class));
+		verify(second, times(1)).insert(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void remapsErrorIndexesOfFailedBatches() {
+
+		BulkWriteOperation second = mock(BulkWriteOperation.class);
+		BulkWriteResult firstResult = result(2, -1);
+		BulkWriteResult secondResult = result(0, -1);
+
+		BulkWriteException exception = mock(BulkWriteException.class);
+		when(exception.getWriteResult()).thenReturn(secondResult);
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 0)));
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk, second, bulk);
+		when(bulk.execute()).thenReturn(firstResult);
+		when(second.execute()).thenThrow(exception);
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.parallel(inlineExecutor(new ArrayList<Runnable>()), 2);
+
+		try {
+			unordered.insert(Arrays.asList(document(1), document(2), document(3))).execute();
+			fail("Expected BulkOperationException!");
+		} catch (BulkOperationException o_O) {
+
+			assertThat(o_O.getErrors(), hasSize(1));
+			assertThat(o_O.getErrors().get(0).getIndex(), is(2));
+			assertThat(o_O.getResult().getInsertedCount(), is(2));
+		}
+	}
+
+	@Test
+	public void executesBatchesRejectedByExecutorInCallingThread() {
+
+		BulkWriteOperation second = mock(BulkWriteOperation.class);
+		BulkWriteResult firstResult = result(2, -1);
+		BulkWriteResult secondResult = result(1, -1);
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk, second, bulk);
+		when(bulk.execute()).thenReturn(firstResult);
+		when(second.execute()).thenReturn(secondResult);
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.parallel(new Executor() {
+
+					@Override
+					public void execute(Runnable command) {
+						throw new RejectedExecutionException();
+					}
+				}, 2);
+
+		assertThat(unordered.insert(Arrays.asList(document(1), document(2), document(3))).execute().getInsertedCount(),
+				is(3));
+		verify(bulk, times(1)).execute();
+		verify(second, times(1)).execute();
+	}
+
+	@Test
+	public void remapsErrorIndexesOfFailedBatchesOfLaterChunks() {
+
+		BulkWriteResult succeeded = result(1, -1);
+		BulkWriteException exception = mock(BulkWriteException.class);
+		when(exception.getWriteResult()).thenReturn(result(0, -1));
+		when(exception.getWriteErrors())
+				.thenReturn(Arrays.asList(new BulkWriteError(11000, "E11000 duplicate key", new BasicDBObject(), 0)));
+
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+		when(bulk.execute()).thenReturn(succeeded, succeeded).thenThrow(exception);
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.chunked(2, 0).parallel(inlineExecutor(new ArrayList<Runnable>()), 1);
+
+		try {
+			unordered.insert(Arrays.asList(document(1), document(2), document(3))).execute();
+			fail("Expected BulkOperationException!");
+		} catch (BulkOperationException o_O) {
+
+			assertThat(o_O.getErrors(), hasSize(1));
+			assertThat(o_O.getErrors().get(0).getIndex(), is(2));
+		}
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsParallelExecutionOfOrderedBulk() {
+		bulkOperations.parallel(inlineExecutor(new ArrayList<Runnable>()), 2);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void rejectsCoalescingUpdatesOfOrderedBulk() {
+		bulkOperations.coalesceUpdates();
+	}
+
+	@Test
+	public void coalescesUpdatesOfSameDocument() {
+
+		BulkWriteResult result = result(0, -1);
+		when(bulk.execute()).thenReturn(result);
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.coalesceUpdates();
+		unordered.updateOne(query(where("_id").is(1)), new Update().inc("count", 1));
+		unordered.updateOne(query(where("_id").is(2)), new Update().inc("count", 1));
+		unordered.updateOne(query(where("_id").is(1)), new Update().inc("count", 2).set("state", "b"));
+		unordered.execute();
+
+		verify(bulk, times(2)).find(Mockito.any(DBObject.class));
+		verify(builder).updateOne(new BasicDBObject("$inc", new BasicDBObject("count", 3)).append("$set",
+				new BasicDBObject("state", "b")));
+		verify(builder).updateOne(new BasicDBObject("$inc", new BasicDBObject("count", 1)));
+	}
+
+	@Test
+	public void keepsOrderOfUpdatesNotSafeToCoalesce() {
+
+		BulkWriteResult result = result(0, -1);
+		when(bulk.execute()).thenReturn(result);
+		when(collection.initializeUnorderedBulkOperation()).thenReturn(bulk);
+
+		BulkOperations unordered = new DefaultBulkOperations(operations, BulkMode.UNORDERED, "collection", null)
+				.coalesceUpdates();
+		unordered.updateOne(query(where("_id").is(1)), new Update().set("count", 0));
+		unordered.updateOne(query(where("_id").is(1)), new Update().inc("count", 1));
+		unordered.execute();
+
+		InOrder inOrder = inOrder(builder);
+		inOrder.verify(builder).updateOne(new BasicDBObject("$set", new BasicDBObject("count", 0)));
+		inOrder.verify(builder).updateOne(new BasicDBObject("$inc", new BasicDBObject("count", 1)));
+	}
+
+	private static Executor inlineExecutor(final List<Runnable> tasks) {
+
+		return new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+				command.run();
+			}
+		};
+	}
+
+	private static DBObject document(int value) {
+		return new BasicDBObject("value", value);
+	}
+
+	private static BulkWriteResult result(int inserted, int upsertIndex) {
+
+		BulkWriteResult result = mock(BulkWriteResult.class);
+
+		when(result.isAcknowledged()).thenReturn(true);
+		when(result.getInsertedCount()).thenReturn(inserted);
+		when(result.getUpserts()).thenReturn(upsertIndex < 0 ? Collections.<BulkWriteUpsert> emptyList()
+				: Collections.singletonList(new BulkWriteUpsert(upsertIndex, "id")));
+
+		return result;
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+	}
+
+	static class VersionedPerson {
+
+		@Id String id;
+		@Version Long version;
+	}
+}
@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Test;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link EntitySnapshots}.
+ */
+public class EntitySnapshotsUnitTests {
+
+	@Test
+	public void diffSetsChangedAndUnsetsRemovedFields() {
+
+		DBObject snapshot = new BasicDBObject("_id", 1).append("name", "Dave").append("age", 42).append("tags",
+				Arrays.asList("a", "b"));
+		DBObject current = new BasicDBObject("_id", 1).append("name", "Carter").append("tags", Arrays.asList("a", "b"))
+				.append("nickname", "Ace");
+
+		DBObject update = EntitySnapshots.diff(snapshot, current).getUpdateObject();
+
+		assertThat(update.get("$set"), is((Object) new BasicDBObject("name", "Carter").append("nickname", "Ace")));
+		assertThat(update.get("$unset"), is((Object) new BasicDBObject("age", 1)));
+	}
+
+	@Test
+	public void diffDescendsIntoEmbeddedDocuments() {
+
+		DBObject snapshot = new BasicDBObject("_id", 1).append("address",
+				new BasicDBObject("street", "Broadway").append("city", "New York").append("zip", "10001"));
+		DBObject current = new BasicDBObject("_id", 1).append("address",
+				new BasicDBObject("street", "5th Avenue").append("city", "New York"));
+
+		DBObject update = EntitySnapshots.diff(snapshot, current).getUpdateObject();
+
+		assertThat(update.get("$set"), is((Object) new BasicDBObject("address.street", "5th Avenue")));
+		assertThat(update.get("$unset"), is((Object) new BasicDBObject("address.zip", 1)));
+	}
+
+	@Test
+	public void diffOfEqualDocumentsIsEmpty() {
+
+		DBObject document = new BasicDBObject("_id", 1).append("name", "Dave");
+
+		assertThat(EntitySnapshots.diff(document, new BasicDBObject(document.toMap())).getUpdateObject().keySet(),
+				is(empty()));
+	}
+
+	@Test
+	public void tracksSnapshotsByIdentity() {
+
+		EntitySnapshots snapshots = new EntitySnapshots();
+		String entity = new String("entity");
+		DBObject document = new BasicDBObject("_id", 1);
+
+		snapshots.put(entity, "collection", document);
+
+		assertThat(snapshots.get(entity, "collection"), is(sameInstance(document)));
+		assertThat(snapshots.get(new String("entity"), "collection"), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotReturnSnapshotOfDifferentCollection() {
+
+		EntitySnapshots snapshots = new EntitySnapshots();
+		String entity = new String("entity");
+
+		snapshots.put(entity, "orders", new BasicDBObject("_id", 1));
+
+		assertThat(snapshots.get(entity, "orders_archive"), is(nullValue()));
+	}
+
+	@Test
+	public void tracksSnapshotsPutConcurrently() throws Exception {
+
+		final EntitySnapshots snapshots = new EntitySnapshots();
+		final Object[] entities = new Object[1000];
+		List<Thread> threads = new ArrayList<Thread>();
+
+		for (int i = 0; i < entities.length; i++) {
+			entities[i] = new Object();
+		}
+
+		for (int t = 0; t < 4; t++) {
+
+			final int offset = t;
+
+			Thread thread = new Thread(new Runnable() {
+
+				@Override
+				public void run() {
+					for (int i = offset; i < entities.length; i += 4) {
+						snapshots.put(entities[i], "collection", new BasicDBObject("_id", i));
+					}
+				}
+			});
+
+			threads.add(thread);
+			thread.start();
+		}
+
+		for (Thread thread : threads) {
+			thread.join();
+		}
+
+		for (int i = 0; i < entities.length; i++) {
+			assertThat(snapshots.get(entities[i], "collection").get("_id"), is((Object) i));
+		}
+	}
+}
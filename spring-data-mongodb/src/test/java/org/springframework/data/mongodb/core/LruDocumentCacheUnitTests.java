@@ -0,0 +1,133 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Test;
+import org.springframework.core.annotation.AnnotationUtils;
+import org.springframework.data.mongodb.core.mapping.Cached;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link LruDocumentCache}.
+ */
+public class LruDocumentCacheUnitTests {
+
+	long now = 0;
+
+	LruDocumentCache cache = new LruDocumentCache(new LruDocumentCache.Clock() {
+
+		@Override
+		public long currentTimeMillis() {
+			return now;
+		}
+	});
+
+	@Test
+	public void evictsLeastRecentlyUsedDocumentOnceFull() {
+
+		Cached settings = AnnotationUtils.findAnnotation(TwoEntries.class, Cached.class);
+
+		cache.put("collection", 1, document(1), settings, cache.getStamp("collection"));
+		cache.put("collection", 2, document(2), settings, cache.getStamp("collection"));
+		cache.get("collection", 1);
+		cache.put("collection", 3, document(3), settings, cache.getStamp("collection"));
+
+		assertThat(cache.get("collection", 1), is(document(1)));
+		assertThat(cache.get("collection", 2), is(nullValue()));
+		assertThat(cache.get("collection", 3), is(document(3)));
+	}
+
+	@Test
+	public void evictsSingleDocumentAndWholeCollection() {
+
+		Cached settings = AnnotationUtils.findAnnotation(TwoEntries.class, Cached.class);
+
+		cache.put("collection", 1, document(1), settings, cache.getStamp("collection"));
+		cache.put("collection", 2, document(2), settings, cache.getStamp("collection"));
+		cache.put("other", 1, document(1), settings, cache.getStamp("other"));
+
+		cache.evict("collection", 1);
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+		assertThat(cache.get("collection", 2), is(document(2)));
+
+		cache.evictAll("collection");
+
+		assertThat(cache.get("collection", 2), is(nullValue()));
+		assertThat(cache.get("other", 1), is(document(1)));
+	}
+
+	@Test
+	public void doesNotReturnExpiredDocuments() {
+
+		Cached settings = AnnotationUtils.findAnnotation(OneSecond.class, Cached.class);
+
+		cache.put("collection", 1, document(1), settings, cache.getStamp("collection"));
+
+		now = 1000;
+		assertThat(cache.get("collection", 1), is(document(1)));
+
+		now = 1001;
+		assertThat(cache.get("collection", 1), is(nullValue()));
+	}
+
+	@Test
+	public void doesNotCacheDocumentReadBeforeEviction() {
+
+		Cached settings = AnnotationUtils.findAnnotation(TwoEntries.class, Cached.class);
+
+		long stamp = cache.getStamp("collection");
+		cache.evict("collection", 1);
+		cache.put("collection", 1, document(1), settings, stamp);
+
+		assertThat(cache.get("collection", 1), is(nullValue()));
+
+		cache.put("collection", 1, document(1), settings, cache.getStamp("collection"));
+
+		assertThat(cache.get("collection", 1), is(document(1)));
+	}
+
+	@Test
+	public void copiesDocumentsOnPutAndGet() {
+
+		Cached settings = AnnotationUtils.findAnnotation(TwoEntries.class, Cached.class);
+		DBObject nested = new BasicDBObject("city", "NYC");
+		DBObject source = new BasicDBObject("_id", 1).append("address", nested);
+
+		cache.put("collection", 1, source, settings, cache.getStamp("collection"));
+		nested.put("city", "SF");
+
+		DBObject cached = cache.get("collection", 1);
+		((DBObject) cached.get("address")).put("city", "LA");
+
+		assertThat(((DBObject) cache.get("collection", 1).get("address")).get("city"), is((Object) "NYC"));
+	}
+
+	private static DBObject document(Object id) {
+		return new BasicDBObject("_id", id);
+	}
+
+	@Cached(maxEntries = 2)
+	static class TwoEntries {}
+
+	@Cached(ttl = 1)
+	static class OneSecond {}
+}
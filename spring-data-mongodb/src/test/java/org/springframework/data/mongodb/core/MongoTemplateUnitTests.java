@@ -21,7 +21,13 @@ import static org.mockito.Matchers.*;
 import static org.mockito.Mockito.*;
 
 import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
 import java.util.regex.Pattern;
 
 import org.bson.types.ObjectId;
@@ -35,14 +41,18 @@ import org.mockito.ArgumentMatcher;
 import org.mockito.Matchers;
 import org.mockito.Mock;
 import org.mockito.Mockito;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.springframework.context.support.GenericApplicationContext;
 import org.springframework.core.convert.converter.Converter;
 import org.springframework.dao.DataAccessException;
 import org.springframework.dao.InvalidDataAccessApiUsageException;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.annotation.Version;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.geo.GeoResults;
 import org.springframework.data.geo.Point;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
@@ -51,6 +61,7 @@ import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
 import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
 import org.springframework.data.mongodb.core.convert.QueryMapper;
 import org.springframework.data.mongodb.core.index.MongoPersistentEntityIndexCreator;
+import org.springframework.data.mongodb.core.mapping.Cached;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapreduce.MapReduceOptions;
 import org.springframework.data.mongodb.core.query.BasicQuery;
@@ -58,15 +69,19 @@ import org.springframework.data.mongodb.core.query.Criteria;
 import org.springframework.data.mongodb.core.query.NearQuery;
 import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.data.util.CloseableIterator;
 import org.springframework.test.util.ReflectionTestUtils;
 
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.BasicDBObjectBuilder;
 import com.mongodb.CommandResult;
+import com.mongodb.Cursor;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
 import com.mongodb.DBCursor;
 import com.mongodb.DBObject;
+import com.mongodb.DBRef;
 import com.mongodb.MapReduceCommand;
 import com.mongodb.MapReduceOutput;
 import com.mongodb.Mongo;
@@ -425,6 +440,37 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		verify(this.db, times(1)).command(Mockito.any(DBObject.class));
 	}
 
+	@Test
+	@SuppressWarnings({ "unchecked", "rawtypes" })
+	public void geoNearWithSkipUsesAggregationCursorInsteadOfCommand() {
+
+		ArgumentCaptor<List<DBObject>> captor = ArgumentCaptor.forClass((Class) List.class);
+
+		Cursor aggregationCursor = mock(Cursor.class);
+		when(collection.aggregate(Mockito.anyList(), Mockito.any(com.mongodb.AggregationOptions.class)))
+				.thenReturn(aggregationCursor);
+		when(aggregationCursor.hasNext()).thenReturn(true, false);
+		when(aggregationCursor.next()).thenReturn(new BasicDBObject("id", "42").append("__distance", 1.5));
+
+		NearQuery query = NearQuery.near(new Point(1, 1)).with(new PageRequest(3, 10));
+		GeoResults<Wrapper> results = template.geoNear(query, Wrapper.class);
+
+		verify(collection).aggregate(captor.capture(), Mockito.any(com.mongodb.AggregationOptions.class));
+		verify(aggregationCursor).close();
+		verify(db, never()).command(Mockito.any(DBObject.class));
+
+		List<DBObject> pipeline = captor.getValue();
+		DBObject geoNear = (DBObject) pipeline.get(0).get("$geoNear");
+
+		assertThat(geoNear.get("num"), is((Object) 40));
+		assertThat(geoNear.get("distanceField"), is((Object) "__distance"));
+		assertThat(pipeline.get(1), is((DBObject) new BasicDBObject("$skip", 30)));
+		assertThat(pipeline.get(2), is((DBObject) new BasicDBObject("$limit", 10)));
+
+		assertThat(results.getContent(), hasSize(1));
+		assertThat(results.getContent().get(0).getDistance().getValue(), is(1.5));
+	}
+
 	/**
 	 * @see DATAMONGO-1334
 	 */
@@ -531,6 +577,335 @@ public class MongoTemplateUnitTests extends MongoOperationsUnitTests {
 		assertThat(captor.getValue().getLimit(), is(1000));
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void aggregateStreamShouldUseCursorAndApplyOptions() {
+
+		ArgumentCaptor<com.mongodb.AggregationOptions> captor = ArgumentCaptor
+				.forClass(com.mongodb.AggregationOptions.class);
+
+		Cursor aggregationCursor = mock(Cursor.class);
+		when(collection.aggregate(Mockito.anyList(), Mockito.any(com.mongodb.AggregationOptions.class)))
+				.thenReturn(aggregationCursor);
+		when(aggregationCursor.hasNext()).thenReturn(true, false);
+		when(aggregationCursor.next()).thenReturn(new BasicDBObject("id", "42"));
+
+		Aggregation aggregation = Aggregation.newAggregation(Aggregation.project("id"))
+				.withOptions(Aggregation.newAggregationOptions().allowDiskUse(true).cursorBatchSize(10).build());
+
+		CloseableIterator<Wrapper> iterator = template.aggregateStream(aggregation, "collection", Wrapper.class);
+
+		assertThat(iterator.hasNext(), is(true));
+		assertThat(iterator.next(), is(notNullValue()));
+		assertThat(iterator.hasNext(), is(false));
+		iterator.close();
+
+		verify(collection).aggregate(Mockito.anyList(), captor.capture());
+		verify(aggregationCursor).close();
+		verify(db, never()).command(Mockito.any(DBObject.class));
+
+		assertThat(captor.getValue().getAllowDiskUse(), is(true));
+		assertThat(captor.getValue().getBatchSize(), is(10));
+		assertThat(captor.getValue().getOutputMode(), is(com.mongodb.AggregationOptions.OutputMode.CURSOR));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void aggregateStreamShouldRejectExplain() {
+
+		Aggregation aggregation = Aggregation.newAggregation(Aggregation.project("id"))
+				.withOptions(Aggregation.newAggregationOptions().explain(true).build());
+
+		template.aggregateStream(aggregation, "collection", Wrapper.class);
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void findWithFetchPathsUsesLookupAndHydratesReferences() {
+
+		ArgumentCaptor<List<DBObject>> captor = ArgumentCaptor.forClass((Class) List.class);
+
+		BasicDBList customers = new BasicDBList();
+		customers.add(new DBRef("customer", "c2"));
+		customers.add(new DBRef("customer", "c3"));
+
+		DBObject result = new BasicDBObject("_id", "o1").append("customer", new DBRef("customer", "c1"))
+				.append("customers", customers)
+				.append("__fetched_customer", Arrays.asList(new BasicDBObject("_id", "c1").append("name", "Dave")))
+				.append("__fetched_customers", Arrays.asList(new BasicDBObject("_id", "c2").append("name", "Carter")));
+
+		Cursor aggregationCursor = mock(Cursor.class);
+		when(collection.aggregate(Mockito.anyList(), Mockito.any(com.mongodb.AggregationOptions.class)))
+				.thenReturn(aggregationCursor);
+		when(aggregationCursor.hasNext()).thenReturn(true, false);
+		when(aggregationCursor.next()).thenReturn(result);
+
+		Query query = new Query(Criteria.where("id").is("o1")).limit(10).fetch("customer", "customers");
+		List<OrderWithCustomer> orders = template.find(query, OrderWithCustomer.class);
+
+		verify(collection).aggregate(captor.capture(), Mockito.any(com.mongodb.AggregationOptions.class));
+		verify(aggregationCursor).close();
+
+		List<DBObject> pipeline = captor.getValue();
+		assertThat(pipeline.get(0), is((DBObject) new BasicDBObject("$match", new BasicDBObject("_id", "o1"))));
+		assertThat(pipeline.get(1), is((DBObject) new BasicDBObject("$limit", 10)));
+		assertThat(((DBObject) pipeline.get(3).get("$lookup")).get("from"), is((Object) "customer"));
+		assertThat(((DBObject) pipeline.get(3).get("$lookup")).get("as"), is((Object) "__fetched_customer"));
+
+		assertThat(orders, hasSize(1));
+		assertThat(orders.get(0).customer.name, is("Dave"));
+		assertThat(orders.get(0).customers, hasSize(2));
+		assertThat(orders.get(0).customers.get(0).name, is("Carter"));
+		assertThat(orders.get(0).customers.get(1), is(nullValue()));
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void findWithFetchPathsAppliesCommentAndMaxTime() {
+
+		ArgumentCaptor<List<DBObject>> pipeline = ArgumentCaptor.forClass((Class) List.class);
+		ArgumentCaptor<com.mongodb.AggregationOptions> options = ArgumentCaptor
+				.forClass(com.mongodb.AggregationOptions.class);
+
+		when(collection.aggregate(Mockito.anyList(), Mockito.any(com.mongodb.AggregationOptions.class)))
+				.thenReturn(mock(Cursor.class));
+
+		Query query = new Query().fetch("customer").comment("orders").maxTimeMsec(100);
+		template.find(query, OrderWithCustomer.class);
+
+		verify(collection).aggregate(pipeline.capture(), options.capture());
+
+		assertThat(pipeline.getValue().get(0), is((DBObject) new BasicDBObject("$match",
+				new BasicDBObject("$comment", "orders"))));
+		assertThat(options.getValue().getMaxTime(TimeUnit.MILLISECONDS), is(100L));
+	}
+
+	@Test
+	public void findWithFetchPathsAndHintResolvesReferencesOneByOne() {
+
+		template.find(new Query().fetch("customer").withHint("customer_idx"), OrderWithCustomer.class);
+
+		verify(cursor).hint("customer_idx");
+		verify(collection, never()).aggregate(Mockito.anyListOf(DBObject.class),
+				Mockito.any(com.mongodb.AggregationOptions.class));
+	}
+
+	@Test(expected = InvalidDataAccessApiUsageException.class)
+	public void findWithFetchPathsRejectsNonReferenceProperty() {
+		template.find(new Query().fetch("id"), OrderWithCustomer.class);
+	}
+
+	@Test
+	public void findByIdOfCachedEntityReadsDocumentOnlyOnce() {
+
+		when(collection.findOne(Mockito.any(DBObject.class)))
+				.thenReturn(new BasicDBObject("_id", "id-1").append("name", "Dave"));
+
+		CachedCustomer first = template.findById("id-1", CachedCustomer.class);
+		CachedCustomer second = template.findById("id-1", CachedCustomer.class);
+
+		verify(collection, times(1)).findOne(Mockito.any(DBObject.class));
+		assertThat(first.name, is("Dave"));
+		assertThat(second.name, is("Dave"));
+		assertThat(first, is(not(sameInstance(second))));
+	}
+
+	@Test
+	public void updateEvictsCachedDocument() {
+
+		when(collection.findOne(Mockito.any(DBObject.class)))
+				.thenReturn(new BasicDBObject("_id", "id-1").append("name", "Dave"));
+
+		template.findById("id-1", CachedCustomer.class);
+		template.updateFirst(new Query(Criteria.where("id").is("id-1")), new Update().set("name", "Carter"),
+				CachedCustomer.class);
+		template.findById("id-1", CachedCustomer.class);
+
+		verify(collection, times(2)).findOne(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void findByIdOfUncachedEntityAlwaysReadsDocument() {
+
+		when(collection.findOne(Mockito.any(DBObject.class)))
+				.thenReturn(new BasicDBObject("_id", "id-1").append("name", "Dave"));
+
+		template.findById("id-1", Customer.class);
+		template.findById("id-1", Customer.class);
+
+		verify(collection, times(2)).findOne(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void saveWithDirtyTrackingOnlySetsChangedFields() {
+
+		template.setUseDirtyTracking(true);
+		when(collection.findOne(Mockito.any(DBObject.class))).thenReturn(
+				new BasicDBObject("_id", "id-1").append("_class", Customer.class.getName()).append("name", "Dave"));
+
+		Customer customer = template.findById("id-1", Customer.class);
+		customer.name = "Carter";
+
+		template.save(customer);
+		template.save(customer);
+
+		verify(collection, times(1)).update(eq((DBObject) new BasicDBObject("_id", "id-1")),
+				eq((DBObject) new BasicDBObject("$set", new BasicDBObject("name", "Carter"))), eq(false), eq(false));
+		verify(collection, never()).save(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void saveWithDirtyTrackingToDifferentCollectionReplacesDocument() {
+
+		template.setUseDirtyTracking(true);
+		when(collection.findOne(Mockito.any(DBObject.class))).thenReturn(
+				new BasicDBObject("_id", "id-1").append("_class", Customer.class.getName()).append("name", "Dave"));
+
+		Customer customer = template.findById("id-1", Customer.class);
+
+		template.save(customer, "customer_archive");
+
+		verify(collection, times(1)).save(Mockito.any(DBObject.class));
+		verify(collection, never()).update(Mockito.any(DBObject.class), Mockito.any(DBObject.class), Mockito.anyBoolean(),
+				Mockito.anyBoolean());
+	}
+
+	@Test
+	public void saveWithoutDirtyTrackingReplacesDocument() {
+
+		when(collection.findOne(Mockito.any(DBObject.class))).thenReturn(
+				new BasicDBObject("_id", "id-1").append("_class", Customer.class.getName()).append("name", "Dave"));
+
+		Customer customer = template.findById("id-1", Customer.class);
+		customer.name = "Carter";
+
+		template.save(customer);
+
+		verify(collection, times(1)).save(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void insertAllWritesIteratorInChunksOfConfiguredSize() {
+
+		template.setMaxInsertChunkDocuments(2);
+
+		when(collection.insert(Mockito.anyListOf(DBObject.class))).thenAnswer(new Answer<Object>() {
+
+			@Override
+			@SuppressWarnings("unchecked")
+			public Object answer(InvocationOnMock invocation) throws Throwable {
+
+				for (DBObject dbObject : (List<DBObject>) invocation.getArguments()[0]) {
+					dbObject.put("_id", new ObjectId());
+				}
+
+				return null;
+			}
+		});
+
+		List<Customer> customers = Arrays.asList(new Customer(), new Customer(), new Customer(), new Customer(),
+				new Customer());
+
+		assertThat(template.insertAll(customers.iterator(), Customer.class), is(5L));
+
+		verify(collection, times(3)).insert(Mockito.anyListOf(DBObject.class));
+
+		for (Customer customer : customers) {
+			assertThat(customer.id, is(notNullValue()));
+		}
+	}
+
+	@Test
+	public void insertAllStartsNewChunkOnceMaxBytesExceeded() {
+
+		template.setMaxInsertChunkBytes(1);
+
+		assertThat(template.insertAll(Arrays.asList(new Customer(), new Customer()), Customer.class), is(2L));
+
+		verify(collection, times(2)).insert(Mockito.anyListOf(DBObject.class));
+	}
+
+	@Test
+	public void insertAllWritesCollectionsThroughConfiguredExecutor() {
+
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+
+		template.setInsertExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+				command.run();
+			}
+		});
+
+		template.insertAll(Arrays.asList(new Customer(), new CachedCustomer(), new Customer()));
+
+		assertThat(tasks, hasSize(2));
+		verify(collection, times(2)).insert(Mockito.anyListOf(DBObject.class));
+	}
+
+	@Test
+	public void insertAllConvertsObjectsOfSingleCollectionConcurrently() {
+
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+
+		template.setInsertExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+				command.run();
+			}
+		});
+
+		List<Customer> customers = new ArrayList<Customer>();
+
+		for (int i = 0; i < 250; i++) {
+			customers.add(new Customer());
+		}
+
+		template.insertAll(customers);
+
+		assertThat(tasks, hasSize(3));
+		verify(collection, times(1)).insert(Mockito.anyListOf(DBObject.class));
+	}
+
+	@Test
+	public void insertAllRunsTasksRejectedByExecutorOnCallingThread() {
+
+		template.setInsertExecutor(new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				throw new RejectedExecutionException();
+			}
+		});
+
+		template.insertAll(Arrays.asList(new Customer(), new CachedCustomer()));
+
+		verify(collection, times(2)).insert(Mockito.anyListOf(DBObject.class));
+	}
+
+	@Cached
+	static class CachedCustomer {
+
+		@Id String id;
+		String name;
+	}
+
+	static class OrderWithCustomer {
+
+		@Id String id;
+		@org.springframework.data.mongodb.core.mapping.DBRef Customer customer;
+		@org.springframework.data.mongodb.core.mapping.DBRef List<Customer> customers;
+	}
+
+	static class Customer {
+
+		@Id String id;
+		String name;
+	}
+
 	class AutogenerateableId {
 
 		@Id BigInteger id;
@@ -0,0 +1,147 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+import static org.springframework.data.mongodb.core.query.Query.*;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link NearCachedCollection}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class NearCachedCollectionUnitTests {
+
+	@Mock MongoDbFactory factory;
+	@Mock DB db;
+	@Mock DBCollection collection;
+	@Mock DBCursor cursor;
+	@Mock DBCursor modifiedCursor;
+
+	NearCachedCollection<Currency> currencies;
+
+	@Before
+	public void setUp() {
+
+		when(factory.getDb()).thenReturn(db);
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(db.getCollection(Mockito.any(String.class))).thenReturn(collection);
+		when(collection.find(Mockito.any(DBObject.class))).thenReturn(cursor, modifiedCursor);
+
+		when(cursor.hasNext()).thenReturn(true, true, true, false);
+		when(cursor.next()).thenReturn(currency("1", "EUR", 1L, "DE", "FR"), currency("2", "USD", 2L, "US"),
+				currency("3", "CHF", 1L, "CH"));
+
+		MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(factory),
+				new MongoMappingContext());
+		converter.afterPropertiesSet();
+
+		currencies = new MongoTemplate(factory, converter).nearCache(Currency.class);
+		currencies.setIndexedProperties("code");
+	}
+
+	@Test
+	public void answersEqualityAndInCriteriaLocally() {
+
+		assertThat(currencies.findOne(query(where("code").is("USD"))).id, is("2"));
+		assertThat(currencies.find(query(where("code").in("EUR", "CHF", "GBP"))), hasSize(2));
+		assertThat(currencies.find(query(where("code").is("EUR").and("rate").is(1))), hasSize(1));
+		assertThat(currencies.find(query(where("regions").is("FR"))), hasSize(1));
+		assertThat(currencies.findById("3").code, is("CHF"));
+		assertThat(currencies.findAll(), hasSize(3));
+
+		verify(collection, times(1)).find(Mockito.any(DBObject.class));
+		assertThat(currencies.getLocalQueryCount(), is(6L));
+		assertThat(currencies.getServerQueryCount(), is(0L));
+	}
+
+	@Test
+	public void appliesSkipAndLimitLocally() {
+
+		List<Currency> result = currencies.find(query(where("code").in("EUR", "USD", "CHF")).skip(1).limit(1));
+
+		assertThat(result, hasSize(1));
+		assertThat(result.get(0).code, is("USD"));
+	}
+
+	@Test
+	public void sendsUnsupportedQueriesToServer() {
+
+		when(collection.find(Mockito.any(DBObject.class), Mockito.any(DBObject.class))).thenReturn(cursor);
+		when(cursor.copy()).thenReturn(cursor);
+		when(cursor.sort(Mockito.any(DBObject.class))).thenReturn(cursor);
+
+		currencies.findAll();
+		currencies.find(query(where("rate").gt(1)));
+		currencies.find(query(where("code").is("EUR")).with(new Sort("code")));
+
+		assertThat(currencies.getServerQueryCount(), is(2L));
+	}
+
+	@Test
+	public void refreshesIncrementallyByLastModified() {
+
+		currencies.setLastModifiedProperty("rate");
+		currencies.findAll();
+
+		when(modifiedCursor.hasNext()).thenReturn(true, false);
+		when(modifiedCursor.next()).thenReturn(currency("2", "USN", 3L, "US"));
+
+		currencies.refresh();
+
+		verify(collection).find(new BasicDBObject("rate", new BasicDBObject("$gte", 2L)));
+		assertThat(currencies.findById("2").code, is("USN"));
+		assertThat(currencies.findOne(query(where("code").is("USD"))), is(nullValue()));
+		assertThat(currencies.findAll(), hasSize(3));
+	}
+
+	private static DBObject currency(String id, String code, long rate, String... regions) {
+		return new BasicDBObject("_id", id).append("code", code).append("rate", rate).append("regions",
+				Arrays.asList(regions));
+	}
+
+	static class Currency {
+
+		@Id String id;
+		String code;
+		Long rate;
+		List<String> regions;
+	}
+}
@@ -53,6 +53,21 @@ public class AggregationOptionsTests {
 		assertThat(aggregationOptions.getCursor(), is((DBObject) new BasicDBObject("foo", 1)));
 	}
 
+	@Test
+	public void cursorBatchSizeShouldBeWrittenToCursorOptions() {
+
+		AggregationOptions options = newAggregationOptions().cursor(new BasicDBObject("foo", 1)).cursorBatchSize(100)
+				.build();
+
+		assertThat(options.getCursorBatchSize(), is(100));
+		assertThat(options.getCursor(), is((DBObject) new BasicDBObject("foo", 1).append("batchSize", 100)));
+	}
+
+	@Test
+	public void cursorBatchSizeShouldBeNullIfNotConfigured() {
+		assertThat(aggregationOptions.getCursorBatchSize(), is(nullValue()));
+	}
+
 	/**
 	 * @see DATAMONGO-960
 	 */
@@ -26,16 +26,20 @@ import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 
 import org.bson.types.ObjectId;
+import org.hamcrest.Matchers;
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.Mock;
+import org.mockito.invocation.InvocationOnMock;
 import org.mockito.runners.MockitoJUnitRunner;
+import org.mockito.stubbing.Answer;
 import org.springframework.data.annotation.AccessType;
 import org.springframework.data.annotation.AccessType.Type;
 import org.springframework.data.annotation.Id;
@@ -52,6 +56,7 @@ import org.springframework.data.mongodb.util.MongoClientVersion;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.util.SerializationUtils;
 
+import com.mongodb.BasicDBList;
 import com.mongodb.BasicDBObject;
 import com.mongodb.DB;
 import com.mongodb.DBCollection;
@@ -577,10 +582,128 @@ public class DbRefMappingMongoConverterUnitTests {
 		assertProxyIsResolved(result.dbRefToPlainObject, false);
 	}
 
+	@Test
+	@SuppressWarnings("unchecked")
+	public void resolvesCollectionOfDbRefsWithSingleBulkFetch() {
+
+		MappingMongoConverter converterSpy = spy(converter);
+		doReturn(Arrays.<DBObject> asList(new BasicDBObject("_id", "1").append("value", "one"), null,
+				new BasicDBObject("_id", "3").append("value", "three"))).when(converterSpy).bulkReadRefs(anyList());
+
+		BasicDBList dbRefs = new BasicDBList();
+		dbRefs.add(new DBRef("lazyDbRefTarget", "1"));
+		dbRefs.add(new DBRef("lazyDbRefTarget", "2"));
+		dbRefs.add(new DBRef("lazyDbRefTarget", "3"));
+
+		ClassWithDbRefCollections result = converterSpy.read(ClassWithDbRefCollections.class,
+				new BasicDBObject("dbRefs", dbRefs));
+
+		assertThat(result.dbRefs.size(), is(3));
+		assertThat(result.dbRefs.get(0).getValue(), is("one"));
+		assertThat(result.dbRefs.get(1), is(nullValue()));
+		assertThat(result.dbRefs.get(2).getValue(), is("three"));
+
+		verify(converterSpy, times(1)).bulkReadRefs(anyList());
+		verify(converterSpy, never()).readRef((DBRef) any());
+	}
+
+	@Test
+	@SuppressWarnings("unchecked")
+	public void resolvesMapOfDbRefsWithSingleBulkFetchPreservingKeyOrder() {
+
+		MappingMongoConverter converterSpy = spy(converter);
+		doReturn(Arrays.<DBObject> asList(new BasicDBObject("_id", "1").append("value", "one"),
+				new BasicDBObject("_id", "2").append("value", "two"))).when(converterSpy).bulkReadRefs(anyList());
+
+		BasicDBObject dbRefMap = new BasicDBObject();
+		dbRefMap.put("first", new DBRef("lazyDbRefTarget", "1"));
+		dbRefMap.put("second", new DBRef("lazyDbRefTarget", "2"));
+
+		ClassWithDbRefCollections result = converterSpy.read(ClassWithDbRefCollections.class,
+				new BasicDBObject("dbRefMap", dbRefMap));
+
+		assertThat(result.dbRefMap.keySet(), Matchers.contains("first", "second"));
+		assertThat(result.dbRefMap.get("first").getValue(), is("one"));
+		assertThat(result.dbRefMap.get("second").getValue(), is("two"));
+
+		verify(converterSpy, times(1)).bulkReadRefs(anyList());
+	}
+
+	@Test
+	public void fetchesCollectionOfDbRefsOneByOneIfResolverDoesNotSupportBulkFetch() {
+
+		DbRefResolver resolver = mock(DbRefResolver.class);
+		when(resolver.resolveDbRef(any(MongoPersistentProperty.class), any(DBRef.class),
+				any(DbRefResolverCallback.class), any(DbRefProxyHandler.class))).thenAnswer(new Answer<Object>() {
+
+					@Override
+					public Object answer(InvocationOnMock invocation) throws Throwable {
+
+						Object[] arguments = invocation.getArguments();
+						return ((DbRefResolverCallback) arguments[2]).resolve((MongoPersistentProperty) arguments[0]);
+					}
+				});
+
+		DBRef first = new DBRef("lazyDbRefTarget", "1");
+		DBRef second = new DBRef("lazyDbRefTarget", "2");
+
+		when(resolver.fetch(first)).thenReturn(new BasicDBObject("_id", "1").append("value", "one"));
+		when(resolver.fetch(second)).thenReturn(new BasicDBObject("_id", "2").append("value", "two"));
+
+		BasicDBList dbRefs = new BasicDBList();
+		dbRefs.add(first);
+		dbRefs.add(second);
+
+		MappingMongoConverter nonBulkConverter = new MappingMongoConverter(resolver, mappingContext);
+		nonBulkConverter.afterPropertiesSet();
+
+		ClassWithDbRefCollections result = nonBulkConverter.read(ClassWithDbRefCollections.class,
+				new BasicDBObject("dbRefs", dbRefs));
+
+		assertThat(result.dbRefs.size(), is(2));
+		assertThat(result.dbRefs.get(0).getValue(), is("one"));
+		assertThat(result.dbRefs.get(1).getValue(), is("two"));
+	}
+
+	@Test
+	public void resolvesSharedReferenceOnceWithinIdentityMapScope() {
+
+		MappingMongoConverter converterSpy = spy(converter);
+		doReturn(new BasicDBObject("_id", "1").append("value", "one")).when(converterSpy).readRef((DBRef) any());
+
+		BasicDBList dbRefs = new BasicDBList();
+		dbRefs.add(new DBRef("lazyDbRefTarget", "1"));
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.open();
+
+		try {
+
+			ClassWithDbRefCollections first = converterSpy.read(ClassWithDbRefCollections.class,
+					new BasicDBObject("dbRefs", dbRefs));
+			ClassWithDbRefCollections second = converterSpy.read(ClassWithDbRefCollections.class,
+					new BasicDBObject("dbRefs", dbRefs));
+
+			assertThat(second.dbRefs.get(0), is(sameInstance(first.dbRefs.get(0))));
+			assertThat(identityMap.getObjectHits(), is(1L));
+			assertThat(identityMap.getObjectMisses(), is(1L));
+		} finally {
+			identityMap.close();
+		}
+
+		assertThat(DbRefIdentityMap.current(), is(nullValue()));
+		verify(converterSpy, times(1)).readRef((DBRef) any());
+	}
+
 	private Object transport(Object result) {
 		return SerializationUtils.deserialize(SerializationUtils.serialize(result));
 	}
 
+	static class ClassWithDbRefCollections {
+
+		@org.springframework.data.mongodb.core.mapping.DBRef List<LazyDbRefTarget> dbRefs;
+		@org.springframework.data.mongodb.core.mapping.DBRef LinkedHashMap<String, LazyDbRefTarget> dbRefMap;
+	}
+
 	class MapDBRef {
 		@org.springframework.data.mongodb.core.mapping.DBRef Map<String, MapDBRefVal> map;
 	}
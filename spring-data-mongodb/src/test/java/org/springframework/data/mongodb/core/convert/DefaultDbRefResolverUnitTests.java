@@ -0,0 +1,197 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.bson.types.Binary;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoExceptionTranslator;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DB;
+import com.mongodb.DBCollection;
+import com.mongodb.DBCursor;
+import com.mongodb.DBObject;
+import com.mongodb.DBRef;
+
+/**
+ * Unit tests for {@link DefaultDbRefResolver}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class DefaultDbRefResolverUnitTests {
+
+	@Mock MongoDbFactory factory;
+	@Mock DB db;
+	@Mock DBCollection collection;
+	@Mock DBCursor cursor;
+
+	DefaultDbRefResolver resolver;
+
+	@Before
+	public void setUp() {
+
+		when(factory.getExceptionTranslator()).thenReturn(new MongoExceptionTranslator());
+		when(factory.getDb()).thenReturn(db);
+		when(db.getCollection(Mockito.anyString())).thenReturn(collection);
+		when(collection.find(Mockito.any(DBObject.class))).thenReturn(cursor);
+
+		resolver = new DefaultDbRefResolver(factory);
+	}
+
+	@Test
+	public void bulkFetchUsesSingleInQueryPerCollectionAndRetainsOrder() {
+
+		when(cursor.hasNext()).thenReturn(true, true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("_id", "3"), new BasicDBObject("_id", "1"));
+
+		List<DBObject> result = resolver
+				.bulkFetch(Arrays.asList(new DBRef("foo", "1"), new DBRef("foo", "2"), new DBRef("foo", "3")));
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(collection, times(1)).find(captor.capture());
+		verify(cursor).close();
+
+		assertThat(captor.getValue(),
+				is((DBObject) new BasicDBObject("_id", new BasicDBObject("$in", Arrays.asList("1", "2", "3")))));
+
+		assertThat(result, hasSize(3));
+		assertThat(result.get(0).get("_id"), is((Object) "1"));
+		assertThat(result.get(1), is(nullValue()));
+		assertThat(result.get(2).get("_id"), is((Object) "3"));
+	}
+
+	@Test
+	public void bulkFetchMatchesNumericAndBinaryIdentifiersByValue() {
+
+		when(cursor.hasNext()).thenReturn(true, true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("_id", 1L), new BasicDBObject("_id", new byte[] { 1, 2 }));
+
+		List<DBObject> result = resolver.bulkFetch(Arrays.asList(new DBRef("foo", 1),
+				new DBRef("foo", new Binary(new byte[] { 1, 2 })), new DBRef("foo", 2.5)));
+
+		assertThat(result, hasSize(3));
+		assertThat(result.get(0).get("_id"), is((Object) 1L));
+		assertThat(result.get(1), is(notNullValue()));
+		assertThat(result.get(2), is(nullValue()));
+	}
+
+	@Test
+	public void bulkFetchGroupsByCollection() {
+
+		when(cursor.hasNext()).thenReturn(false);
+
+		resolver.bulkFetch(Arrays.asList(new DBRef("foo", "1"), new DBRef("bar", "2"), new DBRef("foo", "3")));
+
+		verify(db).getCollection("foo");
+		verify(db).getCollection("bar");
+		verify(collection, times(2)).find(Mockito.any(DBObject.class));
+	}
+
+	@Test
+	public void bulkFetchOnlyQueriesDocumentsNotYetInIdentityMap() {
+
+		when(cursor.hasNext()).thenReturn(true, false, true, false);
+		when(cursor.next()).thenReturn(new BasicDBObject("_id", "1"), new BasicDBObject("_id", "2"));
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.open();
+
+		try {
+
+			resolver.bulkFetch(Arrays.asList(new DBRef("foo", "1")));
+			List<DBObject> result = resolver.bulkFetch(Arrays.asList(new DBRef("foo", "1"), new DBRef("foo", "2")));
+
+			assertThat(result.get(0).get("_id"), is((Object) "1"));
+			assertThat(result.get(1).get("_id"), is((Object) "2"));
+			assertThat(identityMap.getDocumentHits(), is(1L));
+			assertThat(identityMap.getDocumentMisses(), is(2L));
+		} finally {
+			identityMap.close();
+		}
+
+		ArgumentCaptor<DBObject> captor = ArgumentCaptor.forClass(DBObject.class);
+		verify(collection, times(2)).find(captor.capture());
+
+		assertThat(captor.getAllValues().get(1),
+				is((DBObject) new BasicDBObject("_id", new BasicDBObject("$in", Arrays.asList("2")))));
+	}
+
+	@Test
+	public void nestedIdentityMapScopesShareInstance() {
+
+		DbRefIdentityMap outer = DbRefIdentityMap.open();
+
+		try {
+
+			DbRefIdentityMap inner = DbRefIdentityMap.open();
+			inner.close();
+
+			assertThat(inner, is(sameInstance(outer)));
+			assertThat(DbRefIdentityMap.current(), is(sameInstance(outer)));
+		} finally {
+			outer.close();
+		}
+
+		assertThat(DbRefIdentityMap.current(), is(nullValue()));
+	}
+
+	@Test
+	public void evictedDocumentsAreFetchedAgain() {
+
+		DbRefIdentityMap identityMap = DbRefIdentityMap.open();
+
+		try {
+
+			identityMap.putDocument(new DBRef("foo", "1"), new BasicDBObject("_id", "1"));
+			identityMap.putDocument(new DBRef("foo", "2"), new BasicDBObject("_id", "2"));
+			identityMap.putDocument(new DBRef("bar", "1"), new BasicDBObject("_id", "1"));
+			identityMap.putObject(new DBRef("foo", "1"), Object.class, new Object());
+
+			identityMap.evict("foo", "1");
+
+			assertThat(identityMap.getDocument(new DBRef("foo", "1")), is(nullValue()));
+			assertThat(identityMap.getObject(new DBRef("foo", "1"), Object.class), is(nullValue()));
+			assertThat(identityMap.getDocument(new DBRef("foo", "2")), is(notNullValue()));
+			assertThat(identityMap.getDocument(new DBRef("bar", "1")), is(notNullValue()));
+
+			identityMap.evictAll("foo");
+
+			assertThat(identityMap.getDocumentCount(), is(1));
+		} finally {
+			identityMap.close();
+		}
+	}
+
+	@Test
+	public void bulkFetchReturnsEmptyListForEmptyInput() {
+
+		assertThat(resolver.bulkFetch(Collections.<DBRef> emptyList()), is(empty()));
+		verifyZeroInteractions(collection);
+	}
+}
@@ -0,0 +1,166 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.bson.BasicBSONEncoder;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.mockito.Mock;
+import org.mockito.runners.MockitoJUnitRunner;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Field;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.DBCollection;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link EntityDBDecoderFactory}.
+ */
+@RunWith(MockitoJUnitRunner.class)
+public class EntityDBDecoderFactoryUnitTests {
+
+	@Mock DbRefResolver resolver;
+
+	MappingMongoConverter converter;
+	EntityDBDecoderFactory factory;
+
+	@Before
+	public void setUp() {
+
+		converter = new MappingMongoConverter(resolver, new MongoMappingContext());
+		converter.afterPropertiesSet();
+
+		factory = new EntityDBDecoderFactory(converter, Person.class);
+	}
+
+	@Test
+	public void dropsFieldsNotMappedToAnyProperty() {
+
+		DBObject source = new BasicDBObject("_id", "id-1") //
+				.append("_class", Person.class.getName()) //
+				.append("name", "Dave") //
+				.append("unmapped", "value") //
+				.append("unmappedNested", new BasicDBObject("a", Arrays.asList(1, 2))) //
+				.append("addr", new BasicDBObject("street", "Broadway").append("zip", "10001")) //
+				.append("addresses", Arrays.asList(new BasicDBObject("street", "5th Avenue").append("zip", "10002"))) //
+				.append("extras", new BasicDBObject("foo", new BasicDBObject("bar", 1)));
+
+		DBObject result = decode(source);
+
+		assertThat(result.keySet(), contains("_id", "_class", "name", "addr", "addresses", "extras"));
+		assertThat(((DBObject) result.get("addr")).keySet(), contains("street"));
+		assertThat(((DBObject) ((List<?>) result.get("addresses")).get(0)).keySet(), contains("street"));
+		assertThat(((DBObject) result.get("extras")).get("foo"), is((Object) new BasicDBObject("bar", 1)));
+
+		Person person = converter.read(Person.class, result);
+
+		assertThat(person.name, is("Dave"));
+		assertThat(person.address.street, is("Broadway"));
+		assertThat(person.addresses.get(0).street, is("5th Avenue"));
+	}
+
+	@Test
+	public void retainsAllFieldsOfDocumentsOfOtherTypes() {
+
+		DBObject source = new BasicDBObject("_id", "id-1") //
+				.append("_class", SpecialPerson.class.getName()) //
+				.append("name", "Dave") //
+				.append("level", 3);
+
+		DBObject result = decode(source);
+
+		assertThat(result.keySet(), contains("_id", "_class", "name", "level"));
+		assertThat(((SpecialPerson) converter.read(Person.class, result)).level, is(3));
+	}
+
+	@Test
+	public void retainsAllFieldsOfPolymorphicCollectionElements() {
+
+		Zoo zoo = new Zoo();
+		zoo.id = "id-1";
+		zoo.animals = Arrays.asList(new Animal("Tom"), new Dog("Rex", "Beagle"));
+
+		DBObject source = new BasicDBObject();
+		converter.write(zoo, source);
+
+		DBObject result = new EntityDBDecoderFactory(converter, Zoo.class).create()
+				.decode(new BasicBSONEncoder().encode(source), (DBCollection) null);
+
+		Zoo read = converter.read(Zoo.class, result);
+
+		assertThat(read.animals.get(1), is(instanceOf(Dog.class)));
+		assertThat(((Dog) read.animals.get(1)).breed, is("Beagle"));
+	}
+
+	private DBObject decode(DBObject source) {
+		return factory.create().decode(new BasicBSONEncoder().encode(source), (DBCollection) null);
+	}
+
+	static class Person {
+
+		@Id String id;
+		String name;
+		@Field("addr") Address address;
+		List<Address> addresses;
+		Map<String, Object> extras;
+	}
+
+	static class SpecialPerson extends Person {
+
+		int level;
+	}
+
+	static final class Address {
+
+		String street;
+	}
+
+	static class Zoo {
+
+		@Id String id;
+		List<Animal> animals;
+	}
+
+	static class Animal {
+
+		String name;
+
+		Animal(String name) {
+			this.name = name;
+		}
+	}
+
+	static class Dog extends Animal {
+
+		String breed;
+
+		Dog(String name, String breed) {
+
+			super(name);
+			this.breed = breed;
+		}
+	}
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.core.convert;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+
+/**
+ * Unit tests for {@link ObjectPath}.
+ */
+public class ObjectPathUnitTests {
+
+	MongoPersistentEntity<?> entity;
+
+	@Before
+	public void setUp() {
+		entity = new MongoMappingContext().getPersistentEntity(EntityOne.class);
+	}
+
+	@Test
+	public void emptyPathHasNoCurrentObject() {
+
+		assertThat(ObjectPath.ROOT.getCurrentObject(), is(nullValue()));
+		assertThat(ObjectPath.ROOT.getPathItem("id", "collection"), is(nullValue()));
+		assertThat(ObjectPath.ROOT.toString(), is("[empty]"));
+	}
+
+	@Test
+	public void pushDoesNotModifyParent() {
+
+		EntityOne object = new EntityOne();
+		ObjectPath path = ObjectPath.ROOT.push(object, entity, "1");
+
+		assertThat(path.getCurrentObject(), is((Object) object));
+		assertThat(ObjectPath.ROOT.getCurrentObject(), is(nullValue()));
+		assertThat(ObjectPath.ROOT.getPathItem("1", entity.getCollection()), is(nullValue()));
+	}
+
+	@Test
+	public void findsItemsOnShortPath() {
+
+		EntityOne first = new EntityOne();
+		EntityOne second = new EntityOne();
+
+		ObjectPath path = ObjectPath.ROOT.push(first, entity, "1").push(second, entity, "2");
+
+		assertThat(path.getPathItem("1", entity.getCollection()), is((Object) first));
+		assertThat(path.getPathItem("2", entity.getCollection()), is((Object) second));
+		assertThat(path.getPathItem("3", entity.getCollection()), is(nullValue()));
+		assertThat(path.getPathItem("1", "other"), is(nullValue()));
+	}
+
+	@Test
+	public void findsItemsOnDeepPathUsingIndex() {
+
+		ObjectPath path = ObjectPath.ROOT;
+		EntityOne[] objects = new EntityOne[10];
+
+		for (int i = 0; i < objects.length; i++) {
+			objects[i] = new EntityOne();
+			path = path.push(objects[i], entity, i);
+		}
+
+		for (int i = 0; i < objects.length; i++) {
+			assertThat(path.getPathItem(i, entity.getCollection()), is((Object) objects[i]));
+		}
+
+		assertThat(path.getPathItem(42, entity.getCollection()), is(nullValue()));
+	}
+
+	@Test
+	public void prefersOutermostItemForDuplicateIdentity() {
+
+		EntityOne outer = new EntityOne();
+		ObjectPath path = ObjectPath.ROOT.push(outer, entity, "1");
+
+		for (int i = 0; i < 10; i++) {
+			path = path.push(new EntityOne(), entity, "1");
+		}
+
+		assertThat(path.getPathItem("1", entity.getCollection()), is((Object) outer));
+	}
+
+	@Test
+	public void ignoresItemsWithoutId() {
+
+		ObjectPath path = ObjectPath.ROOT.push(new EntityOne(), entity, null);
+
+		assertThat(path.getPathItem("1", entity.getCollection()), is(nullValue()));
+	}
+
+	@Test
+	public void rendersPathFromRootToCurrentObject() {
+
+		ObjectPath path = ObjectPath.ROOT.push("first", entity, "1").push("second", entity, "2");
+
+		assertThat(path.toString(), is("first -> second"));
+	}
+
+	static class EntityOne {}
+}
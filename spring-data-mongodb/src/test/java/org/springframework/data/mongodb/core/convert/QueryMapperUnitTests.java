@@ -39,6 +39,7 @@ import org.springframework.data.annotation.Id;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mapping.context.MappingContextEvent;
 import org.springframework.data.mongodb.MongoDbFactory;
 import org.springframework.data.mongodb.core.DBObjectTestUtils;
 import org.springframework.data.mongodb.core.Person;
@@ -50,6 +51,7 @@ import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
 import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
 import org.springframework.data.mongodb.core.mapping.TextScore;
 import org.springframework.data.mongodb.core.query.BasicQuery;
 import org.springframework.data.mongodb.core.query.Criteria;
@@ -855,6 +857,40 @@ public class QueryMapperUnitTests {
 		assertThat(dbo.get("legacyPoint.y"), Is.<Object> is(20D));
 	}
 
+	@Test
+	public void reusesResolvedPropertyPaths() {
+
+		MongoPersistentEntity<?> entity = context.getPersistentEntity(CustomizedField.class);
+		DBObject query = new BasicDBObject("field.field", "value");
+		PropertyPathCache cache = mapper.getPropertyPathCache();
+
+		DBObject first = mapper.getMappedObject(query, entity);
+		long misses = cache.getMissCount();
+
+		DBObject second = mapper.getMappedObject(query, entity);
+
+		assertThat(first.containsField("foo.foo"), is(true));
+		assertThat(second, is(first));
+		assertThat(cache.getMissCount(), is(misses));
+		assertThat(cache.getHitCount(), is(greaterThan(0L)));
+		assertThat(cache.getHitRate(), is(greaterThan(0D)));
+	}
+
+	@Test
+	public void clearsPropertyPathCacheOnMappingContextEvent() {
+
+		MongoPersistentEntity<?> entity = context.getPersistentEntity(CustomizedField.class);
+		PropertyPathCache cache = mapper.getPropertyPathCache();
+
+		mapper.getMappedObject(new BasicDBObject("field", "value"), entity);
+		assertThat(cache.size(), is(greaterThan(0)));
+
+		cache.onApplicationEvent(
+				new MappingContextEvent<MongoPersistentEntity<?>, MongoPersistentProperty>(context, entity));
+
+		assertThat(cache.size(), is(0));
+	}
+
 	@Document
 	public class Foo {
 		@Id private ObjectId id;
@@ -0,0 +1,282 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.core.query.Criteria.*;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import javax.xml.bind.DatatypeConverter;
+
+import org.bson.types.ObjectId;
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Sort.Direction;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.MongoOperations;
+import org.springframework.data.mongodb.core.Person;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.query.BasicQuery;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.repository.KeysetPageable;
+import org.springframework.util.SerializationUtils;
+
+import com.mongodb.BasicDBObject;
+import com.mongodb.BasicDBObjectBuilder;
+import com.mongodb.DBObject;
+
+/**
+ * Unit tests for {@link KeysetPagination} and {@link KeysetPageable}.
+ */
+public class KeysetPaginationUnitTests {
+
+	MongoOperations operations;
+
+	@Before
+	public void setUp() {
+
+		MappingMongoConverter converter = new MappingMongoConverter(new DefaultDbRefResolver(mock(MongoDbFactory.class)),
+				new MongoMappingContext());
+		converter.afterPropertiesSet();
+
+		operations = mock(MongoOperations.class);
+		doReturn(converter).when(operations).getConverter();
+	}
+
+	@Test
+	public void appliesSortWithIdentifierAsTieBreakerWithoutSkipForFirstPage() {
+
+		KeysetPageable pageable = new KeysetPageable(10, new Sort(Direction.DESC, "age"));
+		Query query = new KeysetPagination(operations, pageable).apply(new Query(), Person.class, 11);
+
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("age", -1).append("id", 1)));
+		assertThat(query.getQueryObject(), is((DBObject) new BasicDBObject()));
+		assertThat(query.getSkip(), is(0));
+		assertThat(query.getLimit(), is(11));
+	}
+
+	@Test
+	public void createsRangePredicateForKeyset() {
+
+		ObjectId id = new ObjectId();
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+		keyset.put("age", 42);
+		keyset.put("id", id);
+
+		KeysetPageable pageable = new KeysetPageable(5, 10, new Sort(Direction.DESC, "age"), keyset);
+		Query query = new KeysetPagination(operations, pageable).apply(new Query(), Person.class, 11);
+
+		DBObject expected = new BasicDBObject("$and", Arrays.asList(new BasicDBObject("$or",
+				Arrays.asList(new BasicDBObject("age", new BasicDBObject("$lt", 42)),
+						BasicDBObjectBuilder.start("age", 42).add("id", new BasicDBObject("$gt", id)).get()))));
+
+		assertThat(query.getQueryObject(), is(expected));
+		assertThat(query.getSkip(), is(0));
+	}
+
+	@Test
+	public void doesNotAddIdentifierTieBreakerIfSortedByIdField() {
+
+		KeysetPageable pageable = new KeysetPageable(10, new Sort(Direction.DESC, "_id"));
+		Query query = new KeysetPagination(operations, pageable).apply(new Query(), Person.class, 11);
+
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("_id", -1)));
+	}
+
+	@Test
+	public void addsIdentifierTieBreakerIfSortedByNestedIdField() {
+
+		KeysetPageable pageable = new KeysetPageable(10, new Sort(Direction.DESC, "friend._id"));
+		Query query = new KeysetPagination(operations, pageable).apply(new Query(), Person.class, 11);
+
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("friend._id", -1).append("id", 1)));
+	}
+
+	@Test
+	public void combinesRangePredicateWithOrCriteriaOfDerivedQuery() {
+
+		ObjectId id = new ObjectId();
+		KeysetPageable pageable = new KeysetPageable(1, 10, null, Collections.<String, Object> singletonMap("id", id));
+
+		// findByFirstNameOrAge(…, KeysetPageable)
+		Query source = new Query(new Criteria().orOperator(where("firstName").is("Dave"), where("age").is(42)));
+		Query query = new KeysetPagination(operations, pageable).apply(source, Person.class, 11);
+
+		DBObject expected = new BasicDBObject("$and",
+				Arrays.asList(source.getQueryObject(), new BasicDBObject("$or",
+						Arrays.asList(new BasicDBObject("id", new BasicDBObject("$gt", id))))));
+
+		assertThat(query.getQueryObject(), is(expected));
+	}
+
+	@Test
+	public void keepsTopLevelAndOfStringBasedQuery() {
+
+		ObjectId id = new ObjectId();
+		KeysetPageable pageable = new KeysetPageable(1, 10, null, Collections.<String, Object> singletonMap("id", id));
+
+		// @Query("{ $and : [ { firstName : 'Dave' }, { age : { $gt : 18 } } ] }")
+		BasicQuery source = new BasicQuery("{ $and : [ { firstName : 'Dave' }, { age : { $gt : 18 } } ] }");
+		DBObject sourceObject = new BasicDBObject(source.getQueryObject().toMap());
+		Query query = new KeysetPagination(operations, pageable).apply(source, Person.class, 11);
+
+		DBObject expected = new BasicDBObject("$and", Arrays.asList(sourceObject,
+				new BasicDBObject("$or", Arrays.asList(new BasicDBObject("id", new BasicDBObject("$gt", id))))));
+
+		assertThat(query.getQueryObject(), is(expected));
+		assertThat(source.getQueryObject(), is(sourceObject));
+		assertThat(query.getSortObject(), is((DBObject) new BasicDBObject("id", 1)));
+		assertThat(query.getLimit(), is(11));
+	}
+
+	@Test
+	public void sliceExposesKeysetOfLastElementAsNextPageable() {
+
+		Person first = new Person(new ObjectId(), "Dave");
+		Person second = new Person(new ObjectId(), "Oliver");
+		Person third = new Person(new ObjectId(), "Carter");
+
+		KeysetPageable pageable = new KeysetPageable(2, new Sort(Direction.ASC, "firstName"));
+		KeysetPagination pagination = new KeysetPagination(operations, pageable);
+		Query query = pagination.apply(new Query(), Person.class, 3);
+
+		Slice<Object> slice = pagination.toSlice(Arrays.asList(first, second, third), query);
+
+		assertThat(slice.getContent(), contains((Object) first, second));
+		assertThat(slice.hasNext(), is(true));
+
+		Pageable next = slice.nextPageable();
+
+		assertThat(next, is(instanceOf(KeysetPageable.class)));
+		assertThat(next.getPageNumber(), is(1));
+		assertThat(((KeysetPageable) next).getKeyset(), hasEntry("firstName", (Object) "Oliver"));
+		assertThat(((KeysetPageable) next).getKeyset(), hasEntry("id", (Object) second.getId()));
+	}
+
+	@Test
+	public void pageExposesKeysetOfLastElementAsNextPageable() {
+
+		Person first = new Person(new ObjectId(), "Dave");
+		Person second = new Person(new ObjectId(), "Oliver");
+
+		KeysetPageable pageable = new KeysetPageable(2, new Sort(Direction.ASC, "firstName"));
+		KeysetPagination pagination = new KeysetPagination(operations, pageable);
+		Query query = pagination.apply(new Query(), Person.class, 2);
+
+		Page<Object> page = pagination.toPage(new PageImpl<Object>(Arrays.<Object> asList(first, second), pageable, 5),
+				query);
+
+		assertThat(page.getContent(), contains((Object) first, second));
+		assertThat(page.getTotalElements(), is(5L));
+		assertThat(((KeysetPageable) page.nextPageable()).getKeyset(), hasEntry("id", (Object) second.getId()));
+		assertThat(((KeysetPageable) page.map(new Converter<Object, Object>() {
+
+			@Override
+			public Object convert(Object source) {
+				return source.toString();
+			}
+		}).nextPageable()).getKeyset(), hasEntry("id", (Object) second.getId()));
+	}
+
+	@Test
+	public void fallsBackToOffsetBasedPageRequestsForNextAndPrevious() {
+
+		Sort sort = new Sort(Direction.ASC, "firstName");
+		KeysetPageable pageable = new KeysetPageable(3, 10, sort,
+				Collections.<String, Object> singletonMap("id", new ObjectId()));
+
+		assertThat(pageable.next(), is((Pageable) new PageRequest(4, 10, sort)));
+		assertThat(pageable.previous(), is((Pageable) new PageRequest(2, 10, sort)));
+		assertThat(pageable.previousOrFirst(), is((Pageable) new PageRequest(2, 10, sort)));
+		assertThat(pageable.first(), is((Pageable) new KeysetPageable(10, sort)));
+	}
+
+	@Test
+	public void lastSliceDoesNotExposeNextPageable() {
+
+		KeysetPageable pageable = new KeysetPageable(2, null);
+		KeysetPagination pagination = new KeysetPagination(operations, pageable);
+		Query query = pagination.apply(new Query(), Person.class, 3);
+
+		Slice<Object> slice = pagination.toSlice(Collections.<Object> singletonList(new Person("Dave")), query);
+
+		assertThat(slice.hasNext(), is(false));
+		assertThat(slice.nextPageable(), is(nullValue()));
+	}
+
+	@Test
+	public void restoresKeysetPageableFromContinuationToken() {
+
+		Map<String, Object> keyset = new LinkedHashMap<String, Object>();
+		keyset.put("firstName", "Oliver");
+		keyset.put("id", new ObjectId());
+
+		Sort sort = new Sort(Direction.ASC, "firstName");
+		KeysetPageable pageable = new KeysetPageable(3, 10, sort, keyset);
+
+		assertThat(KeysetPageable.fromContinuationToken(pageable.toContinuationToken(), 10, sort), is(pageable));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsInvalidContinuationToken() {
+		KeysetPageable.fromContinuationToken("foo", 10, null);
+	}
+
+	@Test
+	public void rejectsContinuationTokenWithOperatorInKeyset() {
+
+		String json = "{ \"page\" : 1, \"keyset\" : { \"firstName\" : { \"$ne\" : null } } }";
+		String token = DatatypeConverter.printBase64Binary(json.getBytes());
+
+		try {
+			KeysetPageable.fromContinuationToken(token, 10, null);
+			fail("Expected IllegalArgumentException!");
+		} catch (IllegalArgumentException o_O) {
+			assertThat(o_O.getMessage(), containsString("operators"));
+		}
+	}
+
+	@Test
+	public void slicesAndPagesAreSerializable() {
+
+		KeysetPageable pageable = new KeysetPageable(2, new Sort(Direction.ASC, "firstName"));
+		KeysetPagination pagination = new KeysetPagination(operations, pageable);
+		Query query = pagination.apply(new Query(), Person.class, 3);
+
+		Slice<Object> slice = pagination.toSlice(Collections.<Object> singletonList("Dave"), query);
+		Page<Object> page = pagination
+				.toPage(new PageImpl<Object>(Collections.<Object> singletonList("Dave"), pageable, 1), query);
+
+		assertThat(SerializationUtils.deserialize(SerializationUtils.serialize(slice)), is(notNullValue()));
+		assertThat(SerializationUtils.deserialize(SerializationUtils.serialize(page)), is((Object) page));
+	}
+}
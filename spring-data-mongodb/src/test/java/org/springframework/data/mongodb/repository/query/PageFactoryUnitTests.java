@@ -0,0 +1,346 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import static org.hamcrest.Matchers.*;
+import static org.junit.Assert.*;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Test;
+import org.springframework.core.convert.converter.Converter;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.geo.Distance;
+import org.springframework.data.geo.GeoPage;
+import org.springframework.data.geo.GeoResult;
+import org.springframework.data.geo.GeoResults;
+import org.springframework.data.mongodb.repository.KeysetPageable;
+import org.springframework.data.mongodb.repository.query.PageFactory.ContentCallback;
+import org.springframework.data.mongodb.repository.query.PageFactory.CountCallback;
+import org.springframework.data.mongodb.repository.query.PageFactory.GeoContentCallback;
+import org.springframework.util.SerializationUtils;
+
+/**
+ * Unit tests for {@link PageFactory}.
+ */
+public class PageFactoryUnitTests {
+
+	@Test
+	public void countsEagerly() {
+
+		StubCount count = new StubCount(25);
+		Page<Integer> page = PageFactory.EAGER.getPage(new PageRequest(0, 10), new StubContent(25), count);
+
+		assertThat(count.invocations.get(), is(1));
+		assertThat(page.getContent(), hasSize(10));
+		assertThat(page.getTotalElements(), is(25L));
+	}
+
+	@Test
+	public void skipsContentQueryForPageOutOfScopeWhenCountingEagerly() {
+
+		StubContent content = new StubContent(5);
+		Page<Integer> page = PageFactory.EAGER.getPage(new PageRequest(2, 10), content, new StubCount(5));
+
+		assertThat(content.invocations.get(), is(0));
+		assertThat(page.getContent(), is(empty()));
+	}
+
+	@Test
+	public void readsContentOfKeysetPageRegardlessOfItsPageNumberWhenCountingEagerly() {
+
+		StubContent content = new StubContent(5);
+		KeysetPageable pageable = new KeysetPageable(7, 10, null, Collections.<String, Object> singletonMap("id", 42));
+
+		Page<Integer> page = PageFactory.EAGER.getPage(pageable, content, new StubCount(5));
+
+		assertThat(content.invocations.get(), is(1));
+		assertThat(page.getContent(), hasSize(5));
+	}
+
+	@Test
+	public void countsForLastKeysetPageWhenDeferred() {
+
+		StubCount count = new StubCount(25);
+		KeysetPageable pageable = new KeysetPageable(7, 10, null, Collections.<String, Object> singletonMap("id", 42));
+
+		Page<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getPage(pageable, new StubContent(25, 20),
+				count);
+
+		assertThat(page.hasNext(), is(false));
+		assertThat(page.getTotalElements(), is(25L));
+		assertThat(count.invocations.get(), is(1));
+	}
+
+	@Test
+	public void defersCountUntilTotalIsAccessed() {
+
+		StubContent content = new StubContent(25);
+		StubCount count = new StubCount(25);
+
+		Page<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getPage(new PageRequest(0, 10), content,
+				count);
+
+		assertThat(content.lastLimit, is(11));
+		assertThat(page.getContent(), hasSize(10));
+		assertThat(page.hasNext(), is(true));
+		assertThat(count.invocations.get(), is(0));
+
+		assertThat(page.getTotalElements(), is(25L));
+		assertThat(page.getTotalPages(), is(3));
+		assertThat(count.invocations.get(), is(1));
+	}
+
+	@Test
+	public void doesNotCountForLastPageWhenDeferred() {
+
+		StubCount count = new StubCount(25);
+		Page<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getPage(new PageRequest(2, 10),
+				new StubContent(25, 20), count);
+
+		assertThat(page.getContent(), hasSize(5));
+		assertThat(page.hasNext(), is(false));
+		assertThat(page.getTotalElements(), is(25L));
+		assertThat(count.invocations.get(), is(0));
+	}
+
+	@Test
+	public void mappedDeferredPageSharesTotalCount() {
+
+		StubCount count = new StubCount(25);
+		Page<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getPage(new PageRequest(0, 10),
+				new StubContent(25), count);
+
+		Page<String> mapped = page.map(new Converter<Integer, String>() {
+
+			@Override
+			public String convert(Integer source) {
+				return source.toString();
+			}
+		});
+
+		assertThat(mapped.getContent(), hasItem("0"));
+		assertThat(mapped.getTotalElements(), is(25L));
+		assertThat(page.getTotalElements(), is(25L));
+		assertThat(count.invocations.get(), is(1));
+	}
+
+	@Test
+	public void countsConcurrentlyToReadingContent() {
+
+		final CountDownLatch contentRead = new CountDownLatch(1);
+		final StubContent content = new StubContent(25);
+
+		Page<Integer> page = new PageFactory(PageCountMode.CONCURRENT, new SimpleAsyncTaskExecutor())
+				.getPage(new PageRequest(0, 10), new ContentCallback<Integer>() {
+
+					@Override
+					public List<Integer> doFind(int limit) {
+
+						List<Integer> result = content.doFind(limit);
+						contentRead.countDown();
+						return result;
+					}
+
+				}, new CountCallback() {
+
+					@Override
+					public long doCount() {
+
+						try {
+							// Fails if the count runs on the calling thread before the content is read
+							assertThat(contentRead.await(5, TimeUnit.SECONDS), is(true));
+						} catch (InterruptedException o_O) {
+							throw new IllegalStateException(o_O);
+						}
+
+						return 25;
+					}
+				});
+
+		assertThat(page.getContent(), hasSize(10));
+		assertThat(page.getTotalElements(), is(25L));
+	}
+
+	@Test(expected = DataAccessResourceFailureException.class)
+	public void propagatesExceptionOfConcurrentCount() {
+
+		new PageFactory(PageCountMode.CONCURRENT, new SimpleAsyncTaskExecutor()).getPage(new PageRequest(0, 10),
+				new StubContent(25), new CountCallback() {
+
+					@Override
+					public long doCount() {
+						throw new DataAccessResourceFailureException("o_O");
+					}
+				});
+	}
+
+	@Test
+	public void cancelsConcurrentCountIfReadingContentFails() {
+
+		final List<Runnable> tasks = new ArrayList<Runnable>();
+		Executor executor = new Executor() {
+
+			@Override
+			public void execute(Runnable command) {
+				tasks.add(command);
+			}
+		};
+
+		try {
+
+			new PageFactory(PageCountMode.CONCURRENT, executor).getPage(new PageRequest(0, 10),
+					new ContentCallback<Integer>() {
+
+						@Override
+						public List<Integer> doFind(int limit) {
+							throw new DataAccessResourceFailureException("o_O");
+						}
+					}, new StubCount(25));
+
+			fail("Expected DataAccessResourceFailureException!");
+
+		} catch (DataAccessResourceFailureException o_O) {
+
+			assertThat(tasks, hasSize(1));
+			assertThat(((FutureTask<?>) tasks.get(0)).isCancelled(), is(true));
+		}
+	}
+
+	@Test
+	public void serializingDeferredPageResolvesTotalCount() {
+
+		StubCount count = new StubCount(25);
+		Page<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getPage(new PageRequest(0, 10),
+				new StubContent(25), count);
+
+		Object deserialized = SerializationUtils.deserialize(SerializationUtils.serialize(page));
+
+		assertThat(count.invocations.get(), is(1));
+		assertThat(((Page<?>) deserialized).getTotalElements(), is(25L));
+		assertThat(deserialized, is((Object) page));
+	}
+
+	@Test
+	public void deferredGeoPageUsesResolvedTotalForEquality() {
+
+		PageFactory factory = new PageFactory(PageCountMode.DEFERRED, null);
+
+		GeoPage<Integer> page = factory.getGeoPage(new PageRequest(0, 10), new StubGeoContent(), new StubCount(25));
+		GeoPage<Integer> same = factory.getGeoPage(new PageRequest(0, 10), new StubGeoContent(), new StubCount(25));
+		GeoPage<Integer> other = factory.getGeoPage(new PageRequest(0, 10), new StubGeoContent(), new StubCount(30));
+
+		assertThat(page, is(same));
+		assertThat(page.hashCode(), is(same.hashCode()));
+		assertThat(page, is(not(other)));
+	}
+
+	@Test
+	public void defersCountOfGeoPageUntilTotalIsAccessed() {
+
+		StubCount count = new StubCount(25);
+
+		GeoPage<Integer> page = new PageFactory(PageCountMode.DEFERRED, null).getGeoPage(new PageRequest(0, 10),
+				new StubGeoContent(), count);
+
+		assertThat(page.getContent(), hasSize(10));
+		assertThat(page.hasNext(), is(true));
+		assertThat(count.invocations.get(), is(0));
+
+		assertThat(page.getTotalElements(), is(25L));
+		assertThat(count.invocations.get(), is(1));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void rejectsConcurrentModeWithoutExecutor() {
+		new PageFactory(PageCountMode.CONCURRENT, (Executor) null);
+	}
+
+	static class StubContent implements ContentCallback<Integer> {
+
+		final int total;
+		final AtomicInteger invocations = new AtomicInteger();
+		final int offset;
+		volatile int lastLimit;
+
+		StubContent(int total) {
+			this(total, 0);
+		}
+
+		StubContent(int total, int offset) {
+
+			this.total = total;
+			this.offset = offset;
+		}
+
+		@Override
+		public List<Integer> doFind(int limit) {
+
+			invocations.incrementAndGet();
+			lastLimit = limit;
+
+			List<Integer> result = new ArrayList<Integer>();
+
+			for (int i = offset; i < total && result.size() < limit; i++) {
+				result.add(i);
+			}
+
+			return result;
+		}
+	}
+
+	static class StubGeoContent implements GeoContentCallback<Integer> {
+
+		@Override
+		public GeoResults<Integer> doFind(int limit) {
+
+			List<GeoResult<Integer>> results = new ArrayList<GeoResult<Integer>>();
+
+			for (int i = 0; i < limit; i++) {
+				results.add(new GeoResult<Integer>(i, new Distance(i)));
+			}
+
+			return new GeoResults<Integer>(results);
+		}
+	}
+
+	static class StubCount implements CountCallback {
+
+		final long total;
+		final AtomicInteger invocations = new AtomicInteger();
+
+		StubCount(long total) {
+			this.total = total;
+		}
+
+		@Override
+		public long doCount() {
+
+			invocations.incrementAndGet();
+			return total;
+		}
+	}
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright 2016 the original author or authors.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *      http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.springframework.data.mongodb.repository.query;
+
+import static org.hamcrest.CoreMatchers.*;
+import static org.junit.Assert.*;
+import static org.mockito.Mockito.*;
+import static org.springframework.data.mongodb.repository.query.StubParameterAccessor.*;
+
+import org.junit.Before;
+import org.junit.Test;
+import org.springframework.data.mapping.context.MappingContext;
+import org.springframework.data.mongodb.MongoDbFactory;
+import org.springframework.data.mongodb.core.Person;
+import org.springframework.data.mongodb.core.convert.DefaultDbRefResolver;
+import org.springframework.data.mongodb.core.convert.MappingMongoConverter;
+import org.springframework.data.mongodb.core.convert.MongoConverter;
+import org.springframework.data.mongodb.core.mapping.MongoMappingContext;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentEntity;
+import org.springframework.data.mongodb.core.mapping.MongoPersistentProperty;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.repository.query.parser.PartTree;
+
+/**
+ * Unit tests for {@link PartTreeQueryShape}.
+ */
+public class PartTreeQueryShapeUnitTests {
+
+	MappingContext<? extends MongoPersistentEntity<?>, MongoPersistentProperty> context;
+	MongoConverter converter;
+
+	@Before
+	public void setUp() {
+
+		context = new MongoMappingContext();
+		converter = new MappingMongoConverter(new DefaultDbRefResolver(mock(MongoDbFactory.class)), context);
+	}
+
+	@Test
+	public void createsSameQueryAsQueryCreatorForSimpleProperties() {
+		assertSameQueryAsQueryCreator("findByFirstNameAndAge", "Oliver", 42);
+	}
+
+	@Test
+	public void createsSameQueryAsQueryCreatorForComparisons() {
+		assertSameQueryAsQueryCreator("findByFirstNameNotAndAgeGreaterThanEqualAndActiveTrue", "Oliver", 18);
+	}
+
+	@Test
+	public void createsSameQueryAsQueryCreatorForNullChecks() {
+		assertSameQueryAsQueryCreator("findByFirstNameIsNullAndFriendIsNotNull");
+	}
+
+	@Test
+	public void createsSameQueryAsQueryCreatorIncludingStaticSort() {
+		assertSameQueryAsQueryCreator("findByAgeLessThanOrderByFirstNameAsc", 42);
+	}
+
+	@Test
+	public void createsSameQueryAsQueryCreatorForNestedProperty() {
+		assertSameQueryAsQueryCreator("findByFriendFirstName", "Oliver");
+	}
+
+	@Test
+	public void isNotAvailableForOrQueries() {
+		assertThat(PartTreeQueryShape.of(new PartTree("findByFirstNameOrAge", Person.class), context), is(nullValue()));
+	}
+
+	@Test
+	public void isNotAvailableForRegexBasedKeywords() {
+
+		assertThat(PartTreeQueryShape.of(new PartTree("findByFirstNameLike", Person.class), context), is(nullValue()));
+		assertThat(PartTreeQueryShape.of(new PartTree("findByFirstNameIgnoreCase", Person.class), context),
+				is(nullValue()));
+	}
+
+	@Test
+	public void isNotAvailableForRepeatedProperties() {
+
+		assertThat(PartTreeQueryShape.of(new PartTree("findByAgeGreaterThanAndAgeLessThan", Person.class), context),
+				is(nullValue()));
+	}
+
+	private void assertSameQueryAsQueryCreator(String methodName, Object... parameters) {
+
+		PartTree tree = new PartTree(methodName, Person.class);
+		PartTreeQueryShape shape = PartTreeQueryShape.of(tree, context);
+
+		assertThat(shape, is(notNullValue()));
+
+		Query expected = new MongoQueryCreator(tree, getAccessor(converter, parameters), context).createQuery();
+		Query actual = shape.createQuery(getAccessor(converter, parameters));
+
+		assertThat(actual, is(expected));
+		assertThat(actual.getQueryObject(), is(expected.getQueryObject()));
+	}
+}
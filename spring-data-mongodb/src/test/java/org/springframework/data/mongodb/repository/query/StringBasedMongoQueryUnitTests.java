@@ -362,6 +362,32 @@ public class StringBasedMongoQueryUnitTests {
 		assertThat(query.getQueryObject(), is(reference.getQueryObject()));
 	}
 
+	@Test
+	public void bindsCompiledTemplateIntoNewDocumentOnEveryInvocation() throws Exception {
+
+		StringBasedMongoQuery mongoQuery = createQueryForMethod("findByLastname", String.class);
+
+		org.springframework.data.mongodb.core.query.Query first = mongoQuery
+				.createQuery(StubParameterAccessor.getAccessor(converter, "Matthews"));
+		org.springframework.data.mongodb.core.query.Query second = mongoQuery
+				.createQuery(StubParameterAccessor.getAccessor(converter, "Gierke"));
+
+		assertThat(first.getQueryObject(), is(new BasicQuery("{'lastname' : 'Matthews'}").getQueryObject()));
+		assertThat(second.getQueryObject(), is(new BasicQuery("{'lastname' : 'Gierke'}").getQueryObject()));
+	}
+
+	@Test
+	public void bindsNullIntoCompiledTemplate() throws Exception {
+
+		StringBasedMongoQuery mongoQuery = createQueryForMethod("findByLastname", String.class);
+
+		org.springframework.data.mongodb.core.query.Query query = mongoQuery
+				.createQuery(StubParameterAccessor.getAccessor(converter, new Object[] { null }));
+
+		assertThat(query.getQueryObject().containsField("lastname"), is(true));
+		assertThat(query.getQueryObject().get("lastname"), is(nullValue()));
+	}
+
 	private StringBasedMongoQuery createQueryForMethod(String name, Class<?>... parameters) throws Exception {
 
 		Method method = SampleRepository.class.getMethod(name, parameters);
@@ -36,9 +36,12 @@ import org.springframework.data.domain.Example;
 import org.springframework.data.domain.ExampleMatcher.StringMatcher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort.Direction;
 import org.springframework.data.geo.Point;
+import org.springframework.data.mongodb.BulkOperationException;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.geo.GeoJsonPoint;
+import org.springframework.data.mongodb.core.index.Index;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.repository.Address;
 import org.springframework.data.mongodb.repository.Person;
@@ -442,6 +445,39 @@ public class SimpleMongoRepositoryTests {
 		assertThat(result, is(equalTo(2L)));
 	}
 
+	@Test
+	public void savePopulatesIdsOfEntitiesSavedAlongWithFailedOnes() {
+
+		String collectionName = personEntityInformation.getCollectionName();
+		template.indexOps(collectionName)
+				.ensureIndex(new Index().on("email", Direction.ASC).named("unique_email").unique().sparse());
+
+		try {
+
+			dave.setFirstname("David");
+
+			Person first = new Person("First", "Last", 42);
+			first.setEmail("first@example.com");
+			Person duplicate = new Person("Duplicate", "Last", 42);
+			duplicate.setEmail("first@example.com");
+
+			try {
+				repository.save(Arrays.asList(dave, first, duplicate));
+				fail("Expected BulkOperationException!");
+			} catch (BulkOperationException o_O) {
+				assertThat(o_O.getErrors(), hasSize(1));
+			}
+
+			assertThat(first.getId(), is(notNullValue()));
+			assertThat(duplicate.getId(), is(nullValue()));
+			assertThat(repository.findOne(first.getId()), is(notNullValue()));
+			assertThat(repository.findOne(dave.getId()).getFirstname(), is("David"));
+
+		} finally {
+			template.indexOps(collectionName).dropIndex("unique_email");
+		}
+	}
+
 	private void assertThatAllReferencePersonsWereStoredCorrectly(Map<String, Person> references, List<Person> saved) {
 
 		for (Person person : saved) {